@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import java.util.List;
+
+/**
+ * Validates, qualifies and transforms plain text messages into JSON RPC structures in a single
+ * pass over the message.
+ */
+public interface JsonRpcDecoder {
+  /** Code of a JSON RPC error that is raised when a message is not a valid JSON */
+  int PARSE_ERROR = -32700;
+  /** Code of a JSON RPC error that is raised when a message is not a valid JSON RPC structure */
+  int INVALID_REQUEST = -32600;
+
+  /**
+   * Decodes a plain text message that is either a single JSON RPC structure or a batch of such
+   * structures.
+   *
+   * @param message plain text message
+   * @return list of decoded entities, each item is either a {@link JsonRpcRequest} or a {@link
+   *     JsonRpcResponse}, the order of items is the order of the message
+   * @throws JsonRpcException with {@link #PARSE_ERROR} code if the message is not a valid JSON or
+   *     with {@link #INVALID_REQUEST} code if any of structures is neither a request nor a response
+   */
+  List<Object> decode(String message) throws JsonRpcException;
+}
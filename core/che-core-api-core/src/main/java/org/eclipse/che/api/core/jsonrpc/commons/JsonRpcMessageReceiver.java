@@ -25,6 +25,9 @@ import org.slf4j.Logger;
  * and transforms a raw web socket message to a JSON RPC known structure and pass it further to
  * appropriate dispatchers. In case of any {@link JsonRpcException} happens during request/response
  * processing this class is also responsible for an error transmission.
+ *
+ * <p>All the decoding is delegated to {@link JsonRpcDecoder}, so each message is parsed only once
+ * no matter whether it is a single JSON RPC structure or a batch.
  */
 @Singleton
 public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
@@ -33,8 +36,7 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
   private final RequestDispatcher requestDispatcher;
   private final ResponseDispatcher responseDispatcher;
   private final JsonRpcErrorTransmitter errorTransmitter;
-  private final JsonRpcQualifier jsonRpcQualifier;
-  private final JsonRpcUnmarshaller jsonRpcUnmarshaller;
+  private final JsonRpcDecoder jsonRpcDecoder;
   private final RequestProcessor requestProcessor;
 
   @Inject
@@ -42,14 +44,12 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
       RequestDispatcher requestDispatcher,
       ResponseDispatcher responseDispatcher,
       JsonRpcErrorTransmitter errorTransmitter,
-      JsonRpcQualifier jsonRpcQualifier,
-      JsonRpcUnmarshaller jsonRpcUnmarshaller,
+      JsonRpcDecoder jsonRpcDecoder,
       RequestProcessor requestProcessor) {
     this.requestDispatcher = requestDispatcher;
     this.responseDispatcher = responseDispatcher;
     this.errorTransmitter = errorTransmitter;
-    this.jsonRpcQualifier = jsonRpcQualifier;
-    this.jsonRpcUnmarshaller = jsonRpcUnmarshaller;
+    this.jsonRpcDecoder = jsonRpcDecoder;
     this.requestProcessor = requestProcessor;
   }
 
@@ -61,17 +61,22 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
     LOGGER.debug("Receiving message: " + message + ", from endpoint: " + endpointId);
-    if (!jsonRpcQualifier.isValidJson(message)) {
-      String error = "An error occurred on the server while parsing the JSON text";
-      errorTransmitter.transmit(endpointId, new JsonRpcException(-32700, error));
+
+    List<Object> messages;
+    try {
+      messages = jsonRpcDecoder.decode(message);
+    } catch (JsonRpcException e) {
+      LOGGER.debug("Can't decode message: {}", e.getMessage());
+      errorTransmitter.transmit(endpointId, e);
+      return;
     }
 
-    List<String> messages = jsonRpcUnmarshaller.unmarshalArray(message);
-    for (String innerMessage : messages) {
-      if (jsonRpcQualifier.isJsonRpcRequest(innerMessage)) {
-        requestProcessor.process(() -> processRequest(endpointId, innerMessage));
-      } else if (jsonRpcQualifier.isJsonRpcResponse(innerMessage)) {
-        processResponse(endpointId, innerMessage);
+    for (Object innerMessage : messages) {
+      if (innerMessage instanceof JsonRpcRequest) {
+        JsonRpcRequest request = (JsonRpcRequest) innerMessage;
+        requestProcessor.process(() -> processRequest(endpointId, request));
+      } else if (innerMessage instanceof JsonRpcResponse) {
+        responseDispatcher.dispatch(endpointId, (JsonRpcResponse) innerMessage);
       } else {
         processError();
       }
@@ -85,18 +90,11 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     throw exception;
   }
 
-  private void processResponse(String endpointId, String innerMessage) {
-    JsonRpcResponse response = jsonRpcUnmarshaller.unmarshalResponse(innerMessage);
-    responseDispatcher.dispatch(endpointId, response);
-  }
-
-  private void processRequest(String endpointId, String innerMessage) {
-    JsonRpcRequest request = null;
+  private void processRequest(String endpointId, JsonRpcRequest request) {
     try {
-      request = jsonRpcUnmarshaller.unmarshalRequest(innerMessage);
       requestDispatcher.dispatch(endpointId, request);
     } catch (JsonRpcException e) {
-      if (request == null || request.getId() == null) {
+      if (request.getId() == null) {
         errorTransmitter.transmit(endpointId, e);
       } else {
         errorTransmitter.transmit(
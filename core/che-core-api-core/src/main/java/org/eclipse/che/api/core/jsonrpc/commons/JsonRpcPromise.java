@@ -28,6 +28,12 @@ public class JsonRpcPromise<R> {
   private BiConsumer<String, JsonRpcError> failureConsumer;
   private Runnable timeoutRunnable;
 
+  private boolean completed;
+  private boolean notified;
+  private String endpointId;
+  private R result;
+  private JsonRpcError error;
+
   public Optional<BiConsumer<String, R>> getSuccessConsumer() {
     return Optional.ofNullable(successConsumer);
   }
@@ -61,10 +67,11 @@ public class JsonRpcPromise<R> {
    * @param biConsumer binary consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
+  public synchronized JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
     checkNotNull(biConsumer, "JSON RPC success consumer argument must not be null");
     checkState(this.successConsumer == null, "JSON RPC success field must not be set");
     this.successConsumer = biConsumer;
+    notifyConsumers();
     return this;
   }
 
@@ -76,10 +83,11 @@ public class JsonRpcPromise<R> {
    * @param consumer consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
+  public synchronized JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
     checkNotNull(consumer, "JSON RPC success consumer argument must not be null");
     checkState(this.successConsumer == null, "JSON RPC success consumer field must not be set");
     this.successConsumer = (s, r) -> consumer.accept(r);
+    notifyConsumers();
     return this;
   }
 
@@ -90,10 +98,11 @@ public class JsonRpcPromise<R> {
    * @param runnable runnable
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onSuccess(Runnable runnable) {
+  public synchronized JsonRpcPromise<R> onSuccess(Runnable runnable) {
     checkNotNull(runnable, "JSON RPC success runnable argument must not be null");
     checkState(this.successConsumer == null, "JSON RPC success field must not be set");
     this.successConsumer = (s, r) -> runnable.run();
+    notifyConsumers();
     return this;
   }
 
@@ -105,10 +114,11 @@ public class JsonRpcPromise<R> {
    * @param biConsumer binary consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
+  public synchronized JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
     checkNotNull(biConsumer, "JSON RPC failure consumer argument must not be null");
     checkState(this.failureConsumer == null, "JSON RPC failure consumer field must not be set");
     this.failureConsumer = biConsumer;
+    notifyConsumers();
     return this;
   }
 
@@ -120,10 +130,11 @@ public class JsonRpcPromise<R> {
    * @param consumer consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
+  public synchronized JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
     checkNotNull(consumer, "JSON RPC failure consumer argument must not be null");
     checkState(this.failureConsumer == null, "JSON RPC failure consumer field must not be set");
     this.failureConsumer = (s, e) -> consumer.accept(e);
+    notifyConsumers();
     return this;
   }
 
@@ -134,10 +145,61 @@ public class JsonRpcPromise<R> {
    * @param runnable runnable
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onFailure(Runnable runnable) {
-    checkNotNull(runnable, "JSON RPC success runnable argument must not be null");
-    checkState(this.successConsumer == null, "JSON RPC success field must not be set");
-    this.successConsumer = (s, e) -> runnable.run();
+  public synchronized JsonRpcPromise<R> onFailure(Runnable runnable) {
+    checkNotNull(runnable, "JSON RPC failure runnable argument must not be null");
+    checkState(this.failureConsumer == null, "JSON RPC failure field must not be set");
+    this.failureConsumer = (s, e) -> runnable.run();
+    notifyConsumers();
     return this;
   }
+
+  /**
+   * Resolve this promise with a result. Unlike calling the success consumer directly, the promise
+   * may be resolved before the consumer is set, in that case the consumer is called as soon as it
+   * is set. Only the first resolution or rejection of a promise takes effect.
+   *
+   * @param endpointId endpoint identifier
+   * @param result result value
+   */
+  public synchronized void resolve(String endpointId, R result) {
+    if (completed) {
+      return;
+    }
+    this.completed = true;
+    this.endpointId = endpointId;
+    this.result = result;
+    notifyConsumers();
+  }
+
+  /**
+   * Reject this promise with an error. Unlike calling the failure consumer directly, the promise
+   * may be rejected before the consumer is set, in that case the consumer is called as soon as it
+   * is set. Only the first resolution or rejection of a promise takes effect.
+   *
+   * @param endpointId endpoint identifier
+   * @param error error value
+   */
+  public synchronized void reject(String endpointId, JsonRpcError error) {
+    checkNotNull(error, "JSON RPC error argument must not be null");
+    if (completed) {
+      return;
+    }
+    this.completed = true;
+    this.endpointId = endpointId;
+    this.error = error;
+    notifyConsumers();
+  }
+
+  private void notifyConsumers() {
+    if (!completed || notified) {
+      return;
+    }
+    if (error == null && successConsumer != null) {
+      notified = true;
+      successConsumer.accept(endpointId, result);
+    } else if (error != null && failureConsumer != null) {
+      notified = true;
+      failureConsumer.accept(endpointId, error);
+    }
+  }
 }
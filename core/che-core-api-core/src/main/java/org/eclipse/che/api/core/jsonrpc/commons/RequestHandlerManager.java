@@ -49,6 +49,8 @@ public class RequestHandlerManager {
   private final Map<String, OneToOneHandler> oneToOneHandlers = new ConcurrentHashMap<>();
   private final Map<String, OneToPromiseOneHandler> oneToPromiseOneHandlers =
       new ConcurrentHashMap<>();
+  private final Map<String, OneToPromiseManyHandler> oneToPromiseManyHandlers =
+      new ConcurrentHashMap<>();
   private final Map<String, OneToManyHandler> oneToManyHandlers = new ConcurrentHashMap<>();
   private final Map<String, OneToNoneHandler> oneToNoneHandlers = new ConcurrentHashMap<>();
   private final Map<String, ManyToOneHandler> manyToOneHandlers = new ConcurrentHashMap<>();
@@ -90,6 +92,16 @@ public class RequestHandlerManager {
     oneToPromiseOneHandlers.put(method, new OneToPromiseOneHandler<>(pClass, rClass, function));
   }
 
+  public synchronized <P, R> void registerOneToPromiseMany(
+      String method,
+      Class<P> pClass,
+      Class<R> rClass,
+      BiFunction<String, P, JsonRpcPromise<List<R>>> function) {
+    mustNotBeRegistered(method);
+    methodToCategory.put(method, Category.ONE_TO_PROMISE_MANY);
+    oneToPromiseManyHandlers.put(method, new OneToPromiseManyHandler<>(pClass, rClass, function));
+  }
+
   public synchronized <P, R> void registerOneToMany(
       String method, Class<P> pClass, Class<R> rClass, BiFunction<String, P, List<R>> biFunction) {
     mustNotBeRegistered(method);
@@ -198,6 +210,9 @@ public class RequestHandlerManager {
       case ONE_TO_PROMISE_ONE:
         oneToPromiseOneHandlers.remove(method);
         break;
+      case ONE_TO_PROMISE_MANY:
+        oneToPromiseManyHandlers.remove(method);
+        break;
     }
 
     return true;
@@ -235,6 +250,10 @@ public class RequestHandlerManager {
         OneToPromiseOneHandler promiseOneHandler = oneToPromiseOneHandlers.get(method);
         transmitPromiseOne(endpointId, requestId, promiseOneHandler.handle(endpointId, params));
         break;
+      case ONE_TO_PROMISE_MANY:
+        OneToPromiseManyHandler promiseManyHandler = oneToPromiseManyHandlers.get(method);
+        transmitPromiseMany(endpointId, requestId, promiseManyHandler.handle(endpointId, params));
+        break;
       default:
         LOGGER.error("Something went wrong trying to find out handler category");
     }
@@ -291,12 +310,19 @@ public class RequestHandlerManager {
   private void transmitPromiseOne(
       String endpointId, String requestId, JsonRpcPromise<Object> promise) {
     promise.onSuccess(result -> transmitOne(endpointId, requestId, result));
-    promise.onFailure(
-        jsonRpcError -> {
-          JsonRpcResponse jsonRpcResponse = new JsonRpcResponse(requestId, null, jsonRpcError);
-          String message = marshaller.marshall(jsonRpcResponse);
-          transmitter.transmit(endpointId, message);
-        });
+    promise.onFailure(jsonRpcError -> transmitError(endpointId, requestId, jsonRpcError));
+  }
+
+  private void transmitPromiseMany(
+      String endpointId, String requestId, JsonRpcPromise<List<?>> promise) {
+    promise.onSuccess(result -> transmitMany(endpointId, requestId, result));
+    promise.onFailure(jsonRpcError -> transmitError(endpointId, requestId, jsonRpcError));
+  }
+
+  private void transmitError(String endpointId, String requestId, JsonRpcError jsonRpcError) {
+    JsonRpcResponse jsonRpcResponse = new JsonRpcResponse(requestId, null, jsonRpcError);
+    String message = marshaller.marshall(jsonRpcResponse);
+    transmitter.transmit(endpointId, message);
   }
 
   public enum Category {
@@ -309,7 +335,8 @@ public class RequestHandlerManager {
     NONE_TO_ONE,
     NONE_TO_MANY,
     NONE_TO_NONE,
-    ONE_TO_PROMISE_ONE
+    ONE_TO_PROMISE_ONE,
+    ONE_TO_PROMISE_MANY
   }
 
   private class OneToOneHandler<P, R> {
@@ -347,6 +374,24 @@ public class RequestHandlerManager {
     }
   }
 
+  private class OneToPromiseManyHandler<P, R> {
+    private final Class<P> pClass;
+    private final Class<R> rClass;
+    private final BiFunction<String, P, JsonRpcPromise<List<R>>> function;
+
+    private OneToPromiseManyHandler(
+        Class<P> pClass, Class<R> rClass, BiFunction<String, P, JsonRpcPromise<List<R>>> function) {
+      this.pClass = pClass;
+      this.rClass = rClass;
+      this.function = function;
+    }
+
+    private JsonRpcPromise<List<R>> handle(String endpointId, JsonRpcParams params) {
+      P dto = dtoComposer.composeOne(params, pClass);
+      return function.apply(endpointId, dto);
+    }
+  }
+
   private class OneToManyHandler<P, R> {
     private final Class<P> pClass;
     private final Class<R> rClass;
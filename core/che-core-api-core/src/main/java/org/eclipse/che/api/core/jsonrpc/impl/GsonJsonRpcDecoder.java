@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.gson.stream.JsonToken.BEGIN_ARRAY;
+import static com.google.gson.stream.JsonToken.BEGIN_OBJECT;
+import static com.google.gson.stream.JsonToken.END_DOCUMENT;
+import static com.google.gson.stream.JsonToken.NULL;
+import static com.google.gson.stream.JsonToken.NUMBER;
+import static com.google.gson.stream.JsonToken.STRING;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.core.jsonrpc.impl.GsonJsonRpcUnmarshaller.toParams;
+import static org.eclipse.che.api.core.jsonrpc.impl.GsonJsonRpcUnmarshaller.toResult;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcDecoder;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.slf4j.Logger;
+
+/**
+ * Streaming {@link JsonRpcDecoder} implementation. The message is read token by token with a
+ * {@link JsonReader}, so the envelope (id, method, error) is validated and extracted without
+ * building a JSON tree, only params and result values are materialized as {@link JsonElement}s
+ * as they are passed further to request handlers.
+ *
+ * <p>The whole document is read before an invalid envelope (wrong "jsonrpc" version, non-scalar
+ * id, neither a request nor a response) is reported, so malformed JSON is always reported as
+ * {@link JsonRpcDecoder#PARSE_ERROR} and only well-formed JSON as {@link
+ * JsonRpcDecoder#INVALID_REQUEST}. An empty batch is an invalid request as well.
+ */
+@Singleton
+public class GsonJsonRpcDecoder implements JsonRpcDecoder {
+  private static final Logger LOGGER = getLogger(GsonJsonRpcDecoder.class);
+
+  private static final String PARSE_ERROR_MESSAGE =
+      "An error occurred on the server while parsing the JSON text";
+  private static final String INVALID_REQUEST_MESSAGE =
+      "The JSON sent is not a valid JSON RPC request or response";
+  private static final String JSON_RPC_VERSION = "2.0";
+
+  private final JsonParser jsonParser;
+
+  @Inject
+  public GsonJsonRpcDecoder(JsonParser jsonParser) {
+    this.jsonParser = jsonParser;
+  }
+
+  @Override
+  public List<Object> decode(String message) throws JsonRpcException {
+    checkNotNull(message, "Message must not be null");
+    checkArgument(!message.isEmpty(), "Message must not be empty");
+
+    List<Object> messages;
+    try (JsonReader reader = new JsonReader(new StringReader(message))) {
+      if (reader.peek() == BEGIN_ARRAY) {
+        messages = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+          messages.add(readMessage(reader));
+        }
+        reader.endArray();
+      } else {
+        messages = singletonList(readMessage(reader));
+      }
+
+      if (reader.peek() != END_DOCUMENT) {
+        throw new MalformedJsonException("Unexpected content after the end of JSON document");
+      }
+    } catch (IOException | IllegalStateException | NumberFormatException | JsonParseException e) {
+      LOGGER.debug("Decoding failed: {}", e.getMessage(), e);
+      throw new JsonRpcException(PARSE_ERROR, PARSE_ERROR_MESSAGE);
+    }
+
+    if (messages.isEmpty() || messages.contains(null)) {
+      throw new JsonRpcException(INVALID_REQUEST, INVALID_REQUEST_MESSAGE);
+    }
+    return messages;
+  }
+
+  /** Reads a single message, returns {@code null} if it is well-formed but not a JSON RPC one. */
+  private Object readMessage(JsonReader reader) throws IOException {
+    if (reader.peek() != BEGIN_OBJECT) {
+      reader.skipValue();
+      return null;
+    }
+
+    boolean valid = true;
+    String version = null;
+    String id = null;
+    String method = null;
+    JsonElement params = null;
+    JsonElement result = null;
+    JsonRpcError error = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "jsonrpc":
+          if (reader.peek() == STRING) {
+            version = reader.nextString();
+          } else {
+            reader.skipValue();
+          }
+          break;
+        case "id":
+          JsonToken token = reader.peek();
+          if (token == STRING || token == NUMBER || token == NULL) {
+            id = readNullableString(reader);
+          } else {
+            reader.skipValue();
+            valid = false;
+          }
+          break;
+        case "method":
+          method = readNullableString(reader);
+          break;
+        case "params":
+          params = jsonParser.parse(reader);
+          break;
+        case "result":
+          result = jsonParser.parse(reader);
+          break;
+        case "error":
+          error = readError(reader);
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (!valid || !JSON_RPC_VERSION.equals(version)) {
+      return null;
+    }
+
+    if (method != null) {
+      return new JsonRpcRequest(id, method, params == null ? null : toParams(params));
+    }
+
+    if ((result == null) != (error == null)) {
+      return new JsonRpcResponse(id, result == null ? null : toResult(result), error);
+    }
+
+    return null;
+  }
+
+  private JsonRpcError readError(JsonReader reader) throws IOException {
+    if (reader.peek() == NULL) {
+      reader.nextNull();
+      return null;
+    }
+
+    int code = 0;
+    String errorMessage = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "code":
+          code = reader.nextInt();
+          break;
+        case "message":
+          errorMessage = readNullableString(reader);
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    return new JsonRpcError(code, errorMessage);
+  }
+
+  private String readNullableString(JsonReader reader) throws IOException {
+    if (reader.peek() == NULL) {
+      reader.nextNull();
+      return null;
+    }
+    return reader.nextString();
+  }
+}
@@ -83,45 +83,37 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
   }
 
   private JsonRpcResult getResult(JsonObject response) {
-    if (!response.has("result")) {
-      return null;
-    }
+    return response.has("result") ? toResult(response.get("result")) : null;
+  }
 
-    JsonElement jsonElement = response.get("result");
+  private JsonRpcParams getParams(JsonObject jsonObject) {
+    return jsonObject.has("params") ? toParams(jsonObject.get("params")) : null;
+  }
+
+  static JsonRpcResult toResult(JsonElement jsonElement) {
     if (!jsonElement.isJsonArray()) {
       return new JsonRpcResult(getInnerItem(jsonElement));
     }
 
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
-    int size = jsonArray.size();
-    List<Object> innerResults = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement innerJsonElement = jsonArray.get(i);
-      innerResults.add(getInnerItem(innerJsonElement));
-    }
-
-    return new JsonRpcResult(innerResults);
+    return new JsonRpcResult(getInnerItems(jsonElement.getAsJsonArray()));
   }
 
-  private JsonRpcParams getParams(JsonObject jsonObject) {
-    if (!jsonObject.has("params")) {
-      return null;
-    }
-
-    JsonElement jsonElement = jsonObject.get("params");
+  static JsonRpcParams toParams(JsonElement jsonElement) {
     if (!jsonElement.isJsonArray()) {
       return new JsonRpcParams(getInnerItem(jsonElement));
     }
 
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
+    return new JsonRpcParams(getInnerItems(jsonElement.getAsJsonArray()));
+  }
+
+  private static List<Object> getInnerItems(JsonArray jsonArray) {
     int size = jsonArray.size();
-    List<Object> innerParameters = new ArrayList<>(size);
+    List<Object> innerItems = new ArrayList<>(size);
     for (int i = 0; i < size; i++) {
       JsonElement innerJsonElement = jsonArray.get(i);
-      innerParameters.add(getInnerItem(innerJsonElement));
+      innerItems.add(getInnerItem(innerJsonElement));
     }
-
-    return new JsonRpcParams(innerParameters);
+    return innerItems;
   }
 
   private String getId(JsonObject jsonObject) {
@@ -147,7 +139,7 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     return result;
   }
 
-  private Object getInnerItem(JsonElement jsonElement) {
+  private static Object getInnerItem(JsonElement jsonElement) {
     if (jsonElement.isJsonNull()) {
       return null;
     }
@@ -17,6 +17,7 @@ import com.google.inject.Provides;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcComposer;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcDecoder;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcQualifier;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
@@ -36,6 +37,7 @@ public class JsonRpcModule extends AbstractModule {
     bind(JsonRpcUnmarshaller.class).to(GsonJsonRpcUnmarshaller.class);
     bind(JsonRpcQualifier.class).to(GsonJsonRpcQualifier.class);
     bind(JsonRpcComposer.class).to(GsonJsonRpcComposer.class);
+    bind(JsonRpcDecoder.class).to(GsonJsonRpcDecoder.class);
 
     bind(RequestProcessor.class).to(ServerSideRequestProcessor.class);
     bind(TimeoutActionRunner.class).to(ServerSideTimeoutActionRunner.class);
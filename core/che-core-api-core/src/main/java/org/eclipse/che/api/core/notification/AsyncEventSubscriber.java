@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Receives notification events from EventService asynchronously, so the publisher is not blocked
+ * while the event is processed. Events which have equal partition keys are delivered to the
+ * subscriber sequentially in the order they were published, events with different keys may be
+ * delivered concurrently.
+ *
+ * @see EventService
+ */
+public interface AsyncEventSubscriber<T> extends EventSubscriber<T> {
+  /**
+   * Returns the key the given event is partitioned by, e.g. identifier of a workspace the event is
+   * related to. By default all the events share the same partition.
+   */
+  default Object getPartitionKey(T event) {
+    return null;
+  }
+}
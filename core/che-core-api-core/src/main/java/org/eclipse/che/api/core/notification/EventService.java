@@ -10,19 +10,29 @@
  */
 package org.eclipse.che.api.core.notification;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,50 +50,41 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Subscribers are called in the publisher's thread, except {@link AsyncEventSubscriber}s which
+ * receive events from a fixed set of single threaded partitions. The partition is chosen by the
+ * subscriber and its {@link AsyncEventSubscriber#getPartitionKey(Object) partition key}, so the
+ * order of events is preserved per subscriber and key.
+ *
  * @author andrew00x
  */
 @Singleton
 public class EventService {
   private static final Logger LOG = LoggerFactory.getLogger(EventService.class);
 
-  private static final int CACHE_NUM = 1 << 2;
-  private static final int CACHE_MASK = CACHE_NUM - 1;
-  private static final int SEG_SIZE = 32;
+  private static final EventSubscriber[] NO_SUBSCRIBERS = new EventSubscriber[0];
 
-  private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final ConcurrentMap<EventSubscriber<?>, AsyncStatistics> asyncStatistics;
+  private final int partitionsNumber;
+
+  /**
+   * Subscribers of each published event class including subscribers of its super types. The table
+   * is replaced with an empty one on any subscription change, so an entry computed concurrently
+   * from the stale subscriptions never gets into the actual table.
+   */
+  private volatile ConcurrentMap<Class<?>, EventSubscriber[]> dispatchTable;
+
+  private volatile ExecutorService[] partitions;
 
-  @SuppressWarnings("unchecked")
   public EventService() {
-    subscribersByEventType = new ConcurrentHashMap<>();
-    typeCache = new LoadingCache[CACHE_NUM];
-    for (int i = 0; i < CACHE_NUM; i++) {
-      typeCache[i] =
-          CacheBuilder.newBuilder()
-              .concurrencyLevel(SEG_SIZE)
-              .build(
-                  new CacheLoader<Class<?>, Set<Class<?>>>() {
-                    @Override
-                    public Set<Class<?>> load(Class<?> eventClass) {
-                      LinkedList<Class<?>> parents = new LinkedList<>();
-                      Set<Class<?>> classes = new HashSet<>();
-                      parents.add(eventClass);
-                      while (!parents.isEmpty()) {
-                        Class<?> clazz = parents.pop();
-                        classes.add(clazz);
-                        Class<?> parent = clazz.getSuperclass();
-                        if (parent != null) {
-                          parents.add(parent);
-                        }
-                        Class<?>[] interfaces = clazz.getInterfaces();
-                        if (interfaces.length > 0) {
-                          Collections.addAll(parents, interfaces);
-                        }
-                      }
-                      return classes;
-                    }
-                  });
-    }
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  EventService(int partitionsNumber) {
+    this.subscribersByEventType = new ConcurrentHashMap<>();
+    this.dispatchTable = new ConcurrentHashMap<>();
+    this.asyncStatistics = new ConcurrentHashMap<>();
+    this.partitionsNumber = partitionsNumber;
   }
 
   /**
@@ -97,18 +98,13 @@ public class EventService {
     if (event == null) {
       throw new IllegalArgumentException("Null event.");
     }
-    final Class<?> eventClass = event.getClass();
-    for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-      final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
-      if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-        for (EventSubscriber eventSubscriber : eventSubscribers) {
-          try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
-          } catch (RuntimeException e) {
-            LOG.error(e.getMessage(), e);
-          }
-        }
+    final ConcurrentMap<Class<?>, EventSubscriber[]> table = dispatchTable;
+    for (EventSubscriber eventSubscriber :
+        table.computeIfAbsent(event.getClass(), this::createDispatchEntry)) {
+      if (eventSubscriber instanceof AsyncEventSubscriber) {
+        publishAsync((AsyncEventSubscriber) eventSubscriber, event);
+      } else {
+        deliver(eventSubscriber, event);
       }
     }
     return event;
@@ -145,7 +141,9 @@ public class EventService {
         entries = newEntries;
       }
     }
-    entries.add(subscriber);
+    if (entries.add(subscriber)) {
+      dispatchTable = new ConcurrentHashMap<>();
+    }
   }
 
   /**
@@ -170,8 +168,141 @@ public class EventService {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
         }
+        dispatchTable = new ConcurrentHashMap<>();
+        asyncStatistics.remove(subscriber);
+      }
+    }
+  }
+
+  /**
+   * Returns delivery statistics of asynchronous subscribers which have received at least one
+   * event.
+   */
+  public Map<EventSubscriber<?>, AsyncStatistics> getAsyncStatistics() {
+    return Collections.unmodifiableMap(asyncStatistics);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    ExecutorService[] current = partitions;
+    if (current == null) {
+      return;
+    }
+    for (ExecutorService partition : current) {
+      partition.shutdown();
+    }
+    try {
+      for (ExecutorService partition : current) {
+        if (!partition.awaitTermination(10, TimeUnit.SECONDS)) {
+          partition.shutdownNow();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deliver(EventSubscriber eventSubscriber, Object event) {
+    try {
+      LOG.debug("Publish event {} for {}", event, eventSubscriber);
+      eventSubscriber.onEvent(event);
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void publishAsync(AsyncEventSubscriber subscriber, Object event) {
+    AsyncStatistics statistics =
+        asyncStatistics.computeIfAbsent(subscriber, s -> new AsyncStatistics());
+    Object key;
+    try {
+      key = subscriber.getPartitionKey(event);
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+      return;
+    }
+    ExecutorService[] current = getPartitions();
+    int hash = 31 * System.identityHashCode(subscriber) + Objects.hashCode(key);
+    ExecutorService partition = current[Math.floorMod(hash, current.length)];
+
+    long publishTime = System.nanoTime();
+    statistics.queueDepth.incrementAndGet();
+    try {
+      partition.execute(
+          ThreadLocalPropagateContext.wrap(
+              () -> {
+                statistics.queueDepth.decrementAndGet();
+                try {
+                  deliver(subscriber, event);
+                } finally {
+                  statistics.record(System.nanoTime() - publishTime);
+                }
+              }));
+    } catch (RejectedExecutionException e) {
+      statistics.queueDepth.decrementAndGet();
+      LOG.warn("Event {} is not delivered to {}, event service is shut down", event, subscriber);
+    }
+  }
+
+  private ExecutorService[] getPartitions() {
+    ExecutorService[] current = partitions;
+    if (current == null) {
+      synchronized (this) {
+        current = partitions;
+        if (current == null) {
+          current = new ExecutorService[partitionsNumber];
+          for (int i = 0; i < partitionsNumber; i++) {
+            current[i] =
+                Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder()
+                        .setNameFormat("EventService-" + i)
+                        .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                        .setDaemon(true)
+                        .build());
+          }
+          partitions = current;
+        }
       }
     }
+    return current;
+  }
+
+  /**
+   * Collects subscribers of all the types of the given event class hierarchy, so publishing of an
+   * event is a single lookup in the dispatch table.
+   */
+  private EventSubscriber[] createDispatchEntry(Class<?> eventClass) {
+    List<EventSubscriber> subscribers = new ArrayList<>();
+    for (Class<?> clazz : getTypeHierarchy(eventClass)) {
+      Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
+      if (eventSubscribers != null) {
+        subscribers.addAll(eventSubscribers);
+      }
+    }
+    return subscribers.isEmpty()
+        ? NO_SUBSCRIBERS
+        : subscribers.toArray(new EventSubscriber[subscribers.size()]);
+  }
+
+  private static Set<Class<?>> getTypeHierarchy(Class<?> eventClass) {
+    LinkedList<Class<?>> parents = new LinkedList<>();
+    Set<Class<?>> classes = new HashSet<>();
+    parents.add(eventClass);
+    while (!parents.isEmpty()) {
+      Class<?> clazz = parents.pop();
+      classes.add(clazz);
+      Class<?> parent = clazz.getSuperclass();
+      if (parent != null) {
+        parents.add(parent);
+      }
+      Class<?>[] interfaces = clazz.getInterfaces();
+      if (interfaces.length > 0) {
+        Collections.addAll(parents, interfaces);
+      }
+    }
+    return classes;
   }
 
   private Class<?> getEventType(EventSubscriber<?> subscriber) {
@@ -182,7 +313,7 @@ public class EventService {
         if (type instanceof ParameterizedType) {
           final ParameterizedType parameterizedType = (ParameterizedType) type;
           final Type rawType = parameterizedType.getRawType();
-          if (EventSubscriber.class == rawType) {
+          if (EventSubscriber.class == rawType || AsyncEventSubscriber.class == rawType) {
             final Type[] typeArguments = parameterizedType.getActualTypeArguments();
             if (typeArguments.length == 1) {
               if (typeArguments[0] instanceof Class) {
@@ -200,4 +331,39 @@ public class EventService {
     }
     return eventType;
   }
+
+  /** Delivery statistics of an {@link AsyncEventSubscriber}. */
+  public static class AsyncStatistics {
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private void record(long latencyNanos) {
+      delivered.incrementAndGet();
+      totalLatencyNanos.addAndGet(latencyNanos);
+      maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /** Number of events which are published but not yet delivered to the subscriber. */
+    public long getQueueDepth() {
+      return queueDepth.get();
+    }
+
+    /** Number of events delivered to the subscriber. */
+    public long getDelivered() {
+      return delivered.get();
+    }
+
+    /** Average time between publication of an event and completion of its processing. */
+    public long getAverageLatencyMillis() {
+      long count = delivered.get();
+      return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.get() / count);
+    }
+
+    /** Maximum time between publication of an event and completion of its processing. */
+    public long getMaxLatencyMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+  }
 }
@@ -10,14 +10,17 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.slf4j.Logger;
 
 /**
@@ -25,14 +28,21 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Each session has its own bounded outbound queue that is drained with asynchronous sends, so
+ * transmission never blocks on a slow remote endpoint and endpoints do not affect each other.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
   private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
+  private static final int MAX_QUEUED_MESSAGES = 10_000;
+  private static final int MAX_BATCH_LENGTH = 64 * 1024;
+
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final Map<String, SessionMessageQueue> queues = new ConcurrentHashMap<>();
 
   @Inject
   public BasicWebSocketMessageTransmitter(
@@ -42,7 +52,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     final Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
@@ -50,13 +60,96 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
       reSender.add(endpointId, message);
     } else {
-      LOG.debug("Session registered and open, sending message");
+      LOG.debug("Session registered and open, queueing message");
+
+      Session session = sessionOptional.get();
+      queues
+          .compute(
+              endpointId,
+              (id, queue) ->
+                  queue != null && queue.getSession() == session
+                      ? queue
+                      : new SessionMessageQueue(
+                          id, session, reSender, MAX_QUEUED_MESSAGES, MAX_BATCH_LENGTH))
+          .offer(message);
+    }
+  }
+
+  /** Returns outbound statistics of all endpoints that have an open session. */
+  public Map<String, Statistics> getStatistics() {
+    return queues
+        .entrySet()
+        .stream()
+        .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().getStatistics()));
+  }
+
+  @ScheduleDelay(initialDelay = 60, delay = 60)
+  void cleanClosedSessionQueues() {
+    queues.values().removeIf(queue -> !queue.getSession().isOpen());
+
+    if (LOG.isDebugEnabled()) {
+      getStatistics().forEach((id, statistics) -> LOG.debug("Endpoint: {}, {}", id, statistics));
+    }
+  }
+
+  /** Outbound statistics of a single endpoint. */
+  public static class Statistics {
+    private final int queueDepth;
+    private final long sentMessages;
+    private final long droppedMessages;
+    private final long averageSendLatencyMillis;
+    private final long maxSendLatencyMillis;
+
+    Statistics(
+        int queueDepth,
+        long sentMessages,
+        long droppedMessages,
+        long averageSendLatencyMillis,
+        long maxSendLatencyMillis) {
+      this.queueDepth = queueDepth;
+      this.sentMessages = sentMessages;
+      this.droppedMessages = droppedMessages;
+      this.averageSendLatencyMillis = averageSendLatencyMillis;
+      this.maxSendLatencyMillis = maxSendLatencyMillis;
+    }
+
+    /** Number of messages waiting to be sent. */
+    public int getQueueDepth() {
+      return queueDepth;
+    }
+
+    /** Number of messages sent, messages coalesced into a batch are counted separately. */
+    public long getSentMessages() {
+      return sentMessages;
+    }
+
+    /** Number of messages dropped because of queue overflow. */
+    public long getDroppedMessages() {
+      return droppedMessages;
+    }
+
+    public long getAverageSendLatencyMillis() {
+      return averageSendLatencyMillis;
+    }
+
+    public long getMaxSendLatencyMillis() {
+      return maxSendLatencyMillis;
+    }
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-      }
+    @Override
+    public String toString() {
+      return "Statistics{"
+          + "queueDepth="
+          + queueDepth
+          + ", sentMessages="
+          + sentMessages
+          + ", droppedMessages="
+          + droppedMessages
+          + ", averageSendLatencyMillis="
+          + averageSendLatencyMillis
+          + ", maxSendLatencyMillis="
+          + maxSendLatencyMillis
+          + '}';
     }
   }
 }
@@ -10,36 +10,54 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import com.google.common.collect.EvictingQueue;
+import static org.slf4j.LoggerFactory.getLogger;
+
 import java.util.Map;
-import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
+import javax.inject.Provider;
 import javax.inject.Singleton;
-import javax.websocket.Session;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.shared.Constants;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period when WEB
  * SOCKET session was closed. If session is closed during re-send process it stops and left messages
  * will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Pending messages of an endpoint are stored in a fixed size ring buffer and numbered with a
+ * per endpoint sequence. Messages that are evicted from the buffer because of an overflow or
+ * because they became stale are not silently lost: the gap in the sequence is tracked and the
+ * endpoint receives a {@link Constants#RESYNC_REQUIRED_METHOD} JSON RPC notification before the
+ * rest of the pending messages, so a client knows it has to refresh its state. If the notification
+ * itself can not be delivered it is not stored as a regular message, its count is carried over to
+ * the messages that are pending for the next re-send.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
+  private static final Logger LOG = getLogger(MessagesReSender.class);
 
-  private static final int MAX_MESSAGES = 100;
+  private static final String RESYNC_REQUIRED_PREFIX =
+      "{\"jsonrpc\":\"2.0\",\"method\":\""
+          + Constants.RESYNC_REQUIRED_METHOD
+          + "\",\"params\":{\"missed\":";
+  private static final String RESYNC_REQUIRED_SUFFIX = "}}";
 
-  private final WebSocketSessionRegistry registry;
+  private static final int MAX_MESSAGES = 1_000;
+  private static final long MESSAGE_TTL_MILLIS = 60_000;
+  private static final long GAP_TTL_MILLIS = 10 * 60_000;
 
-  private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
-      new ConcurrentHashMap<>();
+  private final Provider<WebSocketMessageTransmitter> transmitterProvider;
+
+  private final Map<String, PendingMessages> delayedMessageRegistry = new ConcurrentHashMap<>();
 
   @Inject
-  public MessagesReSender(WebSocketSessionRegistry registry) {
-    this.registry = registry;
+  public MessagesReSender(Provider<WebSocketMessageTransmitter> transmitterProvider) {
+    this.transmitterProvider = transmitterProvider;
   }
 
   @ScheduleDelay(initialDelay = 60, delay = 60)
@@ -48,58 +66,130 @@ public class MessagesReSender {
 
     delayedMessageRegistry
         .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
+        .forEach(it -> it.removeOlderThan(currentTimeMillis - MESSAGE_TTL_MILLIS));
 
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+    delayedMessageRegistry.values().removeIf(it -> it.isExpired(currentTimeMillis));
   }
 
   public void add(String endpointId, String message) {
-
-    delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+    delayedMessageRegistry.compute(
+        endpointId,
+        (id, pending) -> {
+          PendingMessages result = pending == null ? new PendingMessages(MAX_MESSAGES) : pending;
+          if (isResyncRequiredNotification(message)) {
+            result.addMissed(getMissed(message));
+          } else {
+            result.add(message);
+          }
+          return result;
+        });
   }
 
   public void resend(String endpointId) {
-    Queue<DelayedMessage> delayedMessages = delayedMessageRegistry.remove(endpointId);
+    PendingMessages pending = delayedMessageRegistry.remove(endpointId);
 
-    if (delayedMessages == null || delayedMessages.isEmpty()) {
+    if (pending == null) {
       return;
     }
 
-    Optional<Session> sessionOptional = registry.get(endpointId);
+    WebSocketMessageTransmitter transmitter = transmitterProvider.get();
 
-    if (!sessionOptional.isPresent()) {
-      return;
+    long missed = pending.getMissed();
+    if (missed > 0) {
+      LOG.debug("Endpoint '{}' missed {} message(s), requesting resync", endpointId, missed);
+
+      transmitter.transmit(endpointId, resyncRequiredNotification(missed));
     }
 
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
+    String message;
+    while ((message = pending.poll()) != null) {
+      transmitter.transmit(endpointId, message);
     }
+  }
 
-    Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(delayedMessage.message);
-      } else {
-        delayedMessages.add(delayedMessage);
+  static String resyncRequiredNotification(long missed) {
+    return RESYNC_REQUIRED_PREFIX + missed + RESYNC_REQUIRED_SUFFIX;
+  }
+
+  private static boolean isResyncRequiredNotification(String message) {
+    return message.startsWith(RESYNC_REQUIRED_PREFIX) && message.endsWith(RESYNC_REQUIRED_SUFFIX);
+  }
+
+  private static long getMissed(String resyncRequiredNotification) {
+    return Long.parseLong(
+        resyncRequiredNotification.substring(
+            RESYNC_REQUIRED_PREFIX.length(),
+            resyncRequiredNotification.length() - RESYNC_REQUIRED_SUFFIX.length()));
+  }
+
+  /**
+   * Ring buffer of pending messages. Each added message gets the next sequence number, the buffer
+   * keeps messages in the range [firstSequence, nextSequence) and counts those evicted before
+   * being re-sent.
+   */
+  private static class PendingMessages {
+    private final String[] messages;
+    private final long[] timesMillis;
+
+    private long firstSequence;
+    private long nextSequence;
+    private long missed;
+    private long lastAddTimeMillis;
+
+    private PendingMessages(int capacity) {
+      this.messages = new String[capacity];
+      this.timesMillis = new long[capacity];
+    }
+
+    private synchronized void add(String message) {
+      if (nextSequence - firstSequence == messages.length) {
+        evictFirst();
       }
+
+      int index = index(nextSequence++);
+      lastAddTimeMillis = System.currentTimeMillis();
+      messages[index] = message;
+      timesMillis[index] = lastAddTimeMillis;
     }
 
-    if (!delayedMessages.isEmpty()) {
-      delayedMessageRegistry.put(endpointId, delayedMessages);
+    private synchronized String poll() {
+      if (firstSequence == nextSequence) {
+        return null;
+      }
+
+      int index = index(firstSequence++);
+      String message = messages[index];
+      messages[index] = null;
+      return message;
+    }
+
+    private synchronized void removeOlderThan(long timeMillis) {
+      while (firstSequence < nextSequence && timesMillis[index(firstSequence)] < timeMillis) {
+        evictFirst();
+      }
+    }
+
+    private synchronized boolean isExpired(long currentTimeMillis) {
+      return firstSequence == nextSequence
+          && (missed == 0 || currentTimeMillis - lastAddTimeMillis > GAP_TTL_MILLIS);
     }
-  }
 
-  private static class DelayedMessage {
+    private synchronized long getMissed() {
+      return missed;
+    }
 
-    private final long timeMillis;
-    private final String message;
+    private synchronized void addMissed(long count) {
+      lastAddTimeMillis = System.currentTimeMillis();
+      missed += count;
+    }
+
+    private void evictFirst() {
+      messages[index(firstSequence++)] = null;
+      missed++;
+    }
 
-    private DelayedMessage(String message) {
-      this.message = message;
-      this.timeMillis = System.currentTimeMillis();
+    private int index(long sequence) {
+      return (int) (sequence % messages.length);
     }
   }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.util.Collections.emptyList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.slf4j.Logger;
+
+/**
+ * Bounded outbound queue of a single WEB SOCKET session. Messages are sent asynchronously one at a
+ * time, so a slow remote endpoint affects only its own queue. When the queue is full the oldest
+ * message is dropped, and the next thing the endpoint receives is a {@link
+ * org.eclipse.che.api.core.websocket.shared.Constants#RESYNC_REQUIRED_METHOD} notification with
+ * the number of dropped messages, so it knows it has to refresh its state.
+ *
+ * <p>If the client opened the session with the {@value #BATCHING_PARAMETER}=true query parameter,
+ * consequent JSON messages that are waiting for the previous send to complete are coalesced into a
+ * single JSON array, which is a valid JSON RPC batch. Other clients always receive messages one by
+ * one.
+ */
+class SessionMessageQueue {
+  private static final Logger LOG = getLogger(SessionMessageQueue.class);
+
+  /** Query parameter of the session through which a client declares that it decodes batches */
+  static final String BATCHING_PARAMETER = "batching";
+
+  private final String endpointId;
+  private final Session session;
+  private final MessagesReSender reSender;
+  private final int capacity;
+  private final int maxBatchLength;
+  private final boolean batching;
+  private final Deque<String> messages = new ArrayDeque<>();
+  private final List<String> inFlight = new ArrayList<>();
+
+  private long missed;
+  private long inFlightMissed;
+
+  private boolean sending;
+  private boolean sendCallReturned;
+  private boolean sendCompleted;
+  private long sendStartNanos;
+
+  private long sentMessages;
+  private long droppedMessages;
+  private long sends;
+  private long totalSendNanos;
+  private long maxSendNanos;
+
+  SessionMessageQueue(
+      String endpointId,
+      Session session,
+      MessagesReSender reSender,
+      int capacity,
+      int maxBatchLength) {
+    this.endpointId = endpointId;
+    this.session = session;
+    this.reSender = reSender;
+    this.capacity = capacity;
+    this.maxBatchLength = maxBatchLength;
+    this.batching = isBatchingRequested(session);
+  }
+
+  Session getSession() {
+    return session;
+  }
+
+  void offer(String message) {
+    synchronized (this) {
+      if (messages.size() >= capacity) {
+        messages.poll();
+        missed++;
+        if (droppedMessages++ % capacity == 0) {
+          LOG.warn(
+              "Outbound queue of endpoint '{}' is full, dropped {} message(s) so far",
+              endpointId,
+              droppedMessages);
+        }
+      }
+      messages.offer(message);
+
+      if (sending) {
+        return;
+      }
+      sending = true;
+    }
+    drain();
+  }
+
+  /**
+   * Sends queued messages until the queue is empty or a send is not completed by the time {@link
+   * javax.websocket.RemoteEndpoint.Async#sendText(String, javax.websocket.SendHandler)} returns. In
+   * the latter case draining is continued by the completion handler, so sends completed inline by
+   * the container do not grow the stack.
+   */
+  private void drain() {
+    while (true) {
+      String text;
+      synchronized (this) {
+        if (messages.isEmpty()) {
+          sending = false;
+          return;
+        }
+
+        if (!session.isOpen()) {
+          LOG.debug("Session is closed, adding {} message(s) to pending", messages.size());
+          if (missed > 0) {
+            reSender.add(endpointId, MessagesReSender.resyncRequiredNotification(missed));
+            missed = 0;
+          }
+          while (!messages.isEmpty()) {
+            reSender.add(endpointId, messages.poll());
+          }
+          sending = false;
+          return;
+        }
+
+        text = pollBatch();
+        sendCallReturned = false;
+        sendCompleted = false;
+        sendStartNanos = System.nanoTime();
+      }
+
+      try {
+        session.getAsyncRemote().sendText(text, this::onSendResult);
+      } catch (RuntimeException e) {
+        onSendResult(new SendResult(e));
+      }
+
+      synchronized (this) {
+        sendCallReturned = true;
+        if (!sendCompleted) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void onSendResult(SendResult result) {
+    synchronized (this) {
+      long sendNanos = System.nanoTime() - sendStartNanos;
+      sends++;
+      totalSendNanos += sendNanos;
+      maxSendNanos = Math.max(maxSendNanos, sendNanos);
+
+      if (!result.isOK()) {
+        LOG.error(
+            "Error while trying to send {} message(s) to an async websocket remote endpoint, "
+                + "adding them to pending",
+            inFlight.size(),
+            result.getException());
+        sentMessages -= inFlight.size();
+        inFlight.forEach(message -> reSender.add(endpointId, message));
+        if (inFlightMissed > 0) {
+          reSender.add(endpointId, MessagesReSender.resyncRequiredNotification(inFlightMissed));
+        }
+      }
+      inFlight.clear();
+      inFlightMissed = 0;
+
+      sendCompleted = true;
+      if (!sendCallReturned) {
+        // completed inline, the draining loop goes on
+        return;
+      }
+    }
+    drain();
+  }
+
+  /** Must be called while holding the queue monitor */
+  private String pollBatch() {
+    if (missed > 0) {
+      // sent alone, so that the endpoint learns about the gap before the messages that follow it
+      inFlightMissed = missed;
+      missed = 0;
+      return MessagesReSender.resyncRequiredNotification(inFlightMissed);
+    }
+
+    String head = messages.poll();
+    inFlight.add(head);
+    sentMessages++;
+    if (!batching || !isJsonObject(head) || !isJsonObject(messages.peek())) {
+      return head;
+    }
+
+    int length = head.length() + 2;
+    while (isJsonObject(messages.peek())
+        && length + messages.peek().length() + 1 <= maxBatchLength) {
+      String next = messages.poll();
+      inFlight.add(next);
+      length += next.length() + 1;
+      sentMessages++;
+    }
+
+    return inFlight.size() == 1 ? head : '[' + String.join(",", inFlight) + ']';
+  }
+
+  private static boolean isJsonObject(String message) {
+    return message != null && !message.isEmpty() && message.charAt(0) == '{';
+  }
+
+  private static boolean isBatchingRequested(Session session) {
+    Map<String, List<String>> parameters = session.getRequestParameterMap();
+    return parameters != null
+        && parameters.getOrDefault(BATCHING_PARAMETER, emptyList()).contains("true");
+  }
+
+  synchronized BasicWebSocketMessageTransmitter.Statistics getStatistics() {
+    return new BasicWebSocketMessageTransmitter.Statistics(
+        messages.size(),
+        sentMessages,
+        droppedMessages,
+        sends == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalSendNanos / sends),
+        TimeUnit.NANOSECONDS.toMillis(maxSendNanos));
+  }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.shared;
+
+/** Constants for WEB SOCKET API that are shared between server and clients. */
+public final class Constants {
+
+  /**
+   * Name of the JSON RPC notification that is sent to an endpoint when some of the messages
+   * addressed to it were lost while its WEB SOCKET session was closed.
+   */
+  public static final String RESYNC_REQUIRED_METHOD = "websocket/resyncRequired";
+
+  private Constants() {}
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.shared.dto;
+
+import org.eclipse.che.api.core.websocket.shared.Constants;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Parameters of the {@link Constants#RESYNC_REQUIRED_METHOD} notification. */
+@DTO
+public interface ResyncRequiredDto {
+  /** Returns the number of messages that were lost by an endpoint. */
+  long getMissed();
+
+  void setMissed(long missed);
+
+  ResyncRequiredDto withMissed(long missed);
+}
@@ -10,9 +10,11 @@
  */
 package org.eclipse.che.api.core.jsonrpc.commons;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,64 +36,62 @@ public class JsonRpcMessageReceiverTest {
   @Mock RequestDispatcher requestDispatcher;
   @Mock ResponseDispatcher responseDispatcher;
   @Mock JsonRpcErrorTransmitter errorTransmitter;
-  @Mock JsonRpcQualifier jsonRpcQualifier;
-  @Mock JsonRpcUnmarshaller jsonRpcUnmarshaller;
+  @Mock JsonRpcDecoder jsonRpcDecoder;
   @Mock RequestProcessor requestProcessor;
   @InjectMocks JsonRpcMessageReceiver jsonRpcMessageReceiver;
 
   @Test
-  public void shouldValidateMessage() throws Exception {
+  public void shouldDecodeMessage() throws Exception {
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(jsonRpcQualifier).isValidJson(MESSAGE);
+    verify(jsonRpcDecoder).decode(MESSAGE);
   }
 
   @Test
-  public void shouldTransmitErrorWhenValidationFailed() throws Exception {
-    when(jsonRpcQualifier.isValidJson(MESSAGE)).thenReturn(false);
+  public void shouldTransmitErrorWhenDecodingFailed() throws Exception {
+    JsonRpcException exception = new JsonRpcException(-32700, "error");
+    when(jsonRpcDecoder.decode(MESSAGE)).thenThrow(exception);
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    verify(errorTransmitter).transmit(ENDPOINT_ID, exception);
+    verify(requestProcessor, never()).process(any());
+    verify(responseDispatcher, never()).dispatch(any(), any());
   }
 
   @Test
-  public void shouldNotTransmitErrorWhenValidationSucceeded() throws Exception {
-    when(jsonRpcQualifier.isValidJson(MESSAGE)).thenReturn(true);
+  public void shouldNotTransmitErrorWhenDecodingSucceeded() throws Exception {
+    when(jsonRpcDecoder.decode(MESSAGE)).thenReturn(emptyList());
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
     verify(errorTransmitter, never()).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
   }
 
-  @Test
-  public void shouldUnmarshalArray() throws Exception {
-    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
-
-    verify(jsonRpcUnmarshaller).unmarshalArray(MESSAGE);
-  }
-
   @Test
   public void shouldDispatchResponseIfResponseReceived() throws Exception {
-    when(jsonRpcQualifier.isJsonRpcResponse(MESSAGE)).thenReturn(true);
-    when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(false);
-    when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
     JsonRpcResponse jsonRpcResponse = Mockito.mock(JsonRpcResponse.class);
-    when(jsonRpcUnmarshaller.unmarshalResponse(any())).thenReturn(jsonRpcResponse);
+    when(jsonRpcDecoder.decode(MESSAGE)).thenReturn(singletonList(jsonRpcResponse));
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(responseDispatcher).dispatch(eq(ENDPOINT_ID), any(JsonRpcResponse.class));
+    verify(responseDispatcher).dispatch(ENDPOINT_ID, jsonRpcResponse);
   }
 
   @Test
   public void shouldDispatchRequestIfRequestReceived() throws Exception {
-    when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
-    when(jsonRpcQualifier.isJsonRpcResponse(MESSAGE)).thenReturn(false);
-    when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    JsonRpcRequest jsonRpcRequest = Mockito.mock(JsonRpcRequest.class);
+    when(jsonRpcDecoder.decode(MESSAGE)).thenReturn(singletonList(jsonRpcRequest));
+    doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(requestProcessor)
+        .process(any());
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(requestProcessor).process(any());
+    verify(requestDispatcher).dispatch(ENDPOINT_ID, jsonRpcRequest);
   }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcDecoder;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GsonJsonRpcDecoder} */
+public class GsonJsonRpcDecoderTest {
+
+  private GsonJsonRpcDecoder decoder;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    decoder = new GsonJsonRpcDecoder(new JsonParser());
+  }
+
+  @Test
+  public void shouldDecodeRequest() throws Exception {
+    List<Object> messages =
+        decoder.decode(
+            "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"m\",\"params\":{\"key\":\"value\"}}");
+
+    assertEquals(messages.size(), 1);
+    JsonRpcRequest request = (JsonRpcRequest) messages.get(0);
+    assertEquals(request.getId(), "1");
+    assertEquals(request.getMethod(), "m");
+    assertTrue(request.getParams().isSingle());
+    assertEquals(((JsonObject) request.getParams().getOne()).get("key").getAsString(), "value");
+  }
+
+  @Test
+  public void shouldDecodeNotificationWithListParams() throws Exception {
+    List<Object> messages =
+        decoder.decode("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"params\":[1,\"a\"]}");
+
+    JsonRpcRequest request = (JsonRpcRequest) messages.get(0);
+    assertFalse(request.hasId());
+    assertFalse(request.getParams().isSingle());
+    assertEquals(request.getParams().getMany().get(0), 1.0);
+    assertEquals(request.getParams().getMany().get(1), "a");
+  }
+
+  @Test
+  public void shouldDecodeResponseWithNumericId() throws Exception {
+    List<Object> messages = decoder.decode("{\"jsonrpc\":\"2.0\",\"id\":7,\"result\":true}");
+
+    JsonRpcResponse response = (JsonRpcResponse) messages.get(0);
+    assertEquals(response.getId(), "7");
+    assertTrue(response.hasResult());
+    assertFalse(response.hasError());
+    assertEquals(response.getResult().getOne(), true);
+  }
+
+  @Test
+  public void shouldDecodeErrorResponse() throws Exception {
+    List<Object> messages =
+        decoder.decode(
+            "{\"jsonrpc\":\"2.0\",\"id\":\"2\","
+                + "\"error\":{\"code\":-32601,\"message\":\"oops\",\"data\":{}}}");
+
+    JsonRpcResponse response = (JsonRpcResponse) messages.get(0);
+    assertFalse(response.hasResult());
+    assertEquals(response.getError().getCode(), -32601);
+    assertEquals(response.getError().getMessage(), "oops");
+  }
+
+  @Test
+  public void shouldDecodeNullResult() throws Exception {
+    List<Object> messages = decoder.decode("{\"jsonrpc\":\"2.0\",\"id\":\"3\",\"result\":null}");
+
+    JsonRpcResponse response = (JsonRpcResponse) messages.get(0);
+    assertTrue(response.hasResult());
+    assertNull(response.getResult().getOne());
+  }
+
+  @Test
+  public void shouldDecodeBatchPreservingOrder() throws Exception {
+    List<Object> messages =
+        decoder.decode(
+            "[{\"jsonrpc\":\"2.0\",\"method\":\"a\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":\"r\"},"
+                + "{\"jsonrpc\":\"2.0\",\"method\":\"b\"}]");
+
+    assertEquals(messages.size(), 3);
+    assertEquals(((JsonRpcRequest) messages.get(0)).getMethod(), "a");
+    assertTrue(messages.get(1) instanceof JsonRpcResponse);
+    assertEquals(((JsonRpcRequest) messages.get(2)).getMethod(), "b");
+  }
+
+  @DataProvider
+  public Object[][] malformedMessages() {
+    return new Object[][] {
+      {"{"},
+      {"{\"jsonrpc\":\"2.0\",\"method\":\"m\"} trailing"},
+      {"[{\"jsonrpc\":\"2.0\",\"method\":\"m\"},"},
+      {"[{\"jsonrpc\":\"1.0\",\"method\":\"m\"},"},
+      {"{\"jsonrpc\":\"2.0\",\"id\":{},\"method\":"}
+    };
+  }
+
+  @Test(dataProvider = "malformedMessages")
+  public void shouldThrowParseErrorForMalformedJson(String message) throws Exception {
+    assertErrorCode(message, JsonRpcDecoder.PARSE_ERROR);
+  }
+
+  @DataProvider
+  public Object[][] invalidMessages() {
+    return new Object[][] {
+      {"{\"jsonrpc\":\"2.0\",\"id\":\"1\"}"},
+      {"{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":1,\"error\":{\"code\":1}}"},
+      {"42"},
+      {"[1]"},
+      {"{\"jsonrpc\":\"2.0\",\"id\":{},\"method\":\"m\"}"},
+      {"{\"jsonrpc\":\"2.0\",\"id\":[1],\"result\":1}"},
+      {"{\"jsonrpc\":\"2.0\",\"id\":true,\"result\":1}"},
+      {"{\"method\":\"m\"}"},
+      {"{\"jsonrpc\":\"1.0\",\"method\":\"m\"}"},
+      {"{\"jsonrpc\":2.0,\"method\":\"m\"}"},
+      {"[{\"jsonrpc\":\"2.0\",\"method\":\"a\"},{\"method\":\"b\"}]"}
+    };
+  }
+
+  @Test(dataProvider = "invalidMessages")
+  public void shouldThrowInvalidRequestForNonJsonRpcStructures(String message) throws Exception {
+    assertErrorCode(message, JsonRpcDecoder.INVALID_REQUEST);
+  }
+
+  @Test
+  public void shouldThrowInvalidRequestForEmptyBatch() throws Exception {
+    assertErrorCode("[]", JsonRpcDecoder.INVALID_REQUEST);
+    assertErrorCode(" [ ] ", JsonRpcDecoder.INVALID_REQUEST);
+  }
+
+  private void assertErrorCode(String message, int code) {
+    try {
+      decoder.decode(message);
+      fail("JsonRpcException expected");
+    } catch (JsonRpcException e) {
+      assertEquals(e.getCode(), code);
+    }
+  }
+}
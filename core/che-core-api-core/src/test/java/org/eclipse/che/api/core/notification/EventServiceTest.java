@@ -11,9 +11,13 @@
 package org.eclipse.che.api.core.notification;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -23,7 +27,12 @@ public class EventServiceTest {
 
   @BeforeMethod
   public void setUp() {
-    bus = new EventService();
+    bus = new EventService(2);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    bus.shutdown();
   }
 
   @Test
@@ -192,6 +201,68 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsToSubscriberAddedAfterPublication() {
+    bus.publish(new Event());
+
+    final List<String> events = new ArrayList<>();
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            events.add(event.data);
+          }
+        });
+    bus.publish(new Event());
+
+    Assert.assertEquals(events, Collections.singletonList("event"));
+  }
+
+  @Test
+  public void shouldDeliverEventsToAsyncSubscriberOutOfPublisherThreadInOrderPerKey()
+      throws Exception {
+    final int eventsNumber = 100;
+    final CountDownLatch latch = new CountDownLatch(eventsNumber * 2);
+    final List<String> aEvents = Collections.synchronizedList(new ArrayList<>());
+    final List<String> bEvents = Collections.synchronizedList(new ArrayList<>());
+    final Thread publisher = Thread.currentThread();
+    final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+    AsyncEventSubscriber<Event> subscriber =
+        new AsyncEventSubscriber<Event>() {
+          @Override
+          public Object getPartitionKey(Event event) {
+            return event.data.substring(0, 1);
+          }
+
+          @Override
+          public void onEvent(Event event) {
+            threads.add(Thread.currentThread());
+            (event.data.startsWith("a") ? aEvents : bEvents).add(event.data);
+            latch.countDown();
+          }
+        };
+    bus.subscribe(subscriber);
+
+    final List<String> expectedA = new ArrayList<>();
+    final List<String> expectedB = new ArrayList<>();
+    for (int i = 0; i < eventsNumber; i++) {
+      expectedA.add("a" + i);
+      expectedB.add("b" + i);
+      bus.publish(new Event("a" + i));
+      bus.publish(new Event("b" + i));
+    }
+
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(aEvents, expectedA);
+    Assert.assertEquals(bEvents, expectedB);
+    Assert.assertFalse(threads.contains(publisher));
+    // waits for all the deliveries to be completed
+    bus.shutdown();
+    EventService.AsyncStatistics statistics = bus.getAsyncStatistics().get(subscriber);
+    Assert.assertEquals(statistics.getDelivered(), eventsNumber * 2);
+    Assert.assertEquals(statistics.getQueueDepth(), 0);
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
@@ -11,16 +11,25 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
 import java.util.Optional;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -43,11 +52,11 @@ public class BasicWebSocketMessageTransmitterTest {
   @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Basic remote;
+  @Mock private RemoteEndpoint.Async remote;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    when(session.getBasicRemote()).thenReturn(remote);
+    when(session.getAsyncRemote()).thenReturn(remote);
     when(session.isOpen()).thenReturn(true);
 
     when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
@@ -58,8 +67,8 @@ public class BasicWebSocketMessageTransmitterTest {
   public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(session).getAsyncRemote();
+    verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
@@ -69,8 +78,142 @@ public class BasicWebSocketMessageTransmitterTest {
 
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session, never()).getBasicRemote();
-    verify(remote, never()).sendText(MESSAGE);
+    verify(session, never()).getAsyncRemote();
+    verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
   }
+
+  @Test
+  public void shouldNotSendNextMessageUntilPreviousSendIsCompleted() throws IOException {
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    transmitter.transmit(ENDPOINT_ID, "other");
+
+    verify(remote, times(1)).sendText(anyString(), any(SendHandler.class));
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getQueueDepth(), 1);
+  }
+
+  @Test
+  public void shouldCoalesceQueuedJsonMessagesIntoBatch() throws IOException {
+    when(session.getRequestParameterMap())
+        .thenReturn(singletonMap("batching", singletonList("true")));
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":1}");
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":2}");
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":3}");
+    verify(remote).sendText(eq("{\"id\":1}"), handlerCaptor.capture());
+
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    verify(remote).sendText(eq("[{\"id\":2},{\"id\":3}]"), any(SendHandler.class));
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getSentMessages(), 3);
+  }
+
+  @Test
+  public void shouldMoveQueuedMessagesToPendingIfSessionIsClosedBeforeSending()
+      throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    transmitter.transmit(ENDPOINT_ID, "other");
+    verify(remote).sendText(eq(MESSAGE), handlerCaptor.capture());
+
+    when(session.isOpen()).thenReturn(false);
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    verify(reSender).add(ENDPOINT_ID, "other");
+  }
+
+  @Test
+  public void shouldNotCoalesceMessagesIfClientDidNotRequestBatching() throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":1}");
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":2}");
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":3}");
+    verify(remote).sendText(eq("{\"id\":1}"), handlerCaptor.capture());
+
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    verify(remote).sendText(eq("{\"id\":2}"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("{\"id\":3}"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldAddMessagesToPendingIfSendingFailed() throws IOException {
+    when(session.getRequestParameterMap())
+        .thenReturn(singletonMap("batching", singletonList("true")));
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":1}");
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":2}");
+    transmitter.transmit(ENDPOINT_ID, "{\"id\":3}");
+    verify(remote).sendText(eq("{\"id\":1}"), handlerCaptor.capture());
+    handlerCaptor.getValue().onResult(new SendResult());
+    verify(remote).sendText(eq("[{\"id\":2},{\"id\":3}]"), handlerCaptor.capture());
+
+    handlerCaptor.getValue().onResult(new SendResult(new IOException("Broken pipe")));
+
+    verify(reSender).add(ENDPOINT_ID, "{\"id\":2}");
+    verify(reSender).add(ENDPOINT_ID, "{\"id\":3}");
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getSentMessages(), 1);
+  }
+
+  @Test
+  public void shouldNotifyEndpointAboutMessagesDroppedBecauseOfQueueOverflow() throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    verify(remote).sendText(eq(MESSAGE), handlerCaptor.capture());
+    for (int i = 0; i < 10_002; i++) {
+      transmitter.transmit(ENDPOINT_ID, "message " + i);
+    }
+
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    String resyncRequired =
+        "{\"jsonrpc\":\"2.0\",\"method\":\"websocket/resyncRequired\",\"params\":{\"missed\":2}}";
+    verify(remote).sendText(eq(resyncRequired), handlerCaptor.capture());
+    handlerCaptor.getValue().onResult(new SendResult());
+    verify(remote).sendText(eq("message 2"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("message 1"), any(SendHandler.class));
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getDroppedMessages(), 2);
+  }
+
+  @Test
+  public void shouldAddDroppedMessagesCountToPendingIfSessionIsClosedBeforeSending()
+      throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    verify(remote).sendText(eq(MESSAGE), handlerCaptor.capture());
+    for (int i = 0; i < 10_001; i++) {
+      transmitter.transmit(ENDPOINT_ID, "message " + i);
+    }
+
+    when(session.isOpen()).thenReturn(false);
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    verify(reSender).add(ENDPOINT_ID, MessagesReSender.resyncRequiredNotification(1));
+    verify(reSender).add(ENDPOINT_ID, "message 1");
+    verify(reSender, never()).add(ENDPOINT_ID, "message 0");
+  }
+
+  @Test
+  public void shouldSendLongQueueWhenSendsAreCompletedInline() throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    verify(remote).sendText(eq(MESSAGE), handlerCaptor.capture());
+    for (int i = 0; i < 10_000; i++) {
+      transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    }
+    doAnswer(
+            invocation -> {
+              invocation.<SendHandler>getArgument(1).onResult(new SendResult());
+              return null;
+            })
+        .when(remote)
+        .sendText(anyString(), any(SendHandler.class));
+
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getQueueDepth(), 0);
+    assertEquals(transmitter.getStatistics().get(ENDPOINT_ID).getSentMessages(), 10_001);
+  }
 }
@@ -10,16 +10,21 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static org.eclipse.che.api.core.websocket.shared.Constants.RESYNC_REQUIRED_METHOD;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.Optional;
-import javax.websocket.RemoteEndpoint;
-import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import javax.inject.Provider;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -35,114 +40,119 @@ import org.testng.annotations.Test;
 public class MessagesReSenderTest {
   private static final String MESSAGE = "message";
   private static final String ENDPOINT_ID = "id";
+  private static final String RESYNC_PREFIX =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"" + RESYNC_REQUIRED_METHOD;
 
-  @Mock private WebSocketSessionRegistry sessionRegistry;
-  @InjectMocks private MessagesReSender reSender;
+  @Mock private Provider<WebSocketMessageTransmitter> transmitterProvider;
+  @Mock private WebSocketMessageTransmitter transmitter;
 
-  @Mock private Session session;
-  @Mock private RemoteEndpoint.Async endpoint;
-
-  @BeforeMethod
-  public void beforeMethod() {
-    when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-    when(session.getAsyncRemote()).thenReturn(endpoint);
-    when(session.isOpen()).thenReturn(true);
-  }
+  private MessagesReSender reSender;
 
   @BeforeMethod
   public void before() {
-    reSender = new MessagesReSender(sessionRegistry);
+    when(transmitterProvider.get()).thenReturn(transmitter);
+
+    reSender = new MessagesReSender(transmitterProvider);
   }
 
   @Test
-  public void shouldStopIfSessionIsNotRegistered() {
-    when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
-
+  public void shouldProperlyAddForSingleEndpoint() {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
   }
 
   @Test
-  public void shouldKeepMessagesIfSessionIsClosed() {
-    reSender.add(ENDPOINT_ID, MESSAGE);
+  public void shouldResendMessagesInOrder() {
+    reSender.add(ENDPOINT_ID, "1");
+    reSender.add(ENDPOINT_ID, "2");
+    reSender.add(ENDPOINT_ID, "3");
 
-    when(session.isOpen()).thenReturn(false);
     reSender.resend(ENDPOINT_ID);
 
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
-
-    when(session.isOpen()).thenReturn(true);
-    reSender.resend(ENDPOINT_ID);
-
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    InOrder inOrder = inOrder(transmitter);
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "1");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "2");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "3");
   }
 
   @Test
-  public void shouldProperlyAddForSingleEndpoint() {
+  public void shouldProperlyAddForSeveralEndpoints() {
     reSender.add(ENDPOINT_ID, MESSAGE);
+    reSender.add("1", MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
+    reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    verify(transmitter).transmit("1", MESSAGE);
   }
 
   @Test
-  public void shouldProperlyAddForSeveralEndpoints() {
+  public void shouldClearOnExtractionForSingleEndpoint() {
     reSender.add(ENDPOINT_ID, MESSAGE);
-    reSender.add("1", MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
+    reSender.resend(ENDPOINT_ID);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter, times(1)).transmit(ENDPOINT_ID, MESSAGE);
   }
 
   @Test
-  public void shouldClearOnExtractionForSingleEndpoint() {
+  public void shouldNotRequestResyncIfNoMessagesWereMissed() {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
 
-    reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter, never()).transmit(eq(ENDPOINT_ID), startsWith(RESYNC_PREFIX));
   }
 
   @Test
-  public void shouldClearOnExtractionForSeveralEndpoint() {
-    reSender.add(ENDPOINT_ID, MESSAGE);
-    reSender.add("1", MESSAGE);
+  public void shouldRequestResyncBeforeResendingIfBufferOverflowed() {
+    for (int i = 0; i < 1_005; i++) {
+      reSender.add(ENDPOINT_ID, String.valueOf(i));
+    }
 
     reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    InOrder inOrder = inOrder(transmitter);
+    inOrder
+        .verify(transmitter)
+        .transmit(ENDPOINT_ID, RESYNC_PREFIX + "\",\"params\":{\"missed\":5}}");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "5");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "1004");
+    verify(transmitter, never()).transmit(ENDPOINT_ID, "4");
+    verify(transmitter, times(1_001)).transmit(eq(ENDPOINT_ID), anyString());
+  }
+
+  @Test
+  public void shouldCarryMissedCountOverIfResyncNotificationWasNotDelivered() {
+    for (int i = 0; i < 1_005; i++) {
+      reSender.add(ENDPOINT_ID, String.valueOf(i));
+    }
+    doAnswer(
+            invocation -> {
+              reSender.add(ENDPOINT_ID, invocation.getArgument(1));
+              return null;
+            })
+        .when(transmitter)
+        .transmit(eq(ENDPOINT_ID), anyString());
+    reSender.resend(ENDPOINT_ID);
+    for (int i = 0; i < 3; i++) {
+      reSender.add(ENDPOINT_ID, "next" + i);
+    }
+    reset(transmitter);
 
     reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    InOrder inOrder = inOrder(transmitter);
+    inOrder
+        .verify(transmitter)
+        .transmit(ENDPOINT_ID, RESYNC_PREFIX + "\",\"params\":{\"missed\":8}}");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "8");
+    inOrder.verify(transmitter).transmit(ENDPOINT_ID, "next2");
+    verify(transmitter, times(1_001)).transmit(eq(ENDPOINT_ID), anyString());
   }
 }
@@ -50,6 +50,16 @@ export class CheJsonRpcApiClient {
     this.jsonRpcClient.notify(event, params);
   }
 
+  /**
+   * Adds handler of the notification which is sent by service without subscription.
+   *
+   * @param notification notification name to handle
+   * @param handler notification's handler
+   */
+  addNotificationHandler(notification: string, handler: Function): void {
+    this.jsonRpcClient.addNotificationHandler(notification, handler);
+  }
+
   /**
    * Unsubscribe concrete handler from events from service.
    *
@@ -64,13 +74,15 @@ export class CheJsonRpcApiClient {
   }
 
   /**
-   * Connects to the pointed entrypoint
+   * Connects to the pointed entrypoint. The JSON RPC client processes batches,
+   * so the server is allowed to coalesce messages into them.
    *
    * @param entrypoint entrypoint to connect to
    * @returns {ng.IPromise<any>} promise
    */
   connect(entrypoint: string): ng.IPromise<any> {
-    return this.client.connect(entrypoint);
+    let separator = entrypoint.indexOf('?') === -1 ? '?' : '&';
+    return this.client.connect(entrypoint + separator + 'batching=true');
   }
 
   /**
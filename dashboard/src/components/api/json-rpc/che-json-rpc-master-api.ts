@@ -12,6 +12,12 @@
 import {CheJsonRpcApiClient, IChannel} from './che-json-rpc-api-service';
 import {ICommunicationClient} from './json-rpc-client';
 
+/**
+ * Notification which is sent by server when some of the messages addressed
+ * to the client were lost while web socket connection was closed.
+ */
+const RESYNC_REQUIRED_NOTIFICATION = 'websocket/resyncRequired';
+
 enum MasterChannels {
   ENVIRONMENT_OUTPUT, ENVIRONMENT_STATUS, WS_AGENT_OUTPUT, WORKSPACE_STATUS
 }
@@ -172,6 +178,18 @@ export class CheJsonRpcMasterApi {
     this.cheJsonRpcApi.unsubscribe(channel.unsubscription, channel.notification, callback, params);
   }
 
+  /**
+   * Adds callback which is called when some of the notifications were lost
+   * while connection was closed, so the client has to refresh its state.
+   *
+   * @param callback callback to process event, receives the number of missed messages
+   */
+  subscribeResyncRequired(callback: Function): void {
+    this.cheJsonRpcApi.addNotificationHandler(RESYNC_REQUIRED_NOTIFICATION, (params: any) => {
+      callback(params ? params.missed : 0);
+    });
+  }
+
   /**
    * Fetch client's id and strores it.
    *
@@ -171,10 +171,17 @@ export class JsonRpcClient {
 
   /**
    * Processes response - detects whether it is JSON RPC response or notification.
+   * Batch messages are processed item by item.
    *
    * @param message
    */
   private processResponse(message: any): void {
+    if (Array.isArray(message)) {
+      message.forEach((item: any) => {
+        this.processResponse(item);
+      });
+      return;
+    }
     if (message.id && this.pendingRequests.has(message.id)) {
       this.processResponseMessage(message);
     } else {
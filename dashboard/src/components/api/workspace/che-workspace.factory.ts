@@ -140,6 +140,9 @@ export class CheWorkspace {
       this.jsonRpcApiLocation = this.formJsonRpcApiLocation($location, proxySettings, userDashboardConfig.developmentMode) + cheBranding.getWebsocketContext();
       this.jsonRpcApiLocation += keycloakToken;
       this.cheJsonRpcMasterApi = cheJsonRpcApi.getJsonRpcMasterApi(this.jsonRpcApiLocation);
+      this.cheJsonRpcMasterApi.subscribeResyncRequired(() => {
+        this.resyncWorkspaceStatuses();
+      });
       cheBranding.unregisterCallback(CONTEXT_FETCHER_ID);
     };
     cheBranding.registerCallback(CONTEXT_FETCHER_ID, callback.bind(this));
@@ -665,6 +668,27 @@ export class CheWorkspace {
     }
   }
 
+  /**
+   * Re-fetches the workspaces which statuses are followed, as some of
+   * the status change events might be lost while connection was closed.
+   */
+  resyncWorkspaceStatuses(): void {
+    this.subscribedWorkspacesIds.forEach((workspaceId: string) => {
+      this.fetchWorkspaceDetails(workspaceId).then(() => {
+        const workspace = this.getWorkspaceById(workspaceId);
+        if (!workspace || !this.statusDefers[workspaceId] || !this.statusDefers[workspaceId][workspace.status]) {
+          return;
+        }
+
+        this.statusDefers[workspaceId][workspace.status].forEach((defer: any) => {
+          defer.resolve();
+        });
+
+        this.statusDefers[workspaceId][workspace.status].length = 0;
+      });
+    });
+  }
+
   /**
    * Fetches the system settings for workspaces.
    *
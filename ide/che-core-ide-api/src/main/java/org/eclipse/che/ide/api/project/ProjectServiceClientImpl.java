@@ -14,6 +14,7 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.gwt.http.client.RequestBuilder.DELETE;
 import static com.google.gwt.http.client.RequestBuilder.PUT;
 import static com.google.gwt.http.client.URL.encodePathSegment;
+import static com.google.gwt.http.client.URL.encodeQueryString;
 import static org.eclipse.che.ide.MimeType.APPLICATION_JSON;
 import static org.eclipse.che.ide.rest.HTTPHeader.ACCEPT;
 import static org.eclipse.che.ide.rest.HTTPHeader.CONTENT_TYPE;
@@ -160,6 +161,11 @@ public class ProjectServiceClientImpl implements ProjectServiceClient {
     if (expression.getSkipCount() != 0) {
       queryParameters.append("&skipCount=").append(expression.getSkipCount());
     }
+    if (expression.getSearchCursor() != null) {
+      queryParameters
+          .append("&searchCursor=")
+          .append(encodeQueryString(expression.getSearchCursor()));
+    }
 
     return reqFactory
         .createGetRequest(url + queryParameters.toString().replaceFirst("&", "?"))
@@ -172,14 +178,17 @@ public class ProjectServiceClientImpl implements ProjectServiceClient {
                   List<SearchResultDto> itemReferences = searchResultDto.getItemReferences();
                   if (itemReferences == null || itemReferences.isEmpty()) {
                     return new SearchResult(
-                        Collections.emptyList(), searchResultDto.getTotalHits());
+                        Collections.emptyList(),
+                        searchResultDto.getTotalHits(),
+                        searchResultDto.getNextPageCursor());
                   }
                   return new SearchResult(
                       itemReferences
                           .stream()
                           .map(SearchItemReference::new)
                           .collect(Collectors.toList()),
-                      searchResultDto.getTotalHits());
+                      searchResultDto.getTotalHits(),
+                      searchResultDto.getNextPageCursor());
                 });
   }
 
@@ -17,6 +17,7 @@ public class QueryExpression {
   private String text;
   private int maxItems;
   private int skipCount;
+  private String searchCursor;
 
   /**
    * Get path to start search.
@@ -124,4 +125,25 @@ public class QueryExpression {
     this.skipCount = skipCount;
     return this;
   }
+
+  /**
+   * Get cursor of the next page returned with the previous page of search result.
+   *
+   * @return search cursor or {@code null} if it is not set
+   */
+  public String getSearchCursor() {
+    return searchCursor;
+  }
+
+  /**
+   * Set cursor of the next page returned with the previous page of search result. Cursor allows
+   * server to retrieve the next page without skipping {@link #getSkipCount()} items.
+   *
+   * @param searchCursor search cursor
+   * @return this {@code QueryExpression}
+   */
+  public QueryExpression setSearchCursor(String searchCursor) {
+    this.searchCursor = searchCursor;
+    return this;
+  }
 }
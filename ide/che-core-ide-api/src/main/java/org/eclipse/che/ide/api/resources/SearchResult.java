@@ -16,10 +16,17 @@ import java.util.List;
 public class SearchResult {
   private List<SearchItemReference> itemReferences;
   private int totalHits;
+  private String nextPageCursor;
 
   public SearchResult(List<SearchItemReference> itemReferences, int totalHits) {
+    this(itemReferences, totalHits, null);
+  }
+
+  public SearchResult(
+      List<SearchItemReference> itemReferences, int totalHits, String nextPageCursor) {
     this.itemReferences = itemReferences;
     this.totalHits = totalHits;
+    this.nextPageCursor = nextPageCursor;
   }
 
   /** returns list of found items {@link SearchItemReference} */
@@ -31,4 +38,9 @@ public class SearchResult {
   public int getTotalHits() {
     return totalHits;
   }
+
+  /** returns cursor of the next page or {@code null} if there are no more results */
+  public String getNextPageCursor() {
+    return nextPageCursor;
+  }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.ide.core;
 import com.google.gwt.inject.client.AbstractGinModule;
 import com.google.gwt.inject.client.assistedinject.GinFactoryModuleBuilder;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcComposer;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcDecoder;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcQualifier;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
@@ -25,6 +26,7 @@ import org.eclipse.che.ide.api.jsonrpc.WorkspaceMasterJsonRpcInitializer;
 import org.eclipse.che.ide.jsonrpc.ClientSideRequestProcessor;
 import org.eclipse.che.ide.jsonrpc.ClientSideTimeoutActionRunner;
 import org.eclipse.che.ide.jsonrpc.ElementalJsonRpcComposer;
+import org.eclipse.che.ide.jsonrpc.ElementalJsonRpcDecoder;
 import org.eclipse.che.ide.jsonrpc.ElementalJsonRpcMarshaller;
 import org.eclipse.che.ide.jsonrpc.ElementalJsonRpcQualifier;
 import org.eclipse.che.ide.jsonrpc.ElementalJsonRpcUnmarshaller;
@@ -52,6 +54,7 @@ public class JsonRpcModule extends AbstractGinModule {
     bind(JsonRpcUnmarshaller.class).to(ElementalJsonRpcUnmarshaller.class);
     bind(JsonRpcComposer.class).to(ElementalJsonRpcComposer.class);
     bind(JsonRpcQualifier.class).to(ElementalJsonRpcQualifier.class);
+    bind(JsonRpcDecoder.class).to(ElementalJsonRpcDecoder.class);
 
     bind(RequestProcessor.class).to(ClientSideRequestProcessor.class);
     bind(TimeoutActionRunner.class).to(ClientSideTimeoutActionRunner.class);
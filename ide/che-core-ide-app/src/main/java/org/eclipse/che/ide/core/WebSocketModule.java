@@ -34,6 +34,7 @@ public class WebSocketModule extends AbstractGinModule {
     bind(WebSocketEndpoint.class).to(BasicWebSocketEndpoint.class);
     bind(WebSocketMessageTransmitter.class).to(BasicWebSocketMessageTransmitter.class);
     bind(WebSocketMessageReceiver.class).to(JsonRpcMessageReceiver.class);
+    bind(WebSocketResyncRequiredHandler.class).asEagerSingleton();
 
     install(
         new GinFactoryModuleBuilder()
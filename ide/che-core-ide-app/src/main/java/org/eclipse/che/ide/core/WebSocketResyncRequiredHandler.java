@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.core;
+
+import static org.eclipse.che.api.core.websocket.shared.Constants.RESYNC_REQUIRED_METHOD;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.model.machine.Machine;
+import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceRuntime;
+import org.eclipse.che.api.core.websocket.shared.dto.ResyncRequiredDto;
+import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.workspace.WorkspaceServiceClient;
+import org.eclipse.che.ide.api.workspace.event.MachineStatusChangedEvent;
+import org.eclipse.che.ide.api.workspace.event.WorkspaceStatusChangedEvent;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.util.loging.Log;
+
+/**
+ * Handles notifications that are sent by a server when some of the messages addressed to this
+ * client were lost while web socket connection was closed. As the lost messages may contain
+ * workspace and machine status events, the current workspace is re-fetched and the status events
+ * that were missed are fired again.
+ */
+@Singleton
+public class WebSocketResyncRequiredHandler {
+  private final AppContext appContext;
+  private final WorkspaceServiceClient workspaceServiceClient;
+  private final EventBus eventBus;
+  private final DtoFactory dtoFactory;
+
+  @Inject
+  WebSocketResyncRequiredHandler(
+      RequestHandlerConfigurator configurator,
+      AppContext appContext,
+      WorkspaceServiceClient workspaceServiceClient,
+      EventBus eventBus,
+      DtoFactory dtoFactory) {
+    this.appContext = appContext;
+    this.workspaceServiceClient = workspaceServiceClient;
+    this.eventBus = eventBus;
+    this.dtoFactory = dtoFactory;
+
+    configurator
+        .newConfiguration()
+        .methodName(RESYNC_REQUIRED_METHOD)
+        .paramsAsDto(ResyncRequiredDto.class)
+        .noResult()
+        .withBiConsumer(this::onResyncRequired);
+  }
+
+  private void onResyncRequired(String endpointId, ResyncRequiredDto params) {
+    Log.warn(
+        getClass(),
+        params.getMissed()
+            + " message(s) from endpoint '"
+            + endpointId
+            + "' were lost while connection was closed, refreshing workspace state");
+
+    Workspace known = appContext.getWorkspace();
+    if (known == null) {
+      return;
+    }
+
+    workspaceServiceClient
+        .getWorkspace(known.getId())
+        .then(
+            workspace -> {
+              appContext.setWorkspace(workspace);
+
+              if (workspace.getStatus() != known.getStatus()) {
+                fireWorkspaceStatusChanged(workspace);
+              } else {
+                fireMachineStatusesChanged(known.getRuntime(), workspace);
+              }
+            })
+        .catchError(
+            error ->
+                Log.error(getClass(), "Can't refresh workspace state: " + error.getMessage()));
+  }
+
+  private void fireWorkspaceStatusChanged(WorkspaceDto workspace) {
+    EventType eventType;
+    switch (workspace.getStatus()) {
+      case STARTING:
+        eventType = EventType.STARTING;
+        break;
+      case RUNNING:
+        eventType = EventType.RUNNING;
+        break;
+      case SNAPSHOTTING:
+        eventType = EventType.SNAPSHOT_CREATING;
+        break;
+      case STOPPING:
+        eventType = EventType.STOPPING;
+        break;
+      default:
+        eventType = EventType.STOPPED;
+    }
+
+    eventBus.fireEvent(
+        new WorkspaceStatusChangedEvent(
+            dtoFactory
+                .createDto(WorkspaceStatusEvent.class)
+                .withWorkspaceId(workspace.getId())
+                .withStatus(workspace.getStatus())
+                .withEventType(eventType)));
+  }
+
+  private void fireMachineStatusesChanged(WorkspaceRuntime knownRuntime, WorkspaceDto workspace) {
+    Map<String, Machine> knownMachines = new HashMap<>();
+    if (knownRuntime != null) {
+      for (Machine machine : knownRuntime.getMachines()) {
+        knownMachines.put(machine.getId(), machine);
+      }
+    }
+
+    if (workspace.getRuntime() != null) {
+      for (Machine machine : workspace.getRuntime().getMachines()) {
+        Machine knownMachine = knownMachines.remove(machine.getId());
+        if (knownMachine == null || knownMachine.getStatus() != machine.getStatus()) {
+          fireMachineStatusChanged(
+              machine, MachineStatusEvent.EventType.valueOf(machine.getStatus().name()));
+        }
+      }
+    }
+
+    for (Machine machine : knownMachines.values()) {
+      fireMachineStatusChanged(machine, MachineStatusEvent.EventType.DESTROYED);
+    }
+  }
+
+  private void fireMachineStatusChanged(Machine machine, MachineStatusEvent.EventType eventType) {
+    eventBus.fireEvent(
+        new MachineStatusChangedEvent(
+            machine.getWorkspaceId(),
+            machine.getId(),
+            machine.getConfig().getName(),
+            machine.getConfig().isDev(),
+            eventType,
+            null));
+  }
+}
@@ -53,6 +53,7 @@ public class FindResultPresenter extends BasePresenter
   private final FindResultView view;
 
   private int skipCount = 0;
+  private String nextPageCursor;
   private QueryExpression queryExpression;
   private String requestedString;
 
@@ -109,6 +110,7 @@ public class FindResultPresenter extends BasePresenter
   public void handleResponse(SearchResult result, QueryExpression queryExpression, String request) {
     this.queryExpression = queryExpression;
     this.requestedString = request;
+    this.nextPageCursor = result.getNextPageCursor();
     workspaceAgent.openPart(this, PartStackType.INFORMATION);
     workspaceAgent.setActivePart(this);
 
@@ -125,12 +127,14 @@ public class FindResultPresenter extends BasePresenter
   @Override
   public void onNextButtonClicked() {
     queryExpression.setSkipCount(skipCount + SEARCH_RESULT_ITEMS);
+    queryExpression.setSearchCursor(nextPageCursor);
     projectServiceClient
         .search(queryExpression)
         .then(
             result -> {
               List<SearchItemReference> itemReferences = result.getItemReferences();
               skipCount += itemReferences.size();
+              nextPageCursor = result.getNextPageCursor();
               view.setPreviousBtnActive(true);
               if (itemReferences.isEmpty()) {
                 view.setNextBtnActive(false);
@@ -150,11 +154,13 @@ public class FindResultPresenter extends BasePresenter
   public void onPreviousButtonClicked() {
     skipCount -= skipCount % SEARCH_RESULT_ITEMS + SEARCH_RESULT_ITEMS;
     queryExpression.setSkipCount(skipCount);
+    queryExpression.setSearchCursor(null);
     projectServiceClient
         .search(queryExpression)
         .then(
             result -> {
               List<SearchItemReference> itemReferences = result.getItemReferences();
+              nextPageCursor = result.getNextPageCursor();
               view.setNextBtnActive(true);
               boolean hasPreviousResults =
                   itemReferences.size() % SEARCH_RESULT_ITEMS == 0 && skipCount != 0;
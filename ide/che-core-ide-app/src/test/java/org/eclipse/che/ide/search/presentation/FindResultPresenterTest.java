@@ -153,6 +153,17 @@ public class FindResultPresenterTest {
     verify(view).showResults(searchResult, "request");
   }
 
+  @Test
+  public void nextPageShouldBeRequestedWithSearchCursor() throws Exception {
+    when(result.getNextPageCursor()).thenReturn("cursor");
+    findResultPresenter.handleResponse(result, queryExpression, "request");
+
+    findResultPresenter.onNextButtonClicked();
+
+    verify(queryExpression).setSkipCount(SEARCH_RESULT_ITEMS);
+    verify(queryExpression).setSearchCursor("cursor");
+  }
+
   @Test
   public void nextButtonShouldBeDisableIfResultHasLessThanMaxValue() throws Exception {
     items.remove(0);
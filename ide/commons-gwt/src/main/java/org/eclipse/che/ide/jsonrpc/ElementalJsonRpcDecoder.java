@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.jsonrpc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static elemental.json.JsonType.ARRAY;
+import static elemental.json.JsonType.OBJECT;
+import static elemental.json.JsonType.STRING;
+import static java.util.Collections.singletonList;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonFactory;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcDecoder;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+
+/**
+ * Client side {@link JsonRpcDecoder} implementation. The message is parsed with elemental {@link
+ * JsonFactory}, then each JSON object with "jsonrpc" version "2.0" is unmarshalled either to a
+ * request (if it has a method) or to a response (if it has either a result or an error).
+ */
+@Singleton
+public class ElementalJsonRpcDecoder implements JsonRpcDecoder {
+  private static final String INVALID_REQUEST_MESSAGE =
+      "The JSON sent is not a valid JSON RPC request or response";
+
+  private final JsonFactory jsonFactory;
+  private final ElementalJsonRpcUnmarshaller unmarshaller;
+
+  @Inject
+  public ElementalJsonRpcDecoder(
+      JsonFactory jsonFactory, ElementalJsonRpcUnmarshaller unmarshaller) {
+    this.jsonFactory = jsonFactory;
+    this.unmarshaller = unmarshaller;
+  }
+
+  @Override
+  public List<Object> decode(String message) throws JsonRpcException {
+    checkNotNull(message, "Message must not be null");
+    checkArgument(!message.isEmpty(), "Message must not be empty");
+
+    JsonValue jsonValue;
+    try {
+      jsonValue = jsonFactory.parse(message);
+    } catch (JsonException e) {
+      throw new JsonRpcException(
+          PARSE_ERROR, "An error occurred on the client while parsing the JSON text");
+    }
+
+    if (!ARRAY.equals(jsonValue.getType())) {
+      return singletonList(toMessage(jsonValue));
+    }
+
+    JsonArray jsonArray = (JsonArray) jsonValue;
+    int size = jsonArray.length();
+    if (size == 0) {
+      throw new JsonRpcException(INVALID_REQUEST, INVALID_REQUEST_MESSAGE);
+    }
+    List<Object> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(toMessage(jsonArray.get(i)));
+    }
+    return result;
+  }
+
+  private Object toMessage(JsonValue jsonValue) {
+    if (OBJECT.equals(jsonValue.getType()) && hasJsonRpcVersion((JsonObject) jsonValue)) {
+      JsonObject jsonObject = (JsonObject) jsonValue;
+      if (jsonObject.hasKey("method")) {
+        return unmarshaller.toRequest(jsonObject);
+      }
+      if (jsonObject.hasKey("result") != jsonObject.hasKey("error")) {
+        return unmarshaller.toResponse(jsonObject);
+      }
+    }
+
+    throw new JsonRpcException(INVALID_REQUEST, INVALID_REQUEST_MESSAGE);
+  }
+
+  private boolean hasJsonRpcVersion(JsonObject jsonObject) {
+    if (!jsonObject.hasKey("jsonrpc")) {
+      return false;
+    }
+    JsonValue version = jsonObject.get("jsonrpc");
+    return STRING.equals(version.getType()) && "2.0".equals(version.asString());
+  }
+}
@@ -53,13 +53,7 @@ public class ElementalJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject jsonObject = jsonFactory.parse(message);
-
-    String id = getId(jsonObject);
-    String method = getMethod(jsonObject);
-    JsonRpcParams params = getParams(jsonObject);
-
-    return new JsonRpcRequest(id, method, params);
+    return toRequest(jsonFactory.parse(message));
   }
 
   @Override
@@ -67,8 +61,18 @@ public class ElementalJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject response = jsonFactory.parse(message);
+    return toResponse(jsonFactory.parse(message));
+  }
+
+  JsonRpcRequest toRequest(JsonObject jsonObject) {
+    String id = getId(jsonObject);
+    String method = getMethod(jsonObject);
+    JsonRpcParams params = getParams(jsonObject);
+
+    return new JsonRpcRequest(id, method, params);
+  }
 
+  JsonRpcResponse toResponse(JsonObject response) {
     String id = getId(response);
     JsonRpcResult result = getResult(response);
     JsonRpcError error = getError(response);
@@ -10,6 +10,10 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import static java.util.Collections.emptySet;
+
+import java.util.HashSet;
+import java.util.Set;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -18,20 +22,52 @@ import org.eclipse.che.api.core.ServerException;
 /**
  * Implementation of {@link PermissionChecker} that use {@link PermissionsManager} for checking.
  *
+ * <p>When {@link PermissionsCache} is provided, actions of permissions are fetched once per user
+ * and instance and are kept in the cache until permissions change.
+ *
  * @author Sergii Leschenko
  */
 public class PermissionCheckerImpl implements PermissionChecker {
   private final PermissionsManager permissionsManager;
+  private final PermissionsCache permissionsCache;
 
-  @Inject
   public PermissionCheckerImpl(PermissionsManager permissionsManager) {
+    this(permissionsManager, null);
+  }
+
+  @Inject
+  public PermissionCheckerImpl(
+      PermissionsManager permissionsManager, PermissionsCache permissionsCache) {
     this.permissionsManager = permissionsManager;
+    this.permissionsCache = permissionsCache;
   }
 
   @Override
   public boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException {
-    return permissionsManager.exists(user, domain, instance, action)
-        || permissionsManager.exists("*", domain, instance, action);
+    if (permissionsCache == null) {
+      return permissionsManager.exists(user, domain, instance, action)
+          || permissionsManager.exists("*", domain, instance, action);
+    }
+    if (!permissionsManager.getDomain(domain).getAllowedActions().contains(action)) {
+      return false;
+    }
+    return getActions(user, domain, instance).contains(action)
+        || getActions("*", domain, instance).contains(action);
+  }
+
+  private Set<String> getActions(String user, String domain, String instance)
+      throws ServerException, NotFoundException, ConflictException {
+    return permissionsCache.getActions(
+        user,
+        domain,
+        instance,
+        () -> {
+          try {
+            return new HashSet<>(permissionsManager.get(user, domain, instance).getActions());
+          } catch (NotFoundException e) {
+            return emptySet();
+          }
+        });
   }
 }
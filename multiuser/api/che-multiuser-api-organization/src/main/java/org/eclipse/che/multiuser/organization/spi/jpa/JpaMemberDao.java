@@ -68,6 +68,8 @@ public class JpaMemberDao extends AbstractJpaPermissionsDao<MemberImpl> implemen
       doRemove(organizationId, userId);
     } catch (RuntimeException e) {
       throw new ServerException(e.getLocalizedMessage(), e);
+    } finally {
+      invalidateCache(userId, organizationId);
     }
   }
 
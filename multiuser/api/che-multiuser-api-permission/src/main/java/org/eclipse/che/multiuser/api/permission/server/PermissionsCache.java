@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.permission.server;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+
+/**
+ * Keeps actions which users are permitted to perform on instances of permissions domains, so that
+ * permission checks don't query the storage each time.
+ *
+ * <p>Entries are invalidated by permissions storages whenever permissions are stored or removed,
+ * including removals caused by removal of users and instances. When such a change is a part of a
+ * transaction which is not committed yet, actions of the changed permissions are not cached until
+ * the transaction completes, as they may be loaded before the change is visible.
+ *
+ * <p>Changes made by other wsmaster instances sharing the same database are not seen until entries
+ * expire, so deployments with several wsmaster instances should use a short expiration time or
+ * disable the cache by setting its maximum size to 0.
+ */
+@Singleton
+public class PermissionsCache {
+
+  /** Loads actions of permissions from the storage. */
+  public interface ActionsLoader {
+    /** Returns actions of permissions or empty set when there are no such permissions. */
+    Set<String> load() throws ServerException, NotFoundException, ConflictException;
+  }
+
+  private final Cache<Key, Set<String>> actions;
+
+  /** Incremented on each invalidation, so that values loaded concurrently are not cached. */
+  private final AtomicLong generation = new AtomicLong();
+
+  /** Keys of permissions changed by transactions which are still in progress. */
+  private final ConcurrentMap<Key, BooleanSupplier> uncommitted = new ConcurrentHashMap<>();
+
+  @Inject
+  public PermissionsCache(
+      @Named("che.authorization.permissions_cache.max_size") long maxSize,
+      @Named("che.authorization.permissions_cache.expire_after_write_sec") long expireAfterWrite) {
+    this.actions =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(expireAfterWrite, SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns actions of the user's permissions for the instance, loading them when they are not
+   * cached.
+   *
+   * @param userId user id or '*' for permissions of all users
+   * @param domainId domain id
+   * @param instanceId instance id, may be null for domains which don't require instance
+   * @param loader loads actions when they are not cached
+   * @return actions of permissions or empty set when there are no such permissions
+   */
+  public Set<String> getActions(
+      String userId, String domainId, String instanceId, ActionsLoader loader)
+      throws ServerException, NotFoundException, ConflictException {
+    final Key key = new Key(userId, domainId, instanceId);
+    Set<String> result = actions.getIfPresent(key);
+    if (result == null) {
+      final long loadGeneration = generation.get();
+      final boolean cacheable = !isUncommitted(key);
+      result = loader.load();
+      if (cacheable && generation.get() == loadGeneration) {
+        actions.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Invalidates cached actions of the user's permissions for the instance.
+   *
+   * @param userId user id or '*' for permissions of all users
+   * @param domainId domain id
+   * @param instanceId instance id, may be null for domains which don't require instance
+   */
+  public void invalidate(String userId, String domainId, String instanceId) {
+    generation.incrementAndGet();
+    actions.invalidate(new Key(userId, domainId, instanceId));
+  }
+
+  /**
+   * Invalidates cached actions of the user's permissions for the instance which are changed by a
+   * transaction that is not committed yet. Actions of these permissions are not cached until the
+   * transaction completes.
+   *
+   * @param userId user id or '*' for permissions of all users
+   * @param domainId domain id
+   * @param instanceId instance id, may be null for domains which don't require instance
+   * @param inProgress returns true while the transaction is neither committed nor rolled back
+   */
+  public void invalidateUncommitted(
+      String userId, String domainId, String instanceId, BooleanSupplier inProgress) {
+    uncommitted.values().removeIf(supplier -> !supplier.getAsBoolean());
+    uncommitted.merge(
+        new Key(userId, domainId, instanceId),
+        inProgress,
+        (s1, s2) -> () -> s1.getAsBoolean() || s2.getAsBoolean());
+    invalidate(userId, domainId, instanceId);
+  }
+
+  /** Invalidates all cached actions. */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    actions.invalidateAll();
+  }
+
+  /** Returns statistics of the cache, e.g. its hit rate. */
+  public CacheStats getStats() {
+    return actions.stats();
+  }
+
+  private boolean isUncommitted(Key key) {
+    final BooleanSupplier inProgress = uncommitted.get(key);
+    if (inProgress == null) {
+      return false;
+    }
+    if (inProgress.getAsBoolean()) {
+      return true;
+    }
+    uncommitted.remove(key, inProgress);
+    return false;
+  }
+
+  private static final class Key {
+    private final String userId;
+    private final String domainId;
+    private final String instanceId;
+
+    private Key(String userId, String domainId, String instanceId) {
+      this.userId = userId;
+      this.domainId = domainId;
+      this.instanceId = instanceId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Objects.equals(userId, other.userId)
+          && Objects.equals(domainId, other.domainId)
+          && Objects.equals(instanceId, other.instanceId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(userId, domainId, instanceId);
+    }
+  }
+}
@@ -18,10 +18,12 @@ import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain;
+import org.eclipse.che.multiuser.api.permission.server.PermissionsCache;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
 
@@ -37,6 +39,9 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
 
   @Inject protected Provider<EntityManager> managerProvider;
 
+  @com.google.inject.Inject(optional = true)
+  private PermissionsCache permissionsCache;
+
   public AbstractJpaPermissionsDao(AbstractPermissionsDomain<T> supportedDomain) {
     this.supportedDomain = supportedDomain;
   }
@@ -53,6 +58,8 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
       return doCreate(permissions);
     } catch (RuntimeException e) {
       throw new ServerException(e.getMessage(), e);
+    } finally {
+      invalidateCache(permissions.getUserId(), permissions.getInstanceId());
     }
   }
 
@@ -78,6 +85,8 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
       doRemove(userId, instanceId);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      invalidateCache(userId, instanceId);
     }
   }
 
@@ -126,6 +135,24 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
     manager.flush();
   }
 
+  /**
+   * Invalidates cached actions of the user's permissions for the instance, must be called whenever
+   * permissions are stored or removed. When the change is made within an outer transaction, e.g.
+   * by cascade removal of a user, the actions are not cached again until that transaction
+   * completes.
+   */
+  protected void invalidateCache(String userId, String instanceId) {
+    if (permissionsCache != null) {
+      final EntityTransaction transaction = managerProvider.get().getTransaction();
+      if (transaction.isActive()) {
+        permissionsCache.invalidateUncommitted(
+            userId, getDomain().getId(), instanceId, transaction::isActive);
+      } else {
+        permissionsCache.invalidate(userId, getDomain().getId(), instanceId);
+      }
+    }
+  }
+
   /**
    * Converts '*' user wildcard to {@code null}
    *
@@ -123,6 +123,8 @@ public class JpaSystemPermissionsDao extends AbstractJpaPermissionsDao<SystemPer
       doRemove(userId, instanceId);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      invalidateCache(userId, instanceId);
     }
   }
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.permission.server;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.che.multiuser.api.permission.server.PermissionsCache.ActionsLoader;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link PermissionsCache}. */
+public class PermissionsCacheTest {
+
+  private ActionsLoader loader;
+  private PermissionsCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    loader = mock(ActionsLoader.class);
+    when(loader.load()).thenReturn(singleton("read"));
+    cache = new PermissionsCache(100, 60);
+  }
+
+  @Test
+  public void shouldLoadActionsOnlyOnce() throws Exception {
+    assertEquals(cache.getActions("user", "domain", "instance", loader), singleton("read"));
+    assertEquals(cache.getActions("user", "domain", "instance", loader), singleton("read"));
+
+    verify(loader).load();
+    assertEquals(cache.getStats().hitCount(), 1);
+  }
+
+  @Test
+  public void shouldCacheActionsPerUserDomainAndInstance() throws Exception {
+    cache.getActions("user", "domain", "instance", loader);
+    cache.getActions("user2", "domain", "instance", loader);
+    cache.getActions("user", "domain2", "instance", loader);
+    cache.getActions("user", "domain", null, loader);
+
+    verify(loader, times(4)).load();
+  }
+
+  @Test
+  public void shouldReloadActionsAfterInvalidation() throws Exception {
+    cache.getActions("user", "domain", "instance", loader);
+    when(loader.load()).thenReturn(emptySet());
+
+    cache.invalidate("user", "domain", "instance");
+
+    assertEquals(cache.getActions("user", "domain", "instance", loader), emptySet());
+    verify(loader, times(2)).load();
+  }
+
+  @Test
+  public void shouldReloadAllActionsAfterInvalidationOfAll() throws Exception {
+    cache.getActions("user", "domain", "instance", loader);
+    cache.getActions("user2", "domain", "instance", loader);
+
+    cache.invalidateAll();
+    cache.getActions("user", "domain", "instance", loader);
+    cache.getActions("user2", "domain", "instance", loader);
+
+    verify(loader, times(4)).load();
+  }
+
+  @Test
+  public void shouldNotCacheActionsLoadedDuringInvalidation() throws Exception {
+    when(loader.load())
+        .thenAnswer(
+            inv -> {
+              cache.invalidate("user", "domain", "instance");
+              return singleton("read");
+            })
+        .thenReturn(emptySet());
+
+    assertEquals(cache.getActions("user", "domain", "instance", loader), singleton("read"));
+    assertEquals(cache.getActions("user", "domain", "instance", loader), emptySet());
+    verify(loader, times(2)).load();
+  }
+
+  @Test
+  public void shouldNotCacheActionsUntilTransactionOfChangeCompletes() throws Exception {
+    AtomicBoolean inProgress = new AtomicBoolean(true);
+    cache.getActions("user", "domain", "instance", loader);
+
+    cache.invalidateUncommitted("user", "domain", "instance", inProgress::get);
+    cache.getActions("user", "domain", "instance", loader);
+    cache.getActions("user", "domain", "instance", loader);
+    inProgress.set(false);
+    cache.getActions("user", "domain", "instance", loader);
+    cache.getActions("user", "domain", "instance", loader);
+
+    verify(loader, times(4)).load();
+  }
+
+  @Test
+  public void shouldNotCacheActionsLoadedWhenTransactionOfChangeCompletes() throws Exception {
+    AtomicBoolean inProgress = new AtomicBoolean(true);
+    cache.invalidateUncommitted("user", "domain", "instance", inProgress::get);
+    when(loader.load())
+        .thenAnswer(
+            inv -> {
+              inProgress.set(false);
+              return singleton("read");
+            })
+        .thenReturn(emptySet());
+
+    assertEquals(cache.getActions("user", "domain", "instance", loader), singleton("read"));
+    assertEquals(cache.getActions("user", "domain", "instance", loader), emptySet());
+    assertEquals(cache.getActions("user", "domain", "instance", loader), emptySet());
+    verify(loader, times(2)).load();
+  }
+
+  @Test
+  public void shouldCacheActionsOfOtherPermissionsWhileTransactionOfChangeIsInProgress()
+      throws Exception {
+    cache.invalidateUncommitted("user", "domain", "instance", () -> true);
+
+    cache.getActions("user2", "domain", "instance", loader);
+    cache.getActions("user2", "domain", "instance", loader);
+
+    verify(loader).load();
+  }
+
+  @Test
+  public void shouldNotCacheActionsWhenMaxSizeIsZero() throws Exception {
+    cache = new PermissionsCache(0, 60);
+
+    cache.getActions("user", "domain", "instance", loader);
+    cache.getActions("user", "domain", "instance", loader);
+
+    verify(loader, times(2)).load();
+  }
+}
@@ -10,6 +10,14 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.jsonwebtoken.Claims;
@@ -28,7 +36,10 @@ import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -43,6 +54,18 @@ import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Authenticates requests by verifying signature of their Keycloak bearer tokens with the public key
+ * of the realm.
+ *
+ * <p>Verified tokens are cached by their hashes until they expire, so that signature of the same
+ * token is not verified on each request. A cached token is evicted as soon as it is found expired.
+ * The public key is fetched once and fetched again only when verification with it fails, e.g.
+ * after the key of the realm was changed.
+ *
+ * <p>Hit rate of the cache and average time of signature verification are available for
+ * monitoring.
+ */
 @Singleton
 public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
   private static final Gson GSON = new Gson();
@@ -53,19 +76,33 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
   private String authServerUrl;
   private String realm;
   private long allowedClockSkewSec;
-  private PublicKey publicKey = null;
   private RequestTokenExtractor tokenExtractor;
 
+  private final AtomicReference<PublicKey> publicKey = new AtomicReference<>();
+  private final Object publicKeyLock = new Object();
+  private final Cache<String, Jws<Claims>> verifiedTokens;
+  private final LongAdder verifications = new LongAdder();
+  private final LongAdder verificationTimeNanos = new LongAdder();
+
   @Inject
   public KeycloakAuthenticationFilter(
       @Named(KeycloakConstants.AUTH_SERVER_URL_SETTING) String authServerUrl,
       @Named(KeycloakConstants.REALM_SETTING) String realm,
       @Named(KeycloakConstants.ALLOWED_CLOCK_SKEW_SEC) long allowedClockSkewSec,
+      @Named(KeycloakConstants.VERIFIED_TOKENS_CACHE_MAX_SIZE) long verifiedTokensMaxSize,
+      @Named(KeycloakConstants.VERIFIED_TOKENS_CACHE_EXPIRE_AFTER_WRITE_SEC)
+          long verifiedTokensExpireAfterWrite,
       RequestTokenExtractor tokenExtractor) {
     this.authServerUrl = authServerUrl;
     this.realm = realm;
     this.allowedClockSkewSec = allowedClockSkewSec;
     this.tokenExtractor = tokenExtractor;
+    this.verifiedTokens =
+        CacheBuilder.newBuilder()
+            .maximumSize(verifiedTokensMaxSize)
+            .expireAfterWrite(verifiedTokensExpireAfterWrite, SECONDS)
+            .recordStats()
+            .build();
   }
 
   @Override
@@ -86,74 +123,150 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       return;
     }
 
-    Jws<Claims> jwt;
+    final String tokenHash = Hashing.sha256().hashString(token, UTF_8).toString();
+    Jws<Claims> jwt = verifiedTokens.getIfPresent(tokenHash);
+    if (jwt != null && isExpired(jwt)) {
+      verifiedTokens.invalidate(tokenHash);
+      jwt = null;
+    }
+    if (jwt == null) {
+      try {
+        jwt = verify(token);
+      } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+        LOG.error("Failed verifying the JWT token", e);
+        send403(res);
+        return;
+      }
+      if (jwt == null) {
+        send403(res);
+        return;
+      }
+      verifiedTokens.put(tokenHash, jwt);
+    }
+    request.setAttribute("token", jwt);
+    chain.doFilter(req, res);
+  }
+
+  /** Returns statistics of the cache of verified tokens, e.g. its hit rate. */
+  public CacheStats getVerifiedTokensStats() {
+    return verifiedTokens.stats();
+  }
+
+  /** Returns average time in nanoseconds spent verifying signature of tokens. */
+  public double getAverageVerificationTime() {
+    final long count = verifications.sum();
+    return count == 0 ? 0 : (double) verificationTimeNanos.sum() / count;
+  }
+
+  /**
+   * Verifies signature of the token, fetching the public key again if the token can't be verified
+   * with the current one.
+   *
+   * @return verified token or null if the token can't be verified
+   */
+  private Jws<Claims> verify(String token)
+      throws NoSuchAlgorithmException, InvalidKeySpecException {
+    final PublicKey key = getJwtPublicKey();
     try {
-      jwt =
-          Jwts.parser()
-              .setAllowedClockSkewSeconds(allowedClockSkewSec)
-              .setSigningKey(getJwtPublicKey(false))
-              .parseClaimsJws(token);
+      Jws<Claims> jwt = parse(token, key);
       LOG.debug("JWT = ", jwt);
       // OK, we can trust this JWT
-    } catch (SignatureException
-        | NoSuchAlgorithmException
-        | InvalidKeySpecException
-        | IllegalArgumentException e) {
+      return jwt;
+    } catch (SignatureException | IllegalArgumentException e) {
       // don't trust the JWT!
       LOG.error("Failed verifying the JWT token", e);
       try {
         LOG.info("Retrying after updating the public key", e);
-        jwt =
-            Jwts.parser()
-                .setAllowedClockSkewSeconds(allowedClockSkewSec)
-                .setSigningKey(getJwtPublicKey(true))
-                .parseClaimsJws(token);
+        Jws<Claims> jwt = parse(token, refreshJwtPublicKey(key));
         LOG.debug("JWT = ", jwt);
         // OK, we can trust this JWT
-      } catch (SignatureException
-          | NoSuchAlgorithmException
-          | InvalidKeySpecException
-          | IllegalArgumentException ee) {
+        return jwt;
+      } catch (SignatureException | IllegalArgumentException ee) {
         // don't trust the JWT!
         LOG.error("Failed verifying the JWT token after public key update", e);
-        send403(res);
-        return;
+        return null;
       }
     }
-    request.setAttribute("token", jwt);
-    chain.doFilter(req, res);
   }
 
-  private synchronized PublicKey getJwtPublicKey(boolean reset)
+  /** Verifies signature and expiration of the token. */
+  @VisibleForTesting
+  Jws<Claims> parse(String token, PublicKey key) {
+    final long start = System.nanoTime();
+    try {
+      return Jwts.parser()
+          .setAllowedClockSkewSeconds(allowedClockSkewSec)
+          .setSigningKey(key)
+          .parseClaimsJws(token);
+    } finally {
+      verifications.increment();
+      verificationTimeNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  private boolean isExpired(Jws<Claims> jwt) {
+    final Date expiration = jwt.getBody().getExpiration();
+    return expiration != null
+        && expiration.getTime() + SECONDS.toMillis(allowedClockSkewSec)
+            < System.currentTimeMillis();
+  }
+
+  private PublicKey getJwtPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    final PublicKey key = publicKey.get();
+    return key != null ? key : refreshJwtPublicKey(null);
+  }
+
+  /**
+   * Fetches the public key of the realm unless it has been already fetched again by another thread
+   * since the given key was obtained, so that threads which fail to verify tokens with the same key
+   * fetch the new key only once.
+   *
+   * @param staleKey the key which failed to verify a token, or null if there is no key
+   * @return the new key or null if it can't be fetched
+   */
+  private PublicKey refreshJwtPublicKey(PublicKey staleKey)
       throws NoSuchAlgorithmException, InvalidKeySpecException {
-    if (reset) {
-      publicKey = null;
+    synchronized (publicKeyLock) {
+      final PublicKey currentKey = publicKey.get();
+      if (currentKey != staleKey) {
+        return currentKey;
+      }
+      final PublicKey newKey = fetchPublicKey();
+      publicKey.set(newKey);
+      return newKey;
     }
-    if (publicKey == null) {
-      HttpURLConnection conn = null;
-      try {
-        URL url = new URL(authServerUrl + "/realms/" + realm);
-        LOG.info("Pulling realm public key from URL : {}", url);
-        conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        Map<String, String> realmSettings;
-        try (BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
-          realmSettings = GSON.fromJson(in, STRING_MAP_TYPE);
-        }
-        String encodedPublicKey = realmSettings.get("public_key");
-        byte[] decoded = Base64.getDecoder().decode(encodedPublicKey);
-        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decoded);
-        KeyFactory kf = KeyFactory.getInstance("RSA");
-        publicKey = kf.generatePublic(keySpec);
-      } catch (IOException e) {
-        LOG.error("Exception during retrieval of the Keycloak realm public key", e);
-      } finally {
-        if (conn != null) {
-          conn.disconnect();
-        }
+  }
+
+  /**
+   * Fetches the public key of the realm from the Keycloak server.
+   *
+   * @return the key or null if it can't be fetched
+   */
+  @VisibleForTesting
+  PublicKey fetchPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    HttpURLConnection conn = null;
+    try {
+      URL url = new URL(authServerUrl + "/realms/" + realm);
+      LOG.info("Pulling realm public key from URL : {}", url);
+      conn = (HttpURLConnection) url.openConnection();
+      conn.setRequestMethod("GET");
+      Map<String, String> realmSettings;
+      try (BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
+        realmSettings = GSON.fromJson(in, STRING_MAP_TYPE);
+      }
+      String encodedPublicKey = realmSettings.get("public_key");
+      byte[] decoded = Base64.getDecoder().decode(encodedPublicKey);
+      X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decoded);
+      KeyFactory kf = KeyFactory.getInstance("RSA");
+      return kf.generatePublic(keySpec);
+    } catch (IOException e) {
+      LOG.error("Exception during retrieval of the Keycloak realm public key", e);
+      return null;
+    } finally {
+      if (conn != null) {
+        conn.disconnect();
       }
     }
-    return publicKey;
   }
 
   private void send403(ServletResponse res) throws IOException {
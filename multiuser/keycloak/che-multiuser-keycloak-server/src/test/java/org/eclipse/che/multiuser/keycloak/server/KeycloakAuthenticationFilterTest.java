@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.cache.CacheStats;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link KeycloakAuthenticationFilter}. */
+public class KeycloakAuthenticationFilterTest {
+
+  private static final long MAX_SIZE = 100;
+  private static final long EXPIRE_AFTER_WRITE_SEC = 60;
+
+  private KeyPair keyPair;
+  private RequestTokenExtractor tokenExtractor;
+  private HttpServletRequest request;
+  private HttpServletResponse response;
+  private FilterChain chain;
+  private KeycloakAuthenticationFilter filter;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    keyPair = newKeyPair();
+    tokenExtractor = mock(RequestTokenExtractor.class);
+    request = mock(HttpServletRequest.class);
+    response = mock(HttpServletResponse.class);
+    chain = mock(FilterChain.class);
+    when(request.getScheme()).thenReturn("http");
+    when(request.getRequestURI()).thenReturn("/api/user");
+    filter = newFilter(MAX_SIZE, EXPIRE_AFTER_WRITE_SEC);
+  }
+
+  @Test
+  public void shouldVerifyTokenOnlyOnceWhileItIsNotExpired() throws Exception {
+    String token = token(keyPair, System.currentTimeMillis() + 60_000);
+
+    doFilter(token);
+    doFilter(token);
+
+    verify(filter).parse(eq(token), any());
+    verify(filter).fetchPublicKey();
+    verify(chain, times(2)).doFilter(request, response);
+  }
+
+  @Test
+  public void shouldRecordCacheHitsAndVerificationTime() throws Exception {
+    String token = token(keyPair, System.currentTimeMillis() + 60_000);
+
+    doFilter(token);
+    doFilter(token);
+
+    CacheStats stats = filter.getVerifiedTokensStats();
+    assertEquals(stats.missCount(), 1);
+    assertEquals(stats.hitCount(), 1);
+    assertEquals(stats.hitRate(), 0.5);
+    assertTrue(filter.getAverageVerificationTime() > 0);
+  }
+
+  @Test
+  public void shouldNotAcceptCachedTokenAfterItsExpirationTime() throws Exception {
+    long expiration = System.currentTimeMillis() + 1000;
+    String token = token(keyPair, expiration);
+    doFilter(token);
+    waitUntil(expiration);
+
+    try {
+      doFilter(token);
+      fail("Expired token must not be accepted");
+    } catch (ExpiredJwtException expected) {
+    }
+
+    verify(filter, times(2)).parse(eq(token), any());
+    verify(chain).doFilter(request, response);
+  }
+
+  @Test
+  public void shouldVerifyTokenAgainWhenItIsEvictedAfterWrite() throws Exception {
+    filter = newFilter(MAX_SIZE, 1);
+    String token = token(keyPair, System.currentTimeMillis() + 60_000);
+    doFilter(token);
+    waitUntil(System.currentTimeMillis() + 1000);
+
+    doFilter(token);
+
+    verify(filter, times(2)).parse(eq(token), any());
+    verify(chain, times(2)).doFilter(request, response);
+  }
+
+  @Test
+  public void shouldVerifyTokenOnEachRequestWhenCacheIsDisabled() throws Exception {
+    filter = newFilter(0, EXPIRE_AFTER_WRITE_SEC);
+    String token = token(keyPair, System.currentTimeMillis() + 60_000);
+
+    doFilter(token);
+    doFilter(token);
+
+    verify(filter, times(2)).parse(eq(token), any());
+    verify(chain, times(2)).doFilter(request, response);
+  }
+
+  @Test
+  public void shouldFetchPublicKeyAgainWhenTokenIsSignedWithNewKey() throws Exception {
+    doFilter(token(keyPair, System.currentTimeMillis() + 60_000));
+    KeyPair newKeyPair = newKeyPair();
+    doReturn(newKeyPair.getPublic()).when(filter).fetchPublicKey();
+
+    doFilter(token(newKeyPair, System.currentTimeMillis() + 60_000));
+    doFilter(token(newKeyPair, System.currentTimeMillis() + 120_000));
+
+    verify(filter, times(2)).fetchPublicKey();
+    verify(chain, times(3)).doFilter(request, response);
+    verify(response, never()).sendError(403);
+  }
+
+  @Test
+  public void shouldRejectTokenWhichCanNotBeVerifiedWithFetchedKey() throws Exception {
+    String token = token(newKeyPair(), System.currentTimeMillis() + 60_000);
+
+    doFilter(token);
+    doFilter(token);
+
+    verify(response, times(2)).sendError(403);
+    verify(chain, never()).doFilter(request, response);
+    verify(filter, times(4)).parse(eq(token), any());
+  }
+
+  private KeycloakAuthenticationFilter newFilter(long maxSize, long expireAfterWriteSec)
+      throws Exception {
+    KeycloakAuthenticationFilter filter =
+        spy(
+            new KeycloakAuthenticationFilter(
+                "http://keycloak:5050/auth",
+                "che",
+                0,
+                maxSize,
+                expireAfterWriteSec,
+                tokenExtractor));
+    doReturn(keyPair.getPublic()).when(filter).fetchPublicKey();
+    return filter;
+  }
+
+  private void doFilter(String token) throws Exception {
+    when(tokenExtractor.getToken(request)).thenReturn(token);
+    filter.doFilter(request, response, chain);
+  }
+
+  private static String token(KeyPair keyPair, long expiration) {
+    return Jwts.builder()
+        .setSubject("user")
+        .setExpiration(new Date(expiration))
+        .signWith(SignatureAlgorithm.RS256, keyPair.getPrivate())
+        .compact();
+  }
+
+  private static KeyPair newKeyPair() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return generator.generateKeyPair();
+  }
+
+  /** Waits until the given time passes, taking into account second precision of JWT dates. */
+  private static void waitUntil(long time) throws InterruptedException {
+    Thread.sleep(time - System.currentTimeMillis() + 100);
+  }
+}
@@ -21,6 +21,10 @@ public class KeycloakConstants {
   public static final String CLIENT_ID_SETTING = KEYCLOAK_SETTING_PREFIX + "client_id";
   public static final String ALLOWED_CLOCK_SKEW_SEC =
       KEYCLOAK_SETTING_PREFIX + "allowed_clock_skew_sec";
+  public static final String VERIFIED_TOKENS_CACHE_MAX_SIZE =
+      KEYCLOAK_SETTING_PREFIX + "verified_tokens_cache.max_size";
+  public static final String VERIFIED_TOKENS_CACHE_EXPIRE_AFTER_WRITE_SEC =
+      KEYCLOAK_SETTING_PREFIX + "verified_tokens_cache.expire_after_write_sec";
 
   public static final String OSO_ENDPOINT_SETTING = KEYCLOAK_SETTING_PREFIX + "oso.endpoint";
   public static final String PROFILE_ENDPOINT_SETTING =
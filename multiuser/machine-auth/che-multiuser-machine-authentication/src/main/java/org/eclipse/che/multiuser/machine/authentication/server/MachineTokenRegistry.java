@@ -17,6 +17,7 @@ import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.inject.Singleton;
@@ -26,6 +27,10 @@ import org.eclipse.che.api.core.NotFoundException;
  * Table-based storage of machine security tokens. Table rows is workspace id's, columns - user
  * id's. Table is synchronized externally as required by its javadoc.
  *
+ * <p>Users are also indexed by their tokens, so that the user of a token is found without scanning
+ * the table. The index is modified along with the table under the write lock, but it is read
+ * without locking.
+ *
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
  * @see HashBasedTable
  */
@@ -33,6 +38,7 @@ import org.eclipse.che.api.core.NotFoundException;
 public class MachineTokenRegistry {
 
   private final Table<String, String, String> tokens = HashBasedTable.create();
+  private final Map<String, String> tokenToUser = new ConcurrentHashMap<>();
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
   /**
@@ -46,7 +52,11 @@ public class MachineTokenRegistry {
     lock.writeLock().lock();
     try {
       final String token = generate("machine", 128);
-      tokens.put(workspaceId, userId, token);
+      final String oldToken = tokens.put(workspaceId, userId, token);
+      if (oldToken != null) {
+        tokenToUser.remove(oldToken);
+      }
+      tokenToUser.put(token, userId);
       return token;
     } finally {
       lock.writeLock().unlock();
@@ -82,17 +92,11 @@ public class MachineTokenRegistry {
    * @throws NotFoundException when no token exists for given user and workspace
    */
   public String getUserId(String token) throws NotFoundException {
-    lock.readLock().lock();
-    try {
-      for (Table.Cell<String, String, String> tokenCell : tokens.cellSet()) {
-        if (tokenCell.getValue().equals(token)) {
-          return tokenCell.getColumnKey();
-        }
-      }
+    final String userId = tokenToUser.get(token);
+    if (userId == null) {
       throw new NotFoundException("User not found for token " + token);
-    } finally {
-      lock.readLock().unlock();
     }
+    return userId;
   }
 
   /**
@@ -106,6 +110,7 @@ public class MachineTokenRegistry {
     try {
       final Map<String, String> rowCopy = new HashMap<>(tokens.row(workspaceId));
       tokens.row(workspaceId).clear();
+      rowCopy.values().forEach(tokenToUser::remove);
       return rowCopy;
     } finally {
       lock.writeLock().unlock();
@@ -45,6 +45,37 @@ public class MachineTokenRegistryTest {
     assertFalse(exists(registry, "user3", "workspace123"));
   }
 
+  @Test
+  public void shouldFindUserByToken() throws Exception {
+    final MachineTokenRegistry registry = new MachineTokenRegistry();
+    final String token1 = registry.generateToken("user1", "workspace123");
+    final String token2 = registry.generateToken("user2", "workspace123");
+
+    assertEquals(registry.getUserId(token1), "user1");
+    assertEquals(registry.getUserId(token2), "user2");
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldNotFindUserByRemovedToken() throws Exception {
+    final MachineTokenRegistry registry = new MachineTokenRegistry();
+    final String token = registry.generateToken("user1", "workspace123");
+    registry.generateToken("user1", "workspace234");
+
+    registry.removeTokens("workspace123");
+
+    registry.getUserId(token);
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldNotFindUserByReplacedToken() throws Exception {
+    final MachineTokenRegistry registry = new MachineTokenRegistry();
+    final String token = registry.generateToken("user1", "workspace123");
+    final String newToken = registry.generateToken("user1", "workspace123");
+    assertEquals(registry.getUserId(newToken), "user1");
+
+    registry.getUserId(token);
+  }
+
   private static boolean exists(MachineTokenRegistry registry, String user, String workspace) {
     try {
       registry.getOrCreateToken(user, workspace);
@@ -18,6 +18,7 @@ import static java.util.stream.Collectors.toList;
 import com.google.inject.persist.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -29,14 +30,17 @@ import javax.persistence.NoResultException;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.jpa.WorkspacePageQuery;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -171,6 +175,32 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getWorkspaces(
+      String userId,
+      @Nullable Set<String> includedIds,
+      Set<String> excludedIds,
+      boolean summary,
+      int maxItems,
+      long skipCount)
+      throws ServerException {
+    requireNonNull(excludedIds, "Required non-null excluded ids");
+    checkArgument(maxItems > 0, "The number of items to return must be positive.");
+    checkArgument(
+        skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+        "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    try {
+      return new WorkspacePageQuery(managerProvider.get(), "Worker worker JOIN worker.workspace w")
+          .where("worker.userId = :userId")
+          .where("'read' MEMBER OF worker.actions")
+          .setParameter("userId", userId)
+          .getPage(includedIds, excludedIds, summary, maxItems, skipCount);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
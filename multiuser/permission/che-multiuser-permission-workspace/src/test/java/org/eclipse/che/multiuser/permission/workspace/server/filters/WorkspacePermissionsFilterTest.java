@@ -15,7 +15,7 @@ import static org.everrest.assured.JettyHttpServer.ADMIN_USER_NAME;
 import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
 import static org.everrest.assured.JettyHttpServer.SECURE_PATH;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
@@ -217,6 +217,10 @@ public class WorkspacePermissionsFilterTest {
 
   @Test
   public void shouldNotCheckPermissionsPermissionsOnWorkspacesGetting() throws Exception {
+    when(workspaceService.getWorkspaces(
+            any(), nullable(Integer.class), nullable(String.class), anyBoolean()))
+        .thenReturn(javax.ws.rs.core.Response.ok().build());
+
     final Response response =
         given()
             .auth()
@@ -226,7 +230,8 @@ public class WorkspacePermissionsFilterTest {
             .get(SECURE_PATH + "/workspace");
 
     assertEquals(response.getStatusCode(), 200);
-    verify(workspaceService).getWorkspaces(any(), anyInt(), nullable(String.class));
+    verify(workspaceService)
+        .getWorkspaces(any(), nullable(Integer.class), nullable(String.class), anyBoolean());
     verify(permissionsFilter, never()).checkAccountPermissions(anyString(), any());
     verifyZeroInteractions(subject);
   }
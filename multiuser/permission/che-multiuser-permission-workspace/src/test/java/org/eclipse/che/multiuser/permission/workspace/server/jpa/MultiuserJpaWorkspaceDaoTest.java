@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.multiuser.permission.workspace.server.jpa;
 
+import static java.util.Collections.singleton;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -19,6 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
@@ -132,4 +134,15 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldGetPageOfWorkspacesByPermissions() throws Exception {
+    Page<WorkspaceImpl> page =
+        dao.getWorkspaces(users[0].getId(), null, singleton("ws1"), true, 30, 0);
+
+    assertEquals(page.getTotalItemsCount(), 1);
+    assertEquals(page.getItems().size(), 1);
+    assertEquals(page.getItems().get(0).getId(), "ws2");
+    assertEquals(page.getItems().get(0).getConfig().getName(), "wrksp2");
+  }
 }
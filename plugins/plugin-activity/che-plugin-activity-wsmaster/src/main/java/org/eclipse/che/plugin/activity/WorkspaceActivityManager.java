@@ -24,6 +24,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -41,6 +42,9 @@ import org.slf4j.LoggerFactory;
  * one minute rate. If workspace idle timeout is negative, then workspace would not be stopped
  * automatically.
  *
+ * <p>Workspace status events are handled asynchronously as handling of running workspace event
+ * updates the workspace, so it must not delay the workspace start.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -65,7 +69,12 @@ public class WorkspaceActivityManager {
     this.eventService = eventService;
     this.activeWorkspaces = new ConcurrentHashMap<>();
     this.workspaceEventsSubscriber =
-        new EventSubscriber<WorkspaceStatusEvent>() {
+        new AsyncEventSubscriber<WorkspaceStatusEvent>() {
+          @Override
+          public Object getPartitionKey(WorkspaceStatusEvent event) {
+            return event.getWorkspaceId();
+          }
+
           @Override
           public void onEvent(WorkspaceStatusEvent event) {
             switch (event.getEventType()) {
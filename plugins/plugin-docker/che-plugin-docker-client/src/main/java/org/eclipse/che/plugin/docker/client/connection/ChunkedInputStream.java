@@ -63,6 +63,27 @@ public class ChunkedInputStream extends InputStream {
     return (chunkSize - chunkPos);
   }
 
+  /**
+   * Reads and discards the rest of the stream as long as its data has been already received and
+   * no more than given number of bytes is skipped.
+   *
+   * @return true if the end of the stream is reached
+   */
+  synchronized boolean skipAvailable(int maxBytes) throws IOException {
+    final byte[] buf = new byte[8192];
+    int skipped = 0;
+    while (!eof) {
+      if (skipped > maxBytes || input.available() == 0) {
+        return false;
+      }
+      final int n = doRead(buf, 0, buf.length);
+      if (n > 0) {
+        skipped += n;
+      }
+    }
+    return true;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (eof) {
       return -1;
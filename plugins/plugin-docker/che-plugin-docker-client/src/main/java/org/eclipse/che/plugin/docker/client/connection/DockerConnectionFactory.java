@@ -38,18 +38,25 @@ public class DockerConnectionFactory {
   private int connectionReadTimeoutMs = 60000;
 
   private final DockerCertificates dockerCertificates;
+  private final DockerConnectionPool connectionPool;
 
   @Inject
-  public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
+  public DockerConnectionFactory(
+      DockerConnectorConfiguration connectorConfiguration, DockerConnectionPool connectionPool) {
     this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+    this.connectionPool = connectionPool;
   }
 
   public DockerConnection openConnection(URI dockerDaemonUri) {
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-      return new UnixSocketConnection(dockerDaemonUri.getPath());
+      return new UnixSocketConnection(dockerDaemonUri.getPath(), connectionPool);
     } else {
       return new TcpConnection(
-          dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+          dockerDaemonUri,
+          dockerCertificates,
+          connectionTimeoutMs,
+          connectionReadTimeoutMs,
+          connectionPool);
     }
   }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+
+/**
+ * Keeps idle connections to docker API alive, so that subsequent requests to the same docker
+ * daemon don't open new connections.
+ *
+ * <p>A connection is used by a single request at a time, independent requests which run
+ * concurrently use separate connections. Connections which have been idle for too long, as well as
+ * connections closed by docker, are not reused.
+ */
+@Singleton
+public class DockerConnectionPool {
+  public static final String MAX_IDLE_CONNECTIONS_PROPERTY =
+      "che.docker.connection_pool.max_idle_connections";
+  public static final String IDLE_TIMEOUT_MS_PROPERTY =
+      "che.docker.connection_pool.idle_timeout_ms";
+
+  @Inject(optional = true)
+  @Named(MAX_IDLE_CONNECTIONS_PROPERTY)
+  private int maxIdleConnections = 10;
+
+  @Inject(optional = true)
+  @Named(IDLE_TIMEOUT_MS_PROPERTY)
+  private long idleTimeoutMs = 30000;
+
+  private final ConcurrentMap<String, Deque<DockerSocket>> idleSockets = new ConcurrentHashMap<>();
+  private final LongAdder openedConnections = new LongAdder();
+  private final LongAdder reusedConnections = new LongAdder();
+
+  public DockerConnectionPool() {}
+
+  /**
+   * Creates pool with given settings.
+   *
+   * @param maxIdleConnections maximum number of idle connections kept for each docker daemon, 0
+   *     disables reuse of connections
+   * @param idleTimeoutMs time after which idle connections are not reused
+   */
+  public DockerConnectionPool(int maxIdleConnections, long idleTimeoutMs) {
+    this.maxIdleConnections = maxIdleConnections;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  /** Opens connections to docker daemon. */
+  interface Connector {
+    DockerSocket connect() throws IOException;
+  }
+
+  /**
+   * Returns idle connection to the docker daemon or opens new one if there is no idle connection.
+   *
+   * @param endpoint identifier of the docker daemon
+   * @param connector opens new connection to the docker daemon
+   */
+  DockerSocket acquire(String endpoint, Connector connector) throws IOException {
+    final Deque<DockerSocket> sockets = idleSockets.get(endpoint);
+    if (sockets != null) {
+      DockerSocket socket;
+      // the most recently used connection is the least likely to be closed by docker
+      while ((socket = sockets.pollFirst()) != null) {
+        if (System.currentTimeMillis() - socket.getReleaseTime() > idleTimeoutMs
+            || socket.isStale()) {
+          socket.close();
+        } else {
+          reusedConnections.increment();
+          return socket;
+        }
+      }
+    }
+    return connect(connector);
+  }
+
+  /** Opens new connection to docker daemon regardless of idle connections. */
+  DockerSocket connect(Connector connector) throws IOException {
+    final DockerSocket socket = connector.connect();
+    openedConnections.increment();
+    return socket;
+  }
+
+  /**
+   * Keeps connection which is not used anymore for subsequent requests to the docker daemon.
+   * Connection must have no pending response data.
+   *
+   * @param endpoint identifier of the docker daemon
+   * @param socket connection to the docker daemon
+   */
+  void release(String endpoint, DockerSocket socket) {
+    if (maxIdleConnections <= 0) {
+      socket.close();
+      return;
+    }
+    final Deque<DockerSocket> sockets =
+        idleSockets.computeIfAbsent(endpoint, k -> new ConcurrentLinkedDeque<>());
+    socket.setReleaseTime(System.currentTimeMillis());
+    sockets.offerFirst(socket);
+    while (sockets.size() > maxIdleConnections) {
+      final DockerSocket eldest = sockets.pollLast();
+      if (eldest != null) {
+        eldest.close();
+      }
+    }
+  }
+
+  /** Returns the number of connections opened to docker daemons. */
+  public long getOpenedConnections() {
+    return openedConnections.sum();
+  }
+
+  /** Returns the number of times idle connections were reused instead of opening new ones. */
+  public long getReusedConnections() {
+    return reusedConnections.sum();
+  }
+
+  /** Returns the number of idle connections kept by the pool. */
+  public int getIdleConnections() {
+    int idle = 0;
+    for (Deque<DockerSocket> sockets : idleSockets.values()) {
+      idle += sockets.size();
+    }
+    return idle;
+  }
+
+  /** Closes all idle connections. */
+  @PreDestroy
+  public void close() {
+    for (Deque<DockerSocket> sockets : idleSockets.values()) {
+      DockerSocket socket;
+      while ((socket = sockets.pollFirst()) != null) {
+        socket.close();
+      }
+    }
+  }
+}
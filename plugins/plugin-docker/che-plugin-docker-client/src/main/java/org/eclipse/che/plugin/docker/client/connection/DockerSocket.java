@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Connected socket to docker API, which may be used for several HTTP requests one after another.
+ * Streams of the socket are kept for all its requests, so that no buffered data is lost between
+ * them.
+ */
+abstract class DockerSocket implements Closeable {
+  private long releaseTime;
+  private int requests;
+
+  abstract InputStream getInputStream();
+
+  abstract OutputStream getOutputStream();
+
+  /**
+   * Quickly checks whether the socket, which is not used by any request, can't be used anymore,
+   * that is it was closed by docker or received unexpected data.
+   */
+  abstract boolean isStale();
+
+  @Override
+  public abstract void close();
+
+  long getReleaseTime() {
+    return releaseTime;
+  }
+
+  void setReleaseTime(long releaseTime) {
+    this.releaseTime = releaseTime;
+  }
+
+  /** Returns the number of requests sent through the socket. */
+  int getRequests() {
+    return requests;
+  }
+
+  void incrementRequests() {
+    requests++;
+  }
+}
@@ -57,6 +57,26 @@ public class LimitedInputStream extends InputStream {
     return doRead(b, 0, len);
   }
 
+  /**
+   * Reads and discards the rest of the stream unless more than given number of bytes remain.
+   *
+   * @return true if the end of the stream is reached
+   */
+  synchronized boolean skipRemaining(int maxBytes) throws IOException {
+    if (limit - pos > maxBytes) {
+      return false;
+    }
+    final byte[] buf = new byte[8192];
+    while (pos < limit) {
+      final int n = input.read(buf, 0, Math.min(buf.length, limit - pos));
+      if (n == -1) {
+        return false;
+      }
+      pos += n;
+    }
+    return true;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (pos >= limit) {
       return -1;
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.che.commons.lang.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection which sends HTTP/1.1 requests to docker API through sockets of {@link
+ * DockerConnectionPool}, so that sockets are kept alive and reused by subsequent connections.
+ *
+ * <p>Socket is returned to the pool when connection is closed after its response has been read
+ * completely, otherwise the socket is closed.
+ */
+public abstract class PooledDockerConnection extends DockerConnection {
+  private static final Logger LOG = LoggerFactory.getLogger(PooledDockerConnection.class);
+
+  /** Methods of requests which may be sent again when docker closes idle connection. */
+  private static final Set<String> IDEMPOTENT_METHODS =
+      ImmutableSet.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+  private final DockerConnectionPool pool;
+  private final String endpoint;
+
+  private DockerSocket socket;
+  private SocketDockerResponse response;
+
+  /**
+   * @param pool pool of sockets
+   * @param endpoint identifier of the docker daemon, connections with the same endpoint share
+   *     sockets
+   */
+  protected PooledDockerConnection(DockerConnectionPool pool, String endpoint) {
+    this.pool = pool;
+    this.endpoint = endpoint;
+  }
+
+  /** Opens new socket to docker daemon, input stream of the socket must support marks. */
+  abstract DockerSocket connect() throws IOException;
+
+  /** Returns value of the mandatory Host header. */
+  abstract String getHost();
+
+  @Override
+  protected DockerResponse request(
+      String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
+      throws IOException {
+    socket = pool.acquire(endpoint, this::connect);
+    try {
+      try {
+        response = send(method, path, query, headers, entity, socket.getRequests() > 0);
+      } catch (StaleSocketException e) {
+        LOG.debug("Connection to docker {} was closed, reconnecting", endpoint);
+        closeSocket();
+        socket = pool.connect(this::connect);
+        response = send(method, path, query, headers, entity, false);
+      }
+    } catch (IOException | RuntimeException e) {
+      closeSocket();
+      throw e;
+    }
+    return response;
+  }
+
+  @Override
+  public void close() {
+    if (socket == null) {
+      return;
+    }
+    boolean complete;
+    try {
+      complete = response != null && response.isComplete();
+    } catch (IOException e) {
+      complete = false;
+    }
+    if (complete) {
+      pool.release(endpoint, socket);
+      socket = null;
+    } else {
+      closeSocket();
+    }
+  }
+
+  private SocketDockerResponse send(
+      String method,
+      String path,
+      String query,
+      List<Pair<String, ?>> headers,
+      Entity<?> entity,
+      boolean retryable)
+      throws IOException {
+    socket.incrementRequests();
+    try {
+      final OutputStream output = new BufferedOutputStream(socket.getOutputStream());
+      writeHttpHeaders(output, method, path, query, headers);
+      if (entity != null) {
+        entity.writeTo(output);
+      }
+      output.flush();
+    } catch (IOException e) {
+      // docker didn't get the whole request, it is safe to send it again unless the entity
+      // has been consumed
+      if (retryable && !(entity instanceof StreamEntity)) {
+        throw new StaleSocketException(e);
+      }
+      throw e;
+    }
+
+    final InputStream input = socket.getInputStream();
+    try {
+      input.mark(1);
+      if (input.read() == -1) {
+        throw new EOFException("Unexpected end of file from docker API");
+      }
+      input.reset();
+    } catch (SocketTimeoutException e) {
+      throw e;
+    } catch (IOException e) {
+      // docker might have processed the request, so only idempotent ones are sent again
+      if (retryable && IDEMPOTENT_METHODS.contains(method) && !(entity instanceof StreamEntity)) {
+        throw new StaleSocketException(e);
+      }
+      throw e;
+    }
+    final SocketDockerResponse response = new SocketDockerResponse(input);
+    // reads status line and headers
+    response.getInputStream();
+    return response;
+  }
+
+  private void writeHttpHeaders(
+      OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
+      throws IOException {
+    final Writer writer = new OutputStreamWriter(output);
+    writer.write(method);
+    writer.write(' ');
+    writer.write(path);
+    if (!Strings.isNullOrEmpty(query)) {
+      writer.write("?");
+      writer.write(query);
+    }
+    writer.write(" HTTP/1.1\r\n");
+    for (Pair<String, ?> header : headers) {
+      writer.write(header.first);
+      writer.write(": ");
+      writer.write(String.valueOf(header.second));
+      writer.write("\r\n");
+    }
+    // Host header is mandatory in HTTP 1.1
+    writer.write("Host: ");
+    writer.write(getHost());
+    writer.write("\r\n\r\n");
+    writer.flush();
+  }
+
+  private void closeSocket() {
+    if (socket != null) {
+      socket.close();
+      socket = null;
+    }
+  }
+
+  /** Thrown when request can't be sent through reused socket and may be sent again. */
+  private static class StaleSocketException extends IOException {
+    StaleSocketException(IOException cause) {
+      super(cause);
+    }
+  }
+}
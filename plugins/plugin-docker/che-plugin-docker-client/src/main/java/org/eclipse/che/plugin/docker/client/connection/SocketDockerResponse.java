@@ -15,8 +15,15 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
-/** @author andrew00x */
-public class UnixSocketDockerResponse implements DockerResponse {
+/**
+ * Response of docker API read from a socket.
+ *
+ * @author andrew00x
+ */
+public class SocketDockerResponse implements DockerResponse {
+  /** Maximum number of unread bytes which are skipped to reuse connection of the response. */
+  private static final int MAX_SKIPPED_BYTES = 64 * 1024;
+
   private static final InputStream EMPTY =
       new InputStream() {
         @Override
@@ -31,7 +38,7 @@ public class UnixSocketDockerResponse implements DockerResponse {
   private String[] headersFields;
   private int status;
 
-  UnixSocketDockerResponse(InputStream input) {
+  SocketDockerResponse(InputStream input) {
     rawData = input;
     status = -1;
   }
@@ -142,6 +149,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
       }
     }
     this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+    final int statusCode = getStatus();
+    if (statusCode == 204 || statusCode == 304) {
+      // these responses never have body
+      return data = EMPTY;
+    }
     final int contentLength = getContentLength();
     if (contentLength == 0) {
       return data = EMPTY;
@@ -154,4 +166,29 @@ public class UnixSocketDockerResponse implements DockerResponse {
             ? new ChunkedInputStream(rawData)
             : rawData;
   }
+
+  /**
+   * Checks whether the whole response has been read, so that its connection may be used for the
+   * next request. A small unread rest of the body is skipped if it can be read without waiting for
+   * docker to produce it.
+   */
+  synchronized boolean isComplete() throws IOException {
+    if (headersFields == null
+        || !headersFields[0].startsWith("HTTP/1.1")
+        || getStatus() == 101
+        || "close".equalsIgnoreCase(getHeader("Connection"))) {
+      return false;
+    }
+    if (data == EMPTY) {
+      return true;
+    }
+    if (data instanceof LimitedInputStream) {
+      return ((LimitedInputStream) data).skipRemaining(MAX_SKIPPED_BYTES);
+    }
+    if (data instanceof ChunkedInputStream) {
+      return ((ChunkedInputStream) data).skipAvailable(MAX_SKIPPED_BYTES);
+    }
+    // the end of the body is marked by closing the connection
+    return false;
+  }
 }
@@ -10,31 +10,35 @@
  */
 package org.eclipse.che.plugin.docker.client.connection;
 
-import com.google.common.base.Strings;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.net.URI;
-import java.net.URL;
-import java.util.List;
-import javax.net.ssl.HttpsURLConnection;
-import org.eclipse.che.commons.lang.Pair;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
 /**
  * @author andrew00x
  * @author Alexander Garagatyi
  */
-public class TcpConnection extends DockerConnection {
+public class TcpConnection extends PooledDockerConnection {
   private final URI baseUri;
   private final DockerCertificates certificates;
   private final int connectionTimeout;
   private final int readTimeout;
 
-  private HttpURLConnection connection;
-
   public TcpConnection(
-      URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+      URI baseUri,
+      DockerCertificates certificates,
+      int connectionTimeoutMs,
+      int readTimeoutMs,
+      DockerConnectionPool pool) {
+    super(pool, baseUri.getScheme() + "://" + baseUri.getHost() + ":" + getPort(baseUri));
     if ("https".equals(baseUri.getScheme())) {
       if (certificates == null) {
         throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -50,44 +54,104 @@ public class TcpConnection extends DockerConnection {
   }
 
   @Override
-  protected DockerResponse request(
-      String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
-      throws IOException {
-    final String requestUri = path + (Strings.isNullOrEmpty(query) ? "" : "?" + query);
-    final URL url = baseUri.resolve(requestUri).toURL();
-    final String protocol = url.getProtocol();
-    connection = (HttpURLConnection) url.openConnection();
-    connection.setConnectTimeout(connectionTimeout);
-    connection.setReadTimeout(readTimeout);
-    if ("https".equals(protocol)) {
-      ((HttpsURLConnection) connection)
-          .setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
+  DockerSocket connect() throws IOException {
+    final String host = baseUri.getHost();
+    final int port = getPort(baseUri);
+    Socket socket = new Socket();
+    try {
+      socket.connect(new InetSocketAddress(host, port), connectionTimeout);
+      socket.setSoTimeout(readTimeout);
+      // headers and entity of a request are flushed separately
+      socket.setTcpNoDelay(true);
+      if ("https".equals(baseUri.getScheme())) {
+        final SSLSocket sslSocket =
+            (SSLSocket)
+                certificates
+                    .getSslContext()
+                    .getSocketFactory()
+                    .createSocket(socket, host, port, true);
+        final SSLParameters sslParameters = sslSocket.getSSLParameters();
+        sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+        sslSocket.setSSLParameters(sslParameters);
+        socket = sslSocket;
+        sslSocket.startHandshake();
+      }
+      return new TcpSocket(socket, readTimeout);
+    } catch (IOException | RuntimeException e) {
+      socket.close();
+      throw e;
+    }
+  }
+
+  @Override
+  String getHost() {
+    String host = baseUri.getHost();
+    if (baseUri.getPort() != -1) {
+      host += ":" + Integer.toString(baseUri.getPort());
+    }
+    return host;
+  }
+
+  private static int getPort(URI uri) {
+    if (uri.getPort() != -1) {
+      return uri.getPort();
+    }
+    return "https".equals(uri.getScheme()) ? 443 : 80;
+  }
+
+  private static class TcpSocket extends DockerSocket {
+    private final Socket socket;
+    private final int readTimeout;
+    private final InputStream input;
+    private final OutputStream output;
+
+    TcpSocket(Socket socket, int readTimeout) throws IOException {
+      this.socket = socket;
+      this.readTimeout = readTimeout;
+      this.input = new BufferedInputStream(socket.getInputStream());
+      this.output = socket.getOutputStream();
     }
-    connection.setRequestMethod(method);
-    // needed to fix bug https://github.com/docker/docker/issues/12845
-    connection.setRequestProperty("Connection", "close");
-    for (Pair<String, ?> header : headers) {
-      connection.setRequestProperty(header.first, String.valueOf(header.second));
+
+    @Override
+    InputStream getInputStream() {
+      return input;
     }
-    String host = url.getHost();
-    if (url.getPort() != -1) {
-      host += ":" + Integer.toString(url.getPort());
+
+    @Override
+    OutputStream getOutputStream() {
+      return output;
     }
-    // Host header is mandatory in HTTP 1.1
-    connection.setRequestProperty("Host", host);
-    if (entity != null) {
-      connection.setDoOutput(true);
-      try (OutputStream output = connection.getOutputStream()) {
-        entity.writeTo(output);
+
+    @Override
+    boolean isStale() {
+      if (socket.isClosed() || socket.isInputShutdown()) {
+        return true;
+      }
+      try {
+        if (input.available() > 0) {
+          return true;
+        }
+        // idle socket has nothing to read, while socket closed by docker reaches end of stream
+        socket.setSoTimeout(1);
+        try {
+          input.read();
+          return true;
+        } catch (SocketTimeoutException e) {
+          return false;
+        } finally {
+          socket.setSoTimeout(readTimeout);
+        }
+      } catch (IOException e) {
+        return true;
       }
     }
-    return new TcpDockerResponse(connection);
-  }
 
-  @Override
-  public void close() {
-    if (connection != null) {
-      connection.disconnect();
+    @Override
+    public void close() {
+      try {
+        socket.close();
+      } catch (IOException ignored) {
+      }
     }
   }
 }
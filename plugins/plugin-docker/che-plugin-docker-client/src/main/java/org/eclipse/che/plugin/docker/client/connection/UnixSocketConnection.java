@@ -11,57 +11,33 @@
 package org.eclipse.che.plugin.docker.client.connection;
 
 import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
 import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
 import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
-import com.google.common.base.Strings;
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.net.ConnectException;
-import java.util.List;
-import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.CLibrary;
 
 /**
  * @author andrew00x
  * @author Alexander Garagatyi
  */
-public class UnixSocketConnection extends DockerConnection {
+public class UnixSocketConnection extends PooledDockerConnection {
   private final String dockerSocketPath;
 
-  private int fd = -1;
-
-  public UnixSocketConnection(String dockerSocketPath) {
+  public UnixSocketConnection(String dockerSocketPath, DockerConnectionPool pool) {
+    super(pool, "unix://" + dockerSocketPath);
     this.dockerSocketPath = dockerSocketPath;
   }
 
   @Override
-  protected DockerResponse request(
-      String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
-      throws IOException {
-    fd = connect();
-    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-    writeHttpHeaders(output, method, path, query, headers);
-    if (entity != null) {
-      entity.writeTo(output);
-    }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
-  }
-
-  @Override
-  public void close() {
-    if (fd != -1) {
-      getCLibrary().close(fd);
-    }
-  }
-
-  private int connect() throws IOException {
+  DockerSocket connect() throws IOException {
     final CLibrary cLib = getCLibrary();
     int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
     if (fd == -1) {
@@ -71,40 +47,48 @@ public class UnixSocketConnection extends DockerConnection {
     final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
     int c = cLib.connect(fd, sockAddr, sockAddr.size());
     if (c == -1) {
+      cLib.close(fd);
       throw new ConnectException(
           String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
     }
-    return fd;
+    return new UnixSocket(fd);
   }
 
-  private void writeHttpHeaders(
-      OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
-      throws IOException {
-    final Writer writer = new OutputStreamWriter(output);
-    writer.write(method);
-    writer.write(' ');
-    writer.write(path);
-    if (!Strings.isNullOrEmpty(query)) {
-      writer.write("?");
-      writer.write(query);
+  @Override
+  String getHost() {
+    return "";
+  }
+
+  private static class UnixSocket extends DockerSocket {
+    private final int fd;
+    private final InputStream input;
+    private final OutputStream output;
+
+    UnixSocket(int fd) {
+      this.fd = fd;
+      this.input = new BufferedInputStream(new UnixSocketInputStream(fd));
+      this.output = new UnixSocketOutputStream(fd);
     }
-    writer.write(" HTTP/1.1\r\n");
-    for (Pair<String, ?> header : headers) {
-      writer.write(header.first);
-      writer.write(": ");
-      writer.write(String.valueOf(header.second));
-      writer.write("\r\n");
+
+    @Override
+    InputStream getInputStream() {
+      return input;
     }
-    // Host header is mandatory in HTTP 1.1
-    writer.write("Host: \r\n\r\n");
-    writer.flush();
-  }
 
-  private InputStream openInputStream(int fd) {
-    return new UnixSocketInputStream(fd);
-  }
+    @Override
+    OutputStream getOutputStream() {
+      return output;
+    }
+
+    @Override
+    boolean isStale() {
+      // 0 means that the socket was closed, -1 that there is no data to receive
+      return getCLibrary().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT) != -1;
+    }
 
-  private OutputStream openOutputStream(int fd) {
-    return new UnixSocketOutputStream(fd);
+    @Override
+    public void close() {
+      getCLibrary().close(fd);
+    }
   }
 }
@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.plugin.docker.client.connection;
 
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 import com.sun.jna.LastErrorException;
@@ -62,4 +64,11 @@ public class UnixSocketInputStream extends InputStream {
     }
     return n;
   }
+
+  /** Returns the number of bytes received by the socket but not read yet, up to 8192 bytes. */
+  @Override
+  public int available() {
+    // peeking doesn't remove data from the socket
+    return Math.max(0, cLib.recv(fd, new byte[8192], 8192, MSG_PEEK | MSG_DONTWAIT));
+  }
 }
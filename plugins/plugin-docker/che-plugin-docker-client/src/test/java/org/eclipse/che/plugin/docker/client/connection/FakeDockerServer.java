@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP/1.1 server which imitates docker API on a local TCP port. It answers requests with
+ * responses registered for their paths and keeps connections alive between requests unless the
+ * response has 'Connection: close' header, so that tests can check how connections are reused.
+ */
+class FakeDockerServer implements AutoCloseable {
+  /** Raw response which is not sent, the connection is closed instead. */
+  static final String DROP_CONNECTION = "";
+
+  private final ServerSocket serverSocket;
+  private final Map<String, String> responses = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+  private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger acceptedConnections = new AtomicInteger();
+  private volatile long responseDelayMs;
+
+  FakeDockerServer() throws IOException {
+    serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    final Thread acceptor = new Thread(this::accept, "fake-docker-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  URI getUri() {
+    return URI.create("http://127.0.0.1:" + serverSocket.getLocalPort());
+  }
+
+  /** Registers raw HTTP response sent for requests with given path. */
+  FakeDockerServer respond(String path, String rawResponse) {
+    responses.put(path, rawResponse);
+    return this;
+  }
+
+  /** Delays all responses, so that concurrent requests overlap. */
+  FakeDockerServer delayResponses(long delayMs) {
+    this.responseDelayMs = delayMs;
+    return this;
+  }
+
+  int getAcceptedConnections() {
+    return acceptedConnections.get();
+  }
+
+  int getRequests(String path) {
+    final AtomicInteger count = requests.get(path);
+    return count == null ? 0 : count.get();
+  }
+
+  /** Closes all connections as docker does when it is restarted. */
+  void closeConnections() throws IOException {
+    for (Socket socket : sockets) {
+      socket.close();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    closeConnections();
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        final Socket socket = serverSocket.accept();
+        acceptedConnections.incrementAndGet();
+        sockets.add(socket);
+        final Thread handler = new Thread(() -> serve(socket), "fake-docker-connection");
+        handler.setDaemon(true);
+        handler.start();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (Socket s = socket) {
+      final InputStream input = new BufferedInputStream(s.getInputStream());
+      final OutputStream output = s.getOutputStream();
+      String requestLine;
+      while ((requestLine = readLine(input)) != null) {
+        int contentLength = 0;
+        String header;
+        while ((header = readLine(input)) != null && !header.isEmpty()) {
+          if (header.toLowerCase().startsWith("content-length:")) {
+            contentLength = Integer.parseInt(header.substring(header.indexOf(':') + 1).trim());
+          }
+        }
+        for (int i = 0; i < contentLength; i++) {
+          input.read();
+        }
+        String path = requestLine.split(" ")[1];
+        if (path.contains("?")) {
+          path = path.substring(0, path.indexOf('?'));
+        }
+        requests.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+        if (responseDelayMs > 0) {
+          Thread.sleep(responseDelayMs);
+        }
+        final String response =
+            responses.getOrDefault(path, "HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\n\r\n");
+        if (DROP_CONNECTION.equals(response)) {
+          return;
+        }
+        output.write(response.getBytes(UTF_8));
+        output.flush();
+        if (response.contains("Connection: close")) {
+          return;
+        }
+      }
+    } catch (IOException | InterruptedException ignored) {
+    } finally {
+      sockets.remove(socket);
+    }
+  }
+
+  private static String readLine(InputStream input) throws IOException {
+    final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    int c;
+    while ((c = input.read()) != '\n') {
+      if (c == -1) {
+        return null;
+      }
+      if (c != '\r') {
+        line.write(c);
+      }
+    }
+    return new String(line.toByteArray(), UTF_8);
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.plugin.docker.client.connection.FakeDockerServer.DROP_CONNECTION;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests reuse of connections by {@link PooledDockerConnection} against {@link FakeDockerServer}.
+ */
+public class PooledDockerConnectionTest {
+  private static final String INFO = "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}";
+  private static final String CHUNKED =
+      "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n2\r\n[]\r\n0\r\n\r\n";
+  private static final String NO_CONTENT = "HTTP/1.1 204 No Content\r\n\r\n";
+  private static final String CLOSE = "HTTP/1.1 200 OK\r\nConnection: close\r\n\r\n{}";
+  private static final String STREAM =
+      "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n2\r\n{}\r\n";
+
+  private FakeDockerServer server;
+  private DockerConnectionPool pool;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    server =
+        new FakeDockerServer()
+            .respond("/info", INFO)
+            .respond("/images/json", CHUNKED)
+            .respond("/containers/id/start", NO_CONTENT)
+            .respond("/version", CLOSE)
+            .respond("/events", STREAM)
+            .respond("/containers/create", DROP_CONNECTION);
+    pool = new DockerConnectionPool(10, 30000);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    pool.close();
+    server.close();
+  }
+
+  @Test
+  public void shouldReuseConnectionForSubsequentRequests() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      assertEquals(request("GET", "/info"), "{}");
+      assertEquals(request("GET", "/images/json"), "[]");
+      assertEquals(request("POST", "/containers/id/start"), "");
+    }
+
+    assertEquals(server.getAcceptedConnections(), 1);
+    assertEquals(pool.getOpenedConnections(), 1);
+    assertEquals(pool.getReusedConnections(), 14);
+    assertEquals(pool.getIdleConnections(), 1);
+  }
+
+  @Test
+  public void shouldReuseConnectionWhenUnreadBodyIsSkipped() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      try (DockerConnection connection = connection("GET", "/info")) {
+        assertEquals(connection.request().getStatus(), 200);
+      }
+    }
+
+    assertEquals(server.getAcceptedConnections(), 1);
+  }
+
+  @Test
+  public void shouldNotReuseConnectionClosedByDocker() throws Exception {
+    assertEquals(request("GET", "/version"), "{}");
+    assertEquals(request("GET", "/version"), "{}");
+
+    assertEquals(server.getAcceptedConnections(), 2);
+    assertEquals(pool.getReusedConnections(), 0);
+  }
+
+  @Test
+  public void shouldNotReuseConnectionOfUnfinishedStream() throws Exception {
+    try (DockerConnection connection = connection("GET", "/events")) {
+      final InputStream events = connection.request().getInputStream();
+      assertEquals(new String(readBytes(events, 2), UTF_8), "{}");
+    }
+    assertEquals(request("GET", "/info"), "{}");
+
+    assertEquals(server.getAcceptedConnections(), 2);
+    assertEquals(pool.getReusedConnections(), 0);
+  }
+
+  @Test
+  public void shouldOpenNewConnectionWhenIdleOneIsClosedByDocker() throws Exception {
+    assertEquals(request("GET", "/info"), "{}");
+    server.closeConnections();
+
+    assertEquals(request("GET", "/info"), "{}");
+
+    assertEquals(server.getAcceptedConnections(), 2);
+    assertEquals(server.getRequests("/info"), 2);
+  }
+
+  @Test
+  public void shouldNotReuseConnectionsWhenPoolIsDisabled() throws Exception {
+    pool = new DockerConnectionPool(0, 30000);
+
+    assertEquals(request("GET", "/info"), "{}");
+    assertEquals(request("GET", "/info"), "{}");
+
+    assertEquals(server.getAcceptedConnections(), 2);
+  }
+
+  @Test
+  public void shouldUseSeparateConnectionsForConcurrentRequests() throws Exception {
+    server.delayResponses(200);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<String>> responses = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        responses.add(executor.submit(() -> request("GET", "/info")));
+      }
+      for (Future<String> response : responses) {
+        assertEquals(response.get(), "{}");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(server.getAcceptedConnections(), 4);
+
+    server.delayResponses(0);
+    for (int i = 0; i < 4; i++) {
+      assertEquals(request("GET", "/info"), "{}");
+    }
+
+    assertEquals(server.getAcceptedConnections(), 4);
+    assertEquals(pool.getReusedConnections(), 4);
+  }
+
+  @Test
+  public void shouldNotResendNotIdempotentRequestWhenReusedConnectionIsDropped()
+      throws Exception {
+    assertEquals(request("GET", "/info"), "{}");
+
+    try {
+      request("POST", "/containers/create");
+      fail("Request is expected to fail");
+    } catch (IOException expected) {
+    }
+
+    assertEquals(server.getRequests("/containers/create"), 1);
+  }
+
+  private DockerConnection connection(String method, String path) {
+    return new TcpConnection(server.getUri(), null, 5000, 5000, pool).method(method).path(path);
+  }
+
+  private String request(String method, String path) throws IOException {
+    try (DockerConnection connection = connection(method, path)) {
+      final DockerResponse response = connection.request();
+      return new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8);
+    }
+  }
+
+  private static byte[] readBytes(InputStream input, int count) throws IOException {
+    final byte[] bytes = new byte[count];
+    ByteStreams.readFully(input, bytes);
+    return bytes;
+  }
+}
@@ -10,10 +10,8 @@
  */
 package org.eclipse.che.ide.ext.git.client;
 
-import static org.eclipse.che.ide.api.vcs.VcsStatus.ADDED;
 import static org.eclipse.che.ide.api.vcs.VcsStatus.MODIFIED;
 import static org.eclipse.che.ide.api.vcs.VcsStatus.NOT_MODIFIED;
-import static org.eclipse.che.ide.api.vcs.VcsStatus.UNTRACKED;
 
 import com.google.web.bindery.event.shared.EventBus;
 import java.util.List;
@@ -23,7 +21,6 @@ import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.git.shared.EditedRegion;
 import org.eclipse.che.api.git.shared.FileChangedEventDto;
-import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusChangedEventDto;
 import org.eclipse.che.ide.api.editor.EditorAgent;
 import org.eclipse.che.ide.api.editor.EditorOpenedEvent;
@@ -49,6 +46,7 @@ import org.eclipse.che.ide.ui.smartTree.Tree;
 @Singleton
 public class GitChangesHandler {
 
+  private final GitServiceClient gitServiceClient;
   private final Provider<EditorAgent> editorAgentProvider;
   private final Provider<ProjectExplorerPresenter> projectExplorerPresenterProvider;
   private final Provider<EditorMultiPartStack> multiPartStackProvider;
@@ -61,6 +59,7 @@ public class GitChangesHandler {
       Provider<EditorAgent> editorAgentProvider,
       Provider<ProjectExplorerPresenter> projectExplorerPresenterProvider,
       Provider<EditorMultiPartStack> multiPartStackProvider) {
+    this.gitServiceClient = gitServiceClient;
     this.editorAgentProvider = editorAgentProvider;
     this.projectExplorerPresenterProvider = projectExplorerPresenterProvider;
     this.multiPartStackProvider = multiPartStackProvider;
@@ -172,7 +171,6 @@ public class GitChangesHandler {
 
   public void apply(String endpointId, StatusChangedEventDto dto) {
     Tree tree = projectExplorerPresenterProvider.get().getTree();
-    Status status = dto.getStatus();
     tree.getNodeStorage()
         .getAll()
         .stream()
@@ -181,21 +179,9 @@ public class GitChangesHandler {
             node -> {
               Resource resource = ((ResourceNode) node).getData();
               File file = resource.asFile();
-              String nodeLocation = resource.getLocation().removeFirstSegments(1).toString();
-
-              VcsStatus newVcsStatus;
-              if (status.getUntracked().contains(nodeLocation)) {
-                newVcsStatus = UNTRACKED;
-              } else if (status.getModified().contains(nodeLocation)
-                  || status.getChanged().contains(nodeLocation)) {
-                newVcsStatus = MODIFIED;
-              } else if (status.getAdded().contains(nodeLocation)) {
-                newVcsStatus = ADDED;
-              } else {
-                newVcsStatus = NOT_MODIFIED;
-              }
+              VcsStatus newVcsStatus = getVcsStatus(dto, resource.getLocation());
 
-              if (file.getVcsStatus() != newVcsStatus) {
+              if (newVcsStatus != null && file.getVcsStatus() != newVcsStatus) {
                 file.setVcsStatus(newVcsStatus);
                 tree.refresh(node);
               }
@@ -208,32 +194,44 @@ public class GitChangesHandler {
         .filter(editor -> editor instanceof HasVcsChangeMarkerRender)
         .forEach(
             editor -> {
-              EditorTab tab = multiPartStackProvider.get().getTabByPart(editor);
-              String nodeLocation = tab.getFile().getLocation().removeFirstSegments(1).toString();
-              if (status.getUntracked().contains(nodeLocation)) {
-                tab.setTitleColor(UNTRACKED.getColor());
-              } else if (status.getModified().contains(nodeLocation)
-                  || status.getChanged().contains(nodeLocation)) {
-                tab.setTitleColor(MODIFIED.getColor());
-              } else if (status.getAdded().contains(nodeLocation)) {
-                tab.setTitleColor(ADDED.getColor());
-              } else {
-                tab.setTitleColor(NOT_MODIFIED.getColor());
+              Path location = editor.getEditorInput().getFile().getLocation();
+              VcsStatus newVcsStatus = getVcsStatus(dto, location);
+              if (newVcsStatus == null) {
+                return;
               }
+              ((File) editor.getEditorInput().getFile()).setVcsStatus(newVcsStatus);
 
-              String filePath =
-                  editor.getEditorInput().getFile().getLocation().removeFirstSegments(1).toString();
-
-              if (editor instanceof HasVcsChangeMarkerRender) {
-                VcsChangeMarkerRender render =
-                    ((HasVcsChangeMarkerRender) editor).getVcsChangeMarkersRender();
+              EditorTab tab = multiPartStackProvider.get().getTabByPart(editor);
+              tab.setTitleColor(newVcsStatus.getColor());
 
-                if (dto.getModifiedFiles().keySet().contains(filePath)) {
-                  handleEditedRegions(dto.getModifiedFiles().get(filePath), render);
-                } else {
-                  render.clearAllChangeMarkers();
-                }
+              VcsChangeMarkerRender render =
+                  ((HasVcsChangeMarkerRender) editor).getVcsChangeMarkersRender();
+              if (newVcsStatus == MODIFIED) {
+                gitServiceClient
+                    .getEditedRegions(location.uptoSegment(1), location.removeFirstSegments(1))
+                    .then(
+                        edition -> {
+                          handleEditedRegions(edition, render);
+                        });
+              } else {
+                render.clearAllChangeMarkers();
               }
             });
   }
+
+  /**
+   * Returns new status of the file, or {@code null} if the status of the file is not changed by the
+   * event.
+   */
+  private VcsStatus getVcsStatus(StatusChangedEventDto dto, Path location) {
+    if (!dto.getProjectName().equals(location.segment(0))) {
+      return null;
+    }
+    FileChangedEventDto.Status status =
+        dto.getChangedFiles().get(location.removeFirstSegments(1).toString());
+    if (status != null) {
+      return VcsStatus.from(status.toString());
+    }
+    return dto.isComplete() ? NOT_MODIFIED : null;
+  }
 }
@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.plugin.maven.server;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
@@ -19,8 +20,11 @@ import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.PreDestroy;
 import org.eclipse.che.commons.lang.execution.CommandLine;
 import org.eclipse.che.commons.lang.execution.JavaParameters;
@@ -54,6 +58,7 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
   private boolean listenerExported;
   private String mavenServerPath;
   private File localRepository;
+  private final Map<Integer, ServerProcess> processes = new HashMap<>();
 
   @Inject
   public MavenServerManager(@Named("che.maven.server.path") String mavenServerPath) {
@@ -96,23 +101,76 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
     return new MavenServerWrapper() {
       @Override
       protected MavenServer create() throws RemoteException {
-        MavenSettings mavenSettings = new MavenSettings();
-        // TODO add more user settings
-        mavenSettings.setMavenHome(new File(System.getenv("M2_HOME")));
-        mavenSettings.setUserSettings(
-            new File(System.getProperty("user.home"), ".m2/settings.xml"));
-        // Setting Global maven setting
-        // for more maven info settings visit https://maven.apache.org/settings.html
-        mavenSettings.setGlobalSettings(new File(System.getenv("M2_HOME"), "conf/settings.xml"));
-        mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
-        if (localRepository != null) {
-          mavenSettings.setLocalRepository(localRepository);
+        try {
+          return MavenServerManager.this.getOrCreateWrappedObject().createServer(createSettings());
+        } catch (RemoteException e) {
+          // process may be terminated, e.g. in the middle of resolution, so restart it
+          LOG.warn("Maven server process is not available, restarting it", e);
+          MavenServerManager.this.onError();
+          return MavenServerManager.this.getOrCreateWrappedObject().createServer(createSettings());
         }
-        return MavenServerManager.this.getOrCreateWrappedObject().createServer(mavenSettings);
       }
     };
   }
 
+  /**
+   * Creates maven server that runs in the given maven server process. Process {@code 0} is the
+   * process used by {@link #createMavenServer()}, other processes are started on first use, so
+   * that servers of different processes can resolve projects in parallel.
+   *
+   * @param process index of the process
+   */
+  public MavenServerWrapper createMavenServer(int process) {
+    if (process == 0) {
+      return createMavenServer();
+    }
+    return new MavenServerWrapper() {
+      @Override
+      protected MavenServer create() throws RemoteException {
+        ServerProcess serverProcess;
+        synchronized (processes) {
+          serverProcess = processes.computeIfAbsent(process, ServerProcess::new);
+        }
+        try {
+          return serverProcess.getServer().createServer(createSettings());
+        } catch (RemoteException e) {
+          // process may be terminated, e.g. in the middle of resolution, so restart it
+          LOG.warn("Maven server process {} is not available, restarting it", process, e);
+          serverProcess.reset();
+          return serverProcess.getServer().createServer(createSettings());
+        }
+      }
+    };
+  }
+
+  /** Returns user and global maven settings files used by maven servers, they may not exist. */
+  public List<File> getSettingsFiles() {
+    return Arrays.asList(getUserSettings(), getGlobalSettings());
+  }
+
+  private static File getUserSettings() {
+    return new File(System.getProperty("user.home"), ".m2/settings.xml");
+  }
+
+  private static File getGlobalSettings() {
+    return new File(System.getenv("M2_HOME"), "conf/settings.xml");
+  }
+
+  private MavenSettings createSettings() {
+    MavenSettings mavenSettings = new MavenSettings();
+    // TODO add more user settings
+    mavenSettings.setMavenHome(new File(System.getenv("M2_HOME")));
+    mavenSettings.setUserSettings(getUserSettings());
+    // Setting Global maven setting
+    // for more maven info settings visit https://maven.apache.org/settings.html
+    mavenSettings.setGlobalSettings(getGlobalSettings());
+    mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
+    if (localRepository != null) {
+      mavenSettings.setLocalRepository(localRepository);
+    }
+    return mavenSettings;
+  }
+
   /**
    * For test use only. Sets the path to local maven repository
    *
@@ -140,17 +198,36 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
   @PreDestroy
   public void shutdown() {
     client.stopAll(false);
+    synchronized (processes) {
+      processes.clear();
+    }
     cleanUp();
   }
 
   @Override
   protected MavenRemoteServer create() throws RemoteException {
+    return startServer("");
+  }
+
+  /**
+   * Starts maven server process, or connects to the running one.
+   *
+   * @param process identifier of the process, empty for the default process
+   */
+  @VisibleForTesting
+  protected MavenRemoteServer startServer(String process) throws RemoteException {
     MavenRemoteServer server;
     try {
-      server = client.acquire(this, "");
+      server = client.acquire(this, process);
     } catch (Exception e) {
       throw new RemoteException("Can't start maven server", e);
     }
+    exportCallbacks();
+    server.configure(rmiLogger, rmiDownloadListener);
+    return server;
+  }
+
+  private synchronized void exportCallbacks() throws RemoteException {
     if (!loggerExported) {
       Remote loggerRemote = UnicastRemoteObject.exportObject(rmiLogger, 0);
       if (!(loggerExported = loggerRemote != null)) {
@@ -163,10 +240,6 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         throw new RemoteException("Can't export download listener");
       }
     }
-
-    server.configure(rmiLogger, rmiDownloadListener);
-
-    return server;
   }
 
   @Override
@@ -238,6 +311,28 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
     T perform() throws RemoteException;
   }
 
+  /** Additional maven server process. */
+  private class ServerProcess extends RmiObjectWrapper<MavenRemoteServer> {
+    private final int index;
+
+    ServerProcess(int index) {
+      this.index = index;
+    }
+
+    MavenRemoteServer getServer() throws RemoteException {
+      return getOrCreateWrappedObject();
+    }
+
+    void reset() {
+      onError();
+    }
+
+    @Override
+    protected MavenRemoteServer create() throws RemoteException {
+      return startServer(String.valueOf(index));
+    }
+  }
+
   private class RmiLogger extends RmiObject implements MavenServerLogger {
 
     @Override
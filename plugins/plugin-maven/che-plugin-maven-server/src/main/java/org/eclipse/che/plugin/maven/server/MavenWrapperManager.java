@@ -12,14 +12,20 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Manages and cache MavenServerWrapper instances
  *
+ * <p>Servers of {@link ServerType#RESOLVE} type are pooled, each server of the pool runs in its own
+ * maven server process, so that several projects may be resolved at the same time.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
@@ -28,13 +34,41 @@ public class MavenWrapperManager {
   private final MavenServerManager serverManager;
   private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
   private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+  private final List<MavenServerWrapper> resolveServers = new ArrayList<>();
+  private final int resolveProcesses;
 
   @Inject
-  public MavenWrapperManager(MavenServerManager serverManager) {
+  public MavenWrapperManager(
+      MavenServerManager serverManager,
+      @Named("che.maven.server.resolve_processes") int resolveProcesses) {
     this.serverManager = serverManager;
+    this.resolveProcesses = Math.max(1, resolveProcesses);
+  }
+
+  public MavenWrapperManager(MavenServerManager serverManager) {
+    this(serverManager, 1);
+  }
+
+  /** Returns number of maven server processes used to resolve projects. */
+  public int getResolveProcesses() {
+    return resolveProcesses;
   }
 
   public synchronized MavenServerWrapper getMavenServer(ServerType type) {
+    if (type == ServerType.RESOLVE) {
+      for (int i = 0; i < resolveProcesses; i++) {
+        if (i == resolveServers.size()) {
+          resolveServers.add(serverManager.createMavenServer(i));
+        }
+        MavenServerWrapper wrapper = resolveServers.get(i);
+        if (usedServers.add(wrapper)) {
+          return wrapper;
+        }
+      }
+      // need to warn here
+      return serverManager.createMavenServer();
+    }
+
     MavenServerWrapper wrapper = cache.get(type);
     if (wrapper == null) {
       wrapper = serverManager.createMavenServer();
@@ -13,8 +13,10 @@ package org.eclipse.che.plugin.maven.server.core;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import java.io.File;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
@@ -35,6 +37,7 @@ import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.core.resources.IProject;
@@ -64,6 +67,7 @@ public class MavenProjectManager {
   private final MavenTerminal terminal;
   private final MavenProgressNotifier mavenNotifier;
   private final Provider<IWorkspace> workspaceProvider;
+  private final MavenResolutionCache resolutionCache;
 
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private final Lock readLock = readWriteLock.readLock();
@@ -71,13 +75,24 @@ public class MavenProjectManager {
 
   private final MavenProjectListener dispatcher;
 
-  @Inject
   public MavenProjectManager(
       MavenWrapperManager wrapperManager,
       MavenServerManager serverManager,
       MavenTerminal terminal,
       MavenProgressNotifier mavenNotifier,
       EclipseWorkspaceProvider workspaceProvider) {
+    this(wrapperManager, serverManager, terminal, mavenNotifier, workspaceProvider, null);
+  }
+
+  @Inject
+  public MavenProjectManager(
+      MavenWrapperManager wrapperManager,
+      MavenServerManager serverManager,
+      MavenTerminal terminal,
+      MavenProgressNotifier mavenNotifier,
+      EclipseWorkspaceProvider workspaceProvider,
+      MavenResolutionCache resolutionCache) {
+    this.resolutionCache = resolutionCache;
     this.wrapperManager = wrapperManager;
     this.serverManager = serverManager;
     this.terminal = terminal;
@@ -114,14 +129,42 @@ public class MavenProjectManager {
   }
 
   public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+    resolveMavenProject(project, mavenProject, copyWorkspaceCache());
+  }
+
+  /**
+   * Resolves maven project with the given snapshot of workspace projects. Projects may be resolved
+   * concurrently, each of them with its own maven server.
+   *
+   * @param project project to resolve
+   * @param mavenProject maven project of the project
+   * @param workspaceCache snapshot of workspace projects, see {@link #copyWorkspaceCache()}
+   */
+  public void resolveMavenProject(
+      IProject project, MavenProject mavenProject, MavenWorkspaceCache workspaceCache) {
+    String resolutionKey = null;
+    if (resolutionCache != null) {
+      resolutionKey = getResolutionKey(mavenProject, workspaceCache);
+      MavenModelReaderResult cached =
+          resolutionKey != null ? resolutionCache.get(resolutionKey) : null;
+      if (cached != null) {
+        dispatcher.projectResolved(mavenProject, mavenProject.setResolveResult(cached));
+        return;
+      }
+    }
+
     MavenServerWrapper mavenServer =
         wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
     try {
 
       mavenNotifier.setText("Resolving project: " + mavenProject.getName());
-      mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-      MavenProjectModifications modifications =
-          mavenProject.resolve(project, mavenServer, serverManager);
+      mavenServer.customize(workspaceCache, terminal, mavenNotifier, false, true);
+      MavenModelReaderResult result =
+          mavenProject.resolveModel(project, mavenServer, serverManager);
+      if (resolutionKey != null) {
+        resolutionCache.put(mavenProject.getPomFile(), resolutionKey, result);
+      }
+      MavenProjectModifications modifications = mavenProject.setResolveResult(result);
       dispatcher.projectResolved(mavenProject, modifications);
 
     } finally {
@@ -129,6 +172,50 @@ public class MavenProjectManager {
     }
   }
 
+  /**
+   * Returns key of the resolution of the project in {@link MavenResolutionCache}, it depends on pom
+   * files of the project and its parents, maven settings, profiles and projects of the workspace.
+   */
+  private String getResolutionKey(MavenProject mavenProject, MavenWorkspaceCache workspaceCache) {
+    List<File> files = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    readLock.lock();
+    try {
+      Set<MavenProject> visited = new HashSet<>();
+      MavenProject current = mavenProject;
+      while (current != null && visited.add(current)) {
+        files.add(current.getPomFile());
+        MavenKey parentKey = current.getParentKey();
+        current = parentKey != null ? keyToProjectMap.get(parentKey) : null;
+        if (parentKey != null && current == null) {
+          // parent is resolved from repository
+          values.add("parent:" + parentKey);
+        }
+      }
+    } finally {
+      readLock.unlock();
+    }
+    if (files.contains(null)) {
+      return null;
+    }
+    files.addAll(serverManager.getSettingsFiles());
+
+    if (mavenProject.getActiveProfiles() != null) {
+      mavenProject.getActiveProfiles().forEach(profile -> values.add("active:" + profile));
+    }
+    if (mavenProject.getInactiveProfiles() != null) {
+      mavenProject.getInactiveProfiles().forEach(profile -> values.add("inactive:" + profile));
+    }
+    // workspace projects are resolved instead of artifacts of the repository
+    workspaceCache
+        .getAllKeys()
+        .stream()
+        .map(key -> "workspace:" + key)
+        .sorted()
+        .forEach(values::add);
+    return resolutionCache.key(files, values);
+  }
+
   public void update(List<IProject> projects, boolean recursive) {
     if (projects.isEmpty()) {
       return;
@@ -438,6 +525,46 @@ public class MavenProjectManager {
     }
   }
 
+  /** Returns number of projects that may be resolved at the same time. */
+  public int getResolveParallelism() {
+    return wrapperManager.getResolveProcesses();
+  }
+
+  /**
+   * Returns projects of the given collection each project of the collection depends on, that is
+   * its parent project and dependencies that are projects of the workspace.
+   *
+   * @param projects projects to build the graph of
+   */
+  public Map<MavenProject, Set<MavenProject>> findDependencyGraph(
+      Collection<MavenProject> projects) {
+    readLock.lock();
+    try {
+      Set<MavenProject> nodes = new HashSet<>(projects);
+      Map<MavenProject, Set<MavenProject>> graph = new HashMap<>();
+      for (MavenProject project : nodes) {
+        Set<MavenProject> dependencies = new HashSet<>();
+        if (project.getParentKey() != null) {
+          dependencies.add(keyToProjectMap.get(project.getParentKey()));
+        }
+        if (project.getDependencies() != null) {
+          for (MavenArtifact artifact : project.getDependencies()) {
+            dependencies.add(
+                keyToProjectMap.get(
+                    new MavenKey(
+                        artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion())));
+          }
+        }
+        dependencies.remove(project);
+        dependencies.retainAll(nodes);
+        graph.put(project, dependencies);
+      }
+      return graph;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   public List<MavenProject> findDependentProjects(List<MavenProject> projects) {
     readLock.lock();
     try {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves maven projects in the order of their dependencies. A project is resolved after its
+ * parent and dependencies that are resolved along with it, while projects that don't depend on each
+ * other are resolved in parallel, each with its own maven server process.
+ */
+class MavenProjectResolveScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(MavenProjectResolveScheduler.class);
+
+  private final MavenProjectManager manager;
+  private final MavenProgressNotifier notifier;
+  private final int parallelism;
+  private final ThreadPoolExecutor executor;
+
+  MavenProjectResolveScheduler(MavenProjectManager manager, MavenProgressNotifier notifier) {
+    this.manager = manager;
+    this.notifier = notifier;
+    this.parallelism = Math.max(1, manager.getResolveParallelism());
+    this.executor =
+        new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat(MavenProjectResolveScheduler.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .build());
+    // threads are not needed between imports
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Resolves given projects and blocks until all of them are resolved.
+   *
+   * @param projects projects to resolve
+   * @param afterResolve action performed for each resolved project, actions are performed one at a
+   *     time by the calling thread
+   */
+  void resolve(Collection<MavenProject> projects, Consumer<MavenProject> afterResolve) {
+    Map<MavenProject, Set<MavenProject>> graph = manager.findDependencyGraph(projects);
+    Map<MavenProject, List<MavenProject>> dependents = new HashMap<>();
+    Map<MavenProject, Integer> waiting = new LinkedHashMap<>();
+    Deque<MavenProject> ready = new ArrayDeque<>();
+    for (Map.Entry<MavenProject, Set<MavenProject>> entry : graph.entrySet()) {
+      if (entry.getValue().isEmpty()) {
+        ready.add(entry.getKey());
+      } else {
+        waiting.put(entry.getKey(), entry.getValue().size());
+        for (MavenProject dependency : entry.getValue()) {
+          dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.getKey());
+        }
+      }
+    }
+
+    // projects resolved at the same time don't see each other's changes anyway, so they share a
+    // single snapshot of the workspace
+    MavenWorkspaceCache workspaceCache = manager.copyWorkspaceCache();
+    CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executor);
+    Map<Future<Boolean>, MavenProject> running = new HashMap<>();
+    int resolved = 0;
+    while (resolved < graph.size()) {
+      while (running.size() < parallelism && !ready.isEmpty()) {
+        MavenProject project = ready.poll();
+        Future<Boolean> future =
+            completionService.submit(() -> resolveProject(project, workspaceCache));
+        running.put(future, project);
+      }
+      if (running.isEmpty()) {
+        // projects depend on each other, resolve any of them to break the cycle
+        MavenProject project = waiting.keySet().iterator().next();
+        LOG.warn("Cyclic dependency between maven projects, resolving {}", project.getName());
+        waiting.remove(project);
+        ready.add(project);
+        continue;
+      }
+
+      Future<Boolean> future;
+      try {
+        future = completionService.take();
+      } catch (InterruptedException e) {
+        running.keySet().forEach(f -> f.cancel(true));
+        Thread.currentThread().interrupt();
+        return;
+      }
+      MavenProject project = running.remove(future);
+      resolved++;
+      notifier.setPercent((double) resolved / graph.size());
+      try {
+        if (future.get()) {
+          afterResolve.accept(project);
+        }
+      } catch (ExecutionException e) {
+        LOG.error(e.getCause().getMessage(), e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error(e.getMessage(), e);
+      }
+
+      for (MavenProject dependent : dependents.getOrDefault(project, Collections.emptyList())) {
+        Integer count = waiting.get(dependent);
+        if (count == null) {
+          continue;
+        }
+        if (count == 1) {
+          waiting.remove(dependent);
+          ready.add(dependent);
+        } else {
+          waiting.put(dependent, count - 1);
+        }
+      }
+    }
+  }
+
+  private boolean resolveProject(MavenProject mavenProject, MavenWorkspaceCache workspaceCache) {
+    IProject project = mavenProject.getProject();
+    if (!project.exists()) {
+      return false;
+    }
+    manager.resolveMavenProject(project, mavenProject, workspaceCache);
+    return true;
+  }
+}
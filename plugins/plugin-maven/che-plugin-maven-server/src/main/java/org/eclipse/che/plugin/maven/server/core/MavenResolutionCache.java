@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of results of maven project resolution, so that projects which have not changed
+ * are not resolved again after restart of the workspace agent.
+ *
+ * <p>Results are addressed by hash of everything the resolution depends on: pom files of the
+ * project and its parents, maven settings files, active profiles and keys of the projects of the
+ * workspace. Only successful resolutions are stored. A stored result is not used if one of its
+ * artifact files was removed from the local repository or if a pom file of a workspace project it
+ * depends on has changed.
+ *
+ * <p>Key of the last stored result of each project is kept in an index file named by hash of the
+ * project pom path, so that the previous result of a project is removed when a new one is stored,
+ * also after restart of the workspace agent.
+ */
+@Singleton
+public class MavenResolutionCache {
+  private static final Logger LOG = LoggerFactory.getLogger(MavenResolutionCache.class);
+
+  /** Changed whenever content of cache entries changes incompatibly. */
+  private static final int FORMAT_VERSION = 1;
+
+  private final File directory;
+  private final File indexDirectory;
+
+  @Inject
+  public MavenResolutionCache(@Named("che.user.workspaces.storage") String workspacePath) {
+    this(new File(workspacePath, ".che/maven-resolution"));
+  }
+
+  MavenResolutionCache(File directory) {
+    this.directory = directory;
+    this.indexDirectory = new File(directory, "index");
+  }
+
+  /**
+   * Returns the key of a resolution that depends on given files and values.
+   *
+   * @param files files the resolution depends on, missing files are allowed
+   * @param values other inputs of the resolution
+   * @return key of the resolution or {@code null} if one of the files can't be read
+   */
+  public String key(Collection<File> files, Collection<String> values) {
+    Hasher hasher = Hashing.sha256().newHasher().putInt(FORMAT_VERSION);
+    for (File file : files) {
+      putString(hasher, file.getAbsolutePath());
+      if (file.isFile()) {
+        byte[] content;
+        try {
+          content = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+          LOG.debug("Can't read {}: {}", file, e.getMessage());
+          return null;
+        }
+        hasher.putInt(content.length).putBytes(content);
+      } else {
+        hasher.putInt(-1);
+      }
+    }
+    for (String value : values) {
+      putString(hasher, value);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Returns stored result of the resolution with the given key or {@code null} if there is no
+   * valid result.
+   *
+   * @param key key of the resolution, see {@link #key(Collection, Collection)}
+   */
+  public MavenModelReaderResult get(String key) {
+    File file = new File(directory, key);
+    if (!file.isFile()) {
+      return null;
+    }
+
+    Entry entry;
+    try (InputStream in = new FileInputStream(file);
+        ObjectInputStream objects = new ObjectInputStream(in)) {
+      entry = (Entry) objects.readObject();
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOG.debug("Can't read maven resolution cache entry {}: {}", file, e.getMessage());
+      file.delete();
+      return null;
+    }
+
+    for (String artifactFile : entry.artifactFiles) {
+      if (!new File(artifactFile).exists()) {
+        return null;
+      }
+    }
+    for (Map.Entry<String, String> workspacePom : entry.workspacePoms.entrySet()) {
+      if (!workspacePom.getValue().equals(hash(new File(workspacePom.getKey())))) {
+        return null;
+      }
+    }
+    return new MavenModelReaderResult(
+        entry.model,
+        entry.activeProfiles,
+        entry.inactiveProfiles,
+        entry.problems,
+        entry.unresolvedArtifacts);
+  }
+
+  /**
+   * Stores result of the resolution of the given pom file, replacing result of its previous
+   * resolution. Results with problems are not stored.
+   *
+   * @param pom pom file of the resolved project
+   * @param key key of the resolution, see {@link #key(Collection, Collection)}
+   * @param result result of the resolution
+   */
+  public void put(File pom, String key, MavenModelReaderResult result) {
+    if (!result.getProblems().isEmpty() || !result.getUnresolvedArtifacts().isEmpty()) {
+      return;
+    }
+
+    List<String> artifactFiles = new ArrayList<>();
+    Map<String, String> workspacePoms = new HashMap<>();
+    for (MavenArtifact artifact : result.getMavenModel().getDependencies()) {
+      if (artifact.isResolved()) {
+        artifactFiles.add(artifact.getFile().getPath());
+      }
+      File file = artifact.getFile();
+      // dependencies resolved from the workspace point to pom files of the workspace projects
+      if (file != null && file.getName().equals(MavenConstants.POM_FILE_NAME)) {
+        String hash = hash(file);
+        if (hash == null) {
+          return;
+        }
+        workspacePoms.put(file.getPath(), hash);
+      }
+    }
+
+    Entry entry =
+        new Entry(
+            result.getMavenModel(),
+            result.getActiveProfiles(),
+            result.getInactiveProfiles(),
+            new ArrayList<>(),
+            new HashSet<>(),
+            artifactFiles,
+            workspacePoms);
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    try (ObjectOutputStream objects = new ObjectOutputStream(content)) {
+      objects.writeObject(entry);
+    } catch (IOException e) {
+      LOG.warn("Can't store maven resolution cache entry: {}", e.getMessage());
+      return;
+    }
+    if (!write(new File(directory, key), content.toByteArray())) {
+      return;
+    }
+
+    String pomHash = Hashing.sha256().hashString(pom.getAbsolutePath(), UTF_8).toString();
+    File index = new File(indexDirectory, pomHash);
+    synchronized (this) {
+      String previousKey = null;
+      if (index.isFile()) {
+        try {
+          previousKey = new String(Files.readAllBytes(index.toPath()), UTF_8);
+        } catch (IOException e) {
+          LOG.debug("Can't read maven resolution cache index {}: {}", index, e.getMessage());
+        }
+      }
+      if (write(index, key.getBytes(UTF_8)) && previousKey != null && !previousKey.equals(key)) {
+        new File(directory, previousKey).delete();
+      }
+    }
+  }
+
+  /** Writes the content to a temporary file first, so that readers never see partial content. */
+  private boolean write(File file, byte[] content) {
+    File tmp = null;
+    try {
+      Files.createDirectories(file.getParentFile().toPath());
+      tmp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+      Files.write(tmp.toPath(), content);
+      Files.move(tmp.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      return true;
+    } catch (IOException e) {
+      LOG.warn("Can't store maven resolution cache file {}: {}", file, e.getMessage());
+      if (tmp != null) {
+        tmp.delete();
+      }
+      return false;
+    }
+  }
+
+  private String hash(File file) {
+    try {
+      return Hashing.sha256().hashBytes(Files.readAllBytes(file.toPath())).toString();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    hasher.putInt(value.length()).putString(value, UTF_8);
+  }
+
+  private static class Entry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    final MavenModel model;
+    final List<String> activeProfiles;
+    final List<String> inactiveProfiles;
+    final List<MavenProjectProblem> problems;
+    final Set<MavenKey> unresolvedArtifacts;
+    final List<String> artifactFiles;
+    final Map<String, String> workspacePoms;
+
+    Entry(
+        MavenModel model,
+        List<String> activeProfiles,
+        List<String> inactiveProfiles,
+        List<MavenProjectProblem> problems,
+        Set<MavenKey> unresolvedArtifacts,
+        List<String> artifactFiles,
+        Map<String, String> workspacePoms) {
+      this.model = model;
+      this.activeProfiles = activeProfiles;
+      this.inactiveProfiles = inactiveProfiles;
+      this.problems = problems;
+      this.unresolvedArtifacts = unresolvedArtifacts;
+      this.artifactFiles = artifactFiles;
+      this.workspacePoms = workspacePoms;
+    }
+  }
+}
@@ -10,8 +10,9 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
@@ -27,7 +28,8 @@ public class MavenTaskExecutor {
 
   private final MavenExecutorService service;
   private final MavenProgressNotifier notifier;
-  private final Queue<MavenProjectTask> queue = new LinkedList<>();
+  // insertion ordered set, so that the check for an already queued task is cheap
+  private final Set<MavenProjectTask> queue = new LinkedHashSet<>();
   private boolean isWorking;
 
   public MavenTaskExecutor(MavenExecutorService service, MavenProgressNotifier notifier) {
@@ -42,9 +44,7 @@ public class MavenTaskExecutor {
         isWorking = true;
         runTask(task);
       } else {
-        if (!queue.contains(task)) {
-          queue.add(task);
-        }
+        queue.add(task);
       }
     }
   }
@@ -84,12 +84,14 @@ public class MavenTaskExecutor {
       }
 
       synchronized (queue) {
-        task = queue.poll();
-        if (task == null) {
+        Iterator<MavenProjectTask> iterator = queue.iterator();
+        if (!iterator.hasNext()) {
           isWorking = false;
           notifier.stop();
           return;
         }
+        task = iterator.next();
+        iterator.remove();
       }
     }
   }
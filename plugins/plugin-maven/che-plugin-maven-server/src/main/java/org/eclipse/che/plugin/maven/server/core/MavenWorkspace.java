@@ -66,6 +66,7 @@ public class MavenWorkspace {
 
   private MavenTaskExecutor resolveExecutor;
   private MavenTaskExecutor classPathExecutor;
+  private MavenProjectResolveScheduler resolveScheduler;
 
   private Set<MavenProject> projectsToResolve = new CopyOnWriteArraySet<>();
 
@@ -82,6 +83,7 @@ public class MavenWorkspace {
     this.classpathManager = classpathManager;
     this.manager = manager;
     resolveExecutor = new MavenTaskExecutor(executorService, notifier);
+    resolveScheduler = new MavenProjectResolveScheduler(manager, notifier);
     eventService.subscribe(
         new EventSubscriber<ProjectDeletedEvent>() {
           @Override
@@ -178,17 +180,18 @@ public class MavenWorkspace {
     Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
     projectsToResolve.clear();
 
-    for (MavenProject mavenProject : needResolve) {
-
-      resolveExecutor.submitTask(
-          new MavenProjectResolveTask(
-              mavenProject,
-              manager,
-              () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-              }));
+    if (needResolve.isEmpty()) {
+      return;
     }
+
+    resolveExecutor.submitTask(
+        () ->
+            resolveScheduler.resolve(
+                needResolve,
+                mavenProject -> {
+                  addSourcesFromBuildHelperPlugin(mavenProject);
+                  classpathManager.updateClasspath(mavenProject);
+                }));
   }
 
   private void updateJavaProject(MavenProject project) {
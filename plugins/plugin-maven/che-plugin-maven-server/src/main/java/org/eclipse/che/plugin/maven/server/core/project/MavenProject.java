@@ -79,6 +79,14 @@ public class MavenProject {
     return info.profilesIds;
   }
 
+  public List<String> getActiveProfiles() {
+    return info.activeProfiles;
+  }
+
+  public List<String> getInactiveProfiles() {
+    return info.inactiveProfiles;
+  }
+
   public List<MavenResource> getResources() {
     return info.resources;
   }
@@ -184,16 +192,31 @@ public class MavenProject {
    */
   public MavenProjectModifications resolve(
       IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
-    MavenModelReader reader = new MavenModelReader();
+    return setResolveResult(resolveModel(project, mavenServer, serverManager));
+  }
 
-    MavenModelReaderResult modelReaderResult =
-        reader.resolveMavenProject(
-            getPom(project),
-            mavenServer,
-            info.activeProfiles,
-            info.inactiveProfiles,
-            serverManager);
+  /**
+   * Invoke maven to build project model, without applying it to this project.
+   *
+   * @param project to resolve
+   * @param mavenServer the maven server
+   * @return the result of resolution
+   * @see #setResolveResult(MavenModelReaderResult)
+   */
+  public MavenModelReaderResult resolveModel(
+      IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
+    MavenModelReader reader = new MavenModelReader();
+    return reader.resolveMavenProject(
+        getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
+  }
 
+  /**
+   * Applies result of resolution to this project.
+   *
+   * @param modelReaderResult the result of resolution
+   * @return the modification types that applied to this project
+   */
+  public MavenProjectModifications setResolveResult(MavenModelReaderResult modelReaderResult) {
     return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
   }
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.io.File;
+import java.rmi.RemoteException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.eclipse.che.maven.server.MavenRemoteServer;
+import org.eclipse.che.maven.server.MavenServer;
+import org.eclipse.che.maven.server.MavenServerResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests restart of maven server processes managed by {@link MavenServerManager}. */
+public class MavenServerManagerRestartTest {
+
+  private static final File POM = new File("pom.xml");
+
+  private MavenServer restartedServer;
+  private MavenServerResult result;
+  private List<String> startedProcesses;
+  private MavenServerManager manager;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MavenRemoteServer deadProcess = mock(MavenRemoteServer.class);
+    MavenServer deadServer = mock(MavenServer.class);
+    MavenRemoteServer restartedProcess = mock(MavenRemoteServer.class);
+    restartedServer = mock(MavenServer.class);
+    result = mock(MavenServerResult.class);
+    // the process dies while the project is being resolved, so it's not available afterwards
+    when(deadProcess.createServer(any()))
+        .thenReturn(deadServer)
+        .thenThrow(new RemoteException("Connection refused"));
+    when(deadServer.resolveProject(any(), any(), any()))
+        .thenThrow(new RemoteException("Connection reset"));
+    when(restartedProcess.createServer(any())).thenReturn(restartedServer);
+    when(restartedServer.resolveProject(any(), any(), any())).thenReturn(result);
+
+    startedProcesses = new ArrayList<>();
+    Deque<MavenRemoteServer> processes = new ArrayDeque<>(asList(deadProcess, restartedProcess));
+    manager =
+        new MavenServerManager("maven-server") {
+          @Override
+          protected MavenRemoteServer startServer(String process) {
+            startedProcesses.add(process);
+            return processes.poll();
+          }
+        };
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    manager.shutdown();
+  }
+
+  @DataProvider
+  public Object[][] processes() {
+    return new Object[][] {{0, ""}, {1, "1"}};
+  }
+
+  @Test(dataProvider = "processes")
+  public void shouldRestartProcessWhichDiesInTheMiddleOfResolution(int process, String id)
+      throws Exception {
+    MavenServerWrapper server = manager.createMavenServer(process);
+
+    assertSame(server.resolveProject(POM, emptyList(), emptyList()), result);
+    assertEquals(startedProcesses, asList(id, id));
+  }
+
+  @Test(dataProvider = "processes")
+  public void shouldUseRestartedProcessForNextResolutions(int process, String id)
+      throws Exception {
+    MavenServerWrapper server = manager.createMavenServer(process);
+    server.resolveProject(POM, emptyList(), emptyList());
+
+    assertSame(server.resolveProject(POM, emptyList(), emptyList()), result);
+    assertSame(
+        manager.createMavenServer(process).resolveProject(POM, emptyList(), emptyList()), result);
+    assertEquals(startedProcesses, asList(id, id));
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server;
+
+import static org.eclipse.che.plugin.maven.server.MavenWrapperManager.ServerType.RESOLVE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link MavenWrapperManager}. */
+public class MavenWrapperManagerTest {
+
+  private MavenServerManager serverManager;
+  private MavenServerWrapper first;
+  private MavenServerWrapper second;
+  private MavenServerWrapper temporary;
+  private MavenWrapperManager wrapperManager;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    serverManager = mock(MavenServerManager.class);
+    first = mock(MavenServerWrapper.class);
+    second = mock(MavenServerWrapper.class);
+    temporary = mock(MavenServerWrapper.class);
+    when(serverManager.createMavenServer(0)).thenReturn(first);
+    when(serverManager.createMavenServer(1)).thenReturn(second);
+    when(serverManager.createMavenServer()).thenReturn(temporary);
+    wrapperManager = new MavenWrapperManager(serverManager, 2);
+  }
+
+  @Test
+  public void shouldStartProcessesOfPoolOnlyWhenTheyAreNeeded() throws Exception {
+    assertSame(wrapperManager.getMavenServer(RESOLVE), first);
+
+    verify(serverManager).createMavenServer(0);
+    verify(serverManager, never()).createMavenServer(1);
+  }
+
+  @Test
+  public void shouldGiveEachServerOfPoolToOneUserAtATime() throws Exception {
+    assertSame(wrapperManager.getMavenServer(RESOLVE), first);
+    assertSame(wrapperManager.getMavenServer(RESOLVE), second);
+  }
+
+  @Test
+  public void shouldCreateTemporaryServerWhenPoolIsExhausted() throws Exception {
+    wrapperManager.getMavenServer(RESOLVE);
+    wrapperManager.getMavenServer(RESOLVE);
+
+    assertSame(wrapperManager.getMavenServer(RESOLVE), temporary);
+  }
+
+  @Test
+  public void shouldDisposeTemporaryServerWhenItIsReleased() throws Exception {
+    wrapperManager.getMavenServer(RESOLVE);
+    wrapperManager.getMavenServer(RESOLVE);
+    MavenServerWrapper server = wrapperManager.getMavenServer(RESOLVE);
+
+    wrapperManager.release(server);
+
+    verify(temporary).dispose();
+    verify(temporary, never()).reset();
+  }
+
+  @Test
+  public void shouldReuseServerOfPoolWhenItIsReleased() throws Exception {
+    MavenServerWrapper server = wrapperManager.getMavenServer(RESOLVE);
+    wrapperManager.getMavenServer(RESOLVE);
+
+    wrapperManager.release(server);
+
+    verify(first).reset();
+    verify(first, never()).dispose();
+    assertSame(wrapperManager.getMavenServer(RESOLVE), first);
+    verify(serverManager).createMavenServer(0);
+    verify(serverManager, never()).createMavenServer();
+  }
+}
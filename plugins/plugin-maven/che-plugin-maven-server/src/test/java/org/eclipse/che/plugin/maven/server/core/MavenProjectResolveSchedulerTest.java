@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link MavenProjectResolveScheduler}. */
+public class MavenProjectResolveSchedulerTest {
+
+  private MavenProjectManager manager;
+  private MavenProjectResolveScheduler scheduler;
+  private Map<MavenProject, Set<MavenProject>> graph;
+  private List<MavenProject> resolved;
+  private List<MavenProject> afterResolve;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    manager = mock(MavenProjectManager.class);
+    graph = new LinkedHashMap<>();
+    resolved = Collections.synchronizedList(new ArrayList<>());
+    afterResolve = new ArrayList<>();
+    when(manager.getResolveParallelism()).thenReturn(2);
+    when(manager.copyWorkspaceCache()).thenReturn(new MavenWorkspaceCache());
+    when(manager.findDependencyGraph(any())).thenReturn(graph);
+    doAnswer(
+            inv -> {
+              resolved.add(inv.getArgument(1));
+              return null;
+            })
+        .when(manager)
+        .resolveMavenProject(any(), any(), any());
+    scheduler = new MavenProjectResolveScheduler(manager, mock(MavenProgressNotifier.class));
+  }
+
+  @Test
+  public void shouldResolveProjectsAfterProjectsTheyDependOn() throws Exception {
+    MavenProject parent = project("parent");
+    MavenProject api = project("api");
+    MavenProject impl = project("impl");
+    MavenProject app = project("app");
+    graph.put(app, ImmutableSet.of(api, impl));
+    graph.put(impl, ImmutableSet.of(parent, api));
+    graph.put(api, singleton(parent));
+    graph.put(parent, emptySet());
+
+    scheduler.resolve(graph.keySet(), afterResolve::add);
+
+    assertEquals(resolved, asList(parent, api, impl, app));
+    assertEquals(afterResolve, asList(parent, api, impl, app));
+  }
+
+  @Test
+  public void shouldResolveIndependentProjectsInParallel() throws Exception {
+    MavenProject parent = project("parent");
+    MavenProject first = project("first");
+    MavenProject second = project("second");
+    graph.put(parent, emptySet());
+    graph.put(first, singleton(parent));
+    graph.put(second, singleton(parent));
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    List<Boolean> awaited = Collections.synchronizedList(new ArrayList<>());
+    // each of the projects is resolved only when the other one is being resolved at the same time
+    Answer<Void> awaitOther =
+        inv -> {
+          bothStarted.countDown();
+          awaited.add(bothStarted.await(10, SECONDS));
+          return null;
+        };
+    doAnswer(awaitOther).when(manager).resolveMavenProject(any(), eq(first), any());
+    doAnswer(awaitOther).when(manager).resolveMavenProject(any(), eq(second), any());
+
+    scheduler.resolve(graph.keySet(), afterResolve::add);
+
+    assertEquals(awaited, asList(true, true));
+    assertEquals(afterResolve.get(0), parent);
+    assertEquals(ImmutableSet.copyOf(afterResolve), ImmutableSet.of(parent, first, second));
+  }
+
+  @Test
+  public void shouldBreakDependencyCycleAndResolveEachProjectOnce() throws Exception {
+    MavenProject a = project("a");
+    MavenProject b = project("b");
+    MavenProject c = project("c");
+    MavenProject dependent = project("dependent");
+    graph.put(a, singleton(c));
+    graph.put(b, singleton(a));
+    graph.put(c, singleton(b));
+    graph.put(dependent, singleton(c));
+
+    scheduler.resolve(graph.keySet(), afterResolve::add);
+
+    assertEquals(resolved.size(), 4);
+    assertEquals(ImmutableSet.copyOf(resolved), graph.keySet());
+    assertEquals(resolved.get(3), dependent);
+    assertEquals(afterResolve, resolved);
+  }
+
+  @Test
+  public void shouldResolveDependentsOfProjectWhichFailedToResolve() throws Exception {
+    MavenProject broken = project("broken");
+    MavenProject dependent = project("dependent");
+    graph.put(broken, emptySet());
+    graph.put(dependent, singleton(broken));
+    doThrow(new RuntimeException("Maven server is not available"))
+        .when(manager)
+        .resolveMavenProject(any(), eq(broken), any());
+
+    scheduler.resolve(graph.keySet(), afterResolve::add);
+
+    assertEquals(resolved, asList(dependent));
+    assertEquals(afterResolve, asList(dependent));
+  }
+
+  @Test
+  public void shouldNotResolveProjectsWhichDoNotExist() throws Exception {
+    MavenProject removed = project("removed");
+    when(removed.getProject().exists()).thenReturn(false);
+    MavenProject dependent = project("dependent");
+    graph.put(removed, emptySet());
+    graph.put(dependent, singleton(removed));
+
+    scheduler.resolve(graph.keySet(), afterResolve::add);
+
+    assertEquals(resolved, asList(dependent));
+    assertEquals(afterResolve, asList(dependent));
+  }
+
+  private static MavenProject project(String name) {
+    IProject project = mock(IProject.class);
+    when(project.exists()).thenReturn(true);
+    MavenProject mavenProject = mock(MavenProject.class);
+    when(mavenProject.getProject()).thenReturn(project);
+    when(mavenProject.getName()).thenReturn(name);
+    return mavenProject;
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class MavenResolutionCacheTest {
+  private File directory;
+  private File pom;
+  private File jar;
+  private MavenResolutionCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("resolution").toFile();
+    pom = write("project/pom.xml", "<project/>");
+    jar = write("repository/a.jar", "jar");
+    cache = new MavenResolutionCache(new File(directory, "cache"));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    IoUtil.deleteRecursive(directory);
+  }
+
+  @Test
+  public void keyDependsOnContentOfFilesAndValues() throws Exception {
+    String key = cache.key(singletonList(pom), singletonList("active:a"));
+
+    assertEquals(cache.key(singletonList(pom), singletonList("active:a")), key);
+    assertNotEquals(cache.key(singletonList(pom), singletonList("active:b")), key);
+    assertNotEquals(cache.key(asList(pom, new File(directory, "settings.xml")), emptyList()), key);
+
+    write("project/pom.xml", "<project></project>");
+    assertNotEquals(cache.key(singletonList(pom), singletonList("active:a")), key);
+  }
+
+  @Test
+  public void returnsStoredResult() throws Exception {
+    String key = cache.key(singletonList(pom), emptyList());
+    cache.put(pom, key, result(dependency(jar)));
+
+    MavenResolutionCache restarted = new MavenResolutionCache(new File(directory, "cache"));
+    MavenModelReaderResult result = restarted.get(key);
+
+    assertNotNull(result);
+    assertEquals(result.getMavenModel().getMavenKey(), new MavenKey("g", "a", "1"));
+    assertEquals(result.getMavenModel().getDependencies().get(0).getFile(), jar);
+    assertEquals(result.getActiveProfiles(), singletonList("p"));
+  }
+
+  @Test
+  public void doesNotStoreResultWithProblems() throws Exception {
+    String key = cache.key(singletonList(pom), emptyList());
+    MavenModelReaderResult result =
+        new MavenModelReaderResult(
+            model(),
+            emptyList(),
+            emptyList(),
+            singletonList(MavenProjectProblem.newStructureProblem(pom.getPath(), "broken")),
+            emptySet());
+
+    cache.put(pom, key, result);
+
+    assertNull(cache.get(key));
+  }
+
+  @Test
+  public void ignoresResultWithRemovedArtifact() throws Exception {
+    String key = cache.key(singletonList(pom), emptyList());
+    cache.put(pom, key, result(dependency(jar)));
+
+    assertNotNull(cache.get(key));
+    jar.delete();
+    assertNull(cache.get(key));
+  }
+
+  @Test
+  public void ignoresResultWithChangedWorkspaceDependency() throws Exception {
+    File dependencyPom = write("dependency/pom.xml", "<project/>");
+    String key = cache.key(singletonList(pom), emptyList());
+    cache.put(pom, key, result(dependency(dependencyPom)));
+
+    assertNotNull(cache.get(key));
+    write("dependency/pom.xml", "<project><version>2</version></project>");
+    assertNull(cache.get(key));
+  }
+
+  @Test
+  public void replacesPreviousResultOfProject() throws Exception {
+    String key = cache.key(singletonList(pom), emptyList());
+    cache.put(pom, key, result(dependency(jar)));
+    String newKey = cache.key(singletonList(pom), singleton("active:b"));
+
+    cache.put(pom, newKey, result(dependency(jar)));
+
+    assertNull(cache.get(key));
+    assertNotNull(cache.get(newKey));
+  }
+
+  @Test
+  public void replacesResultOfProjectStoredBeforeRestart() throws Exception {
+    String key = cache.key(singletonList(pom), emptyList());
+    cache.put(pom, key, result(dependency(jar)));
+    String newKey = cache.key(singletonList(pom), singleton("active:b"));
+
+    MavenResolutionCache restarted = new MavenResolutionCache(new File(directory, "cache"));
+    restarted.put(pom, newKey, result(dependency(jar)));
+
+    assertNull(restarted.get(key));
+    assertNotNull(restarted.get(newKey));
+  }
+
+  private MavenModelReaderResult result(MavenArtifact dependency) {
+    MavenModel model = model();
+    List<MavenArtifact> dependencies = new ArrayList<>();
+    dependencies.add(dependency);
+    model.setDependencies(dependencies);
+    return new MavenModelReaderResult(
+        model, singletonList("p"), emptyList(), new ArrayList<>(), emptySet());
+  }
+
+  private MavenModel model() {
+    MavenModel model = new MavenModel();
+    model.setMavenKey(new MavenKey("g", "a", "1"));
+    return model;
+  }
+
+  private MavenArtifact dependency(File file) {
+    return new MavenArtifact(
+        "g", "d", "1", "1", "jar", null, "compile", false, "jar", file, null, true, false);
+  }
+
+  private File write(String path, String content) throws Exception {
+    File file = new File(directory, path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes());
+    return file;
+  }
+}
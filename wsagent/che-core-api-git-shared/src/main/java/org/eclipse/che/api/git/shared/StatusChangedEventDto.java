@@ -10,29 +10,43 @@
  */
 package org.eclipse.che.api.git.shared;
 
-import java.util.List;
 import java.util.Map;
 import org.eclipse.che.dto.shared.DTO;
 
 /**
- * Dto object that contains information about git index changed event.
+ * Dto object that contains information about git index changed event. Contains only the files
+ * which status has changed since the previous event of the same project.
  *
  * @author Igor Vinokur
  */
 @DTO
 public interface StatusChangedEventDto {
 
-  /** Status of the repository. */
-  Status getStatus();
+  /** Name of the project which repository status has changed. */
+  String getProjectName();
 
-  void setStatus(Status status);
+  void setProjectName(String projectName);
 
-  StatusChangedEventDto withStatus(Status status);
+  StatusChangedEventDto withProjectName(String projectName);
 
-  /** Map of modified files and their edited regions. */
-  Map<String, List<EditedRegion>> getModifiedFiles();
+  /**
+   * Map of files which status has changed, relative to the project, and their new status. Files
+   * that have become unmodified are mapped to {@link FileChangedEventDto.Status#NOT_MODIFIED}.
+   */
+  Map<String, FileChangedEventDto.Status> getChangedFiles();
 
-  void setModifiedFiles(Map<String, List<EditedRegion>> modifiedFiles);
+  void setChangedFiles(Map<String, FileChangedEventDto.Status> changedFiles);
 
-  StatusChangedEventDto withModifiedFiles(Map<String, List<EditedRegion>> modifiedFiles);
+  StatusChangedEventDto withChangedFiles(Map<String, FileChangedEventDto.Status> changedFiles);
+
+  /**
+   * Returns {@code true} if there was no previous event to compare with, so the event contains
+   * every modified, added or untracked file of the project and files missing from {@link
+   * #getChangedFiles()} are not modified.
+   */
+  boolean isComplete();
+
+  void setComplete(boolean complete);
+
+  StatusChangedEventDto withComplete(boolean complete);
 }
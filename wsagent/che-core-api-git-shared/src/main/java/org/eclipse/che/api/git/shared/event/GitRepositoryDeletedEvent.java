@@ -18,4 +18,12 @@ import org.eclipse.che.dto.shared.DTO;
  * @author Igor Vinokur.
  */
 @DTO
-public interface GitRepositoryDeletedEvent extends GitEvent {}
+public interface GitRepositoryDeletedEvent extends GitEvent {
+
+  /** Name of the project which repository is deleted. */
+  String getProjectName();
+
+  void setProjectName(String projectName);
+
+  GitRepositoryDeletedEvent withProjectName(String projectName);
+}
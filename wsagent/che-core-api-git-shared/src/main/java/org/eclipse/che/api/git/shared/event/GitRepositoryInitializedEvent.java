@@ -27,4 +27,11 @@ public interface GitRepositoryInitializedEvent extends GitEvent {
   void setStatus(Status status);
 
   GitRepositoryInitializedEvent withStatus(Status status);
+
+  /** Name of the project which repository is initialized. */
+  String getProjectName();
+
+  void setProjectName(String projectName);
+
+  GitRepositoryInitializedEvent withProjectName(String projectName);
 }
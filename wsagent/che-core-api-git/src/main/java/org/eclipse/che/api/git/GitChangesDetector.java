@@ -12,17 +12,28 @@ package org.eclipse.che.api.git;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.isDirectory;
-import static java.util.Collections.singletonList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.ADDED;
 import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.MODIFIED;
 import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.NOT_MODIFIED;
 import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.UNTRACKED;
-import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
 import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -32,14 +43,23 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.EditedRegion;
 import org.eclipse.che.api.git.shared.FileChangedEventDto;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto;
+import org.eclipse.che.api.vfs.impl.file.event.detectors.FileTrackingOperationEvent;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 
 /**
- * Detects changes in files and sends message to client Git handler.
+ * Detects changes in files and sends message to client Git handler. Changes are collected for a
+ * short period of time and sent together, so that status of repository is computed once for a
+ * burst of changes.
  *
  * @author Igor Vinokur
  */
@@ -49,26 +69,36 @@ public class GitChangesDetector {
   private static final String GIT_DIR = ".git";
   private static final String INCOMING_METHOD = "track/git-change";
   private static final String OUTGOING_METHOD = "event/git-change";
+  private static final long SEND_DELAY_MS = 300;
 
   private final RequestTransmitter transmitter;
   private final FileWatcherManager manager;
   private final Provider<ProjectManager> projectManagerProvider;
   private final GitConnectionFactory gitConnectionFactory;
+  private final EventService eventService;
+  private final EventSubscriber<FileTrackingOperationEvent> fileTrackingOperationSubscriber;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
+  private final Map<String, Set<String>> editorEndpointIds = new ConcurrentHashMap<>();
+  private final Set<String> changedPaths = newConcurrentHashSet();
+  private final AtomicBoolean sendScheduled = new AtomicBoolean();
 
   private int id;
+  private ScheduledExecutorService executor;
 
   @Inject
   public GitChangesDetector(
       RequestTransmitter transmitter,
       FileWatcherManager manager,
       Provider<ProjectManager> projectManagerProvider,
-      GitConnectionFactory gitConnectionFactory) {
+      GitConnectionFactory gitConnectionFactory,
+      EventService eventService) {
     this.transmitter = transmitter;
     this.manager = manager;
     this.projectManagerProvider = projectManagerProvider;
     this.gitConnectionFactory = gitConnectionFactory;
+    this.eventService = eventService;
+    this.fileTrackingOperationSubscriber = this::onFileTrackingOperation;
   }
 
   @Inject
@@ -83,12 +113,22 @@ public class GitChangesDetector {
 
   @PostConstruct
   public void startWatcher() {
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat(GitChangesDetector.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .build());
     id = manager.registerByMatcher(matcher(), createConsumer(), modifyConsumer(), deleteConsumer());
+    eventService.subscribe(fileTrackingOperationSubscriber, FileTrackingOperationEvent.class);
   }
 
   @PreDestroy
   public void stopWatcher() {
+    eventService.unsubscribe(fileTrackingOperationSubscriber);
     manager.unRegisterByMatcher(id);
+    executor.shutdownNow();
   }
 
   private PathMatcher matcher() {
@@ -105,57 +145,156 @@ public class GitChangesDetector {
   }
 
   private Consumer<String> deleteConsumer() {
-    return EMPTY_CONSUMER;
+    return this::invalidateStatus;
   }
 
   private Consumer<String> fsEventConsumer() {
-    return it -> endpointIds.forEach(transmitConsumer(it));
+    return it -> {
+      invalidateStatus(it);
+      if (!endpointIds.isEmpty()) {
+        changedPaths.add(it);
+        if (sendScheduled.compareAndSet(false, true)) {
+          executor.schedule(this::sendChanges, SEND_DELAY_MS, MILLISECONDS);
+        }
+      }
+    };
+  }
+
+  private void invalidateStatus(String path) {
+    try {
+      gitConnectionFactory.invalidateStatus(new File(getProjectPath(normalize(path))));
+    } catch (NotFoundException | ServerException e) {
+      LOG.debug(e.getMessage());
+    }
+  }
+
+  private void sendChanges() {
+    sendScheduled.set(false);
+    Map<String, List<String>> pathsByProject = new HashMap<>();
+    for (Iterator<String> iterator = changedPaths.iterator(); iterator.hasNext(); ) {
+      String path = iterator.next();
+      iterator.remove();
+      String projectName = normalize(path).split("/")[0];
+      pathsByProject.computeIfAbsent(projectName, k -> new ArrayList<>()).add(path);
+    }
+    pathsByProject.forEach(this::sendProjectChanges);
   }
 
-  private Consumer<String> transmitConsumer(String path) {
-    return id -> {
-      try {
-        String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
+  /**
+   * Sends changes of the files of a project. Status of the repository is got once for all the
+   * files, edited regions are computed once per file with a single connection, and only for the
+   * modified files that are opened in an editor, as nothing else displays them.
+   */
+  private void sendProjectChanges(String projectName, List<String> paths) {
+    GitConnection connection = null;
+    try {
+      String projectPath = getProjectPath(projectName);
+      Status status = gitConnectionFactory.getStatus(new File(projectPath));
+      for (String path : paths) {
+        String normalizedPath = normalize(path);
         String itemPath = normalizedPath.substring(normalizedPath.indexOf("/") + 1);
-        String projectPath =
-            projectManagerProvider
-                .get()
-                .getProject(normalizedPath.split("/")[0])
-                .getBaseFolder()
-                .getVirtualFile()
-                .toIoFile()
-                .getAbsolutePath();
-        GitConnection connection = gitConnectionFactory.getConnection(projectPath);
-        Status status = connection.status(singletonList(itemPath));
-        FileChangedEventDto.Status fileStatus;
-        if (status.getAdded().contains(itemPath)) {
-          fileStatus = ADDED;
-        } else if (status.getUntracked().contains(itemPath)) {
-          fileStatus = UNTRACKED;
-        } else if (status.getModified().contains(itemPath)
-            || status.getChanged().contains(itemPath)) {
-          fileStatus = MODIFIED;
-        } else {
-          fileStatus = NOT_MODIFIED;
-        }
+        FileChangedEventDto.Status fileStatus = getFileStatus(status, itemPath);
 
-        transmitter
-            .newRequest()
-            .endpointId(id)
-            .methodName(OUTGOING_METHOD)
-            .paramsAsDto(
-                newDto(FileChangedEventDto.class)
-                    .withPath(path)
-                    .withStatus(fileStatus)
-                    .withEditedRegions(
-                        gitConnectionFactory.getConnection(projectPath).getEditedRegions(itemPath)))
-            .sendAndSkipResult();
-      } catch (NotFoundException | ServerException e) {
-        String errorMessage = e.getMessage();
-        if (!("Not a git repository".equals(errorMessage))) {
-          LOG.error(errorMessage);
+        List<EditedRegion> editedRegions = emptyList();
+        if (fileStatus == MODIFIED && editorEndpointIds.containsKey(normalizedPath)) {
+          if (connection == null) {
+            connection = gitConnectionFactory.getConnection(projectPath);
+          }
+          editedRegions = getEditedRegions(connection, itemPath);
         }
+
+        FileChangedEventDto event =
+            newDto(FileChangedEventDto.class)
+                .withPath(path)
+                .withStatus(fileStatus)
+                .withEditedRegions(editedRegions);
+        endpointIds.forEach(id -> transmit(id, event));
       }
-    };
+    } catch (NotFoundException | ServerException e) {
+      String errorMessage = e.getMessage();
+      if (!("Not a git repository".equals(errorMessage))) {
+        LOG.error(errorMessage);
+      }
+    } finally {
+      if (connection != null) {
+        connection.close();
+      }
+    }
+  }
+
+  private static List<EditedRegion> getEditedRegions(GitConnection connection, String itemPath) {
+    try {
+      return connection.getEditedRegions(itemPath);
+    } catch (GitException e) {
+      LOG.debug("Can't get edited regions of '{}': {}", itemPath, e.getMessage());
+      return emptyList();
+    }
+  }
+
+  private static FileChangedEventDto.Status getFileStatus(Status status, String itemPath) {
+    if (status.getAdded().contains(itemPath)) {
+      return ADDED;
+    } else if (status.getUntracked().contains(itemPath)) {
+      return UNTRACKED;
+    } else if (status.getModified().contains(itemPath) || status.getChanged().contains(itemPath)) {
+      return MODIFIED;
+    } else {
+      return NOT_MODIFIED;
+    }
+  }
+
+  private void transmit(String endpointId, FileChangedEventDto event) {
+    transmitter
+        .newRequest()
+        .endpointId(endpointId)
+        .methodName(OUTGOING_METHOD)
+        .paramsAsDto(event)
+        .sendAndSkipResult();
+  }
+
+  private String getProjectPath(String normalizedPath) throws NotFoundException, ServerException {
+    return projectManagerProvider
+        .get()
+        .getProject(normalizedPath.split("/")[0])
+        .getBaseFolder()
+        .getVirtualFile()
+        .toIoFile()
+        .getAbsolutePath();
+  }
+
+  /** Keeps track of the files opened in editors, edited regions are computed only for them. */
+  private void onFileTrackingOperation(FileTrackingOperationEvent event) {
+    FileTrackingOperationDto operation = event.getFileTrackingOperation();
+    String endpointId = event.getEndpointId();
+    switch (operation.getType()) {
+      case START:
+        editorOpened(normalize(operation.getPath()), endpointId);
+        break;
+      case STOP:
+        editorClosed(normalize(operation.getPath()), endpointId);
+        break;
+      case MOVE:
+        editorClosed(normalize(operation.getOldPath()), endpointId);
+        editorOpened(normalize(operation.getPath()), endpointId);
+        break;
+      default:
+    }
+  }
+
+  private void editorOpened(String path, String endpointId) {
+    editorEndpointIds.computeIfAbsent(path, k -> newConcurrentHashSet()).add(endpointId);
+  }
+
+  private void editorClosed(String path, String endpointId) {
+    editorEndpointIds.computeIfPresent(
+        path,
+        (k, ids) -> {
+          ids.remove(endpointId);
+          return ids.isEmpty() ? null : ids;
+        });
+  }
+
+  private static String normalize(String path) {
+    return path.startsWith("/") ? path.substring(1) : path;
   }
 }
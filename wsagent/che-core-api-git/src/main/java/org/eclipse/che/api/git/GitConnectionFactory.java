@@ -10,9 +10,12 @@
  */
 package org.eclipse.che.api.git;
 
+import static java.util.Collections.emptyList;
+
 import java.io.File;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
 
 /** @author andrew00x */
 public abstract class GitConnectionFactory {
@@ -63,4 +66,28 @@ public abstract class GitConnectionFactory {
       File workDir, LineConsumerFactory outputPublisherFactory) throws GitException;
 
   public abstract CredentialsLoader getCredentialsLoader();
+
+  /**
+   * Get status of the whole Git repository located in <code>workDir</code>. Implementations may
+   * answer from a snapshot of previously computed status, that is kept until the index or HEAD of
+   * the repository changes or until {@link #invalidateStatus(File)} is called. Returned status
+   * must not be modified.
+   *
+   * @param workDir repository directory
+   * @return status of repository
+   * @throws GitException if status can't be computed
+   */
+  public Status getStatus(File workDir) throws GitException {
+    try (GitConnection connection = getConnection(workDir)) {
+      return connection.status(emptyList());
+    }
+  }
+
+  /**
+   * Notify that files in the working tree of Git repository located in <code>workDir</code> were
+   * changed, so that status returned by {@link #getStatus(File)} has to be recomputed.
+   *
+   * @param workDir repository directory
+   */
+  public void invalidateStatus(File workDir) {}
 }
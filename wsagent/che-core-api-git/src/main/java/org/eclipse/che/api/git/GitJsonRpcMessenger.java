@@ -13,8 +13,6 @@ package org.eclipse.che.api.git;
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -27,7 +25,6 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
-import org.eclipse.che.api.git.shared.EditedRegion;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusChangedEventDto;
 import org.eclipse.che.api.git.shared.event.GitCheckoutEvent;
@@ -89,17 +86,25 @@ public class GitJsonRpcMessenger implements EventSubscriber<GitEvent> {
   }
 
   private void handleStatusChangedEvent(GitEvent event) {
-    Status status = newDto(Status.class);
-    Map<String, List<EditedRegion>> modifiedFiles = new HashMap<>();
+    String projectName;
+    Status status;
     if (event instanceof GitCommitEvent) {
+      projectName = ((GitCommitEvent) event).getProjectName();
       status = ((GitCommitEvent) event).getStatus();
-      modifiedFiles = ((GitCommitEvent) event).getModifiedFiles();
     } else if (event instanceof GitRepositoryInitializedEvent) {
+      projectName = ((GitRepositoryInitializedEvent) event).getProjectName();
       status = ((GitRepositoryInitializedEvent) event).getStatus();
+    } else {
+      projectName = ((GitRepositoryDeletedEvent) event).getProjectName();
+      status = newDto(Status.class);
     }
 
+    // the whole status is sent, so that files which are not listed become not modified
     StatusChangedEventDto statusChangeEventDto =
-        newDto(StatusChangedEventDto.class).withStatus(status).withModifiedFiles(modifiedFiles);
+        newDto(StatusChangedEventDto.class)
+            .withProjectName(projectName)
+            .withChangedFiles(GitStatusChangedDetector.toChangedFiles(status))
+            .withComplete(true);
     for (String endpointId : endpointIds) {
       transmitter
           .newRequest()
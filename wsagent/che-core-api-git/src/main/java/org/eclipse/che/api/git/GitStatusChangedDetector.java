@@ -12,16 +12,30 @@ package org.eclipse.che.api.git;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.isDirectory;
-import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.ADDED;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.MODIFIED;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.NOT_MODIFIED;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.UNTRACKED;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
 import java.nio.file.PathMatcher;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -31,16 +45,22 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
-import org.eclipse.che.api.git.shared.EditedRegion;
+import org.eclipse.che.api.git.shared.FileChangedEventDto;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusChangedEventDto;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 
 /**
  * Detects changes in index and ORIG_HEAD files and sends message to client Git handler.
  *
+ * <p>Changes are collected for a short period of time, so that a burst of changes results in a
+ * single message per project. The message contains only the files which status has changed since
+ * the previous message, edited regions of modified files are requested by the client for the files
+ * opened in editors.
+ *
  * @author Igor Vinokur
  */
 public class GitStatusChangedDetector {
@@ -51,6 +71,7 @@ public class GitStatusChangedDetector {
   private static final String ORIG_HEAD_FILE = "ORIG_HEAD";
   private static final String INCOMING_METHOD = "track/git-index";
   private static final String OUTGOING_METHOD = "event/git/statusChanged";
+  private static final long SEND_DELAY_MS = 300;
 
   private final RequestTransmitter transmitter;
   private final FileWatcherManager manager;
@@ -58,9 +79,13 @@ public class GitStatusChangedDetector {
   private final GitConnectionFactory gitConnectionFactory;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
+  private final Set<String> changedProjects = newConcurrentHashSet();
+  private final AtomicBoolean sendScheduled = new AtomicBoolean();
+  private final Map<String, Map<String, Set<StatusList>>> lastStatuses = new ConcurrentHashMap<>();
 
   private int indexId;
   private int origHeadId;
+  private ScheduledExecutorService executor;
 
   @Inject
   public GitStatusChangedDetector(
@@ -86,6 +111,13 @@ public class GitStatusChangedDetector {
 
   @PostConstruct
   public void startWatchers() {
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat(GitStatusChangedDetector.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .build());
     indexId =
         manager.registerByMatcher(
             indexMatcher(), fsEventConsumer(), EMPTY_CONSUMER, EMPTY_CONSUMER);
@@ -98,6 +130,7 @@ public class GitStatusChangedDetector {
   public void stopWatchers() {
     manager.unRegisterByMatcher(indexId);
     manager.unRegisterByMatcher(origHeadId);
+    executor.shutdownNow();
   }
 
   private PathMatcher OrigHeadMatcher() {
@@ -115,50 +148,146 @@ public class GitStatusChangedDetector {
   }
 
   private Consumer<String> fsEventConsumer() {
-    return it -> endpointIds.forEach(transmitConsumer(it));
+    return it -> {
+      if (endpointIds.isEmpty()) {
+        return;
+      }
+      changedProjects.add((it.startsWith("/") ? it.substring(1) : it).split("/")[0]);
+      if (sendScheduled.compareAndSet(false, true)) {
+        executor.schedule(this::sendChanges, SEND_DELAY_MS, MILLISECONDS);
+      }
+    };
+  }
+
+  private void sendChanges() {
+    sendScheduled.set(false);
+    for (Iterator<String> iterator = changedProjects.iterator(); iterator.hasNext(); ) {
+      String project = iterator.next();
+      iterator.remove();
+      sendProjectChanges(project);
+    }
   }
 
-  private Consumer<String> transmitConsumer(String path) {
-    return id -> {
-      try {
-        String projectPath =
-            projectManagerProvider
-                .get()
-                .getProject((path.startsWith("/") ? path.substring(1) : path).split("/")[0])
-                .getBaseFolder()
-                .getVirtualFile()
-                .toIoFile()
-                .getAbsolutePath();
-        GitConnection connection = gitConnectionFactory.getConnection(projectPath);
-        Status status = connection.status(emptyList());
-        Status statusDto = newDto(Status.class);
-        statusDto.setAdded(status.getAdded());
-        statusDto.setUntracked(status.getUntracked());
-        statusDto.setChanged(status.getChanged());
-        statusDto.setModified(status.getModified());
-        statusDto.setMissing(status.getMissing());
-        statusDto.setRemoved(status.getRemoved());
-        statusDto.setConflicting(status.getConflicting());
-
-        Map<String, List<EditedRegion>> modifiedFiles = new HashMap<>();
-        for (String file : status.getChanged()) {
-          modifiedFiles.put(file, connection.getEditedRegions(file));
-        }
-
-        StatusChangedEventDto statusChangeEventDto =
-            newDto(StatusChangedEventDto.class).withStatus(status).withModifiedFiles(modifiedFiles);
-        transmitter
-            .newRequest()
-            .endpointId(id)
-            .methodName(OUTGOING_METHOD)
-            .paramsAsDto(statusChangeEventDto)
-            .sendAndSkipResult();
-      } catch (ServerException | NotFoundException e) {
-        String errorMessage = e.getMessage();
-        if (!("Not a git repository".equals(errorMessage))) {
-          LOG.error(errorMessage);
-        }
+  private void sendProjectChanges(String project) {
+    Status status;
+    try {
+      String projectPath =
+          projectManagerProvider
+              .get()
+              .getProject(project)
+              .getBaseFolder()
+              .getVirtualFile()
+              .toIoFile()
+              .getAbsolutePath();
+      status = gitConnectionFactory.getStatus(new File(projectPath));
+    } catch (ServerException | NotFoundException e) {
+      lastStatuses.remove(project);
+      String errorMessage = e.getMessage();
+      if (!("Not a git repository".equals(errorMessage))) {
+        LOG.error(errorMessage);
       }
-    };
+      return;
+    }
+
+    StatusChangedEventDto statusChangeEventDto = getStatusChanges(project, status);
+    if (statusChangeEventDto == null) {
+      return;
+    }
+    endpointIds.forEach(
+        id ->
+            transmitter
+                .newRequest()
+                .endpointId(id)
+                .methodName(OUTGOING_METHOD)
+                .paramsAsDto(statusChangeEventDto)
+                .sendAndSkipResult());
+  }
+
+  /**
+   * Compares given status of the project with the status sent last time and remembers it.
+   *
+   * @return event which contains the files which status has changed, or {@code null} if there are
+   *     no such files
+   */
+  StatusChangedEventDto getStatusChanges(String project, Status status) {
+    Map<String, Set<StatusList>> fileStatuses = toFileStatuses(status);
+    Map<String, Set<StatusList>> lastStatus = lastStatuses.put(project, fileStatuses);
+    Map<String, FileChangedEventDto.Status> changedFiles = new HashMap<>();
+    Set<String> files = new HashSet<>(fileStatuses.keySet());
+    if (lastStatus != null) {
+      files.addAll(lastStatus.keySet());
+    }
+    for (String file : files) {
+      Set<StatusList> fileStatus = fileStatuses.get(file);
+      if (lastStatus == null || !Objects.equals(fileStatus, lastStatus.get(file))) {
+        changedFiles.put(file, toEventStatus(fileStatus));
+      }
+    }
+    if (lastStatus != null && changedFiles.isEmpty()) {
+      return null;
+    }
+    return newDto(StatusChangedEventDto.class)
+        .withProjectName(project)
+        .withChangedFiles(changedFiles)
+        .withComplete(lastStatus == null);
+  }
+
+  /**
+   * Maps each file listed in the status to the status shown to the user, so that the result can be
+   * sent as a complete {@link StatusChangedEventDto}.
+   */
+  static Map<String, FileChangedEventDto.Status> toChangedFiles(Status status) {
+    Map<String, FileChangedEventDto.Status> changedFiles = new HashMap<>();
+    toFileStatuses(status)
+        .forEach((file, fileStatus) -> changedFiles.put(file, toEventStatus(fileStatus)));
+    return changedFiles;
+  }
+
+  /**
+   * Maps each file listed in the status to the status lists it belongs to. A file that moves
+   * between lists, e.g. from modified to changed when it is added to the index, has different
+   * edited regions, so it is reported even if its status shown to the user stays the same.
+   */
+  private static Map<String, Set<StatusList>> toFileStatuses(Status status) {
+    Map<String, Set<StatusList>> statuses = new HashMap<>();
+    addFileStatuses(statuses, status.getUntracked(), StatusList.UNTRACKED);
+    addFileStatuses(statuses, status.getAdded(), StatusList.ADDED);
+    addFileStatuses(statuses, status.getChanged(), StatusList.CHANGED);
+    addFileStatuses(statuses, status.getModified(), StatusList.MODIFIED);
+    addFileStatuses(statuses, status.getMissing(), StatusList.MISSING);
+    addFileStatuses(statuses, status.getRemoved(), StatusList.REMOVED);
+    addFileStatuses(statuses, status.getConflicting(), StatusList.CONFLICTING);
+    return statuses;
+  }
+
+  private static void addFileStatuses(
+      Map<String, Set<StatusList>> statuses, List<String> files, StatusList list) {
+    files.forEach(
+        file -> statuses.computeIfAbsent(file, it -> EnumSet.noneOf(StatusList.class)).add(list));
+  }
+
+  private static FileChangedEventDto.Status toEventStatus(Set<StatusList> fileStatus) {
+    if (fileStatus == null) {
+      return NOT_MODIFIED;
+    } else if (fileStatus.contains(StatusList.UNTRACKED)) {
+      return UNTRACKED;
+    } else if (fileStatus.contains(StatusList.ADDED)) {
+      return ADDED;
+    } else if (fileStatus.contains(StatusList.MODIFIED)
+        || fileStatus.contains(StatusList.CHANGED)) {
+      return MODIFIED;
+    } else {
+      return NOT_MODIFIED;
+    }
+  }
+
+  private enum StatusList {
+    UNTRACKED,
+    ADDED,
+    CHANGED,
+    MODIFIED,
+    MISSING,
+    REMOVED,
+    CONFLICTING
   }
 }
@@ -10,11 +10,12 @@
  */
 package org.eclipse.che.api.git;
 
-import static java.util.Collections.singletonList;
-
+import java.io.File;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import org.eclipse.che.api.core.NotFoundException;
@@ -57,10 +58,7 @@ public class GitStatusProvider implements VcsStatusProvider {
               .getVirtualFile()
               .toIoFile()
               .getAbsolutePath();
-      Status status =
-          gitConnectionFactory
-              .getConnection(projectPath)
-              .status(singletonList(normalizedPath.substring(normalizedPath.indexOf("/") + 1)));
+      Status status = gitConnectionFactory.getStatus(new File(projectPath));
       String itemPath = normalizedPath.substring(normalizedPath.indexOf("/") + 1);
       if (status.getUntracked().contains(itemPath)) {
         return VcsStatus.UNTRACKED;
@@ -90,14 +88,18 @@ public class GitStatusProvider implements VcsStatusProvider {
               .getVirtualFile()
               .toIoFile()
               .getAbsolutePath();
-      Status status = gitConnectionFactory.getConnection(projectPath).status(paths);
+      Status status = gitConnectionFactory.getStatus(new File(projectPath));
+      Set<String> untracked = new HashSet<>(status.getUntracked());
+      Set<String> added = new HashSet<>(status.getAdded());
+      Set<String> modified = new HashSet<>(status.getModified());
+      modified.addAll(status.getChanged());
       paths.forEach(
           path -> {
-            if (status.getUntracked().contains(path)) {
+            if (untracked.contains(path)) {
               statusMap.put("/" + project + "/" + path, VcsStatus.UNTRACKED);
-            } else if (status.getAdded().contains(path)) {
+            } else if (added.contains(path)) {
               statusMap.put("/" + project + "/" + path, VcsStatus.ADDED);
-            } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
+            } else if (modified.contains(path)) {
               statusMap.put("/" + project + "/" + path, VcsStatus.MODIFIED);
             } else {
               statusMap.put("/" + project + "/" + path, VcsStatus.NOT_MODIFIED);
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type.START;
+import static org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type.STOP;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.function.Consumer;
+import javax.inject.Provider;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto;
+import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type;
+import org.eclipse.che.api.vfs.impl.file.event.detectors.FileTrackingOperationEvent;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GitChangesDetector} */
+@Listeners(MockitoTestNGListener.class)
+public class GitChangesDetectorTest {
+  private static final File PROJECT_DIR = new File("/projects/project");
+  private static final int TIMEOUT = 2_000;
+
+  @Mock(answer = RETURNS_DEEP_STUBS)
+  private RequestTransmitter transmitter;
+
+  @Mock(answer = RETURNS_DEEP_STUBS)
+  private Provider<ProjectManager> projectManagerProvider;
+
+  @Mock(answer = RETURNS_DEEP_STUBS)
+  private RequestHandlerConfigurator configurator;
+
+  @Mock private FileWatcherManager manager;
+  @Mock private GitConnectionFactory gitConnectionFactory;
+  @Mock private GitConnection connection;
+  @Mock private EventService eventService;
+
+  private GitChangesDetector detector;
+  private Consumer<String> createConsumer;
+  private EventSubscriber<FileTrackingOperationEvent> fileTrackingSubscriber;
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    when(projectManagerProvider
+            .get()
+            .getProject(anyString())
+            .getBaseFolder()
+            .getVirtualFile()
+            .toIoFile())
+        .thenReturn(PROJECT_DIR);
+    when(gitConnectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class)))
+        .thenReturn(connection);
+    when(connection.getEditedRegions(anyString())).thenReturn(emptyList());
+
+    detector =
+        new GitChangesDetector(
+            transmitter, manager, projectManagerProvider, gitConnectionFactory, eventService);
+    detector.configureHandler(configurator);
+    detector.startWatcher();
+
+    ArgumentCaptor<Consumer<String>> endpointConsumer = ArgumentCaptor.forClass(Consumer.class);
+    verify(configurator.newConfiguration().methodName("track/git-change").noParams().noResult())
+        .withConsumer(endpointConsumer.capture());
+    endpointConsumer.getValue().accept("endpoint1");
+    endpointConsumer.getValue().accept("endpoint2");
+
+    ArgumentCaptor<Consumer<String>> createCaptor = ArgumentCaptor.forClass(Consumer.class);
+    verify(manager).registerByMatcher(any(), createCaptor.capture(), any(), any());
+    createConsumer = createCaptor.getValue();
+
+    ArgumentCaptor<EventSubscriber> subscriberCaptor =
+        ArgumentCaptor.forClass(EventSubscriber.class);
+    verify(eventService)
+        .subscribe(subscriberCaptor.capture(), eq(FileTrackingOperationEvent.class));
+    fileTrackingSubscriber = subscriberCaptor.getValue();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    detector.stopWatcher();
+  }
+
+  @Test
+  public void shouldComputeEditedRegionsOncePerFileOpenedInEditor() throws Exception {
+    when(gitConnectionFactory.getStatus(PROJECT_DIR))
+        .thenReturn(modified("a.txt", "b.txt", "c.txt"));
+    trackFile(START, "/project/a.txt");
+    trackFile(START, "/project/b.txt");
+
+    createConsumer.accept("/project/a.txt");
+    createConsumer.accept("/project/b.txt");
+    createConsumer.accept("/project/c.txt");
+
+    verify(transmitter, timeout(TIMEOUT).times(6)).newRequest();
+    verify(gitConnectionFactory).getStatus(PROJECT_DIR);
+    verify(gitConnectionFactory).getConnection(any(File.class), any(LineConsumerFactory.class));
+    verify(connection).getEditedRegions("a.txt");
+    verify(connection).getEditedRegions("b.txt");
+    verify(connection, never()).getEditedRegions("c.txt");
+    verify(connection).close();
+  }
+
+  @Test
+  public void shouldNotComputeEditedRegionsOfFileClosedInEditor() throws Exception {
+    when(gitConnectionFactory.getStatus(PROJECT_DIR)).thenReturn(modified("a.txt"));
+    trackFile(START, "/project/a.txt");
+    trackFile(STOP, "/project/a.txt");
+
+    createConsumer.accept("/project/a.txt");
+
+    verify(transmitter, timeout(TIMEOUT).times(2)).newRequest();
+    verify(gitConnectionFactory, never())
+        .getConnection(any(File.class), any(LineConsumerFactory.class));
+  }
+
+  private void trackFile(Type type, String path) {
+    FileTrackingOperationEvent event = mock(FileTrackingOperationEvent.class);
+    when(event.getEndpointId()).thenReturn("endpoint1");
+    when(event.getFileTrackingOperation())
+        .thenReturn(newDto(FileTrackingOperationDto.class).withType(type).withPath(path));
+    fileTrackingSubscriber.onEvent(event);
+  }
+
+  private static Status modified(String... files) {
+    Status status = newDto(Status.class);
+    status.setModified(asList(files));
+    return status;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.ADDED;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.MODIFIED;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.NOT_MODIFIED;
+import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.UNTRACKED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import javax.inject.Provider;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusChangedEventDto;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GitStatusChangedDetector} */
+@Listeners(MockitoTestNGListener.class)
+public class GitStatusChangedDetectorTest {
+
+  private static final String PROJECT = "project";
+
+  @Mock private RequestTransmitter transmitter;
+  @Mock private FileWatcherManager manager;
+  @Mock private Provider<ProjectManager> projectManagerProvider;
+  @Mock private GitConnectionFactory gitConnectionFactory;
+
+  private GitStatusChangedDetector detector;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    detector =
+        new GitStatusChangedDetector(
+            transmitter, manager, projectManagerProvider, gitConnectionFactory);
+  }
+
+  @Test
+  public void shouldSendCompleteStatusOnFirstChange() throws Exception {
+    StatusChangedEventDto event =
+        detector.getStatusChanges(
+            PROJECT, status(singletonList("new.txt"), singletonList("a.txt"), emptyList()));
+
+    assertTrue(event.isComplete());
+    assertEquals(event.getProjectName(), PROJECT);
+    assertEquals(event.getChangedFiles(), ImmutableMap.of("new.txt", ADDED, "a.txt", MODIFIED));
+  }
+
+  @Test
+  public void shouldNotSendAnythingWhenStatusIsNotChanged() throws Exception {
+    detector.getStatusChanges(
+        PROJECT, status(emptyList(), singletonList("a.txt"), singletonList("b.txt")));
+
+    assertNull(
+        detector.getStatusChanges(
+            PROJECT, status(emptyList(), singletonList("a.txt"), singletonList("b.txt"))));
+  }
+
+  @Test
+  public void shouldSendOnlyFilesWhichStatusHasChanged() throws Exception {
+    detector.getStatusChanges(
+        PROJECT, status(emptyList(), asList("a.txt", "b.txt"), singletonList("c.txt")));
+
+    StatusChangedEventDto event =
+        detector.getStatusChanges(
+            PROJECT, status(emptyList(), asList("a.txt", "b.txt"), singletonList("d.txt")));
+
+    assertFalse(event.isComplete());
+    assertEquals(
+        event.getChangedFiles(), ImmutableMap.of("c.txt", NOT_MODIFIED, "d.txt", UNTRACKED));
+  }
+
+  @Test
+  public void shouldSendFilesWhichHaveBecomeUnmodifiedAsNotModified() throws Exception {
+    detector.getStatusChanges(PROJECT, status(emptyList(), asList("a.txt", "b.txt"), emptyList()));
+
+    StatusChangedEventDto event =
+        detector.getStatusChanges(PROJECT, status(emptyList(), emptyList(), emptyList()));
+
+    assertFalse(event.isComplete());
+    assertEquals(
+        event.getChangedFiles(), ImmutableMap.of("a.txt", NOT_MODIFIED, "b.txt", NOT_MODIFIED));
+  }
+
+  @Test
+  public void shouldSendFileWhichIsAddedToIndexAfterModification() throws Exception {
+    detector.getStatusChanges(PROJECT, status(emptyList(), singletonList("a.txt"), emptyList()));
+    Status status = newDto(Status.class);
+    status.setChanged(singletonList("a.txt"));
+
+    StatusChangedEventDto event = detector.getStatusChanges(PROJECT, status);
+
+    assertEquals(event.getChangedFiles(), ImmutableMap.of("a.txt", MODIFIED));
+  }
+
+  @Test
+  public void shouldCompareStatusesOfEachProjectSeparately() throws Exception {
+    detector.getStatusChanges(PROJECT, status(emptyList(), singletonList("a.txt"), emptyList()));
+
+    StatusChangedEventDto event =
+        detector.getStatusChanges(
+            "other", status(emptyList(), singletonList("a.txt"), emptyList()));
+
+    assertTrue(event.isComplete());
+    assertEquals(event.getProjectName(), "other");
+    assertEquals(event.getChangedFiles(), ImmutableMap.of("a.txt", MODIFIED));
+  }
+
+  @Test
+  public void shouldMapWholeStatusToChangedFiles() throws Exception {
+    Status status = status(singletonList("new.txt"), singletonList("a.txt"), emptyList());
+    status.setChanged(singletonList("b.txt"));
+    status.setMissing(singletonList("c.txt"));
+
+    assertEquals(
+        GitStatusChangedDetector.toChangedFiles(status),
+        ImmutableMap.of(
+            "new.txt", ADDED, "a.txt", MODIFIED, "b.txt", MODIFIED, "c.txt", NOT_MODIFIED));
+  }
+
+  private static Status status(List<String> added, List<String> modified, List<String> untracked) {
+    Status status = newDto(Status.class);
+    status.setAdded(added);
+    status.setModified(modified);
+    status.setUntracked(untracked);
+    return status;
+  }
+}
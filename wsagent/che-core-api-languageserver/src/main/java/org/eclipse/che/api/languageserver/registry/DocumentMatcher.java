@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.registry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiled form of the documents a language server is applicable to, as described by its {@link
+ * LanguageServerDescription}. Language ids are collected into a set and path patterns are compiled
+ * once, so that matching a document doesn't allocate.
+ */
+class DocumentMatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(DocumentMatcher.class);
+
+  private final Set<String> languageIds;
+  private final boolean anyLanguage;
+  private final List<PathFilter> pathFilters;
+
+  DocumentMatcher(LanguageServerDescription description) {
+    languageIds = new HashSet<>();
+    pathFilters = new ArrayList<>();
+    boolean anyLanguage = false;
+    if (description.getLanguageIds() != null) {
+      for (String id : description.getLanguageIds()) {
+        if ("*".equals(id)) {
+          anyLanguage = true;
+        } else {
+          languageIds.add(id);
+        }
+      }
+    }
+    for (DocumentFilter filter : description.getDocumentFilters()) {
+      String id = filter.getLanguageId();
+      if (id != null && id.length() > 0) {
+        if ("*".equals(id)) {
+          anyLanguage = true;
+        } else {
+          languageIds.add(id);
+        }
+      }
+      if (filter.getScheme() != null || filter.getPathRegex() != null) {
+        pathFilters.add(
+            new PathFilter(filter.getScheme(), filter.getPathRegex(), description.getId()));
+      }
+    }
+    this.anyLanguage = anyLanguage;
+  }
+
+  /**
+   * Returns how well the document matches: 10 if the language id or a scheme matches exactly or the
+   * path is the path pattern itself, 5 if the server accepts any language or a path pattern matches
+   * and 0 if the server is not applicable to the document.
+   *
+   * @param path path of the document
+   * @param languageId language id of the document
+   */
+  int matchScore(String path, String languageId) {
+    int match = matchLanguageId(languageId);
+    if (match == 10) {
+      return 10;
+    }
+    for (PathFilter filter : pathFilters) {
+      if (filter.scheme != null && path.startsWith(filter.scheme)) {
+        return 10;
+      }
+      if (filter.regex != null) {
+        if (filter.pathRegex.equals(path)) {
+          return 10;
+        }
+        if (match < 5 && filter.regex.matcher(path).matches()) {
+          match = 5;
+        }
+      }
+    }
+    return match;
+  }
+
+  /**
+   * Returns whether the score of documents with the given language id depends on their paths, if
+   * it doesn't then the score is the same for all the documents of the language.
+   */
+  boolean dependsOnPath(String languageId) {
+    return matchLanguageId(languageId) < 10 && !pathFilters.isEmpty();
+  }
+
+  private int matchLanguageId(String languageId) {
+    if (languageIds.contains(languageId)) {
+      return 10;
+    }
+    return anyLanguage ? 5 : 0;
+  }
+
+  private static class PathFilter {
+    final String scheme;
+    final String pathRegex;
+    final Pattern regex;
+
+    PathFilter(String scheme, String pathRegex, String serverId) {
+      this.scheme = scheme != null ? scheme + ':' : null;
+      this.pathRegex = pathRegex;
+      this.regex = pathRegex != null ? compile(pathRegex, serverId) : null;
+    }
+
+    private static Pattern compile(String pathRegex, String serverId) {
+      try {
+        return Pattern.compile(pathRegex);
+      } catch (PatternSyntaxException e) {
+        LOG.error("Invalid path pattern of language server " + serverId, e);
+        // matches nothing
+        return Pattern.compile("(?!)");
+      }
+    }
+  }
+}
@@ -10,6 +10,11 @@
  */
 package org.eclipse.che.api.languageserver.registry;
 
+import static java.util.Collections.unmodifiableList;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -19,9 +24,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
 import org.eclipse.che.api.core.ServerException;
@@ -52,6 +59,12 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
 
   private final Map<String, List<InitializedLanguageServer>> initializedServers;
 
+  /** Routes of documents to initialized servers by project, updated when servers change. */
+  private final Map<String, ProjectRoutes> projectRoutes;
+
+  private final Map<LanguageServerLauncher, DocumentMatcher> documentMatchers;
+  private final LoadingCache<String, Optional<LanguageDescription>> languagesByFileName;
+
   private final Provider<ProjectManager> projectManagerProvider;
   private final ServerInitializer initializer;
   private EventService eventService;
@@ -73,11 +86,23 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
     this.clientFactory = clientFactory;
     this.launchedServers = new HashMap<>();
     this.initializedServers = new HashMap<>();
+    this.projectRoutes = new ConcurrentHashMap<>();
+    this.documentMatchers = new ConcurrentHashMap<>();
+    this.languagesByFileName =
+        CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .build(CacheLoader.from(fileName -> Optional.ofNullable(findLanguageOf(fileName))));
   }
 
   private LanguageDescription findLanguage(String path) {
+    // extensions and file names are matched against the end of the path, so the language of a
+    // document depends only on its name
+    return languagesByFileName.getUnchecked(path.substring(path.lastIndexOf('/') + 1)).orElse(null);
+  }
+
+  private LanguageDescription findLanguageOf(String fileName) {
     for (LanguageDescription language : languages) {
-      if (matchesFilenames(language, path) || matchesExtensions(language, path)) {
+      if (matchesFilenames(language, fileName) || matchesExtensions(language, fileName)) {
         return language;
       }
     }
@@ -129,6 +154,7 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
                           initializedServers.computeIfAbsent(projectPath, k -> new ArrayList<>());
                       initialized.add(
                           new InitializedLanguageServer(id, pair.first, pair.second, launcher));
+                      projectRoutes.put(projectPath, new ProjectRoutes(initialized));
                       requiredToLaunch.remove(launcher);
                       initializedServers.notifyAll();
                     }
@@ -191,7 +217,7 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
     List<LanguageServerLauncher> result = new ArrayList<>();
     for (LanguageServerLauncher launcher : launchers) {
       if (launcher.isAbleToLaunch()) {
-        int score = matchScore(launcher.getDescription(), fileUri, language.getLanguageId());
+        int score = getDocumentMatcher(launcher).matchScore(fileUri, language.getLanguageId());
         if (score > 0) {
           result.add(launcher);
         }
@@ -239,91 +265,16 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
       return Collections.emptyList();
     }
 
-    Map<Integer, List<InitializedLanguageServer>> result = new HashMap<>();
-
-    List<InitializedLanguageServer> servers = null;
-    synchronized (initializedServers) {
-      List<InitializedLanguageServer> list = initializedServers.get(projectPath);
-      if (list == null) {
-        return Collections.emptyList();
-      }
-      servers = new ArrayList<InitializedLanguageServer>(list);
-    }
-    for (InitializedLanguageServer server : servers) {
-      int score =
-          matchScore(server.getLauncher().getDescription(), fileUri, language.getLanguageId());
-      if (score > 0) {
-        List<InitializedLanguageServer> list = result.get(score);
-        if (list == null) {
-          list = new ArrayList<>();
-          result.put(score, list);
-        }
-        list.add(server);
-      }
-    }
-    // sort lists highest score first
-    return result
-        .entrySet()
-        .stream()
-        .sorted((left, right) -> right.getKey() - left.getKey())
-        .map(entry -> entry.getValue())
-        .collect(Collectors.toList());
-  }
-
-  private int matchScore(LanguageServerDescription desc, String path, String languageId) {
-    int match = matchLanguageId(desc, languageId);
-    if (match == 10) {
-      return 10;
-    }
-
-    for (DocumentFilter filter : desc.getDocumentFilters()) {
-      if (filter.getLanguageId() != null && filter.getLanguageId().length() > 0) {
-        match = Math.max(match, matchLanguageId(filter.getLanguageId(), languageId));
-        if (match == 10) {
-          return 10;
-        }
-      }
-      if (filter.getScheme() != null && path.startsWith(filter.getScheme() + ":")) {
-        return 10;
-      }
-      String pattern = filter.getPathRegex();
-      if (pattern != null) {
-        if (pattern.equals(path)) {
-          return 10;
-        }
-        Pattern regex = Pattern.compile(pattern);
-        if (regex.matcher(path).matches()) {
-          match = Math.max(match, 5);
-        }
-      }
-    }
-    return match;
-  }
-
-  private int matchLanguageId(String id, String languageId) {
-    if (id.equals(languageId)) {
-      return 10;
-    } else if ("*".equals(id)) {
-      return 5;
+    ProjectRoutes routes = projectRoutes.get(projectPath);
+    if (routes == null) {
+      return Collections.emptyList();
     }
-    return 0;
+    return routes.route(fileUri, language.getLanguageId());
   }
 
-  private int matchLanguageId(LanguageServerDescription desc, String languageId) {
-    int match = 0;
-    List<String> languageIds = desc.getLanguageIds();
-    if (languageIds == null) {
-      return 0;
-    }
-    for (String id : languageIds) {
-      if (id.equals(languageId)) {
-        match = 10;
-        break;
-      } else if ("*".equals(id)) {
-        match = 5;
-      }
-    }
-    return match;
+  private DocumentMatcher getDocumentMatcher(LanguageServerLauncher launcher) {
+    return documentMatchers.computeIfAbsent(
+        launcher, l -> new DocumentMatcher(l.getDescription()));
   }
 
   @PreDestroy
@@ -337,6 +288,7 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
               .flatMap(l -> l.stream())
               .map(s -> s.getServer())
               .collect(Collectors.toList());
+      projectRoutes.clear();
     }
     for (LanguageServer server : allServers) {
       server.shutdown();
@@ -355,4 +307,49 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
     }
     return null;
   }
+
+  /**
+   * Routes documents of a project to the servers initialized for it. Servers applicable to the
+   * documents of a language are computed once, unless they depend on the paths of the documents.
+   */
+  private class ProjectRoutes {
+    private final List<InitializedLanguageServer> servers;
+    private final Map<String, List<Collection<InitializedLanguageServer>>> routesByLanguage;
+
+    ProjectRoutes(List<InitializedLanguageServer> servers) {
+      this.servers = new ArrayList<>(servers);
+      this.routesByLanguage = new ConcurrentHashMap<>();
+    }
+
+    /** Returns servers applicable to the document grouped by score, highest score first. */
+    List<Collection<InitializedLanguageServer>> route(String path, String languageId) {
+      List<Collection<InitializedLanguageServer>> route = routesByLanguage.get(languageId);
+      if (route != null) {
+        return route;
+      }
+
+      boolean dependsOnPath = false;
+      Map<Integer, List<InitializedLanguageServer>> byScore =
+          new TreeMap<>(Collections.reverseOrder());
+      for (InitializedLanguageServer server : servers) {
+        DocumentMatcher matcher = getDocumentMatcher(server.getLauncher());
+        dependsOnPath |= matcher.dependsOnPath(languageId);
+        int score = matcher.matchScore(path, languageId);
+        if (score > 0) {
+          byScore.computeIfAbsent(score, k -> new ArrayList<>()).add(server);
+        }
+      }
+      route =
+          unmodifiableList(
+              byScore
+                  .values()
+                  .stream()
+                  .map(Collections::unmodifiableList)
+                  .collect(Collectors.toList()));
+      if (!dependsOnPath) {
+        routesByLanguage.put(languageId, route);
+      }
+      return route;
+    }
+  }
 }
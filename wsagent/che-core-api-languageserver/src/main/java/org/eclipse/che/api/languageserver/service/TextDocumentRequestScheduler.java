@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.eclipse.lsp4j.Position;
+
+/**
+ * Schedules requests to language servers which concern a text document.
+ *
+ * <p>A request may supersede the previous request of the same kind made by the same client for the
+ * same document. The previous request is cancelled if it is still running, since the client is not
+ * interested in its result anymore. This is the case of completion and hover requests, which are
+ * sent while the user types or moves the mouse.
+ *
+ * <p>Results of requests which depend only on the content of a document and a position in it may be
+ * cached. A cached result, or a running request, is reused by identical requests made for the same
+ * version of the document. The version changes when the document is opened or changed, and is
+ * forgotten together with the cached results when the document is closed.
+ */
+class TextDocumentRequestScheduler {
+  private final Map<String, CompletableFuture<?>> runningRequests = new ConcurrentHashMap<>();
+  private final Map<String, Long> versions = new ConcurrentHashMap<>();
+  private final AtomicLong lastVersion = new AtomicLong();
+  private final Cache<ResultKey, CompletableFuture<?>> results;
+
+  TextDocumentRequestScheduler() {
+    results =
+        CacheBuilder.newBuilder()
+            .concurrencyLevel(8)
+            .maximumSize(256)
+            .expireAfterWrite(1, MINUTES)
+            .build();
+  }
+
+  /**
+   * Starts the given request and cancels the previous request of the same method made by the same
+   * endpoint for the same document, if it is still running.
+   *
+   * @param endpointId identifier of the endpoint the request comes from
+   * @param method method of the request
+   * @param uri uri of the document
+   * @param request starts the request
+   * @return future of the request result
+   */
+  <R> CompletableFuture<R> supersede(
+      String endpointId, String method, String uri, Supplier<CompletableFuture<R>> request) {
+    String key = endpointId + ' ' + method + ' ' + uri;
+    CompletableFuture<R> future = request.get();
+    CompletableFuture<?> previous = runningRequests.put(key, future);
+    if (previous != null) {
+      previous.cancel(true);
+    }
+    future.whenComplete((result, error) -> runningRequests.remove(key, future));
+    return future;
+  }
+
+  /**
+   * Returns result of an identical request made for the current version of the document, or starts
+   * the given request if there is no such result. Cancelling the returned future doesn't cancel the
+   * request, so that its result is still cached for subsequent requests.
+   *
+   * @param method method of the request
+   * @param uri uri of the document
+   * @param position position in the document the request is made for, or {@code null}
+   * @param request starts the request
+   * @return future of the request result
+   */
+  @SuppressWarnings("unchecked")
+  <R> CompletableFuture<R> cached(
+      String method, String uri, Position position, Supplier<CompletableFuture<R>> request) {
+    ResultKey key = new ResultKey(method, uri, versions.getOrDefault(uri, 0L), position);
+    CompletableFuture<?> cached = results.getIfPresent(key);
+    if (cached == null) {
+      CompletableFuture<R> future = request.get();
+      cached = results.asMap().putIfAbsent(key, future);
+      if (cached == null) {
+        cached = future;
+        // failed and cancelled requests are not cached
+        future.whenComplete(
+            (result, error) -> {
+              if (error != null) {
+                results.asMap().remove(key, future);
+              }
+            });
+      } else {
+        // identical request was started concurrently
+        future.cancel(true);
+      }
+    }
+    return cached.thenApply(result -> (R) result);
+  }
+
+  /**
+   * Drops cached results of the given document, must be called when the document is opened or
+   * changed.
+   *
+   * @param uri uri of the document
+   */
+  void documentChanged(String uri) {
+    // versions are never reused, so that results of requests which are still running when the
+    // document is closed and opened again are not mistaken for results of the reopened document
+    versions.put(uri, lastVersion.incrementAndGet());
+    dropResults(uri);
+  }
+
+  /**
+   * Forgets the version and drops cached results of the given document, must be called when the
+   * document is closed.
+   *
+   * @param uri uri of the document
+   */
+  void documentClosed(String uri) {
+    versions.remove(uri);
+    dropResults(uri);
+  }
+
+  private void dropResults(String uri) {
+    results.asMap().keySet().removeIf(key -> key.uri.equals(uri));
+  }
+
+  private static class ResultKey {
+    final String method;
+    final String uri;
+    final long version;
+    final int line;
+    final int character;
+
+    ResultKey(String method, String uri, long version, Position position) {
+      this.method = method;
+      this.uri = uri;
+      this.version = version;
+      this.line = position != null ? position.getLine() : -1;
+      this.character = position != null ? position.getCharacter() : -1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ResultKey)) {
+        return false;
+      }
+      ResultKey other = (ResultKey) obj;
+      return version == other.version
+          && line == other.line
+          && character == other.character
+          && method.equals(other.method)
+          && uri.equals(other.uri);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(method, uri, version, line, character);
+    }
+  }
+}
@@ -26,17 +26,21 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
@@ -80,6 +84,7 @@ import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.RenameParams;
+import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.TextDocumentEdit;
@@ -89,13 +94,16 @@ import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Json RPC API for the textDoc
  *
- * <p>Dispatches onto the {@link LanguageServerRegistryImpl}.
+ * <p>Dispatches onto the {@link LanguageServerRegistryImpl}. Requests to language servers are
+ * composed asynchronously and the JSON RPC request is answered when they complete or their
+ * deadline elapses, so no thread is blocked waiting for language servers.
  */
 @Singleton
 public class TextDocumentService {
@@ -103,12 +111,14 @@ public class TextDocumentService {
 
   private final LanguageServerRegistry languageServerRegistry;
   private final RequestHandlerConfigurator requestHandler;
+  private final TextDocumentRequestScheduler requestScheduler;
 
   @Inject
   public TextDocumentService(
       LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
     this.languageServerRegistry = languageServerRegistry;
     this.requestHandler = requestHandler;
+    this.requestScheduler = new TextDocumentRequestScheduler();
   }
 
   @PostConstruct
@@ -164,491 +174,433 @@ public class TextDocumentService {
     dtoToNothing("didSave", DidSaveTextDocumentParams.class, this::didSave);
   }
 
-  private List<CommandDto> codeAction(CodeActionParams params) {
+  private CompletableFuture<List<CommandDto>> codeAction(CodeActionParams params) {
     TextDocumentIdentifier textDocument = params.getTextDocument();
     String uri = prefixURI(textDocument.getUri());
     textDocument.setUri(uri);
     List<CommandDto> result = new ArrayList<>();
-    try {
-      List<InitializedLanguageServer> servers =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      LSOperation<InitializedLanguageServer, List<? extends Command>> op =
-          new LSOperation<InitializedLanguageServer, List<? extends Command>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer server) {
-              return truish(server.getInitializeResult().getCapabilities().getCodeActionProvider());
-            }
-
-            public CompletableFuture<List<? extends Command>> start(
-                InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().codeAction(params);
-            };
-
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends Command> res) {
-              for (Command cmd : res) {
-                result.add(new CommandDto(cmd));
-              }
-              return false;
-            };
-          };
-      OperationUtil.doInParallel(servers, op, 10000);
-      return result;
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
-  }
+    LSOperation<InitializedLanguageServer, List<? extends Command>> op =
+        new LSOperation<InitializedLanguageServer, List<? extends Command>>() {
 
-  private ExtendedCompletionListDto completion(
-      TextDocumentPositionParams textDocumentPositionParams) {
-    try {
-      TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
-      String uri = prefixURI(textDocument.getUri());
-      textDocument.setUri(uri);
-      textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
-      ExtendedCompletionListDto[] result = new ExtendedCompletionListDto[1];
+          @Override
+          public boolean canDo(InitializedLanguageServer server) {
+            return truish(server.getInitializeResult().getCapabilities().getCodeActionProvider());
+          }
 
-      LSOperation<Collection<InitializedLanguageServer>, ExtendedCompletionListDto> op =
-          new LSOperation<Collection<InitializedLanguageServer>, ExtendedCompletionListDto>() {
+          public CompletableFuture<List<? extends Command>> start(
+              InitializedLanguageServer element) {
+            return element.getServer().getTextDocumentService().codeAction(params);
+          };
 
-            @Override
-            public boolean canDo(Collection<InitializedLanguageServer> servers) {
-              return true;
+          @Override
+          public boolean handleResult(
+              InitializedLanguageServer element, List<? extends Command> res) {
+            for (Command cmd : res) {
+              result.add(new CommandDto(cmd));
             }
+            return false;
+          };
+        };
+    return OperationUtil.doInParallelAsync(getLanguageServers(uri), op, 10000, () -> result);
+  }
 
-            @Override
-            public CompletableFuture<ExtendedCompletionListDto> start(
-                Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    ExtendedCompletionListDto res = new ExtendedCompletionListDto();
-                    List<ExtendedCompletionItem> items = new ArrayList<>();
-                    res.setItems(items);
-                    LSOperation<
-                            InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
-                        op2 =
-                            new LSOperation<
-                                InitializedLanguageServer,
-                                Either<List<CompletionItem>, CompletionList>>() {
-
-                              @Override
-                              public boolean canDo(InitializedLanguageServer element) {
-                                return element
-                                        .getInitializeResult()
-                                        .getCapabilities()
-                                        .getCompletionProvider()
-                                    != null;
-                              }
-
-                              @Override
-                              public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
-                                  start(InitializedLanguageServer element) {
-                                return element
-                                    .getServer()
-                                    .getTextDocumentService()
-                                    .completion(textDocumentPositionParams);
-                              }
-
-                              @Override
-                              public boolean handleResult(
-                                  InitializedLanguageServer element,
-                                  Either<List<CompletionItem>, CompletionList> result) {
-                                List<CompletionItem> itemList;
-                                if (result.isRight()) {
-                                  res.setInComplete(
-                                      res.isInComplete() && result.getRight().isIncomplete());
-                                  itemList = result.getRight().getItems();
-                                } else {
-                                  itemList = result.getLeft();
-                                }
-
-                                for (CompletionItem item : itemList) {
-                                  ExtendedCompletionItemDto exItem =
-                                      new ExtendedCompletionItemDto();
-                                  exItem.setItem(new CompletionItemDto(item));
-                                  exItem.setLanguageServerId(element.getId());
-                                  items.add(exItem);
-                                }
-                                return false;
-                              }
-                            };
-                    OperationUtil.doInParallel(element, op2, 30000);
-
-                    return res;
-                  });
-            }
+  private CompletableFuture<ExtendedCompletionListDto> completion(
+      String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
+    TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
+    String uri = prefixURI(textDocument.getUri());
+    textDocument.setUri(uri);
+    textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
+    return requestScheduler.supersede(
+        endpointId, "completion", uri, () -> requestCompletion(uri, textDocumentPositionParams));
+  }
 
-            @Override
-            public boolean handleResult(
-                Collection<InitializedLanguageServer> element, ExtendedCompletionListDto list) {
-              result[0] = list;
-              return !list.getItems().isEmpty();
-            }
-          };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-      return result[0];
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+  private CompletableFuture<ExtendedCompletionListDto> requestCompletion(
+      String uri, TextDocumentPositionParams textDocumentPositionParams) {
+    long deadline = System.currentTimeMillis() + 10000;
+    ExtendedCompletionListDto[] result = new ExtendedCompletionListDto[1];
+
+    LSOperation<Collection<InitializedLanguageServer>, ExtendedCompletionListDto> op =
+        new LSOperation<Collection<InitializedLanguageServer>, ExtendedCompletionListDto>() {
+
+          @Override
+          public boolean canDo(Collection<InitializedLanguageServer> servers) {
+            return true;
+          }
+
+          @Override
+          public CompletableFuture<ExtendedCompletionListDto> start(
+              Collection<InitializedLanguageServer> element) {
+            ExtendedCompletionListDto res = new ExtendedCompletionListDto();
+            List<ExtendedCompletionItem> items = new ArrayList<>();
+            res.setItems(items);
+            LSOperation<InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
+                op2 =
+                    new LSOperation<
+                        InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>() {
+
+                      @Override
+                      public boolean canDo(InitializedLanguageServer element) {
+                        return element
+                                .getInitializeResult()
+                                .getCapabilities()
+                                .getCompletionProvider()
+                            != null;
+                      }
+
+                      @Override
+                      public CompletableFuture<Either<List<CompletionItem>, CompletionList>> start(
+                          InitializedLanguageServer element) {
+                        return element
+                            .getServer()
+                            .getTextDocumentService()
+                            .completion(textDocumentPositionParams);
+                      }
+
+                      @Override
+                      public boolean handleResult(
+                          InitializedLanguageServer element,
+                          Either<List<CompletionItem>, CompletionList> result) {
+                        List<CompletionItem> itemList;
+                        if (result.isRight()) {
+                          res.setInComplete(res.isInComplete() && result.getRight().isIncomplete());
+                          itemList = result.getRight().getItems();
+                        } else {
+                          itemList = result.getLeft();
+                        }
+
+                        for (CompletionItem item : itemList) {
+                          ExtendedCompletionItemDto exItem = new ExtendedCompletionItemDto();
+                          exItem.setItem(new CompletionItemDto(item));
+                          exItem.setLanguageServerId(element.getId());
+                          items.add(exItem);
+                        }
+                        return false;
+                      }
+                    };
+            return OperationUtil.doInParallelAsync(element, op2, remaining(deadline), () -> res);
+          }
+
+          @Override
+          public boolean handleResult(
+              Collection<InitializedLanguageServer> element, ExtendedCompletionListDto list) {
+            result[0] = list;
+            return !list.getItems().isEmpty();
+          }
+        };
+    return OperationUtil.doInSequenceAsync(
+        getLanguageServersByScore(uri), op, remaining(deadline), () -> result[0]);
   }
 
-  private List<SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams) {
+  private CompletableFuture<List<SymbolInformationDto>> documentSymbol(
+      DocumentSymbolParams documentSymbolParams) {
     String uri = prefixURI(documentSymbolParams.getTextDocument().getUri());
     documentSymbolParams.getTextDocument().setUri(uri);
-    List<SymbolInformationDto> result = new ArrayList<>();
-    try {
-      List<InitializedLanguageServer> servers =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getDocumentSymbolProvider());
-            }
-
-            @Override
-            public CompletableFuture<List<? extends SymbolInformation>> start(
-                InitializedLanguageServer element) {
-              return element
-                  .getServer()
-                  .getTextDocumentService()
-                  .documentSymbol(documentSymbolParams);
-            }
-
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends SymbolInformation> locations) {
-              locations.forEach(
-                  o -> {
-                    o.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
-                    result.add(new SymbolInformationDto(o));
-                  });
-              return true;
-            }
-          },
-          10000);
-      return result;
+    return requestScheduler.cached(
+        "documentSymbol", uri, null, () -> requestDocumentSymbol(uri, documentSymbolParams));
+  }
 
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+  private CompletableFuture<List<SymbolInformationDto>> requestDocumentSymbol(
+      String uri, DocumentSymbolParams documentSymbolParams) {
+    List<SymbolInformationDto> result = new ArrayList<>();
+    return OperationUtil.doInParallelAsync(
+        getLanguageServers(uri),
+        new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
+
+          @Override
+          public boolean canDo(InitializedLanguageServer element) {
+            return truish(
+                element.getInitializeResult().getCapabilities().getDocumentSymbolProvider());
+          }
+
+          @Override
+          public CompletableFuture<List<? extends SymbolInformation>> start(
+              InitializedLanguageServer element) {
+            return element
+                .getServer()
+                .getTextDocumentService()
+                .documentSymbol(documentSymbolParams);
+          }
+
+          @Override
+          public boolean handleResult(
+              InitializedLanguageServer element, List<? extends SymbolInformation> locations) {
+            locations.forEach(
+                o -> {
+                  o.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
+                  result.add(new SymbolInformationDto(o));
+                });
+            return true;
+          }
+        },
+        10000,
+        () -> result);
   }
 
-  private List<LocationDto> references(ReferenceParams referenceParams) {
+  private CompletableFuture<List<LocationDto>> references(ReferenceParams referenceParams) {
     String uri = prefixURI(referenceParams.getTextDocument().getUri());
     referenceParams.getTextDocument().setUri(uri);
     List<LocationDto> result = new ArrayList<>();
-    try {
-      List<InitializedLanguageServer> servers =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getReferencesProvider());
-            }
-
-            @Override
-            public CompletableFuture<List<? extends Location>> start(
-                InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().references(referenceParams);
-            }
-
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends Location> locations) {
-              locations.forEach(
-                  o -> {
-                    o.setUri(removePrefixUri(o.getUri()));
-                    result.add(new LocationDto(o));
-                  });
-              return true;
-            }
-          },
-          30000);
-      return result;
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    return OperationUtil.doInParallelAsync(
+        getLanguageServers(uri),
+        new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
+
+          @Override
+          public boolean canDo(InitializedLanguageServer element) {
+            return truish(element.getInitializeResult().getCapabilities().getReferencesProvider());
+          }
+
+          @Override
+          public CompletableFuture<List<? extends Location>> start(
+              InitializedLanguageServer element) {
+            return element.getServer().getTextDocumentService().references(referenceParams);
+          }
+
+          @Override
+          public boolean handleResult(
+              InitializedLanguageServer element, List<? extends Location> locations) {
+            locations.forEach(
+                o -> {
+                  o.setUri(removePrefixUri(o.getUri()));
+                  result.add(new LocationDto(o));
+                });
+            return true;
+          }
+        },
+        30000,
+        () -> result);
   }
 
-  private List<LocationDto> definition(TextDocumentPositionParams textDocumentPositionParams) {
+  private CompletableFuture<List<LocationDto>> definition(
+      TextDocumentPositionParams textDocumentPositionParams) {
     String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
     textDocumentPositionParams.getTextDocument().setUri(uri);
-    try {
-      List<InitializedLanguageServer> servers =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      List<LocationDto> result = new ArrayList<>();
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getDefinitionProvider());
-            }
-
-            @Override
-            public CompletableFuture<List<? extends Location>> start(
-                InitializedLanguageServer element) {
-              return element
-                  .getServer()
-                  .getTextDocumentService()
-                  .definition(textDocumentPositionParams);
-            }
+    List<LocationDto> result = new ArrayList<>();
+    return OperationUtil.doInParallelAsync(
+        getLanguageServers(uri),
+        new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
+
+          @Override
+          public boolean canDo(InitializedLanguageServer element) {
+            return truish(element.getInitializeResult().getCapabilities().getDefinitionProvider());
+          }
+
+          @Override
+          public CompletableFuture<List<? extends Location>> start(
+              InitializedLanguageServer element) {
+            return element
+                .getServer()
+                .getTextDocumentService()
+                .definition(textDocumentPositionParams);
+          }
+
+          @Override
+          public boolean handleResult(
+              InitializedLanguageServer element, List<? extends Location> locations) {
+            locations.forEach(
+                o -> {
+                  o.setUri(removePrefixUri(o.getUri()));
+                  result.add(new LocationDto(o));
+                });
+            return true;
+          }
+        },
+        30000,
+        () -> result);
+  }
 
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends Location> locations) {
-              locations.forEach(
-                  o -> {
-                    o.setUri(removePrefixUri(o.getUri()));
-                    result.add(new LocationDto(o));
-                  });
-              return true;
-            }
-          },
-          30000);
-      return result;
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+  private CompletableFuture<ExtendedCompletionItemDto> completionItemResolve(
+      ExtendedCompletionItem unresolved) {
+    InitializedLanguageServer server =
+        languageServerRegistry.getServer(unresolved.getLanguageServerId());
+    if (server == null) {
+      return CompletableFuture.completedFuture(new ExtendedCompletionItemDto(unresolved));
     }
-  }
 
-  private ExtendedCompletionItemDto completionItemResolve(ExtendedCompletionItem unresolved) {
-    try {
-      InitializedLanguageServer server =
-          languageServerRegistry.getServer(unresolved.getLanguageServerId());
+    ExtendedCompletionItemDto[] result = new ExtendedCompletionItemDto[1];
+    LSOperation<InitializedLanguageServer, CompletionItem> op =
+        new LSOperation<InitializedLanguageServer, CompletionItem>() {
+
+          @Override
+          public boolean canDo(InitializedLanguageServer element) {
+            return true;
+          }
 
-      if (server != null) {
-        ExtendedCompletionItem res = new ExtendedCompletionItem();
-        res.setItem(
-            server
+          @Override
+          public CompletableFuture<CompletionItem> start(InitializedLanguageServer element) {
+            return element
                 .getServer()
                 .getTextDocumentService()
-                .resolveCompletionItem(unresolved.getItem())
-                .get());
-        res.setLanguageServerId(unresolved.getLanguageServerId());
-        return new ExtendedCompletionItemDto(res);
-      }
-      return new ExtendedCompletionItemDto(unresolved);
-    } catch (InterruptedException | ExecutionException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+                .resolveCompletionItem(unresolved.getItem());
+          }
+
+          @Override
+          public boolean handleResult(InitializedLanguageServer element, CompletionItem item) {
+            ExtendedCompletionItem res = new ExtendedCompletionItem();
+            res.setItem(item);
+            res.setLanguageServerId(unresolved.getLanguageServerId());
+            result[0] = new ExtendedCompletionItemDto(res);
+            return true;
+          }
+        };
+    return OperationUtil.doInSequenceAsync(
+        Collections.singletonList(server),
+        op,
+        10000,
+        () -> result[0] != null ? result[0] : new ExtendedCompletionItemDto(unresolved));
   }
 
-  private HoverDto hover(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<HoverDto> hover(
+      String endpointId, TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
+    return requestScheduler.supersede(
+        endpointId,
+        "hover",
+        uri,
+        () ->
+            requestScheduler.cached(
+                "hover",
+                uri,
+                positionParams.getPosition(),
+                () -> requestHover(uri, positionParams)));
+  }
+
+  private CompletableFuture<HoverDto> requestHover(
+      String uri, TextDocumentPositionParams positionParams) {
     HoverDto result = new HoverDto();
     result.setContents(new ArrayList<>());
-    try {
-
-      List<InitializedLanguageServer> servers =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, Hover>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(element.getInitializeResult().getCapabilities().getHoverProvider());
-            }
-
-            @Override
-            public CompletableFuture<Hover> start(InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().hover(positionParams);
+    return OperationUtil.doInParallelAsync(
+        getLanguageServers(uri),
+        new LSOperation<InitializedLanguageServer, Hover>() {
+
+          @Override
+          public boolean canDo(InitializedLanguageServer element) {
+            return truish(element.getInitializeResult().getCapabilities().getHoverProvider());
+          }
+
+          @Override
+          public CompletableFuture<Hover> start(InitializedLanguageServer element) {
+            return element.getServer().getTextDocumentService().hover(positionParams);
+          }
+
+          @Override
+          public boolean handleResult(InitializedLanguageServer element, Hover hover) {
+            if (hover != null) {
+              HoverDto hoverDto = new HoverDto(hover);
+              result.getContents().addAll(hoverDto.getContents());
             }
-
-            @Override
-            public boolean handleResult(InitializedLanguageServer element, Hover hover) {
-              if (hover != null) {
-                HoverDto hoverDto = new HoverDto(hover);
-                result.getContents().addAll(hoverDto.getContents());
-              }
-              return true;
-            }
-          },
-          10000);
-      return result;
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+            return true;
+          }
+        },
+        10000,
+        () -> result);
   }
 
-  private SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<SignatureHelpDto> signatureHelp(
+      TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
-    SignatureHelpDto[] result = new SignatureHelpDto[1];
-    try {
-      List<InitializedLanguageServer> servers =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      LSOperation<InitializedLanguageServer, SignatureHelp> op =
-          new LSOperation<InitializedLanguageServer, SignatureHelp>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return element.getInitializeResult().getCapabilities().getSignatureHelpProvider()
-                  != null;
-            }
-
-            @Override
-            public CompletableFuture<SignatureHelp> start(InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().signatureHelp(positionParams);
-            }
+    return requestScheduler.cached(
+        "signatureHelp",
+        uri,
+        positionParams.getPosition(),
+        () -> requestSignatureHelp(uri, positionParams));
+  }
 
-            @Override
-            public boolean handleResult(InitializedLanguageServer element, SignatureHelp res) {
-              if (res != null && !res.getSignatures().isEmpty()) {
-                result[0] = new SignatureHelpDto(res);
-                return true;
-              }
-              return false;
+  private CompletableFuture<SignatureHelpDto> requestSignatureHelp(
+      String uri, TextDocumentPositionParams positionParams) {
+    SignatureHelpDto[] result = new SignatureHelpDto[1];
+    LSOperation<InitializedLanguageServer, SignatureHelp> op =
+        new LSOperation<InitializedLanguageServer, SignatureHelp>() {
+
+          @Override
+          public boolean canDo(InitializedLanguageServer element) {
+            return element.getInitializeResult().getCapabilities().getSignatureHelpProvider()
+                != null;
+          }
+
+          @Override
+          public CompletableFuture<SignatureHelp> start(InitializedLanguageServer element) {
+            return element.getServer().getTextDocumentService().signatureHelp(positionParams);
+          }
+
+          @Override
+          public boolean handleResult(InitializedLanguageServer element, SignatureHelp res) {
+            if (res != null && !res.getSignatures().isEmpty()) {
+              result[0] = new SignatureHelpDto(res);
+              return true;
             }
-          };
-      OperationUtil.doInSequence(servers, op, 10000);
-      return result[0];
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+            return false;
+          }
+        };
+    return OperationUtil.doInSequenceAsync(getLanguageServers(uri), op, 10000, () -> result[0]);
   }
 
-  private List<TextEditDto> formatting(DocumentFormattingParams documentFormattingParams) {
-    try {
-      String uri = prefixURI(documentFormattingParams.getTextDocument().getUri());
-      documentFormattingParams.getTextDocument().setUri(uri);
-      InitializedLanguageServer server =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .filter(
-                  s ->
-                      truish(
-                          s.getInitializeResult()
-                              .getCapabilities()
-                              .getDocumentFormattingProvider()))
-              .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .formatting(documentFormattingParams)
-              .get(5000, TimeUnit.MILLISECONDS)
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-
-    } catch (InterruptedException
-        | ExecutionException
-        | LanguageServerException
-        | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+  private CompletableFuture<List<TextEditDto>> formatting(
+      DocumentFormattingParams documentFormattingParams) {
+    String uri = prefixURI(documentFormattingParams.getTextDocument().getUri());
+    documentFormattingParams.getTextDocument().setUri(uri);
+    return formatWithFirstServer(
+        uri,
+        capabilities -> truish(capabilities.getDocumentFormattingProvider()),
+        service -> service.formatting(documentFormattingParams));
   }
 
-  private List<TextEditDto> rangeFormatting(
+  private CompletableFuture<List<TextEditDto>> rangeFormatting(
       DocumentRangeFormattingParams documentRangeFormattingParams) {
-    try {
-      String uri = prefixURI(documentRangeFormattingParams.getTextDocument().getUri());
-      documentRangeFormattingParams.getTextDocument().setUri(uri);
-      InitializedLanguageServer server =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .filter(
-                  s ->
-                      truish(
-                          s.getInitializeResult()
-                              .getCapabilities()
-                              .getDocumentRangeFormattingProvider()))
-              .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .rangeFormatting(documentRangeFormattingParams)
-              .get()
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-    } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    String uri = prefixURI(documentRangeFormattingParams.getTextDocument().getUri());
+    documentRangeFormattingParams.getTextDocument().setUri(uri);
+    return formatWithFirstServer(
+        uri,
+        capabilities -> truish(capabilities.getDocumentRangeFormattingProvider()),
+        service -> service.rangeFormatting(documentRangeFormattingParams));
   }
 
-  private List<TextEditDto> onTypeFormatting(
+  private CompletableFuture<List<TextEditDto>> onTypeFormatting(
       DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
-    try {
-      String uri = prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri());
-      documentOnTypeFormattingParams.getTextDocument().setUri(uri);
-      InitializedLanguageServer server =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .filter(
-                  s ->
-                      s.getInitializeResult()
-                              .getCapabilities()
-                              .getDocumentOnTypeFormattingProvider()
-                          != null)
-              .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .onTypeFormatting(documentOnTypeFormattingParams)
-              .get()
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-    } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    String uri = prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri());
+    documentOnTypeFormattingParams.getTextDocument().setUri(uri);
+    return formatWithFirstServer(
+        uri,
+        capabilities -> capabilities.getDocumentOnTypeFormattingProvider() != null,
+        service -> service.onTypeFormatting(documentOnTypeFormattingParams));
+  }
+
+  /** Requests text edits from the first server which is capable of the formatting. */
+  private CompletableFuture<List<TextEditDto>> formatWithFirstServer(
+      String uri,
+      Predicate<ServerCapabilities> capable,
+      Function<
+              org.eclipse.lsp4j.services.TextDocumentService,
+              CompletableFuture<List<? extends TextEdit>>>
+          request) {
+    List<TextEditDto> result = new ArrayList<>();
+    LSOperation<InitializedLanguageServer, List<? extends TextEdit>> op =
+        new LSOperation<InitializedLanguageServer, List<? extends TextEdit>>() {
+
+          @Override
+          public boolean canDo(InitializedLanguageServer element) {
+            return capable.test(element.getInitializeResult().getCapabilities());
+          }
+
+          @Override
+          public CompletableFuture<List<? extends TextEdit>> start(
+              InitializedLanguageServer element) {
+            return request.apply(element.getServer().getTextDocumentService());
+          }
+
+          @Override
+          public boolean handleResult(
+              InitializedLanguageServer element, List<? extends TextEdit> edits) {
+            if (edits != null) {
+              edits.forEach(edit -> result.add(new TextEditDto(edit)));
+            }
+            return true;
+          }
+        };
+    return OperationUtil.doInSequenceAsync(getLanguageServers(uri), op, 5000, () -> result);
   }
 
   private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
@@ -656,6 +608,7 @@ public class TextDocumentService {
       String uri = prefixURI(didChangeTextDocumentParams.getTextDocument().getUri());
       didChangeTextDocumentParams.getTextDocument().setUri(uri);
       didChangeTextDocumentParams.setUri(prefixURI(didChangeTextDocumentParams.getUri()));
+      requestScheduler.documentChanged(uri);
       languageServerRegistry
           .getApplicableLanguageServers(uri)
           .stream()
@@ -674,6 +627,7 @@ public class TextDocumentService {
     try {
       String uri = prefixURI(openTextDocumentParams.getTextDocument().getUri());
       openTextDocumentParams.getTextDocument().setUri(uri);
+      requestScheduler.documentChanged(uri);
       languageServerRegistry
           .getApplicableLanguageServers(uri)
           .stream()
@@ -692,6 +646,7 @@ public class TextDocumentService {
     try {
       String uri = prefixURI(didCloseTextDocumentParams.getTextDocument().getUri());
       didCloseTextDocumentParams.getTextDocument().setUri(uri);
+      requestScheduler.documentClosed(uri);
       languageServerRegistry
           .getApplicableLanguageServers(uri)
           .stream()
@@ -724,119 +679,103 @@ public class TextDocumentService {
     }
   }
 
-  private DocumentHighlightDto documentHighlight(
+  private CompletableFuture<DocumentHighlightDto> documentHighlight(
       TextDocumentPositionParams textDocumentPositionParams) {
-    try {
-      String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
-      textDocumentPositionParams.getTextDocument().setUri(uri);
-      @SuppressWarnings("unchecked")
-      List<DocumentHighlightDto>[] result = new List[1];
-      LSOperation<Collection<InitializedLanguageServer>, List<DocumentHighlightDto>> op =
-          new LSOperation<Collection<InitializedLanguageServer>, List<DocumentHighlightDto>>() {
-
-            @Override
-            public boolean canDo(Collection<InitializedLanguageServer> servers) {
-              return true;
-            }
-
-            @Override
-            public CompletableFuture<List<DocumentHighlightDto>> start(
-                Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    List<DocumentHighlightDto> res = new ArrayList<>();
-                    LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
-                        new LSOperation<
-                            InitializedLanguageServer, List<? extends DocumentHighlight>>() {
-
-                          @Override
-                          public boolean canDo(InitializedLanguageServer element) {
-                            return truish(
-                                element
-                                    .getInitializeResult()
-                                    .getCapabilities()
-                                    .getDocumentHighlightProvider());
-                          }
-
-                          @Override
-                          public CompletableFuture<List<? extends DocumentHighlight>> start(
-                              InitializedLanguageServer element) {
-                            return element
-                                .getServer()
-                                .getTextDocumentService()
-                                .documentHighlight(textDocumentPositionParams);
-                          }
-
-                          @Override
-                          public boolean handleResult(
-                              InitializedLanguageServer element,
-                              List<? extends DocumentHighlight> result) {
-
-                            return false;
-                          }
-                        };
-                    OperationUtil.doInParallel(element, op2, 10000);
-
-                    return res;
-                  });
-            }
-
-            @Override
-            public boolean handleResult(
-                Collection<InitializedLanguageServer> element, List<DocumentHighlightDto> list) {
-              result[0] = list;
-              return !list.isEmpty();
-            }
-          };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-
-      if (!result[0].isEmpty()) {
-        return result[0].get(0);
-      }
-      return null;
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
+    textDocumentPositionParams.getTextDocument().setUri(uri);
+    long deadline = System.currentTimeMillis() + 10000;
+    @SuppressWarnings("unchecked")
+    List<DocumentHighlightDto>[] result = new List[1];
+    LSOperation<Collection<InitializedLanguageServer>, List<DocumentHighlightDto>> op =
+        new LSOperation<Collection<InitializedLanguageServer>, List<DocumentHighlightDto>>() {
+
+          @Override
+          public boolean canDo(Collection<InitializedLanguageServer> servers) {
+            return true;
+          }
+
+          @Override
+          public CompletableFuture<List<DocumentHighlightDto>> start(
+              Collection<InitializedLanguageServer> element) {
+            List<DocumentHighlightDto> res = new ArrayList<>();
+            LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
+                new LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>>() {
+
+                  @Override
+                  public boolean canDo(InitializedLanguageServer element) {
+                    return truish(
+                        element
+                            .getInitializeResult()
+                            .getCapabilities()
+                            .getDocumentHighlightProvider());
+                  }
+
+                  @Override
+                  public CompletableFuture<List<? extends DocumentHighlight>> start(
+                      InitializedLanguageServer element) {
+                    return element
+                        .getServer()
+                        .getTextDocumentService()
+                        .documentHighlight(textDocumentPositionParams);
+                  }
+
+                  @Override
+                  public boolean handleResult(
+                      InitializedLanguageServer element,
+                      List<? extends DocumentHighlight> result) {
+                    if (result != null) {
+                      result.forEach(highlight -> res.add(new DocumentHighlightDto(highlight)));
+                    }
+                    return false;
+                  }
+                };
+            return OperationUtil.doInParallelAsync(element, op2, remaining(deadline), () -> res);
+          }
+
+          @Override
+          public boolean handleResult(
+              Collection<InitializedLanguageServer> element, List<DocumentHighlightDto> list) {
+            result[0] = list;
+            return !list.isEmpty();
+          }
+        };
+    return OperationUtil.doInSequenceAsync(
+        getLanguageServersByScore(uri),
+        op,
+        remaining(deadline),
+        () -> result[0] != null && !result[0].isEmpty() ? result[0].get(0) : null);
   }
 
-  private RenameResultDto rename(RenameParams renameParams) {
+  private CompletableFuture<RenameResultDto> rename(RenameParams renameParams) {
     String uri = prefixURI(renameParams.getTextDocument().getUri());
     renameParams.getTextDocument().setUri(uri);
     Map<String, ExtendedWorkspaceEdit> edits = new ConcurrentHashMap<>();
-    try {
-      List<InitializedLanguageServer> servers =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      LSOperation<InitializedLanguageServer, WorkspaceEdit> op =
-          new LSOperation<InitializedLanguageServer, WorkspaceEdit>() {
-            @Override
-            public boolean canDo(InitializedLanguageServer server) {
-              Boolean renameProvider =
-                  server.getInitializeResult().getCapabilities().getRenameProvider();
-              return renameProvider != null && renameProvider;
-            }
-
-            @Override
-            public CompletableFuture<WorkspaceEdit> start(InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().rename(renameParams);
-            }
-
-            @Override
-            public boolean handleResult(InitializedLanguageServer element, WorkspaceEdit result) {
-
-              addRenameResult(edits, element.getLauncher().getDescription().getId(), result);
-              return true;
-            }
-          };
-      OperationUtil.doInParallel(servers, op, TimeUnit.SECONDS.toMillis(30));
-    } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
-    return new RenameResultDto(new RenameResult(edits));
+    LSOperation<InitializedLanguageServer, WorkspaceEdit> op =
+        new LSOperation<InitializedLanguageServer, WorkspaceEdit>() {
+          @Override
+          public boolean canDo(InitializedLanguageServer server) {
+            Boolean renameProvider =
+                server.getInitializeResult().getCapabilities().getRenameProvider();
+            return renameProvider != null && renameProvider;
+          }
+
+          @Override
+          public CompletableFuture<WorkspaceEdit> start(InitializedLanguageServer element) {
+            return element.getServer().getTextDocumentService().rename(renameParams);
+          }
+
+          @Override
+          public boolean handleResult(InitializedLanguageServer element, WorkspaceEdit result) {
+
+            addRenameResult(edits, element.getLauncher().getDescription().getId(), result);
+            return true;
+          }
+        };
+    return OperationUtil.doInParallelAsync(
+        getLanguageServers(uri),
+        op,
+        TimeUnit.SECONDS.toMillis(30),
+        () -> new RenameResultDto(new RenameResult(edits)));
   }
 
   private void addRenameResult(
@@ -919,23 +858,83 @@ public class TextDocumentService {
   }
 
   private <P, R> void dtoToDtoList(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, List<R>> function) {
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      Function<P, CompletableFuture<List<R>>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsListOfDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseListOfDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> toPromise(endpointId, function.apply(params)));
   }
 
   private <P, R> void dtoToDto(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, R> function) {
+      String name, Class<P> pClass, Class<R> rClass, Function<P, CompletableFuture<R>> function) {
+    dtoToDto(name, pClass, rClass, (endpointId, params) -> function.apply(params));
+  }
+
+  private <P, R> void dtoToDto(
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      BiFunction<String, P, CompletableFuture<R>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> toPromise(endpointId, function.apply(endpointId, params)));
+  }
+
+  /**
+   * Replies to the request when the future completes, so that the thread handling the request is
+   * not blocked while language servers compute the result.
+   */
+  private static <R> JsonRpcPromise<R> toPromise(String endpointId, CompletableFuture<R> future) {
+    JsonRpcPromise<R> promise = new JsonRpcPromise<>();
+    future.whenComplete(
+        (result, error) -> {
+          if (error == null) {
+            promise.resolve(endpointId, result);
+            return;
+          }
+          Throwable cause =
+              error instanceof CompletionException && error.getCause() != null
+                  ? error.getCause()
+                  : error;
+          if (cause instanceof CancellationException) {
+            promise.reject(
+                endpointId,
+                new JsonRpcError(
+                    ResponseErrorCode.RequestCancelled.getValue(), "Request is cancelled"));
+          } else {
+            promise.reject(endpointId, new JsonRpcError(-27000, cause.getMessage()));
+          }
+        });
+    return promise;
+  }
+
+  private List<Collection<InitializedLanguageServer>> getLanguageServersByScore(String uri) {
+    try {
+      return languageServerRegistry.getApplicableLanguageServers(uri);
+    } catch (LanguageServerException e) {
+      throw new JsonRpcException(-27000, e.getMessage());
+    }
+  }
+
+  private List<InitializedLanguageServer> getLanguageServers(String uri) {
+    return getLanguageServersByScore(uri)
+        .stream()
+        .flatMap(Collection::stream)
+        .collect(Collectors.toList());
+  }
+
+  private static long remaining(long deadline) {
+    return Math.max(deadline - System.currentTimeMillis(), 0);
   }
 
   private boolean truish(Boolean b) {
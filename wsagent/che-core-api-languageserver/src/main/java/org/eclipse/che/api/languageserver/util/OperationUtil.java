@@ -10,19 +10,38 @@
  */
 package org.eclipse.che.api.languageserver.util;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class OperationUtil {
   private static final Logger LOG = LoggerFactory.getLogger(OperationUtil.class);
 
+  /** Completes asynchronous operations whose deadline has elapsed. */
+  private static final ScheduledExecutorService TIMER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat(OperationUtil.class.getSimpleName() + "-timer-%d")
+              .setDaemon(true)
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .build());
+
   /**
    * Execute the given operation on each element of the collection in sequence. Stops as soon as
    * {@link LSOperation#canDo(Object)} returns true.
@@ -38,7 +57,8 @@ public class OperationUtil {
       if (op.canDo(element)) {
         CompletableFuture<R> future = op.start(element);
         try {
-          R result = future.get(Math.max(endTime - timeoutMillis, 1), TimeUnit.MILLISECONDS);
+          R result =
+              future.get(Math.max(endTime - System.currentTimeMillis(), 1), TimeUnit.MILLISECONDS);
           if (op.handleResult(element, result)) {
             return;
           }
@@ -97,7 +117,7 @@ public class OperationUtil {
       }
     }
 
-    long endTime = System.currentTimeMillis() + 5000;
+    long endTime = System.currentTimeMillis() + timeoutMillis;
 
     try {
       synchronized (lock) {
@@ -116,4 +136,163 @@ public class OperationUtil {
       lock.notifyAll();
     }
   }
+
+  /**
+   * Executes the given operation on each element of the collection in sequence without blocking
+   * the calling thread. Stops as soon as {@link LSOperation#handleResult(Object, Object)} returns
+   * true.
+   *
+   * <p>The returned future completes when an element produced a valid result, when all the elements
+   * have been processed or when the timeout elapses, whichever comes first. Results arriving after
+   * that are ignored. The running operation is cancelled on timeout and when the returned future
+   * is cancelled.
+   *
+   * @param collection
+   * @param op
+   * @param timeoutMillis
+   * @param value supplies the value of the returned future once the operation is finished
+   */
+  public static <C, R, T> CompletableFuture<T> doInSequenceAsync(
+      Collection<C> collection, LSOperation<C, R> op, long timeoutMillis, Supplier<T> value) {
+    Object lock = new Object();
+    CompletableFuture<T> done = new CompletableFuture<>();
+    List<CompletableFuture<R>> running = new ArrayList<>(1);
+    ScheduledFuture<?> timeout =
+        TIMER.schedule(() -> complete(lock, done, value), timeoutMillis, MILLISECONDS);
+    done.whenComplete(
+        (nothing, error) -> {
+          timeout.cancel(false);
+          synchronized (lock) {
+            running.forEach(future -> future.cancel(true));
+          }
+        });
+    startNext(collection.iterator(), op, lock, running, done, value);
+    return done;
+  }
+
+  private static <C, R, T> void startNext(
+      Iterator<C> elements,
+      LSOperation<C, R> op,
+      Object lock,
+      List<CompletableFuture<R>> running,
+      CompletableFuture<T> done,
+      Supplier<T> value) {
+    synchronized (lock) {
+      running.clear();
+      while (!done.isDone() && elements.hasNext()) {
+        C element = elements.next();
+        if (!op.canDo(element)) {
+          continue;
+        }
+        CompletableFuture<R> future = op.start(element);
+        running.add(future);
+        future.whenComplete(
+            (result, error) -> {
+              synchronized (lock) {
+                if (done.isDone()) {
+                  return;
+                }
+                if (error != null) {
+                  LOG.info("Exception occurred in op", error);
+                } else if (handleResult(op, element, result)) {
+                  done.complete(value.get());
+                  return;
+                }
+              }
+              startNext(elements, op, lock, running, done, value);
+            });
+        return;
+      }
+      done.complete(value.get());
+    }
+  }
+
+  /**
+   * Executes the given operation in parallel for each element in the collection without blocking
+   * the calling thread. Failures in any of the operations are ignored.
+   *
+   * <p>The returned future completes when all the operations have completed or when the timeout
+   * elapses, whichever comes first. Results arriving after that are ignored. Operations still
+   * running are cancelled on timeout and when the returned future is cancelled.
+   *
+   * @param collection
+   * @param op
+   * @param timeoutMillis
+   * @param value supplies the value of the returned future once the operation is finished
+   */
+  public static <C, R, T> CompletableFuture<T> doInParallelAsync(
+      Collection<C> collection, LSOperation<C, R> op, long timeoutMillis, Supplier<T> value) {
+    Object lock = new Object();
+    CompletableFuture<T> done = new CompletableFuture<>();
+    List<CompletableFuture<R>> pendingResponses = new ArrayList<>();
+    List<C> elements = new ArrayList<>();
+    List<CompletableFuture<R>> futures = new ArrayList<>();
+    for (C element : collection) {
+      if (op.canDo(element)) {
+        elements.add(element);
+        futures.add(op.start(element));
+      }
+    }
+    pendingResponses.addAll(futures);
+    if (pendingResponses.isEmpty()) {
+      done.complete(value.get());
+      return done;
+    }
+
+    // all the futures are registered as pending before any of them is handled, so that a future
+    // which is already completed can't complete the whole operation too early
+    for (int i = 0; i < elements.size(); i++) {
+      C element = elements.get(i);
+      CompletableFuture<R> future = futures.get(i);
+      future.whenComplete(
+          (result, error) -> {
+            synchronized (lock) {
+              if (done.isDone()) {
+                return;
+              }
+              pendingResponses.remove(future);
+              if (error == null) {
+                handleResult(op, element, result);
+              } else if (!(error instanceof CancellationException)) {
+                LOG.info("Exception occurred in request", error);
+              }
+              if (pendingResponses.isEmpty()) {
+                done.complete(value.get());
+              }
+            }
+          });
+    }
+
+    ScheduledFuture<?> timeout =
+        TIMER.schedule(() -> complete(lock, done, value), timeoutMillis, MILLISECONDS);
+    done.whenComplete(
+        (nothing, error) -> {
+          timeout.cancel(false);
+          synchronized (lock) {
+            for (CompletableFuture<R> pending : new ArrayList<>(pendingResponses)) {
+              pending.cancel(true);
+            }
+          }
+        });
+    return done;
+  }
+
+  /**
+   * Completes the given future while holding the lock of the operation, so that the results
+   * gathered by the operation are not modified while the value of the future is supplied.
+   */
+  private static <T> void complete(Object lock, CompletableFuture<T> done, Supplier<T> value) {
+    synchronized (lock) {
+      done.complete(value.get());
+    }
+  }
+
+  private static <C, R> boolean handleResult(LSOperation<C, R> op, C element, R result) {
+    try {
+      return op.handleResult(element, result);
+    } catch (RuntimeException e) {
+      LOG.info("Exception occurred handling result of op", e);
+      return false;
+    }
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.registry;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class DocumentMatcherTest {
+
+  @Test
+  public void matchesLanguageIds() {
+    DocumentMatcher matcher =
+        new DocumentMatcher(
+            new LanguageServerDescription("foo", asList("java", "*"), emptyList()));
+
+    assertEquals(matcher.matchScore("/p/A.java", "java"), 10);
+    assertEquals(matcher.matchScore("/p/a.txt", "text"), 5);
+    assertFalse(matcher.dependsOnPath("text"));
+  }
+
+  @Test
+  public void matchesDocumentFilters() {
+    DocumentMatcher matcher =
+        new DocumentMatcher(
+            new LanguageServerDescription(
+                "foo",
+                emptyList(),
+                asList(
+                    new DocumentFilter("json", null, null),
+                    new DocumentFilter(null, ".*\\.yaml", null),
+                    new DocumentFilter(null, null, "untitled"))));
+
+    assertEquals(matcher.matchScore("/p/a.json", "json"), 10);
+    assertEquals(matcher.matchScore("/p/a.yaml", "yaml"), 5);
+    assertEquals(matcher.matchScore(".*\\.yaml", "yaml"), 10);
+    assertEquals(matcher.matchScore("untitled:a", "text"), 10);
+    assertEquals(matcher.matchScore("/p/a.txt", "text"), 0);
+    assertFalse(matcher.dependsOnPath("json"));
+    assertTrue(matcher.dependsOnPath("yaml"));
+  }
+
+  @Test
+  public void ignoresInvalidPathPattern() {
+    DocumentMatcher matcher =
+        new DocumentMatcher(
+            new LanguageServerDescription(
+                "foo", singletonList("java"), singletonList(new DocumentFilter(null, "(", null))));
+
+    assertEquals(matcher.matchScore("/p/A.java", "java"), 10);
+    assertEquals(matcher.matchScore("/p/(", "text"), 0);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.lsp4j.Position;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TextDocumentRequestSchedulerTest {
+  private static final String URI = "file:///projects/p/A.java";
+
+  private TextDocumentRequestScheduler scheduler;
+  private AtomicInteger requests;
+
+  @BeforeMethod
+  public void setUp() {
+    scheduler = new TextDocumentRequestScheduler();
+    requests = new AtomicInteger();
+  }
+
+  @Test
+  public void cancelsSupersededRequest() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = new CompletableFuture<>();
+
+    scheduler.supersede("endpoint", "completion", URI, () -> first);
+    scheduler.supersede("endpoint", "completion", URI, () -> second);
+
+    assertTrue(first.isCancelled());
+    assertFalse(second.isDone());
+  }
+
+  @Test
+  public void doesNotCancelRequestsOfOtherEndpointsOrDocuments() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+
+    scheduler.supersede("endpoint", "completion", URI, () -> first);
+    scheduler.supersede("other", "completion", URI, CompletableFuture::new);
+    scheduler.supersede(
+        "endpoint", "completion", "file:///projects/p/B.java", CompletableFuture::new);
+    scheduler.supersede("endpoint", "hover", URI, CompletableFuture::new);
+
+    assertFalse(first.isDone());
+  }
+
+  @Test
+  public void reusesResultOfIdenticalRequest() throws Exception {
+    assertEquals(cachedHover(1, 2).get(), "hover 1");
+    assertEquals(cachedHover(1, 2).get(), "hover 1");
+    assertEquals(cachedHover(1, 3).get(), "hover 2");
+  }
+
+  @Test
+  public void requestsAgainWhenDocumentChanges() throws Exception {
+    assertEquals(cachedHover(1, 2).get(), "hover 1");
+
+    scheduler.documentChanged(URI);
+
+    assertEquals(cachedHover(1, 2).get(), "hover 2");
+  }
+
+  @Test
+  public void requestsAgainWhenDocumentIsClosedAndOpened() throws Exception {
+    CompletableFuture<String> running = new CompletableFuture<>();
+    scheduler.cached("hover", URI, position(1, 2), () -> running);
+
+    scheduler.documentClosed(URI);
+    scheduler.documentChanged(URI);
+    running.complete("stale");
+
+    assertEquals(cachedHover(1, 2).get(), "hover 1");
+  }
+
+  @Test
+  public void keepsCachedRequestRunningWhenCallerCancels() throws Exception {
+    CompletableFuture<String> request = new CompletableFuture<>();
+
+    scheduler.cached("hover", URI, position(1, 2), () -> request).cancel(true);
+    request.complete("hover");
+
+    assertFalse(request.isCancelled());
+    assertEquals(
+        scheduler.cached("hover", URI, position(1, 2), CompletableFuture::new).get(), "hover");
+  }
+
+  @Test
+  public void doesNotCacheFailedRequest() throws Exception {
+    CompletableFuture<String> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IllegalStateException());
+
+    scheduler.cached("hover", URI, position(1, 2), () -> failed);
+
+    assertEquals(cachedHover(1, 2).get(), "hover 1");
+  }
+
+  private CompletableFuture<String> cachedHover(int line, int character) {
+    return scheduler.cached(
+        "hover",
+        URI,
+        position(line, character),
+        () -> CompletableFuture.completedFuture("hover " + requests.incrementAndGet()));
+  }
+
+  private static Position position(int line, int character) {
+    return new Position(line, character);
+  }
+}
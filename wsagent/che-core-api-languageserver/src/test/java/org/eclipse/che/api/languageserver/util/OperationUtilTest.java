@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class OperationUtilTest {
+  private Map<String, CompletableFuture<String>> requests;
+  private List<String> results;
+
+  @BeforeMethod
+  public void setUp() {
+    requests = new HashMap<>();
+    results = new ArrayList<>();
+  }
+
+  @Test
+  public void waitsInParallelForGivenTimeout() {
+    long start = System.currentTimeMillis();
+
+    OperationUtil.doInParallel(asList("a", "b"), new RecordingOperation(false), 200);
+
+    assertTrue(System.currentTimeMillis() - start < 2000);
+    assertTrue(requests.get("a").isCancelled());
+    assertTrue(requests.get("b").isCancelled());
+  }
+
+  @Test
+  public void completesInParallelWhenAllRequestsAreCompleted() throws Exception {
+    CompletableFuture<Void> done =
+        OperationUtil.doInParallelAsync(
+            asList("a", "b"), new RecordingOperation(false), 10000, () -> null);
+
+    requests.get("b").complete("b");
+    assertFalse(done.isDone());
+    requests.get("a").complete("a");
+
+    done.get(1, TimeUnit.SECONDS);
+    assertEquals(results, asList("b", "a"));
+  }
+
+  @Test
+  public void cancelsPendingRequestsOnTimeout() throws Exception {
+    CompletableFuture<Void> done =
+        OperationUtil.doInParallelAsync(
+            asList("a", "b"), new RecordingOperation(false), 100, () -> null);
+    requests.get("a").complete("a");
+
+    done.get(2, TimeUnit.SECONDS);
+    requests.get("b").complete("b");
+
+    assertTrue(requests.get("b").isCancelled());
+    assertEquals(results, singletonList("a"));
+  }
+
+  @Test
+  public void cancelsPendingRequestsWhenCancelled() {
+    CompletableFuture<Void> done =
+        OperationUtil.doInParallelAsync(
+            asList("a", "b"), new RecordingOperation(false), 10000, () -> null);
+
+    done.cancel(true);
+
+    assertTrue(requests.get("a").isCancelled());
+    assertTrue(requests.get("b").isCancelled());
+  }
+
+  @Test
+  public void stopsSequenceOnFirstValidResult() throws Exception {
+    CompletableFuture<Void> done =
+        OperationUtil.doInSequenceAsync(
+            asList("a", "b", "c"), new RecordingOperation(true), 10000, () -> null);
+
+    assertEquals(requests.keySet(), singleton("a"));
+    requests.get("a").complete("");
+    requests.get("b").complete("b");
+
+    done.get(1, TimeUnit.SECONDS);
+    assertEquals(results, asList("", "b"));
+    assertFalse(requests.containsKey("c"));
+  }
+
+  @Test
+  public void cancelsRunningRequestOfSequenceOnTimeout() throws Exception {
+    CompletableFuture<Void> done =
+        OperationUtil.doInSequenceAsync(
+            asList("a", "b"), new RecordingOperation(true), 100, () -> null);
+
+    done.get(2, TimeUnit.SECONDS);
+
+    assertTrue(requests.get("a").isCancelled());
+    assertFalse(requests.containsKey("b"));
+  }
+
+  private class RecordingOperation implements LSOperation<String, String> {
+    private final boolean stopOnNonEmpty;
+
+    RecordingOperation(boolean stopOnNonEmpty) {
+      this.stopOnNonEmpty = stopOnNonEmpty;
+    }
+
+    @Override
+    public boolean canDo(String element) {
+      return true;
+    }
+
+    @Override
+    public CompletableFuture<String> start(String element) {
+      CompletableFuture<String> request = new CompletableFuture<>();
+      requests.put(element, request);
+      return request;
+    }
+
+    @Override
+    public boolean handleResult(String element, String result) {
+      results.add(result);
+      return stopOnNonEmpty && !result.isEmpty();
+    }
+  }
+}
@@ -22,4 +22,9 @@ public interface ProjectSearchResponseDto {
   int getTotalHits();
 
   ProjectSearchResponseDto withTotalHits(int totalHits);
+
+  /** Opaque cursor that should be passed with the request of the next page of search result. */
+  String getNextPageCursor();
+
+  ProjectSearchResponseDto withNextPageCursor(String nextPageCursor);
 }
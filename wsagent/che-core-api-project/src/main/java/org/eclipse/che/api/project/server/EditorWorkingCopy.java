@@ -25,12 +25,16 @@ import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Content is kept as a {@link Rope} so editor changes are applied without copying the whole
+ * text. Bytes and string representations are computed only when requested.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
-  private byte[] content;
+  private Rope content;
+  private byte[] contentBytes;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -42,7 +46,7 @@ public class EditorWorkingCopy {
   public EditorWorkingCopy(String path, String projectPath, byte[] content) {
     this.path = path;
     this.projectPath = projectPath;
-    this.content = Arrays.copyOf(content, content.length);
+    updateContent(Arrays.copyOf(content, content.length));
   }
 
   /**
@@ -50,11 +54,11 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
+  public synchronized byte[] getContentAsBytes() {
+    if (contentBytes == null) {
+      contentBytes = content.toString().getBytes();
     }
-    return Arrays.copyOf(content, content.length);
+    return Arrays.copyOf(contentBytes, contentBytes.length);
   }
 
   /**
@@ -62,8 +66,8 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public String getContentAsString() {
-    return new String(getContentAsBytes());
+  public synchronized String getContentAsString() {
+    return content.toString();
   }
 
   /**
@@ -81,8 +85,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(byte[] content) {
-    this.content = content;
+  synchronized EditorWorkingCopy updateContent(byte[] content) {
+    this.content = new Rope(new String(content));
+    this.contentBytes = content;
     return this;
   }
 
@@ -92,8 +97,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(String content) {
-    updateContent(content.getBytes());
+  synchronized EditorWorkingCopy updateContent(String content) {
+    this.content = new Rope(content);
+    this.contentBytes = null;
     return this;
   }
 
@@ -120,27 +126,20 @@ public class EditorWorkingCopy {
    *
    * @param changes contains editor content changes
    */
-  void applyChanges(EditorChangesDto changes) {
-    synchronized (this) {
-      String text = changes.getText();
-      int offset = changes.getOffset();
-      int removedCharCount = changes.getRemovedCharCount();
-
-      String newContent = null;
-      String oldContent = getContentAsString();
-      EditorChangesDto.Type type = changes.getType();
-      if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
-      }
-
-      if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
-      }
-
-      if (newContent != null) {
-        updateContent(newContent);
-      }
+  synchronized void applyChanges(EditorChangesDto changes) {
+    String text = changes.getText();
+    int offset = changes.getOffset();
+    int removedCharCount = changes.getRemovedCharCount();
+
+    EditorChangesDto.Type type = changes.getType();
+    if (type == INSERT) {
+      content.insert(offset, text);
+      contentBytes = null;
+    }
+
+    if (type == REMOVE && removedCharCount > 0) {
+      content.remove(offset, removedCharCount);
+      contentBytes = null;
     }
   }
 
@@ -16,9 +16,9 @@ import static org.eclipse.che.api.project.shared.Constants.CHE_DIR;
 
 import com.google.common.hash.Hashing;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -55,7 +55,7 @@ public class EditorWorkingCopyManager {
   private RequestTransmitter transmitter;
   private EventSubscriber<FileTrackingOperationEvent> fileOperationEventSubscriber;
 
-  private final Map<String, EditorWorkingCopy> workingCopiesStorage = new HashMap<>();
+  private final Map<String, EditorWorkingCopy> workingCopiesStorage = new ConcurrentHashMap<>();
 
   @Inject
   public EditorWorkingCopyManager(
@@ -257,9 +257,9 @@ public class EditorWorkingCopyManager {
 
     EditorWorkingCopy workingCopy =
         new EditorWorkingCopy(workingCopyPath, projectPath, file.contentAsBytes());
-    workingCopiesStorage.put(filePath, workingCopy);
+    EditorWorkingCopy existing = workingCopiesStorage.putIfAbsent(filePath, workingCopy);
 
-    return workingCopy;
+    return existing != null ? existing : workingCopy;
   }
 
   private void createPersistentWorkingCopy(String originalFilePath)
@@ -50,6 +50,7 @@ import org.eclipse.che.api.vfs.watcher.FileWatcherIgnoreFileTracker;
 import org.eclipse.che.api.vfs.watcher.IndexedFileCreateConsumer;
 import org.eclipse.che.api.vfs.watcher.IndexedFileDeleteConsumer;
 import org.eclipse.che.api.vfs.watcher.IndexedFileUpdateConsumer;
+import org.eclipse.che.api.vfs.watcher.VfsCacheInvalidatingConsumer;
 
 /**
  * Guice module contains configuration of Project API components.
@@ -145,6 +146,11 @@ public class ProjectApiModule extends AbstractModule {
     fileDeleteConsumers.addBinding().to(FileWatcherByPathMatcher.class);
     directoryCreateConsumers.addBinding().to(FileWatcherByPathMatcher.class);
     directoryDeleteConsumers.addBinding().to(FileWatcherByPathMatcher.class);
+
+    fileCreateConsumers.addBinding().to(VfsCacheInvalidatingConsumer.class);
+    fileDeleteConsumers.addBinding().to(VfsCacheInvalidatingConsumer.class);
+    directoryCreateConsumers.addBinding().to(VfsCacheInvalidatingConsumer.class);
+    directoryDeleteConsumers.addBinding().to(VfsCacheInvalidatingConsumer.class);
   }
 
   private void configureVfsFilters(Multibinder<PathMatcher> excludeMatcher) {
@@ -12,10 +12,9 @@ package org.eclipse.che.api.project.server;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListMap;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -46,7 +45,18 @@ import org.slf4j.LoggerFactory;
 public class ProjectRegistry {
   private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
-  private final Map<String, RegisteredProject> projects;
+  /**
+   * Root folder is rescanned for unconfigured folders even if its modification date is not changed
+   * while it is younger than this interval, since timestamps of some file systems are too coarse to
+   * notice changes made within the same second.
+   */
+  private static final long RACY_MODIFICATION_INTERVAL = 2000;
+
+  /**
+   * Projects sorted by path, so projects located under some folder make up continuous range of
+   * keys starting with path of the folder followed by slash.
+   */
+  private final NavigableMap<String, RegisteredProject> projects;
   private final WorkspaceProjectsSyncer workspaceHolder;
   private final VirtualFileSystem vfs;
   private final ProjectTypeRegistry projectTypeRegistry;
@@ -55,6 +65,7 @@ public class ProjectRegistry {
   private final EventService eventService;
 
   private boolean initialized;
+  private volatile long rootModificationDate = -1;
 
   @Inject
   public ProjectRegistry(
@@ -65,7 +76,7 @@ public class ProjectRegistry {
       EventService eventService)
       throws ServerException {
     this.eventService = eventService;
-    this.projects = new ConcurrentHashMap<>();
+    this.projects = new ConcurrentSkipListMap<>();
     this.workspaceHolder = workspaceHolder;
     this.vfs = vfsProvider.getVirtualFileSystem();
     this.projectTypeRegistry = projectTypeRegistry;
@@ -131,12 +142,10 @@ public class ProjectRegistry {
     initUnconfiguredFolders();
 
     final Path root = Path.of(absolutizePath(parentPath));
+    final String prefix = root.isRoot() ? "/" : root.toString() + '/';
+    final String upperBound = prefix.substring(0, prefix.length() - 1) + (char) ('/' + 1);
 
-    return projects
-        .keySet()
-        .stream()
-        .filter(key -> Path.of(key).isChild(root))
-        .collect(Collectors.toList());
+    return new ArrayList<>(projects.subMap(prefix, !root.isRoot(), upperBound, false).keySet());
   }
 
   /**
@@ -146,20 +155,14 @@ public class ProjectRegistry {
   public RegisteredProject getParentProject(String path) {
     checkInitializationState();
 
-    // return this if a project
-    if (getProject(path) != null) {
-      return getProject(path);
-    }
+    initUnconfiguredFolders();
 
-    // otherwise try to find matched parent
-    Path test;
-    while ((test = Path.of(path).getParent()) != null) {
+    // return this if a project, otherwise try to find matched parent
+    for (Path test = Path.of(absolutizePath(path)); test != null; test = test.getParent()) {
       final RegisteredProject project = projects.get(test.toString());
       if (project != null) {
         return project;
       }
-
-      path = test.toString();
     }
 
     return null;
@@ -197,6 +200,8 @@ public class ProjectRegistry {
     List<RegisteredProject> removed = new ArrayList<>();
     Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
     getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p)).ifPresent(removed::add));
+    // folders that are left on root should be detected as projects again
+    rootModificationDate = -1;
 
     removed.forEach(
         registeredProject ->
@@ -309,6 +314,7 @@ public class ProjectRegistry {
     } else if (newType.equals(type)) {
       if (project.isDetected()) {
         projects.remove(project.getPath());
+        rootModificationDate = -1;
         return null;
       }
 
@@ -337,8 +343,18 @@ public class ProjectRegistry {
     return (path.startsWith("/")) ? path : "/".concat(path);
   }
 
-  /** Try to initialize projects from unconfigured folders on root. */
+  /**
+   * Try to initialize projects from unconfigured folders on root. Folders are listed only if root
+   * folder was modified since the previous check, i.e. when some item was created, removed or
+   * renamed on root.
+   */
   private void initUnconfiguredFolders() {
+    final long lastModified = root.getVirtualFile().getLastModificationDate();
+    if (lastModified == rootModificationDate
+        && System.currentTimeMillis() - lastModified > RACY_MODIFICATION_INTERVAL) {
+      return;
+    }
+
     try {
       for (FolderEntry folder : root.getChildFolders()) {
         // .che folder is reserved for internal use
@@ -347,6 +363,7 @@ public class ProjectRegistry {
           putProject(null, folder, true, true);
         }
       }
+      rootModificationDate = lastModified;
     } catch (ServerException e) {
       LOG.warn(e.getLocalizedMessage());
     }
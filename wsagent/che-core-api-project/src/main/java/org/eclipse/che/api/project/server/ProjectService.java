@@ -999,7 +999,10 @@ public class ProjectService extends Service {
           @QueryParam("maxItems")
           @DefaultValue("-1")
           int maxItems,
-      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount)
+      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount,
+      @ApiParam(value = "Cursor of the next page returned with the previous page of result")
+          @QueryParam("searchCursor")
+          String searchCursor)
       throws NotFoundException, ForbiddenException, ConflictException, ServerException {
     final Searcher searcher;
     try {
@@ -1020,12 +1023,18 @@ public class ProjectService extends Service {
             .setText(text)
             .setMaxItems(maxItems)
             .setSkipCount(skipCount)
+            .setSearchCursor(searchCursor)
             .setIncludePositions(true);
 
     final SearchResult result = searcher.search(expr);
     final List<SearchResultEntry> searchResultEntries = result.getResults();
     return DtoFactory.newDto(ProjectSearchResponseDto.class)
         .withTotalHits(result.getTotalHits())
+        .withNextPageCursor(
+            result
+                .getNextPageQueryExpression()
+                .transform(QueryExpression::getSearchCursor)
+                .orNull())
         .withItemReferences(prepareResults(searchResultEntries));
   }
 
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mutable text kept as a balanced tree of chunks (randomized binary search tree keyed by character
+ * offset). Insertion and removal cost O(log n) plus the size of the touched chunks, so editing of
+ * large texts doesn't copy the whole content. The text is materialized lazily and kept until the
+ * next modification.
+ *
+ * <p>Offsets are measured in UTF-16 code units, the same way as in {@link String}. The class is not
+ * thread safe.
+ */
+class Rope {
+  static final int MAX_CHUNK_LENGTH = 1024;
+
+  private static final class Node {
+    final int priority;
+    String text;
+    int length;
+    Node left;
+    Node right;
+
+    Node(String text, int priority) {
+      this.text = text;
+      this.priority = priority;
+      this.length = text.length();
+    }
+
+    Node update() {
+      length = length(left) + text.length() + length(right);
+      return this;
+    }
+  }
+
+  private Node root;
+  private String materialized;
+
+  Rope(String text) {
+    root = build(text);
+    materialized = text;
+  }
+
+  /** Returns length of the text. */
+  int length() {
+    return length(root);
+  }
+
+  /**
+   * Inserts text at specified offset.
+   *
+   * @throws IndexOutOfBoundsException if offset is negative or greater than length of the text
+   */
+  void insert(int offset, String text) {
+    if (offset < 0 || offset > length()) {
+      throw new IndexOutOfBoundsException(
+          String.format("Offset %d is out of range [0, %d]", offset, length()));
+    }
+    if (text.isEmpty()) {
+      return;
+    }
+    materialized = null;
+    if (!insertIntoChunk(root, offset, text)) {
+      Node[] parts = split(root, offset);
+      root = merge(merge(parts[0], build(text)), parts[1]);
+    }
+  }
+
+  /**
+   * Removes characters starting from specified offset. If the text ends earlier all characters
+   * till the end of the text are removed.
+   *
+   * @throws IndexOutOfBoundsException if offset is negative or greater than length of the text
+   */
+  void remove(int offset, int count) {
+    if (offset < 0 || offset > length()) {
+      throw new IndexOutOfBoundsException(
+          String.format("Offset %d is out of range [0, %d]", offset, length()));
+    }
+    count = Math.min(count, length() - offset);
+    if (count <= 0) {
+      return;
+    }
+    materialized = null;
+    Node[] head = split(root, offset);
+    Node[] tail = split(head[1], count);
+    root = merge(head[0], tail[1]);
+  }
+
+  @Override
+  public String toString() {
+    if (materialized == null) {
+      StringBuilder sb = new StringBuilder(length());
+      append(root, sb);
+      materialized = sb.toString();
+    }
+    return materialized;
+  }
+
+  /** Modifies the chunk containing offset in place if it remains small enough. */
+  private static boolean insertIntoChunk(Node node, int offset, String text) {
+    if (node == null) {
+      return false;
+    }
+    int leftLength = length(node.left);
+    boolean inserted;
+    if (offset < leftLength) {
+      inserted = insertIntoChunk(node.left, offset, text);
+    } else if (offset <= leftLength + node.text.length()) {
+      int chunkOffset = offset - leftLength;
+      inserted = node.text.length() + text.length() <= MAX_CHUNK_LENGTH;
+      if (inserted) {
+        node.text =
+            node.text.substring(0, chunkOffset) + text + node.text.substring(chunkOffset);
+      }
+    } else {
+      inserted = insertIntoChunk(node.right, offset - leftLength - node.text.length(), text);
+    }
+    if (inserted) {
+      node.length += text.length();
+    }
+    return inserted;
+  }
+
+  /** Splits tree into two trees that hold first {@code offset} characters and the rest. */
+  private static Node[] split(Node node, int offset) {
+    if (node == null) {
+      return new Node[2];
+    }
+    int leftLength = length(node.left);
+    if (offset <= leftLength) {
+      Node[] parts = split(node.left, offset);
+      node.left = parts[1];
+      parts[1] = node.update();
+      return parts;
+    }
+    int chunkEnd = leftLength + node.text.length();
+    if (offset >= chunkEnd) {
+      Node[] parts = split(node.right, offset - chunkEnd);
+      node.right = parts[0];
+      parts[0] = node.update();
+      return parts;
+    }
+    int chunkOffset = offset - leftLength;
+    Node tail = new Node(node.text.substring(chunkOffset), node.priority);
+    tail.right = node.right;
+    node.text = node.text.substring(0, chunkOffset);
+    node.right = null;
+    return new Node[] {node.update(), tail.update()};
+  }
+
+  private static Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority >= right.priority) {
+      left.right = merge(left.right, right);
+      return left.update();
+    }
+    right.left = merge(left, right.left);
+    return right.update();
+  }
+
+  private static Node build(String text) {
+    Node node = null;
+    for (int start = 0; start < text.length(); start += MAX_CHUNK_LENGTH) {
+      String chunk = text.substring(start, Math.min(text.length(), start + MAX_CHUNK_LENGTH));
+      node = merge(node, new Node(chunk, ThreadLocalRandom.current().nextInt()));
+    }
+    return node;
+  }
+
+  private static void append(Node node, StringBuilder sb) {
+    while (node != null) {
+      append(node.left, sb);
+      sb.append(node.text);
+      node = node.right;
+    }
+  }
+
+  private static int length(Node node) {
+    return node == null ? 0 : node.length;
+  }
+}
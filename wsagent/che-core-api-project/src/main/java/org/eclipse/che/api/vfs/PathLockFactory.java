@@ -10,6 +10,15 @@
  */
 package org.eclipse.che.api.vfs;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  *
@@ -36,10 +45,17 @@ package org.eclipse.che.api.vfs;
  */
 public final class PathLockFactory {
   private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+  private static final int STRIPES = 64;
   /** Max number of threads allowed to access file. */
   private final int maxThreads;
-  // Tail of the "lock table".
-  private final Node tail = new Node(null, 0, null);
+  /**
+   * Lock state is split into stripes by the first element of path, since only paths with the same
+   * first element may be parent and child of each other. The root path is parent of any path, so
+   * locking of the root path involves all the stripes.
+   */
+  private final Stripe[] stripes;
+  /** Holders of the root path locks. Modified only when all the stripes are locked. */
+  private final Holders rootHolders = new Holders();
 
   /**
    * @param maxThreads the max number of threads are allowed to access one file. Typically this
@@ -51,150 +67,378 @@ public final class PathLockFactory {
       throw new IllegalArgumentException();
     }
     this.maxThreads = maxThreads;
+    this.stripes = new Stripe[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
   }
 
   public PathLock getLock(Path path, boolean exclusive) {
-    return new PathLock(path, exclusive ? maxThreads : 1);
+    return new PathLock(path, exclusive);
   }
 
-  private synchronized void acquire(Path path, int permits) {
-    while (!tryAcquire(path, permits)) {
-      try {
-        wait();
-      } catch (InterruptedException e) {
-        notifyAll();
-        throw new RuntimeException(e);
-      }
-    }
-  }
+  private void acquire(Path path, boolean exclusive, long timeoutMilliseconds) {
+    final Thread current = Thread.currentThread();
+    final long endTime = System.nanoTime() + MILLISECONDS.toNanos(timeoutMilliseconds);
+    final Stripe stripe = stripeOf(path);
+    Waiter waiter = null;
+    try {
+      while (true) {
+        lock(stripe);
+        try {
+          if (tryAcquire(path, exclusive, current, stripe)) {
+            return;
+          }
+          if (waiter == null) {
+            waiter = new Waiter(current, path);
+            addWaiter(stripe, waiter);
+          }
+        } finally {
+          unlock(stripe);
+        }
 
-  private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-    final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-    long waitTime = timeoutMilliseconds;
-    while (!tryAcquire(path, permits)) {
-      try {
-        wait(waitTime);
-      } catch (InterruptedException e) {
-        notifyAll();
-        throw new RuntimeException(e);
+        if (timeoutMilliseconds < 0) {
+          LockSupport.park(this);
+        } else {
+          long waitTime = endTime - System.nanoTime();
+          if (waitTime <= 0) {
+            throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+          }
+          LockSupport.parkNanos(this, waitTime);
+        }
+        if (Thread.interrupted()) {
+          throw new RuntimeException(new InterruptedException());
+        }
       }
-      long now = System.currentTimeMillis();
-      if (now >= endTime) {
-        throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+    } finally {
+      if (waiter != null) {
+        lock(stripe);
+        try {
+          removeWaiter(stripe, waiter);
+        } finally {
+          unlock(stripe);
+        }
       }
-      waitTime = endTime - now;
     }
   }
 
-  private synchronized void release(Path path, int permits) {
-    Node node = tail;
-    while (node != null) {
-      Node prev = node.prev;
-      if (prev == null) {
-        break;
+  private void release(Path path, boolean exclusive, Thread owner) {
+    final Stripe stripe = stripeOf(path);
+    lock(stripe);
+    try {
+      if (stripe == null) {
+        if (!rootHolders.remove(owner, exclusive)) {
+          return;
+        }
+      } else {
+        final Node[] nodes = new Node[path.length()];
+        Map<String, Node> children = stripe.children;
+        for (int i = 0; i < nodes.length; i++) {
+          nodes[i] = children == null ? null : children.get(path.element(i));
+          if (nodes[i] == null) {
+            return;
+          }
+          children = nodes[i].children;
+        }
+        if (!nodes[nodes.length - 1].holders.remove(owner, exclusive)) {
+          return;
+        }
+        for (int i = 0; i < nodes.length - 1; i++) {
+          nodes[i].descendantHolders.remove(owner, exclusive);
+        }
+        stripe.descendantHolders.remove(owner, exclusive);
+        // drop nodes that have no locks in their subtrees
+        for (int i = nodes.length - 1; i >= 0 && nodes[i].isEmpty(); i--) {
+          Map<String, Node> parentChildren = i == 0 ? stripe.children : nodes[i - 1].children;
+          parentChildren.remove(path.element(i));
+        }
       }
-      if (prev.path.equals(path)) {
-        if (prev.threadDeep == 1) {
-          // If last recursive lock.
-          prev.permits += permits;
-          if (prev.permits >= maxThreads) {
-            // remove
-            node.prev = prev.prev;
-            prev.prev = null;
+      for (Stripe waitersStripe : stripe == null ? stripes : new Stripe[] {stripe}) {
+        for (Waiter waiter : waitersStripe.waiters) {
+          if (waiter.path.equals(path) || waiter.path.isChild(path) || path.isChild(waiter.path)) {
+            LockSupport.unpark(waiter.thread);
           }
-        } else {
-          --prev.threadDeep;
         }
       }
-      node = node.prev;
+    } finally {
+      unlock(stripe);
     }
-    notifyAll();
-    // System.err.printf(">>>>> release: %s : %d%n", path, permits);
   }
 
-  private boolean tryAcquire(Path path, int permits) {
-    // System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-    Node node = tail.prev;
-    final Thread current = Thread.currentThread();
-    while (node != null) {
-      if (node.path.equals(path)) {
-        if (node.threadId == current.getId()) {
-          // Current thread already has direct lock for this path
-          if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-            throw new Error("Max number of recursive locks exceeded. ");
-          }
-          ++node.threadDeep;
-          return true;
-        }
-        if (node.permits > permits) {
-          // Lock already exists and current thread is not owner of this lock,
-          // but lock is not exclusive and we can "share" it for other thread.
-          node.permits -= permits; // decrement number of allowed concurrent threads
-          return true;
-        }
-        // Lock is exclusive or max number of allowed concurrent thread is reached.
+  /** Must be called when the stripe of the path is locked, or all the stripes for the root path. */
+  private boolean tryAcquire(Path path, boolean exclusive, Thread current, Stripe stripe) {
+    if (stripe == null) {
+      if (!canAcquire(rootHolders, exclusive, current)) {
         return false;
-      } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-        // Found some path which already has lock that prevents us to get required permits.
-        // There is two possibilities:
-        // 1. Parent of the path we try to lock already locked
-        // 2. Child of the path we try to lock already locked
-        // Need to check is such lock obtained by current thread or not.
-        // If such lock obtained by other thread stop here immediately there is no reasons to
-        // continue.
-        if (node.threadId != current.getId()) {
+      }
+      for (Stripe each : stripes) {
+        if (each.descendantHolders.conflicts(exclusive, current)) {
           return false;
         }
       }
-      node = node.prev;
+      rootHolders.add(current, exclusive);
+      return true;
     }
-    // If we are here there is no lock for path yet.
-    tail.prev = new Node(path, maxThreads - permits, tail.prev);
+
+    if (rootHolders.conflicts(exclusive, current)) {
+      return false;
+    }
+    final int last = path.length() - 1;
+    Map<String, Node> children = stripe.children;
+    for (int i = 0; i <= last && children != null; i++) {
+      Node node = children.get(path.element(i));
+      if (node == null) {
+        break;
+      }
+      if (i < last && node.holders.conflicts(exclusive, current)) {
+        // Parent of the path is locked by other thread.
+        return false;
+      }
+      if (i == last
+          && (!canAcquire(node.holders, exclusive, current)
+              || node.descendantHolders.conflicts(exclusive, current))) {
+        // Path itself or any of its children is locked by other thread.
+        return false;
+      }
+      children = node.children;
+    }
+
+    Node node = null;
+    for (int i = 0; i <= last; i++) {
+      if (i == 0) {
+        if (stripe.children == null) {
+          stripe.children = new HashMap<>();
+        }
+        children = stripe.children;
+      } else {
+        if (node.children == null) {
+          node.children = new HashMap<>(4);
+        }
+        children = node.children;
+      }
+      node = children.computeIfAbsent(path.element(i), name -> new Node());
+      if (i < last) {
+        node.descendantHolders.add(current, exclusive);
+      }
+    }
+    node.holders.add(current, exclusive);
+    stripe.descendantHolders.add(current, exclusive);
     return true;
   }
 
-  public synchronized void checkClean() {
-    assert tail.prev == null;
+  private boolean canAcquire(Holders holders, boolean exclusive, Thread current) {
+    if (holders.conflicts(exclusive, current)) {
+      return false;
+    }
+    int holds = holders.holds(current);
+    if (holds > MAX_RECURSIVE_LOCKS) {
+      throw new Error("Max number of recursive locks exceeded. ");
+    }
+    // Lock is not exclusive but max number of allowed concurrent threads may be reached.
+    return holds > 0 || holders.size() == 0 || holders.size() < maxThreads - 1;
+  }
+
+  /** Returns stripe of the path or {@code null} for the root path, which involves all stripes. */
+  private Stripe stripeOf(Path path) {
+    if (path.isRoot()) {
+      return null;
+    }
+    int hash = path.element(0).hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+
+  private void lock(Stripe stripe) {
+    if (stripe != null) {
+      stripe.lock.lock();
+    } else {
+      for (Stripe each : stripes) {
+        each.lock.lock();
+      }
+    }
+  }
+
+  private void unlock(Stripe stripe) {
+    if (stripe != null) {
+      stripe.lock.unlock();
+    } else {
+      for (int i = stripes.length - 1; i >= 0; i--) {
+        stripes[i].lock.unlock();
+      }
+    }
+  }
+
+  private void addWaiter(Stripe stripe, Waiter waiter) {
+    if (stripe != null) {
+      stripe.waiters.add(waiter);
+    } else {
+      for (Stripe each : stripes) {
+        each.waiters.add(waiter);
+      }
+    }
+  }
+
+  private void removeWaiter(Stripe stripe, Waiter waiter) {
+    if (stripe != null) {
+      stripe.waiters.remove(waiter);
+    } else {
+      for (Stripe each : stripes) {
+        each.waiters.remove(waiter);
+      }
+    }
+  }
+
+  public void checkClean() {
+    lock(null);
+    try {
+      assert rootHolders.size() == 0;
+      for (Stripe stripe : stripes) {
+        assert stripe.children == null || stripe.children.isEmpty();
+      }
+    } finally {
+      unlock(null);
+    }
   }
 
   /* =============================================== */
 
+  private static class Stripe {
+    final ReentrantLock lock = new ReentrantLock();
+    final List<Waiter> waiters = new LinkedList<>();
+    /** Holders of any lock within the stripe, they are children of the root path. */
+    final Holders descendantHolders = new Holders();
+
+    Map<String, Node> children;
+  }
+
   private static class Node {
-    final Path path;
-    final long threadId = Thread.currentThread().getId();
-    int permits;
-    int threadDeep;
-    Node prev;
+    /** Holders of locks of the path. */
+    final Holders holders = new Holders();
+    /** Holders of locks of children of the path. */
+    final Holders descendantHolders = new Holders();
 
-    Node(Path path, int permits, Node prev) {
-      this.path = path;
-      this.permits = permits;
-      this.prev = prev;
-      threadDeep = 1;
+    Map<String, Node> children;
+
+    boolean isEmpty() {
+      return holders.size() == 0 && descendantHolders.size() == 0;
     }
+  }
+
+  /**
+   * Number of shared and exclusive locks held by each thread. Most of the time a path is locked by
+   * a single thread, so counters of the first holder are kept in fields and map is created only
+   * for other concurrent holders.
+   */
+  private static class Holders {
+    private Thread thread;
+    private int shared;
+    private int exclusive;
+    private Map<Thread, int[]> others;
 
-    @Override
-    public String toString() {
-      return "Node{"
-          + "path="
-          + path
-          + ", threadId="
-          + threadId
-          + ", permits="
-          + permits
-          + ", prev="
-          + prev
-          + '}';
+    void add(Thread holder, boolean exclusive) {
+      if (thread == null || thread == holder) {
+        thread = holder;
+        if (exclusive) {
+          this.exclusive++;
+        } else {
+          this.shared++;
+        }
+      } else {
+        if (others == null) {
+          others = new HashMap<>(4);
+        }
+        others.computeIfAbsent(holder, t -> new int[2])[exclusive ? 1 : 0]++;
+      }
+    }
+
+    boolean remove(Thread holder, boolean exclusive) {
+      if (thread == holder) {
+        if (exclusive ? this.exclusive == 0 : this.shared == 0) {
+          return false;
+        }
+        if (exclusive) {
+          this.exclusive--;
+        } else {
+          this.shared--;
+        }
+        if (this.exclusive == 0 && this.shared == 0) {
+          promoteOther();
+        }
+        return true;
+      }
+      int[] counts = others == null ? null : others.get(holder);
+      if (counts == null || counts[exclusive ? 1 : 0] == 0) {
+        return false;
+      }
+      counts[exclusive ? 1 : 0]--;
+      if (counts[0] == 0 && counts[1] == 0) {
+        others.remove(holder);
+      }
+      return true;
+    }
+
+    private void promoteOther() {
+      thread = null;
+      if (others != null && !others.isEmpty()) {
+        Map.Entry<Thread, int[]> other = others.entrySet().iterator().next();
+        thread = other.getKey();
+        shared = other.getValue()[0];
+        exclusive = other.getValue()[1];
+        others.remove(thread);
+      }
+    }
+
+    int holds(Thread holder) {
+      if (thread == holder) {
+        return shared + exclusive;
+      }
+      int[] counts = others == null ? null : others.get(holder);
+      return counts == null ? 0 : counts[0] + counts[1];
+    }
+
+    int size() {
+      return thread == null ? 0 : 1 + (others == null ? 0 : others.size());
+    }
+
+    /**
+     * Exclusive lock conflicts with any lock of other thread, shared lock conflicts with exclusive
+     * lock of other thread.
+     */
+    boolean conflicts(boolean exclusive, Thread current) {
+      if (thread == null) {
+        return false;
+      }
+      if (thread != current && (exclusive || this.exclusive > 0)) {
+        return true;
+      }
+      if (others != null) {
+        for (Map.Entry<Thread, int[]> entry : others.entrySet()) {
+          if (entry.getKey() != current && (exclusive || entry.getValue()[1] > 0)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+
+  private static class Waiter {
+    final Thread thread;
+    final Path path;
+
+    Waiter(Thread thread, Path path) {
+      this.thread = thread;
+      this.path = path;
     }
   }
 
   public final class PathLock {
     private final Path path;
-    private final int permits;
+    private final boolean exclusive;
+    private Thread owner;
 
-    private PathLock(Path path, int permits) {
+    private PathLock(Path path, boolean exclusive) {
       this.path = path;
-      this.permits = permits;
+      this.exclusive = exclusive;
     }
 
     /**
@@ -203,7 +447,8 @@ public final class PathLockFactory {
      * @return this PathLock instance
      */
     public PathLock acquire() {
-      PathLockFactory.this.acquire(path, permits);
+      PathLockFactory.this.acquire(path, exclusive, -1);
+      owner = Thread.currentThread();
       return this;
     }
 
@@ -217,18 +462,19 @@ public final class PathLockFactory {
      * @throws RuntimeException if waiting timeout reached
      */
     public PathLock acquire(long timeoutMilliseconds) {
-      PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+      PathLockFactory.this.acquire(path, exclusive, Math.max(0, timeoutMilliseconds));
+      owner = Thread.currentThread();
       return this;
     }
 
     /** Release file permit. */
     public void release() {
-      PathLockFactory.this.release(path, permits);
+      PathLockFactory.this.release(path, exclusive, owner == null ? Thread.currentThread() : owner);
     }
 
     /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
     public boolean isExclusive() {
-      return permits == PathLockFactory.this.maxThreads;
+      return exclusive;
     }
   }
 }
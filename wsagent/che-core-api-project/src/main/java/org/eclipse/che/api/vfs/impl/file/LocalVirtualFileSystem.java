@@ -21,6 +21,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -90,6 +91,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private static final String FILE_PROPERTIES_DIR = VFS_SERVICE_DIR + File.separatorChar + "props";
   private static final String PROPERTIES_FILE_SUFFIX = "_props";
 
+  /**
+   * Listing of directory is cached only if directory was not modified during this interval before
+   * listing. Timestamps of some file systems are too coarse to notice changes made within the same
+   * second.
+   */
+  private static final long RACY_LISTING_INTERVAL = 2000;
+
   private static final FilenameFilter DOT_VFS_DIR_FILTER =
       (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
 
@@ -125,6 +133,16 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
   }
 
+  private static final class DirectoryListing {
+    final long lastModified;
+    final String[] names;
+
+    DirectoryListing(long lastModified, String[] names) {
+      this.lastModified = lastModified;
+      this.names = names;
+    }
+  }
+
   private final File ioRoot;
   private final ArchiverFactory archiverFactory;
   private final SearcherProvider searcherProvider;
@@ -141,6 +159,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private final FileMetadataSerializer metadataSerializer;
   private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+  private final Cache<Path, DirectoryListing> listingsCache;
+
   @SuppressWarnings("unchecked")
   public LocalVirtualFileSystem(
       File ioRoot,
@@ -170,6 +190,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             .maximumSize(256)
             .expireAfterAccess(10, MINUTES)
             .build(new FilePropertiesCacheLoader());
+
+    listingsCache =
+        CacheBuilder.newBuilder()
+            .concurrencyLevel(8)
+            .maximumSize(1024)
+            .expireAfterAccess(10, MINUTES)
+            .build();
   }
 
   @Override
@@ -216,6 +243,31 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private void cleanUpCaches() {
     lockTokensCache.invalidateAll();
     metadataCache.invalidateAll();
+    listingsCache.invalidateAll();
+  }
+
+  /**
+   * Drops cached locks, properties and listings of item with specified path and all its
+   * descendants, and cached listing of its parent. Should be called when item is created or removed
+   * bypassing this virtual file system, e.g. by file watchers.
+   *
+   * @param path path of created or removed item
+   */
+  public void invalidateCaches(Path path) {
+    invalidateCaches(lockTokensCache, path);
+    invalidateCaches(metadataCache, path);
+    invalidateCaches(listingsCache, path);
+    if (!path.isRoot()) {
+      listingsCache.invalidate(path.getParent());
+    }
+  }
+
+  private static void invalidateCaches(Cache<Path, ?> cache, Path path) {
+    if (path.isRoot()) {
+      cache.invalidateAll();
+    } else {
+      cache.asMap().keySet().removeIf(key -> key.equals(path) || key.isChild(path));
+    }
   }
 
   /**
@@ -253,28 +305,43 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     return newArrayList(path.elements()).contains(".vfs");
   }
 
-  synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
+  List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
       throws ServerException {
     if (parent.isFolder()) {
-      final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
+      final List<VirtualFile> children = doGetChildren(parent, listChildren(parent), filter);
       Collections.sort(children);
       return children;
     }
     return emptyList();
   }
 
-  private List<VirtualFile> doGetChildren(
-      LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-      throws ServerException {
-    if (ioFileFilter == null) {
-      ioFileFilter = IoUtil.ANY_FILTER;
+  /**
+   * Returns names of children of specified folder. Names are taken from cache if modification
+   * time of folder is not changed since it was listed last time.
+   */
+  private String[] listChildren(LocalVirtualFile parent) throws ServerException {
+    final File ioFile = parent.toIoFile();
+    final long lastModified = ioFile.lastModified();
+    final DirectoryListing cached = listingsCache.getIfPresent(parent.getPath());
+    if (cached != null && cached.lastModified == lastModified) {
+      return cached.names;
     }
 
-    final String[] names = parent.toIoFile().list(ioFileFilter);
+    final String[] names = ioFile.list(DOT_VFS_DIR_FILTER);
     if (names == null) {
+      listingsCache.invalidate(parent.getPath());
       throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
     }
+    if (System.currentTimeMillis() - lastModified > RACY_LISTING_INTERVAL) {
+      listingsCache.put(parent.getPath(), new DirectoryListing(lastModified, names));
+    } else {
+      listingsCache.invalidate(parent.getPath());
+    }
+    return names;
+  }
 
+  private List<VirtualFile> doGetChildren(
+      LocalVirtualFile parent, String[] names, VirtualFileFilter vfsFilter) {
     if (vfsFilter == null) {
       vfsFilter = VirtualFileFilter.ACCEPT_ALL;
     }
@@ -314,6 +381,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         throw new ServerException(errorMessage);
       }
 
+      listingsCache.invalidate(parent.getPath());
+
       final LocalVirtualFile newVirtualFile = new LocalVirtualFile(newIoFile, newPath, this);
 
       if (content != null) {
@@ -341,6 +410,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
           throw new ConflictException(String.format("Item '%s' already exists", newPath));
         }
       }
+      listingsCache.invalidate(parent.getPath());
 
       return new LocalVirtualFile(newIoFile, newPath, this);
     } else {
@@ -396,6 +466,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
       }
 
       IoUtil.copy(from.toIoFile(), to.toIoFile(), VFS_LOCK_FILTER);
+      invalidateCaches(to.getPath());
     } catch (IOException e) {
       String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
       LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -656,7 +727,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
           String.format("Unable delete file '%s'. File is locked", virtualFile.getPath()));
     }
 
-    cleanUpCaches();
+    invalidateCaches(virtualFile.getPath());
 
     final File fileLockIoFile = getFileLockIoFile(virtualFile.getPath());
     if (fileLockIoFile.delete()) {
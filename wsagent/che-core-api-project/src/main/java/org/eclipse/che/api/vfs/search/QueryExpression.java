@@ -16,6 +16,7 @@ public class QueryExpression {
   private String path;
   private String text;
   private int skipCount;
+  private String searchCursor;
   private int maxItems;
   private boolean includePositions;
 
@@ -68,6 +69,21 @@ public class QueryExpression {
     return this;
   }
 
+  /**
+   * Optional opaque cursor returned with previous page of search result. Searcher may use it for
+   * retrieving next page without skipping {@link #getSkipCount()} items. Cursor is used only if it
+   * points to the same position as skip count and is still valid for the current state of index,
+   * otherwise skip count is used.
+   */
+  public String getSearchCursor() {
+    return searchCursor;
+  }
+
+  public QueryExpression setSearchCursor(String searchCursor) {
+    this.searchCursor = searchCursor;
+    return this;
+  }
+
   /** Max number of results that might be returned after executing this query. */
   public int getMaxItems() {
     return maxItems;
@@ -102,6 +118,9 @@ public class QueryExpression {
         + '\''
         + ", skipCount="
         + skipCount
+        + ", searchCursor='"
+        + searchCursor
+        + '\''
         + ", maxItems="
         + maxItems
         + '}';
@@ -27,6 +27,7 @@ import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
   protected final VirtualFileFilter excludeFileIndexFilters;
@@ -71,6 +72,15 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
     return cachedSearcher;
   }
 
+  /** Periodically commits index, so agent crash loses only the last few seconds of changes. */
+  @ScheduleDelay(initialDelay = 5, delay = 5)
+  void commitIndex() {
+    Searcher searcher = searcherReference.get();
+    if (searcher instanceof LuceneSearcher) {
+      ((LuceneSearcher) searcher).commit();
+    }
+  }
+
   @PreDestroy
   void stop() {
     executor.shutdownNow();
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.Arrays;
+
+/**
+ * Table of line start offsets of a text. Built once per text, so resolving a line of an offset
+ * costs a binary search instead of a scan of the whole text. Line delimiters are {@code \n}, {@code
+ * \r} and {@code \r\n}, the same as recognised by the default Eclipse text document.
+ */
+final class LineOffsets {
+  private final String text;
+  private final int[] lineStarts;
+  private final int lines;
+
+  LineOffsets(String text) {
+    this.text = text;
+    int[] starts = new int[16];
+    int count = 1;
+    for (int i = 0, length = text.length(); i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+        i++;
+      } else if (c != '\n' && c != '\r') {
+        continue;
+      }
+      if (count == starts.length) {
+        starts = Arrays.copyOf(starts, count * 2);
+      }
+      starts[count++] = i + 1;
+    }
+    this.lineStarts = starts;
+    this.lines = count;
+  }
+
+  /** Returns zero based number of the line which contains given offset. */
+  int getLineOfOffset(int offset) {
+    if (offset < 0 || offset > text.length()) {
+      throw new IndexOutOfBoundsException("Offset " + offset + " is out of text bounds");
+    }
+    int line = Arrays.binarySearch(lineStarts, 0, lines, offset);
+    return line >= 0 ? line : -line - 2;
+  }
+
+  /** Returns content of the line without line delimiter. */
+  String getLine(int line) {
+    if (line < 0 || line >= lines) {
+      throw new IndexOutOfBoundsException("Line " + line + " does not exist");
+    }
+    int start = lineStarts[line];
+    int end = line + 1 < lines ? lineStarts[line + 1] : text.length();
+    while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+      end--;
+    }
+    return text.substring(start, end);
+  }
+}
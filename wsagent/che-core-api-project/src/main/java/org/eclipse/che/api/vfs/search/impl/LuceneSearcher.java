@@ -18,9 +18,12 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import org.apache.lucene.analysis.Analyzer;
@@ -30,13 +33,21 @@ import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -52,6 +63,8 @@ import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.highlight.QueryScorer;
 import org.apache.lucene.search.highlight.TokenSources;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
@@ -64,9 +77,6 @@ import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
-import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +91,9 @@ public abstract class LuceneSearcher implements Searcher {
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
+  private static final String MODIFIED_FIELD = "modified";
+  private static final String LENGTH_FIELD = "length";
+  private static final String CONTENT_INDEXED_FIELD = "contentIndexed";
 
   private final List<VirtualFileFilter> excludeFileIndexFilters;
   private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
@@ -135,15 +148,16 @@ public abstract class LuceneSearcher implements Searcher {
   protected abstract Directory makeDirectory() throws ServerException;
 
   /**
-   * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual
-   * filesystem and add to index.
+   * Init lucene index. Scan all files in virtual filesystem and reconcile them with the index, so
+   * only files which were changed since the last index commit are re-indexed.
    *
    * @param virtualFileSystem VirtualFileSystem
    * @throws ServerException if any virtual filesystem error occurs
+   * @see #reconcile(VirtualFile)
    */
   public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
     doInit();
-    addTree(virtualFileSystem.getRoot());
+    reconcile(virtualFileSystem.getRoot());
   }
 
   public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem)
@@ -153,7 +167,7 @@ public abstract class LuceneSearcher implements Searcher {
       executor.execute(
           () -> {
             try {
-              LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+              LuceneSearcher.this.reconcile(virtualFileSystem.getRoot());
             } catch (ServerException e) {
               LOG.error(e.getMessage());
             }
@@ -163,7 +177,7 @@ public abstract class LuceneSearcher implements Searcher {
 
   protected final synchronized void doInit() throws ServerException {
     try {
-      luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+      luceneIndexWriter = openIndexWriter();
       searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
       closed = false;
     } catch (IOException e) {
@@ -171,6 +185,32 @@ public abstract class LuceneSearcher implements Searcher {
     }
   }
 
+  private IndexWriter openIndexWriter() throws ServerException, IOException {
+    Directory directory = makeDirectory();
+    try {
+      return new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()));
+    } catch (CorruptIndexException e) {
+      LOG.warn("Index is corrupted and will be re-created. {}", e.getMessage());
+      return new IndexWriter(
+          directory,
+          new IndexWriterConfig(makeAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+    }
+  }
+
+  /**
+   * Commits all pending changes of the index, so they are not lost if the agent crashes. Does
+   * nothing if searcher is closed or there is nothing to commit.
+   */
+  public synchronized void commit() {
+    if (!closed && luceneIndexWriter.hasUncommittedChanges()) {
+      try {
+        luceneIndexWriter.commit();
+      } catch (IOException e) {
+        LOG.error(e.getMessage(), e);
+      }
+    }
+  }
+
   public final synchronized void close() {
     if (!closed) {
       try {
@@ -208,10 +248,21 @@ public abstract class LuceneSearcher implements Searcher {
 
       Query luceneQuery = createLuceneQuery(query);
 
-      ScoreDoc after = null;
+      final long generation = ((DirectoryReader) luceneSearcher.getIndexReader()).getVersion();
       final int numSkipDocs = Math.max(0, query.getSkipCount());
+      ScoreDoc after = null;
       if (numSkipDocs > 0) {
-        after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+        SearchCursor cursor = SearchCursor.parse(query.getSearchCursor());
+        if (cursor != null
+            && cursor.getGeneration() == generation
+            && cursor.getPosition() == numSkipDocs) {
+          after = cursor.getLastScoreDoc();
+        } else {
+          if (query.getSearchCursor() != null) {
+            LOG.debug("Search cursor {} is stale, skipping {} docs", query, numSkipDocs);
+          }
+          after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+        }
       }
 
       final int numDocs =
@@ -253,6 +304,7 @@ public abstract class LuceneSearcher implements Searcher {
 
             tokenStream.reset();
 
+            LineOffsets lineOffsets = null;
             int startOffset, endOffset;
             // TODO think about this constant
             for (boolean next = tokenStream.incrementToken();
@@ -271,20 +323,16 @@ public abstract class LuceneSearcher implements Searcher {
 
               float res = queryScorer.getTokenScore();
               if (res > 0.0F && startOffset <= endOffset) {
-                try {
-                  IDocument document = new org.eclipse.jface.text.Document(txt);
-                  int lineNum = document.getLineOfOffset(startOffset);
-                  IRegion lineInfo = document.getLineInformation(lineNum);
-                  String foundLine = document.get(lineInfo.getOffset(), lineInfo.getLength());
-                  String tokenText = document.get(startOffset, endOffset - startOffset);
-
-                  offsetData.add(
-                      new OffsetData(
-                          tokenText, startOffset, endOffset, docId, res, lineNum, foundLine));
-                } catch (BadLocationException e) {
-                  LOG.error(e.getLocalizedMessage(), e);
-                  throw new ServerException("Can not provide data for token " + termAtt.toString());
+                if (lineOffsets == null) {
+                  lineOffsets = new LineOffsets(txt);
                 }
+                int lineNum = lineOffsets.getLineOfOffset(startOffset);
+                String foundLine = lineOffsets.getLine(lineNum);
+                String tokenText = txt.substring(startOffset, endOffset);
+
+                offsetData.add(
+                    new OffsetData(
+                        tokenText, startOffset, endOffset, docId, res, lineNum, foundLine));
               }
             }
           }
@@ -298,8 +346,10 @@ public abstract class LuceneSearcher implements Searcher {
       boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
       QueryExpression nextPageQueryExpression = null;
       if (hasMoreToRetrieve) {
+        final int newSkipCount = numSkipDocs + topDocs.scoreDocs.length;
+        final ScoreDoc lastScoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
         nextPageQueryExpression =
-            createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            createNextPageQuery(query, new SearchCursor(generation, newSkipCount, lastScoreDoc));
       }
 
       return SearchResult.aSearchResult()
@@ -362,13 +412,15 @@ public abstract class LuceneSearcher implements Searcher {
     return scoreDoc;
   }
 
-  private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+  private QueryExpression createNextPageQuery(QueryExpression originalQuery, SearchCursor cursor) {
     return new QueryExpression()
         .setText(originalQuery.getText())
         .setName(originalQuery.getName())
         .setPath(originalQuery.getPath())
-        .setSkipCount(newSkipCount)
-        .setMaxItems(originalQuery.getMaxItems());
+        .setSkipCount(cursor.getPosition())
+        .setSearchCursor(cursor.toString())
+        .setMaxItems(originalQuery.getMaxItems())
+        .setIncludePositions(originalQuery.isIncludePositions());
   }
 
   @Override
@@ -406,6 +458,106 @@ public abstract class LuceneSearcher implements Searcher {
     LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
   }
 
+  /**
+   * Brings index in line with the given tree. Each indexed document has a fingerprint of the file
+   * it was created from (modification date, length and whether content was indexed), files with
+   * the fingerprint matching the current state of the file are skipped, changed and new files are
+   * re-indexed, documents of files that no longer exist are removed.
+   */
+  protected void reconcile(VirtualFile tree) throws ServerException {
+    final long start = System.currentTimeMillis();
+    final Map<String, long[]> fingerprints = readFingerprints();
+    final LinkedList<VirtualFile> q = new LinkedList<>();
+    q.add(tree);
+    int checkedFiles = 0;
+    int indexedFiles = 0;
+    while (!q.isEmpty()) {
+      final VirtualFile folder = q.pop();
+      if (folder.exists()) {
+        for (VirtualFile child : folder.getChildren()) {
+          if (child.isFolder()) {
+            q.push(child);
+          } else {
+            checkedFiles++;
+            long[] fingerprint = fingerprints.remove(child.getPath().toString());
+            if (fingerprint == null || !Arrays.equals(fingerprint, fingerprintOf(child))) {
+              addFile(child);
+              indexedFiles++;
+            }
+          }
+        }
+      }
+    }
+
+    final String treePath = tree.getPath().toString();
+    int deletedFiles = 0;
+    try {
+      for (String path : fingerprints.keySet()) {
+        if (tree.isRoot() || path.startsWith(treePath + '/')) {
+          getIndexWriter().deleteDocuments(new Term(PATH_FIELD, path));
+          deletedFiles++;
+        }
+      }
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+    commit();
+
+    final long end = System.currentTimeMillis();
+    LOG.debug(
+        "Reconciled index of {}, checked {} files, indexed {}, deleted {}, time: {} ms",
+        treePath,
+        checkedFiles,
+        indexedFiles,
+        deletedFiles,
+        (end - start));
+  }
+
+  private Map<String, long[]> readFingerprints() throws ServerException {
+    final Map<String, long[]> fingerprints = new HashMap<>();
+    IndexSearcher luceneSearcher = null;
+    try {
+      searcherManager.maybeRefresh();
+      luceneSearcher = searcherManager.acquire();
+      for (LeafReaderContext context : luceneSearcher.getIndexReader().leaves()) {
+        LeafReader reader = context.reader();
+        BinaryDocValues paths = reader.getBinaryDocValues(PATH_FIELD);
+        NumericDocValues modified = reader.getNumericDocValues(MODIFIED_FIELD);
+        NumericDocValues lengths = reader.getNumericDocValues(LENGTH_FIELD);
+        NumericDocValues contentIndexed = reader.getNumericDocValues(CONTENT_INDEXED_FIELD);
+        if (paths == null || modified == null || lengths == null || contentIndexed == null) {
+          // documents without fingerprint are indexed by previous versions, they are re-indexed
+          continue;
+        }
+        Bits liveDocs = reader.getLiveDocs();
+        for (int docId = 0; docId < reader.maxDoc(); docId++) {
+          if (liveDocs == null || liveDocs.get(docId)) {
+            fingerprints.put(
+                paths.get(docId).utf8ToString(),
+                new long[] {modified.get(docId), lengths.get(docId), contentIndexed.get(docId)});
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    } finally {
+      try {
+        searcherManager.release(luceneSearcher);
+      } catch (IOException e) {
+        LOG.error(e.getMessage());
+      }
+    }
+    return fingerprints;
+  }
+
+  private long[] fingerprintOf(VirtualFile virtualFile) throws ServerException {
+    return new long[] {
+      virtualFile.getLastModificationDate(),
+      virtualFile.getLength(),
+      shouldIndexContent(virtualFile) ? 1 : 0
+    };
+  }
+
   protected void addFile(VirtualFile virtualFile) throws ServerException {
     if (virtualFile.exists()) {
       try (Reader fContentReader =
@@ -468,8 +620,13 @@ public abstract class LuceneSearcher implements Searcher {
 
   protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
     final Document doc = new Document();
-    doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
+    final String path = virtualFile.getPath().toString();
+    doc.add(new StringField(PATH_FIELD, path, Field.Store.YES));
+    doc.add(new BinaryDocValuesField(PATH_FIELD, new BytesRef(path)));
     doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+    doc.add(new NumericDocValuesField(MODIFIED_FIELD, virtualFile.getLastModificationDate()));
+    doc.add(new NumericDocValuesField(LENGTH_FIELD, virtualFile.getLength()));
+    doc.add(new NumericDocValuesField(CONTENT_INDEXED_FIELD, reader != null ? 1 : 0));
     if (reader != null) {
       try {
         doc.add(new TextField(TEXT_FIELD, CharStreams.toString(reader), Field.Store.YES));
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.ScoreDoc;
+
+/**
+ * Position in search result that allows to retrieve next page of results with single {@code
+ * searchAfter} call. Cursor is bound to the version of the index reader it was created with,
+ * document ids of cursor are meaningless for any other version.
+ */
+final class SearchCursor {
+  private static final char SEPARATOR = '.';
+  private static final int RADIX = Character.MAX_RADIX;
+
+  /**
+   * Parses cursor from its string representation.
+   *
+   * @return parsed cursor or {@code null} if given string is not a valid cursor
+   */
+  static SearchCursor parse(String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    final String[] parts = cursor.split("\\" + SEPARATOR);
+    if (parts.length != 4) {
+      return null;
+    }
+    try {
+      return new SearchCursor(
+          Long.parseLong(parts[0], RADIX),
+          Integer.parseInt(parts[1], RADIX),
+          new ScoreDoc(
+              Integer.parseInt(parts[2], RADIX),
+              Float.intBitsToFloat(Integer.parseInt(parts[3], RADIX))));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private final long generation;
+  private final int position;
+  private final ScoreDoc lastScoreDoc;
+
+  SearchCursor(long generation, int position, ScoreDoc lastScoreDoc) {
+    this.generation = generation;
+    this.position = position;
+    this.lastScoreDoc = lastScoreDoc;
+  }
+
+  /** Version of index reader the cursor was created with. */
+  long getGeneration() {
+    return generation;
+  }
+
+  /** Number of results before the cursor. */
+  int getPosition() {
+    return position;
+  }
+
+  /** Last document of previous page. */
+  ScoreDoc getLastScoreDoc() {
+    return lastScoreDoc;
+  }
+
+  @Override
+  public String toString() {
+    return Long.toString(generation, RADIX)
+        + SEPARATOR
+        + Integer.toString(position, RADIX)
+        + SEPARATOR
+        + Integer.toString(lastScoreDoc.doc, RADIX)
+        + SEPARATOR
+        + Integer.toString(Float.floatToIntBits(lastScoreDoc.score), RADIX);
+  }
+}
@@ -10,40 +10,66 @@
  */
 package org.eclipse.che.api.vfs.watcher;
 
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.lang.Thread.currentThread;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
-import java.nio.file.NoSuchFileException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Walks a file system tree, register addition, update and removal of file system items. On events
+ * Tracks a file system tree, register addition, update and removal of file system items. On events
  * runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>The tree is scanned once on start, after that every tracked directory is watched by {@link
+ * FileWatcherService}, which shares its watch service and watch keys with on demand registrations,
+ * and only entries reported by watch events are examined. State of the tree is kept in a trie of
+ * entry names, so the snapshot does not hold a full path per entry. Content of a directory is
+ * rescanned only when the watch service reports {@link
+ * java.nio.file.StandardWatchEventKinds#OVERFLOW} for it, or when the directory can not be watched
+ * (e.g. the limit of watches is reached), in the last case such directories are rescanned
+ * periodically. An entry is matched against the exclude patterns only once, when it is found, and
+ * excluded entries are kept in the trie as marks, so further events of an excluded entry and
+ * anything below an excluded directory never reach the exclude patterns.
  */
 @Singleton
 public class FileTreeWalker {
   private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
-  private final File root;
+  private static final String ROOT_NAME = "";
+
+  private final Path root;
 
   private final Set<Consumer<Path>> directoryUpdateConsumers;
   private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -55,8 +81,14 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private final FileWatcherService watcherService;
+
+  /** Holder of the root node, root is kept as a child with empty name. */
+  private final Node top = new Node(true, false, 0);
+
+  private final Set<Path> unwatched = new HashSet<>();
+
+  private ExecutorService executor;
 
   @Inject
   public FileTreeWalker(
@@ -68,8 +100,10 @@ public class FileTreeWalker {
       @Named("che.fs.file.update") Set<Consumer<Path>> fileUpdateConsumers,
       @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
-      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
-    this.root = root;
+      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes,
+      FileWatcherService watcherService) {
+    this.root = root.toPath().toAbsolutePath();
+    this.watcherService = watcherService;
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
     this.directoryCreateConsumers = directoryCreateConsumers;
@@ -83,79 +117,247 @@ public class FileTreeWalker {
     this.fileExcludes = fileExcludes;
   }
 
+  @PostConstruct
+  void start() {
+    executor =
+        newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat(FileTreeWalker.class.getSimpleName())
+                .setDaemon(true)
+                .build());
+    watcherService.setTrackedEventsConsumer(this::onEvents);
+    executor.execute(this::walk);
+  }
+
+  @PreDestroy
+  void stop() {
+    watcherService.setTrackedEventsConsumer(null);
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(5, SECONDS)) {
+        LOG.debug("Tree walker is not stopped yet");
+      }
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+
+  /** Scans the whole tree and runs consumers for all the changes found since the previous scan. */
+  synchronized void walk() {
+    LOG.debug("Tree walk started");
+    sync(top, ROOT_NAME, root, true);
+    LOG.debug("Tree walk finished");
+  }
+
+  /** Rescans content of the directories which could not be registered in the watch service. */
   @ScheduleRate(period = 10)
-  void walk() {
+  synchronized void rescanUnwatched() {
+    for (Path dir : new ArrayList<>(unwatched)) {
+      unwatched.remove(dir);
+      Node node = find(dir);
+      if (node != null) {
+        watch(dir, node);
+        syncChildren(node, dir, false);
+      }
+    }
+  }
+
+  /** Events are passed by the watcher service thread and processed by the walker thread. */
+  private void onEvents(Path dir, List<WatchEvent<?>> events) {
     try {
-      LOG.debug("Tree walk started");
-
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
-
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
-
-      walkFileTree(
-          root.toPath(),
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
-
-              return CONTINUE;
-            }
-          });
-      LOG.debug("Tree walk finished");
-    } catch (NoSuchFileException e) {
-      LOG.debug(
-          "Trying to process a file, however seems like it is already not present: {}",
-          e.getMessage());
-    } catch (Exception e) {
-      LOG.error("Error while walking file tree", e);
-    }
-  }
-
-  private void updateFsTreeAndAcceptConsumables(
-      Map<Path, Long> items,
-      Set<Consumer<Path>> updateConsumer,
-      Set<Consumer<Path>> createConsumer,
-      Path path,
-      BasicFileAttributes attrs) {
-    Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
-
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        updateConsumer.forEach(it -> it.accept(path));
-        items.put(path, lastModifiedActual);
+      executor.execute(() -> process(dir, events));
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Tree walker is stopped, skipping events of '{}'", dir);
+    }
+  }
+
+  private synchronized void process(Path dir, List<WatchEvent<?>> events) {
+    Node parent = find(dir.equals(root) ? null : dir.getParent());
+    Node node = parent == null ? null : parent.getChild(nameOf(dir));
+    if (node != null && node.watchKey != null) {
+      for (WatchEvent<?> event : events) {
+        if (event.kind() == OVERFLOW) {
+          LOG.debug("Detected file system events overflowing, rescanning '{}'", dir);
+          syncChildren(node, dir, false);
+          continue;
+        }
+        Path name = (Path) event.context();
+        sync(node, name.toString(), dir.resolve(name), event.kind() == ENTRY_CREATE);
+      }
+      // modification time of a directory is changed by its entries creation and removal
+      sync(parent, nameOf(dir), dir, false);
+    }
+  }
+
+  /**
+   * Brings an entry of the snapshot in line with file system. Content of already tracked
+   * directory is examined only if {@code deep} is {@code true}, content of a directory that is not
+   * tracked yet is always examined. A found entry is matched against the exclude patterns once, the
+   * result is kept in the snapshot until the entry is removed or its type is changed.
+   */
+  private void sync(Node parent, String name, Path path, boolean deep) {
+    Node node = parent.getChild(name);
+    BasicFileAttributes attrs = readAttributes(path);
+    if (node != null && (attrs == null || node.directory != attrs.isDirectory())) {
+      removed(path, parent.removeChild(name));
+      node = null;
+    }
+    if (attrs == null || node != null && node.excluded) {
+      return;
+    }
+
+    long lastModified = attrs.lastModifiedTime().toMillis();
+    if (node == null) {
+      boolean directory = attrs.isDirectory();
+      if (isExcluded(directory ? directoryExcludes : fileExcludes, path)) {
+        parent.addChild(name, new Node(directory, true, lastModified));
+        return;
+      }
+      node = parent.addChild(name, new Node(directory, false, lastModified));
+      accept(node.directory ? directoryCreateConsumers : fileCreateConsumers, path);
+      if (node.directory) {
+        watch(path, node);
+        syncChildren(node, path, true);
       }
     } else {
-      createConsumer.forEach(it -> it.accept(path));
-      items.put(path, lastModifiedActual);
+      if (node.lastModified != lastModified) {
+        node.lastModified = lastModified;
+        accept(node.directory ? directoryUpdateConsumers : fileUpdateConsumers, path);
+      }
+      if (node.directory && deep) {
+        syncChildren(node, path, true);
+      }
+    }
+  }
+
+  private void syncChildren(Node node, Path dir, boolean deep) {
+    Set<String> names = new HashSet<>();
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+      for (Path entry : entries) {
+        names.add(entry.getFileName().toString());
+      }
+    } catch (IOException e) {
+      LOG.debug("Can't read directory '{}', it is most likely removed: {}", dir, e.getMessage());
+      return;
+    }
+    for (String name : node.getChildNames()) {
+      if (!names.contains(name)) {
+        removed(dir.resolve(name), node.removeChild(name));
+      }
+    }
+    for (String name : names) {
+      sync(node, name, dir.resolve(name), deep);
+    }
+  }
+
+  /** Forgets removed entry with all its descendants, children are reported before parents. */
+  private void removed(Path path, Node node) {
+    if (node.excluded) {
+      return;
+    }
+    if (node.directory) {
+      for (String name : node.getChildNames()) {
+        removed(path.resolve(name), node.removeChild(name));
+      }
+      if (node.watchKey != null) {
+        watcherService.unTrack(path, node.watchKey);
+      }
+      unwatched.remove(path);
+    }
+    accept(node.directory ? directoryDeleteConsumers : fileDeleteConsumers, path);
+  }
+
+  private void watch(Path dir, Node node) {
+    try {
+      node.watchKey = watcherService.track(dir);
+    } catch (ClosedWatchServiceException e) {
+      LOG.debug("Tree walker watch service is closed");
+    } catch (IOException e) {
+      if (unwatched.isEmpty()) {
+        LOG.warn(
+            "Can't watch directory '{}', it will be rescanned periodically. {}",
+            dir,
+            e.getMessage());
+      }
+      unwatched.add(dir);
+    }
+  }
+
+  private Node find(Path dir) {
+    Node node = top.getChild(ROOT_NAME);
+    if (dir == null) {
+      return top;
+    } else if (dir.equals(root) || node == null) {
+      return node;
+    }
+    for (Path name : root.relativize(dir)) {
+      node = node.getChild(name.toString());
+      if (node == null) {
+        return null;
+      }
+    }
+    return node;
+  }
+
+  private String nameOf(Path path) {
+    return path.equals(root) ? ROOT_NAME : path.getFileName().toString();
+  }
+
+  private static BasicFileAttributes readAttributes(Path path) {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static void accept(Set<Consumer<Path>> consumers, Path path) {
+    for (Consumer<Path> consumer : consumers) {
+      try {
+        consumer.accept(path);
+      } catch (RuntimeException e) {
+        LOG.error("Error while processing '{}'", path, e);
+      }
+    }
+  }
+
+  /** Entry of the tree snapshot, excluded entries are kept without children and watch key. */
+  private static final class Node {
+    final boolean directory;
+    final boolean excluded;
+    long lastModified;
+    WatchKey watchKey;
+    Map<String, Node> children;
+
+    Node(boolean directory, boolean excluded, long lastModified) {
+      this.directory = directory;
+      this.excluded = excluded;
+      this.lastModified = lastModified;
+    }
+
+    Node getChild(String name) {
+      return children == null ? null : children.get(name);
+    }
+
+    Node addChild(String name, Node child) {
+      if (children == null) {
+        children = new HashMap<>(4);
+      }
+      children.put(name, child);
+      return child;
+    }
+
+    Node removeChild(String name) {
+      Node child = children.remove(name);
+      if (children.isEmpty()) {
+        children = null;
+      }
+      return child;
+    }
+
+    List<String> getChildNames() {
+      return children == null ? new ArrayList<>() : new ArrayList<>(children.keySet());
     }
   }
 }
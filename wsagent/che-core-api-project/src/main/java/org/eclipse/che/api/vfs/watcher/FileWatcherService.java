@@ -33,10 +33,12 @@ import java.nio.file.WatchService;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -53,6 +55,10 @@ import org.slf4j.LoggerFactory;
  * ordinary java file system paths in counter to che virtual file system which may have custom root
  * element and structure. Transforming one we of path representation into another and backwards is
  * the responsibility of upper services.
+ *
+ * <p>Besides on demand registrations the service watches directories tracked by {@link
+ * FileTreeWalker}. A directory is registered in the underlying {@link WatchService} only once
+ * whoever is interested in it, so tracking of the whole tree does not double the number of watches.
  */
 @Singleton
 public class FileWatcherService {
@@ -63,6 +69,7 @@ public class FileWatcherService {
 
   private final Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
   private final Map<Path, Integer> registrations = new ConcurrentHashMap<>();
+  private final Set<Path> trackedDirs = ConcurrentHashMap.newKeySet();
 
   private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
   private final FileWatcherEventHandler handler;
@@ -71,6 +78,7 @@ public class FileWatcherService {
   private final Kind<?>[] eventKinds;
 
   private ExecutorService executor;
+  private volatile BiConsumer<Path, List<WatchEvent<?>>> trackedEventsConsumer;
 
   @Inject
   public FileWatcherService(
@@ -182,22 +190,24 @@ public class FileWatcherService {
       return;
     }
     LOG.debug("Registering directory '{}'", dir);
-    if (keys.values().contains(dir)) {
-      int previous = registrations.get(dir);
-      LOG.debug(
-          "Directory is already being watched, increasing watch counter, previous value: {}",
-          previous);
-      registrations.put(dir, previous + 1);
-    } else {
-      try {
-        LOG.debug("Starting watching directory '{}'", dir);
-        synchronized (keys) {
-          WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
-          keys.put(watchKey, dir);
+    synchronized (keys) {
+      Integer previous = registrations.get(dir);
+      if (previous != null) {
+        LOG.debug(
+            "Directory is already being watched, increasing watch counter, previous value: {}",
+            previous);
+        registrations.put(dir, previous + 1);
+      } else {
+        try {
+          LOG.debug("Starting watching directory '{}'", dir);
+          if (!trackedDirs.contains(dir)) {
+            WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
+            keys.put(watchKey, dir);
+          }
           registrations.put(dir, 1);
+        } catch (IOException e) {
+          LOG.error("Can't register dir {} in file watch service", dir, e);
         }
-      } catch (IOException e) {
-        LOG.error("Can't register dir {} in file watch service", dir, e);
       }
     }
   }
@@ -239,8 +249,10 @@ public class FileWatcherService {
       LOG.debug("Stopping watching directory '{}'", dir);
       registrations.remove(dir);
 
-      keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
-      keys.entrySet().removeIf(equalsDir);
+      if (!trackedDirs.contains(dir)) {
+        keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
+        keys.entrySet().removeIf(equalsDir);
+      }
     } else {
       LOG.debug(
           "Directory is being watched by someone else, decreasing watch counter, previous value: {}",
@@ -249,6 +261,47 @@ public class FileWatcherService {
     }
   }
 
+  /**
+   * Starts watching a directory which content is tracked by {@link FileTreeWalker}. Unlike {@link
+   * #register(Path)} tracking is not counted, all the events of a tracked directory including
+   * overflows are passed to the consumer set with {@link #setTrackedEventsConsumer(BiConsumer)}
+   * even if the service is suspended, and a failure (e.g. the limit of watches is reached) is
+   * reported to the caller.
+   *
+   * @param dir directory
+   * @return watch key of the directory that should be passed to {@link #unTrack(Path, WatchKey)}
+   * @throws IOException if directory can not be registered in the watch service
+   */
+  WatchKey track(Path dir) throws IOException {
+    synchronized (keys) {
+      WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
+      keys.put(watchKey, dir);
+      trackedDirs.add(dir);
+      return watchKey;
+    }
+  }
+
+  /**
+   * Stops tracking of a directory, it is still watched if it is registered with {@link
+   * #register(Path)}.
+   *
+   * @param dir directory
+   * @param watchKey watch key returned by {@link #track(Path)}
+   */
+  void unTrack(Path dir, WatchKey watchKey) {
+    synchronized (keys) {
+      if (trackedDirs.remove(dir) && !registrations.containsKey(dir)) {
+        watchKey.cancel();
+        keys.remove(watchKey);
+      }
+    }
+  }
+
+  /** Sets consumer of the events of directories registered with {@link #track(Path)}. */
+  void setTrackedEventsConsumer(BiConsumer<Path, List<WatchEvent<?>>> consumer) {
+    this.trackedEventsConsumer = consumer;
+  }
+
   /**
    * Resumes service after it was in suspended state. If method is called when the service is
    * already not in a suspended state nothing happens.
@@ -291,6 +344,18 @@ public class FileWatcherService {
 
         List<WatchEvent<?>> watchEvents = watchKey.pollEvents();
 
+        BiConsumer<Path, List<WatchEvent<?>>> consumer = trackedEventsConsumer;
+        if (consumer != null && trackedDirs.contains(dir)) {
+          consumer.accept(dir, watchEvents);
+        }
+
+        if (!registrations.containsKey(dir)) {
+          resetAndRemove(watchKey, dir);
+
+          LOG.debug("Reported directory is only tracked by tree walker - skipping.");
+          continue;
+        }
+
         if (suspended.get()) {
           resetAndRemove(watchKey, dir);
 
@@ -334,6 +399,7 @@ public class FileWatcherService {
     if (!watchKey.reset()) {
       if (dir != null) {
         registrations.remove(dir);
+        trackedDirs.remove(dir);
       }
       keys.remove(watchKey);
     }
@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.project.server;
 
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
@@ -200,6 +201,28 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
 
   }
 
+  @Test
+  public void testChildProjects() throws Exception {
+    new File(root, "/normalized").mkdir();
+
+    assertEquals(5, projectRegistry.getProjects("/").size());
+    assertEquals(singletonList("/normal/module"), projectRegistry.getProjects("/normal"));
+    assertEquals(singletonList("/normal/module"), projectRegistry.getProjects("normal/"));
+    assertTrue(projectRegistry.getProjects("/norm").isEmpty());
+    assertTrue(projectRegistry.getProjects("/normal/module").isEmpty());
+  }
+
+  @Test
+  public void testDetectsFolderCreatedOnRootAfterPreviousCheck() throws Exception {
+    assertTrue(root.setLastModified(System.currentTimeMillis() - 10000));
+    assertEquals(4, projectRegistry.getProjects().size());
+
+    new File(root, "/newFolder").mkdir();
+
+    assertEquals("/newFolder", projectRegistry.getProject("/newFolder").getPath());
+    assertEquals(5, projectRegistry.getProjects().size());
+  }
+
   @Test
   public void testSerializeProject() throws Exception {
     ProjectConfig config = DtoConverter.asDto(pm.getProject("/fromConfig"));
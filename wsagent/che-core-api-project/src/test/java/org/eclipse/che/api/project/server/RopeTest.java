@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static com.google.common.base.Strings.repeat;
+import static org.testng.Assert.assertEquals;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+public class RopeTest {
+
+  @Test
+  public void insertsText() {
+    Rope rope = new Rope("hello world");
+
+    rope.insert(5, ",");
+    rope.insert(0, ">> ");
+    rope.insert(rope.length(), "!");
+
+    assertEquals(rope.toString(), ">> hello, world!");
+    assertEquals(rope.length(), 16);
+  }
+
+  @Test
+  public void removesText() {
+    Rope rope = new Rope("hello, world");
+
+    rope.remove(5, 1);
+    rope.remove(0, 1);
+
+    assertEquals(rope.toString(), "ello world");
+  }
+
+  @Test
+  public void removesTextTillEndWhenCountExceedsLength() {
+    Rope rope = new Rope("hello world");
+
+    rope.remove(5, 100);
+
+    assertEquals(rope.toString(), "hello");
+  }
+
+  @Test
+  public void insertsIntoEmptyText() {
+    Rope rope = new Rope("");
+
+    rope.insert(0, "text");
+
+    assertEquals(rope.toString(), "text");
+  }
+
+  @Test
+  public void editsTextLongerThanChunk() {
+    String text = repeat("a", Rope.MAX_CHUNK_LENGTH * 3 + 7);
+    Rope rope = new Rope(text);
+    StringBuilder expected = new StringBuilder(text);
+
+    rope.insert(Rope.MAX_CHUNK_LENGTH, repeat("b", Rope.MAX_CHUNK_LENGTH * 2));
+    expected.insert(Rope.MAX_CHUNK_LENGTH, repeat("b", Rope.MAX_CHUNK_LENGTH * 2));
+    rope.remove(10, Rope.MAX_CHUNK_LENGTH * 2);
+    expected.delete(10, 10 + Rope.MAX_CHUNK_LENGTH * 2);
+
+    assertEquals(rope.toString(), expected.toString());
+    assertEquals(rope.length(), expected.length());
+  }
+
+  @Test
+  public void appliesRandomEditsSameWayAsStringBuilder() {
+    Random random = new Random(42);
+    StringBuilder expected = new StringBuilder(repeat("0123456789", 500));
+    Rope rope = new Rope(expected.toString());
+
+    for (int i = 0; i < 5000; i++) {
+      int offset = random.nextInt(expected.length() + 1);
+      if (random.nextBoolean()) {
+        String text = repeat(String.valueOf((char) ('a' + random.nextInt(26))), random.nextInt(40));
+        rope.insert(offset, text);
+        expected.insert(offset, text);
+      } else {
+        int count = random.nextInt(30);
+        rope.remove(offset, count);
+        expected.delete(offset, Math.min(expected.length(), offset + count));
+      }
+      if (i % 500 == 0) {
+        assertEquals(rope.toString(), expected.toString());
+      }
+    }
+
+    assertEquals(rope.toString(), expected.toString());
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void failsToInsertOutOfRange() {
+    new Rope("text").insert(5, "x");
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void failsToRemoveOutOfRange() {
+    new Rope("text").remove(-1, 1);
+  }
+}
@@ -218,6 +218,101 @@ public class PathLockFactoryTest extends TestCase {
     }
   }
 
+  public void testChildLockBlocksExclusiveParentLock() throws Exception {
+    final CountDownLatch starter = new CountDownLatch(1);
+    final CountDownLatch finisher = new CountDownLatch(1);
+    Thread childTask =
+        new Thread() {
+          @Override
+          public void run() {
+            PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false);
+            lock.acquire();
+            starter.countDown();
+            try {
+              finisher.await();
+            } catch (InterruptedException ignored) {
+            } finally {
+              lock.release();
+            }
+          }
+        };
+    childTask.start();
+    starter.await();
+    try {
+      pathLockFactory.getLock(path.getParent().getParent(), true).acquire(100);
+      fail();
+    } catch (RuntimeException e) {
+      // OK
+    }
+    // shared lock of parent does not conflict with shared lock of child
+    pathLockFactory.getLock(path.getParent(), false).acquire(100).release();
+
+    finisher.countDown();
+    childTask.join();
+    pathLockFactory.getLock(path.getParent().getParent(), true).acquire(100).release();
+  }
+
+  public void testUnrelatedPathsAreLockedConcurrently() throws Exception {
+    final CountDownLatch starter = new CountDownLatch(1);
+    final CountDownLatch finisher = new CountDownLatch(1);
+    Thread task =
+        new Thread() {
+          @Override
+          public void run() {
+            PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true);
+            lock.acquire();
+            starter.countDown();
+            try {
+              finisher.await();
+            } catch (InterruptedException ignored) {
+            } finally {
+              lock.release();
+            }
+          }
+        };
+    task.start();
+    starter.await();
+    try {
+      pathLockFactory.getLock(Path.of("/a/b/d"), true).acquire(100).release();
+      pathLockFactory.getLock(Path.of("/x/y"), true).acquire(100).release();
+    } finally {
+      finisher.countDown();
+      task.join();
+    }
+  }
+
+  public void testRootLockConflictsWithAnyLock() throws Exception {
+    final CountDownLatch starter = new CountDownLatch(1);
+    final CountDownLatch finisher = new CountDownLatch(1);
+    Thread task =
+        new Thread() {
+          @Override
+          public void run() {
+            PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.ROOT, true);
+            lock.acquire();
+            starter.countDown();
+            try {
+              finisher.await();
+            } catch (InterruptedException ignored) {
+            } finally {
+              lock.release();
+            }
+          }
+        };
+    task.start();
+    starter.await();
+    try {
+      pathLockFactory.getLock(Path.of("/x/y"), false).acquire(100);
+      fail();
+    } catch (RuntimeException e) {
+      // OK
+    }
+    finisher.countDown();
+    task.join();
+    pathLockFactory.getLock(Path.of("/x/y"), false).acquire(100).release();
+    pathLockFactory.checkClean();
+  }
+
   public void testLockSameThread() throws Exception {
     final AtomicInteger acquired = new AtomicInteger(0);
     final CountDownLatch waiter = new CountDownLatch(1);
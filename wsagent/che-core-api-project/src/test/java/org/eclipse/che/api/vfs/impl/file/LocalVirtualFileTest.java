@@ -368,6 +368,57 @@ public class LocalVirtualFileTest {
     assertEquals(expectedResult, children);
   }
 
+  @Test
+  public void getsChildrenCreatedBypassingVirtualFileSystem() throws Exception {
+    VirtualFile folder = getRoot().createFolder(generateFolderName());
+    VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+    assertTrue(folder.toIoFile().setLastModified(System.currentTimeMillis() - 10000));
+    assertEquals(newArrayList(file1), folder.getChildren());
+
+    String name = generateFileName();
+    assertTrue(new File(folder.toIoFile(), name).createNewFile());
+
+    List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+    Collections.sort(expectedResult);
+    assertEquals(expectedResult, folder.getChildren());
+  }
+
+  @Test
+  public void getsChildrenCreatedBypassingVirtualFileSystemAfterCachesInvalidated()
+      throws Exception {
+    VirtualFile folder = getRoot().createFolder(generateFolderName());
+    VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+    long lastModified = System.currentTimeMillis() - 10000;
+    assertTrue(folder.toIoFile().setLastModified(lastModified));
+    assertEquals(newArrayList(file1), folder.getChildren());
+
+    String name = generateFileName();
+    assertTrue(new File(folder.toIoFile(), name).createNewFile());
+    assertTrue(folder.toIoFile().setLastModified(lastModified));
+    assertEquals(newArrayList(file1), folder.getChildren());
+
+    fileSystem.invalidateCaches(folder.getPath().newPath(name));
+
+    List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+    Collections.sort(expectedResult);
+    assertEquals(expectedResult, folder.getChildren());
+  }
+
+  @Test
+  public void getsChildrenAfterChildDeleted() throws Exception {
+    VirtualFile folder = getRoot().createFolder(generateFolderName());
+    VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+    VirtualFile file2 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+    long lastModified = System.currentTimeMillis() - 10000;
+    assertTrue(folder.toIoFile().setLastModified(lastModified));
+    assertEquals(2, folder.getChildren().size());
+
+    file2.delete();
+    assertTrue(folder.toIoFile().setLastModified(lastModified));
+
+    assertEquals(newArrayList(file1), folder.getChildren());
+  }
+
   @Test
   public void getsChild() throws Exception {
     VirtualFile root = getRoot();
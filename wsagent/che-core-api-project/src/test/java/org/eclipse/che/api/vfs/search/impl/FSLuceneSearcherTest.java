@@ -14,10 +14,13 @@ import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.base.Optional;
@@ -305,6 +308,44 @@ public class FSLuceneSearcherTest {
     verify(closeCallback).onClose();
   }
 
+  @Test
+  public void keepsIndexWhenSearcherClosed() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem.getRoot().createFolder("folder").createFile("zzz.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+    searcher.close();
+
+    searcher = spy(new FSLuceneSearcher(indexDirectory, filter, closeCallback));
+    searcher.init(virtualFileSystem);
+
+    verify(searcher, never()).addFile(any(VirtualFile.class));
+    List<String> paths = searcher.search(new QueryExpression().setText("think")).getFilePaths();
+    assertEquals(newArrayList("/folder/zzz.txt"), paths);
+  }
+
+  @Test
+  public void reconcilesIndexWithFilesChangedWhileSearcherClosed() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    VirtualFile deleted = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+    VirtualFile updated = folder.createFile("zzz.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+    searcher.close();
+
+    deleted.delete();
+    updated.updateContent(TEST_CONTENT[0]);
+    folder.createFile("yyy.txt", TEST_CONTENT[4]);
+    searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+    searcher.init(virtualFileSystem);
+
+    List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+    assertTrue(paths.isEmpty());
+    paths = searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths();
+    assertEquals(newArrayList("/folder/zzz.txt"), paths);
+    paths = searcher.search(new QueryExpression().setText("think")).getFilePaths();
+    assertEquals(newArrayList("/folder/yyy.txt"), paths);
+  }
+
   @Test
   public void excludesFilesFromIndexWithFilter() throws Exception {
     VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -382,6 +423,50 @@ public class FSLuceneSearcherTest {
     assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
   }
 
+  @Test
+  public void retrievesNextPageWithSearchCursor() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 125; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+    List<String> allPaths =
+        searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths();
+
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(10));
+    QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+    assertNotNull(nextPageQueryExpression.getSearchCursor());
+    SearchResult secondPage = searcher.search(nextPageQueryExpression);
+
+    List<String> pagedPaths = newArrayList(firstPage.getFilePaths());
+    pagedPaths.addAll(secondPage.getFilePaths());
+    assertEquals(pagedPaths, allPaths.subList(0, 20));
+  }
+
+  @Test
+  public void skipsResultsWhenSearchCursorIsStale() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 125; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(10));
+    QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+
+    searcher.add(virtualFileSystem.getRoot().createFile("new", TEST_CONTENT[0]));
+
+    List<String> allPaths =
+        searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths();
+    SearchResult secondPage = searcher.search(nextPageQueryExpression);
+    assertEquals(secondPage.getFilePaths(), allPaths.subList(10, 20));
+  }
+
   private VirtualFileSystem virtualFileSystem() throws Exception {
     return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
   }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LineOffsetsTest {
+
+  @DataProvider
+  public Object[][] offsets() {
+    return new Object[][] {
+      {"", 0, 0, ""},
+      {"single line", 7, 0, "single line"},
+      {"first\nsecond\nthird", 5, 0, "first"},
+      {"first\nsecond\nthird", 6, 1, "second"},
+      {"first\nsecond\nthird", 18, 2, "third"},
+      {"first\r\nsecond\r\nthird", 7, 1, "second"},
+      {"first\r\nsecond\r\nthird", 6, 0, "first"},
+      {"first\rsecond\rthird", 13, 2, "third"},
+      {"first\n\nthird\n", 6, 1, ""},
+      {"first\n\nthird\n", 13, 3, ""}
+    };
+  }
+
+  @Test(dataProvider = "offsets")
+  public void resolvesLineOfOffset(String text, int offset, int line, String lineText) {
+    LineOffsets lineOffsets = new LineOffsets(text);
+
+    assertEquals(lineOffsets.getLineOfOffset(offset), line);
+    assertEquals(lineOffsets.getLine(line), lineText);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void failsWhenOffsetIsOutOfText() {
+    new LineOffsets("text").getLineOfOffset(5);
+  }
+}
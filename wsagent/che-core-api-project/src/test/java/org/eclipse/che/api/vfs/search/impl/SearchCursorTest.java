@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class SearchCursorTest {
+
+  @Test
+  public void parsesCursorFromItsStringRepresentation() {
+    SearchCursor cursor = new SearchCursor(42L, 100, new ScoreDoc(1234, 0.75F));
+
+    SearchCursor parsed = SearchCursor.parse(cursor.toString());
+
+    assertEquals(parsed.getGeneration(), 42L);
+    assertEquals(parsed.getPosition(), 100);
+    assertEquals(parsed.getLastScoreDoc().doc, 1234);
+    assertEquals(parsed.getLastScoreDoc().score, 0.75F);
+  }
+
+  @DataProvider
+  public Object[][] invalidCursors() {
+    return new Object[][] {{null}, {""}, {"a.b.c"}, {"1.2.3.4.5"}, {"1.2.3.!"}};
+  }
+
+  @Test(dataProvider = "invalidCursors")
+  public void returnsNullWhenCursorIsInvalid(String cursor) {
+    assertNull(SearchCursor.parse(cursor));
+  }
+}
@@ -13,14 +13,19 @@ package org.eclipse.che.api.vfs.watcher;
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.junit.After;
 import org.junit.Before;
@@ -43,6 +48,7 @@ public class FileTreeWalkerTest {
   @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
 
   FileTreeWalker fileTreeWalker;
+  FileWatcherService fileWatcherService;
 
   Set<Consumer<Path>> directoryCreateConsumers = new HashSet<>();
   Set<Consumer<Path>> directoryUpdateConsumers = new HashSet<>();
@@ -61,9 +67,16 @@ public class FileTreeWalkerTest {
   @Mock Consumer<Path> directoryUpdateConsumerMock;
 
   @Mock Consumer<Path> directoryDeleteConsumerMock;
+  @Mock FileWatcherEventHandler fileWatcherEventHandler;
+  @Mock FileWatcherExcludePatternsRegistry fileWatcherExcludePatternsRegistry;
 
   @Before
   public void setUp() throws Exception {
+    fileWatcherService =
+        new FileWatcherService(
+            fileWatcherExcludePatternsRegistry,
+            fileWatcherEventHandler,
+            FileSystems.getDefault().newWatchService());
     fileTreeWalker =
         new FileTreeWalker(
             rootFolder.getRoot(),
@@ -74,7 +87,8 @@ public class FileTreeWalkerTest {
             fileUpdateConsumers,
             fileCreateConsumers,
             fileDeleteConsumers,
-            fileExcludes);
+            fileExcludes,
+            fileWatcherService);
   }
 
   @After
@@ -169,6 +183,81 @@ public class FileTreeWalkerTest {
     verify(directoryDeleteConsumerMock).accept(file.toPath());
   }
 
+  @Test
+  public void shouldRunConsumersOnWatchEventsAfterStart() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+    directoryCreateConsumers.add(directoryCreatedConsumerMock);
+    fileWatcherService.start();
+    fileTreeWalker.start();
+    try {
+      sleep(FS_LATENCY_DELAY);
+      File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+      verify(directoryCreatedConsumerMock, timeout(10 * FS_LATENCY_DELAY)).accept(folder.toPath());
+
+      File file = new File(folder, TEST_FILE_NAME);
+      write(file, TEST_FILE_CONTENT);
+      verify(fileCreatedConsumerMock, timeout(10 * FS_LATENCY_DELAY)).accept(file.toPath());
+
+      Files.delete(file.toPath());
+      verify(fileDeleteConsumerMock, timeout(10 * FS_LATENCY_DELAY)).accept(file.toPath());
+    } finally {
+      fileTreeWalker.stop();
+      fileWatcherService.stop();
+    }
+  }
+
+  @Test
+  public void shouldKeepTrackingDirectoryWhenItsOnDemandRegistrationIsCancelled()
+      throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    fileWatcherService.start();
+    fileTreeWalker.start();
+    try {
+      sleep(FS_LATENCY_DELAY);
+      fileWatcherService.register(folder.toPath());
+      fileWatcherService.unRegister(folder.toPath());
+
+      File file = new File(folder, TEST_FILE_NAME);
+      write(file, TEST_FILE_CONTENT);
+      verify(fileCreatedConsumerMock, timeout(10 * FS_LATENCY_DELAY)).accept(file.toPath());
+    } finally {
+      fileTreeWalker.stop();
+      fileWatcherService.stop();
+    }
+  }
+
+  @Test
+  public void shouldMatchExcludedFileAgainstExcludesOnlyOnce() throws Exception {
+    AtomicInteger matches = new AtomicInteger();
+    fileExcludes.add(
+        it -> it.getFileName().toString().equals(TEST_FILE_NAME) && matches.incrementAndGet() > 0);
+    fileUpdateConsumers.add(fileUpdateConsumerMock);
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    fileTreeWalker.walk();
+    sleep(FS_LATENCY_DELAY);
+    write(file, TEST_FILE_CONTENT);
+    fileTreeWalker.walk();
+
+    assertEquals(matches.get(), 1);
+    verify(fileUpdateConsumerMock, never()).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldNotTrackEntriesOfExcludedDirectory() throws Exception {
+    directoryExcludes.add(it -> it.getFileName().toString().equals(TEST_FOLDER_NAME));
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    write(file, TEST_FILE_CONTENT);
+
+    fileTreeWalker.walk();
+    verify(fileCreatedConsumerMock, never()).accept(file.toPath());
+  }
+
   @Test
   public void shouldProperlySkipExcludedFile() throws Exception {
     fileExcludes.add(it -> it.getFileName().toString().equals(TEST_FILE_NAME));
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.Collections.emptyList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectIdOwnerMap;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+/**
+ * Answers which branches contain a commit without walking history of each branch for each commit.
+ *
+ * <p>Every commit reachable from any branch is mapped to a bit set of branches it is reachable
+ * from. Initially the sets are computed by a single topological walk propagating sets from children
+ * to parents. When branches change only the difference is walked: commits between old and new tip
+ * for fast-forwarded branch, or all the history of new or rewritten branch. Equal bit sets are
+ * shared between commits.
+ */
+class BranchReachabilityIndex {
+
+  private static final class CommitEntry extends ObjectIdOwnerMap.Entry {
+    BitSet branches;
+
+    CommitEntry(AnyObjectId id) {
+      super(id);
+    }
+  }
+
+  private final Map<BitSet, BitSet> bitSets = new HashMap<>();
+  private final Map<String, Integer> branchBits = new HashMap<>();
+  private final Map<String, ObjectId> branchTips = new HashMap<>();
+  private final List<String> branchNames = new ArrayList<>();
+  private final BitSet freeBits = new BitSet();
+
+  private ObjectIdOwnerMap<CommitEntry> commits;
+
+  /**
+   * Brings the index up to date with the specified branches.
+   *
+   * @param repository repository branches belong to
+   * @param branches all the branches to index, the order is kept by {@link #getBranches}
+   */
+  synchronized void update(Repository repository, List<Ref> branches) throws IOException {
+    Map<String, ObjectId> tips = new LinkedHashMap<>();
+    for (Ref branch : branches) {
+      if (branch.getObjectId() != null) {
+        tips.put(branch.getName(), branch.getObjectId());
+      }
+    }
+    branchNames.clear();
+    branchNames.addAll(tips.keySet());
+
+    if (commits == null) {
+      rebuild(repository, tips);
+      return;
+    }
+
+    try (RevWalk walk = new RevWalk(repository)) {
+      List<String> rewritten = new ArrayList<>();
+      for (Iterator<Map.Entry<String, ObjectId>> it = branchTips.entrySet().iterator();
+          it.hasNext(); ) {
+        Map.Entry<String, ObjectId> tracked = it.next();
+        ObjectId tip = tips.get(tracked.getKey());
+        if (tip == null) {
+          it.remove();
+          clearBit(branchBits.remove(tracked.getKey()));
+        } else if (!tip.equals(tracked.getValue())) {
+          walk.reset();
+          RevCommit oldTip = walk.parseCommit(tracked.getValue());
+          RevCommit newTip = walk.parseCommit(tip);
+          if (walk.isMergedInto(oldTip, newTip)) {
+            addReachable(repository, branchBits.get(tracked.getKey()), newTip, oldTip);
+          } else {
+            rewritten.add(tracked.getKey());
+          }
+          tracked.setValue(tip);
+        }
+      }
+      for (String name : tips.keySet()) {
+        if (!branchTips.containsKey(name)) {
+          rewritten.add(name);
+        }
+      }
+
+      if (rewritten.size() > 1) {
+        rebuild(repository, tips);
+        return;
+      }
+      for (String name : rewritten) {
+        Integer bit = branchBits.get(name);
+        if (bit == null) {
+          bit = freeBits.isEmpty() ? branchBits.size() : freeBits.nextSetBit(0);
+          freeBits.clear(bit);
+          branchBits.put(name, bit);
+        } else {
+          clearBit(bit);
+          freeBits.clear(bit);
+        }
+        branchTips.put(name, tips.get(name));
+        addReachable(repository, bit, tips.get(name), null);
+      }
+    }
+  }
+
+  /**
+   * Returns names of branches that contain specified commit in order they were passed to the last
+   * {@link #update}.
+   */
+  synchronized List<String> getBranches(AnyObjectId commit) {
+    CommitEntry entry = commits == null ? null : commits.get(commit);
+    if (entry == null || entry.branches == null) {
+      return emptyList();
+    }
+    List<String> result = new ArrayList<>();
+    for (String name : branchNames) {
+      Integer bit = branchBits.get(name);
+      if (bit != null && entry.branches.get(bit)) {
+        result.add(name);
+      }
+    }
+    return result;
+  }
+
+  private void rebuild(Repository repository, Map<String, ObjectId> tips) throws IOException {
+    commits = new ObjectIdOwnerMap<>();
+    bitSets.clear();
+    branchBits.clear();
+    branchTips.clear();
+    freeBits.clear();
+
+    try (RevWalk walk = new RevWalk(repository)) {
+      walk.sort(RevSort.TOPO);
+      for (Map.Entry<String, ObjectId> tip : tips.entrySet()) {
+        int bit = branchBits.size();
+        branchBits.put(tip.getKey(), bit);
+        branchTips.put(tip.getKey(), tip.getValue());
+
+        RevCommit commit = walk.parseCommit(tip.getValue());
+        walk.markStart(commit);
+        CommitEntry entry = getOrAdd(commit);
+        entry.branches = union(entry.branches, singleBit(bit));
+      }
+      // topological order guarantees that commit is visited after all its children
+      for (RevCommit commit = walk.next(); commit != null; commit = walk.next()) {
+        BitSet branches = getOrAdd(commit).branches;
+        for (RevCommit parent : commit.getParents()) {
+          CommitEntry parentEntry = getOrAdd(parent);
+          parentEntry.branches = union(parentEntry.branches, branches);
+        }
+      }
+    }
+  }
+
+  private void addReachable(Repository repository, int bit, AnyObjectId tip, AnyObjectId stop)
+      throws IOException {
+    BitSet branch = singleBit(bit);
+    try (RevWalk walk = new RevWalk(repository)) {
+      walk.markStart(walk.parseCommit(tip));
+      if (stop != null) {
+        walk.markUninteresting(walk.parseCommit(stop));
+      }
+      for (RevCommit commit = walk.next(); commit != null; commit = walk.next()) {
+        CommitEntry entry = getOrAdd(commit);
+        entry.branches = union(entry.branches, branch);
+      }
+    }
+  }
+
+  private void clearBit(int bit) {
+    bitSets.clear();
+    for (CommitEntry entry : commits) {
+      if (entry.branches != null && entry.branches.get(bit)) {
+        BitSet branches = (BitSet) entry.branches.clone();
+        branches.clear(bit);
+        entry.branches = branches.isEmpty() ? null : intern(branches);
+      } else if (entry.branches != null) {
+        entry.branches = intern(entry.branches);
+      }
+    }
+    freeBits.set(bit);
+  }
+
+  private CommitEntry getOrAdd(AnyObjectId id) {
+    CommitEntry entry = commits.get(id);
+    if (entry == null) {
+      entry = new CommitEntry(id);
+      commits.add(entry);
+    }
+    return entry;
+  }
+
+  private BitSet singleBit(int bit) {
+    BitSet set = new BitSet();
+    set.set(bit);
+    return intern(set);
+  }
+
+  private BitSet union(BitSet target, BitSet source) {
+    if (target == null || target == source) {
+      return source;
+    }
+    if (source == null) {
+      return target;
+    }
+    BitSet result = (BitSet) target.clone();
+    result.or(source);
+    return result.equals(target) ? target : intern(result);
+  }
+
+  private BitSet intern(BitSet set) {
+    BitSet existing = bitSets.putIfAbsent(set, set);
+    return existing != null ? existing : set;
+  }
+}
@@ -305,6 +305,7 @@ class JGitConnection implements GitConnection {
   private final EventService eventService;
   private final GitUserResolver userResolver;
   private final Repository repository;
+  private final JGitLogCache logCache;
 
   @Inject
   JGitConnection(
@@ -313,11 +314,28 @@ class JGitConnection implements GitConnection {
       SshKeyProvider sshKeyProvider,
       EventService eventService,
       GitUserResolver userResolver) {
+    this(
+        repository,
+        credentialsLoader,
+        sshKeyProvider,
+        eventService,
+        userResolver,
+        new JGitLogCache());
+  }
+
+  JGitConnection(
+      Repository repository,
+      CredentialsLoader credentialsLoader,
+      SshKeyProvider sshKeyProvider,
+      EventService eventService,
+      GitUserResolver userResolver,
+      JGitLogCache logCache) {
     this.repository = repository;
     this.credentialsLoader = credentialsLoader;
     this.sshKeyProvider = sshKeyProvider;
     this.eventService = eventService;
     this.userResolver = userResolver;
+    this.logCache = logCache;
   }
 
   @Override
@@ -756,7 +774,8 @@ class JGitConnection implements GitConnection {
       eventService.publish(
           newDto(GitCommitEvent.class)
               .withStatus(status(emptyList()))
-              .withModifiedFiles(modifiedFiles));
+              .withModifiedFiles(modifiedFiles)
+              .withProjectName(repository.getWorkTree().getName()));
 
       GitUser gitUser = newDto(GitUser.class).withName(committerName).withEmail(committerEmail);
 
@@ -953,7 +972,9 @@ class JGitConnection implements GitConnection {
     try {
       repository.create(isBare);
       eventService.publish(
-          newDto(GitRepositoryInitializedEvent.class).withStatus(status(emptyList())));
+          newDto(GitRepositoryInitializedEvent.class)
+              .withStatus(status(emptyList()))
+              .withProjectName(workDir.getName()));
     } catch (IOException exception) {
       if (removeIfFailed) {
         deleteRepositoryFolder();
@@ -979,10 +1000,12 @@ class JGitConnection implements GitConnection {
         logCommand.addPath(filePath);
       }
       Iterator<RevCommit> revIterator = logCommand.call().iterator();
+      BranchReachabilityIndex branchIndex = logCache.getBranchIndex(repository);
+      branchIndex.update(repository, getGit().branchList().setListMode(ListMode.ALL).call());
       List<Revision> commits = new ArrayList<>();
       while (revIterator.hasNext()) {
         RevCommit commit = revIterator.next();
-        Revision revision = getRevision(commit, filePath);
+        Revision revision = getRevision(commit, filePath, branchIndex);
         commits.add(revision);
       }
       return new LogPage(commits);
@@ -997,8 +1020,8 @@ class JGitConnection implements GitConnection {
     }
   }
 
-  private Revision getRevision(RevCommit commit, String filePath)
-      throws GitAPIException, IOException {
+  private Revision getRevision(
+      RevCommit commit, String filePath, BranchReachabilityIndex branchIndex) throws IOException {
     List<String> commitParentsList =
         Stream.of(commit.getParents()).map(RevCommit::getName).collect(Collectors.toList());
 
@@ -1008,7 +1031,7 @@ class JGitConnection implements GitConnection {
         .withCommitTime((long) commit.getCommitTime() * 1000)
         .withCommitter(getCommitCommitter(commit))
         .withAuthor(getCommitAuthor(commit))
-        .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
+        .withBranches(getBranchesOfCommit(commit, branchIndex))
         .withCommitParent(commitParentsList)
         .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
   }
@@ -1027,17 +1050,29 @@ class JGitConnection implements GitConnection {
         .withEmail(authorIdentity.getEmailAddress());
   }
 
-  private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-    List<Ref> branches =
-        getGit().branchList().setListMode(mode).setContains(commit.getName()).call();
-    return branches
+  private List<Branch> getBranchesOfCommit(RevCommit commit, BranchReachabilityIndex branchIndex) {
+    return branchIndex
+        .getBranches(commit)
         .stream()
-        .map(branch -> newDto(Branch.class).withName(branch.getName()))
+        .map(branch -> newDto(Branch.class).withName(branch))
         .collect(toList());
   }
 
   private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern)
       throws IOException {
+    return logCache
+        .getCommitDiffs(revCommit.getName(), pattern, () -> getCommitDiffs(revCommit, pattern))
+        .stream()
+        .map(
+            diff ->
+                newDto(DiffCommitFile.class)
+                    .withOldPath(diff.getOldPath())
+                    .withNewPath(diff.getNewPath())
+                    .withChangeType(diff.getChangeType().name()))
+        .collect(toList());
+  }
+
+  private List<DiffEntry> getCommitDiffs(RevCommit revCommit, String pattern) throws IOException {
     List<DiffEntry> diffs;
     TreeFilter filter = null;
     if (!isNullOrEmpty(pattern)) {
@@ -1046,7 +1081,6 @@ class JGitConnection implements GitConnection {
               PathFilterGroup.createFromStrings(Collections.singleton(pattern)),
               TreeFilter.ANY_DIFF);
     }
-    List<DiffCommitFile> commitFilesList = new ArrayList<>();
     try (TreeWalk tw = new TreeWalk(repository)) {
       tw.setRecursive(true);
       // get the current commit parent in order to compare it with the current commit
@@ -1077,19 +1111,7 @@ class JGitConnection implements GitConnection {
         }
       }
     }
-    if (diffs != null) {
-      commitFilesList.addAll(
-          diffs
-              .stream()
-              .map(
-                  diff ->
-                      newDto(DiffCommitFile.class)
-                          .withOldPath(diff.getOldPath())
-                          .withNewPath(diff.getNewPath())
-                          .withChangeType(diff.getChangeType().name()))
-              .collect(toList()));
-    }
-    return commitFilesList;
+    return diffs != null ? diffs : Collections.emptyList();
   }
 
   private RevCommit parseCommit(RevCommit revCommit) {
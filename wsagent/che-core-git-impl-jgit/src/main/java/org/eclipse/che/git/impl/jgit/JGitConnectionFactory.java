@@ -11,11 +11,15 @@
  */
 package org.eclipse.che.git.impl.jgit;
 
+import static java.util.Collections.emptyList;
+
 import java.io.File;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -26,9 +30,8 @@ import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
@@ -37,6 +40,7 @@ import org.eclipse.jgit.transport.UserAgent;
  *
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
 
   private static final String USER_AGENT = "git/2.1.0";
@@ -45,6 +49,9 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   private final SshKeyProvider sshKeyProvider;
   private final EventService eventService;
   private final GitUserResolver userResolver;
+  private final JGitLogCache logCache;
+  private final JGitRepositoryCache repositoryCache;
+  private final JGitStatusCache statusCache;
 
   @Inject
   public JGitConnectionFactory(
@@ -57,6 +64,9 @@ public class JGitConnectionFactory extends GitConnectionFactory {
     this.sshKeyProvider = sshKeyProvider;
     this.eventService = eventService;
     this.userResolver = userResolver;
+    this.logCache = new JGitLogCache();
+    this.repositoryCache = new JGitRepositoryCache();
+    this.statusCache = new JGitStatusCache(repositoryCache, this::loadStatus);
 
     UserAgent.set(USER_AGENT);
     // Install the all-trusting trust manager
@@ -89,19 +99,42 @@ public class JGitConnectionFactory extends GitConnectionFactory {
       throws GitException {
     Repository gitRepo = createRepository(workDir);
     JGitConnection conn =
-        new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, eventService, userResolver);
+        new JGitConnection(
+            gitRepo, credentialsLoader, sshKeyProvider, eventService, userResolver, logCache);
     conn.setOutputLineConsumerFactory(outputPublisherFactory);
     return conn;
   }
 
-  private static Repository createRepository(File workDir) throws GitException {
+  private Repository createRepository(File workDir) throws GitException {
     try {
-      return new FileRepository(new File(workDir, Constants.DOT_GIT));
+      return repositoryCache.acquire(workDir);
     } catch (IOException e) {
       throw new GitException(e.getMessage(), e);
     }
   }
 
+  @Override
+  public Status getStatus(File workDir) throws GitException {
+    return statusCache.getStatus(workDir);
+  }
+
+  @Override
+  public void invalidateStatus(File workDir) {
+    statusCache.invalidate(workDir);
+  }
+
+  private Status loadStatus(File workDir) throws GitException {
+    try (JGitConnection connection = getConnection(workDir, LineConsumerFactory.NULL)) {
+      return connection.status(emptyList());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    statusCache.shutdown();
+    repositoryCache.invalidateAll();
+  }
+
   @Override
   public CredentialsLoader getCredentialsLoader() {
     return credentialsLoader;
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.Repository;
+
+/**
+ * Keeps data that is expensive to compute for each revision returned by git log and that may be
+ * shared between connections to the same repository.
+ */
+class JGitLogCache {
+  private final LoadingCache<File, BranchReachabilityIndex> branchIndexes;
+  private final Cache<String, List<DiffEntry>> commitDiffs;
+
+  JGitLogCache() {
+    branchIndexes =
+        CacheBuilder.newBuilder()
+            .concurrencyLevel(8)
+            .maximumSize(32)
+            .expireAfterAccess(10, MINUTES)
+            .build(
+                new CacheLoader<File, BranchReachabilityIndex>() {
+                  @Override
+                  public BranchReachabilityIndex load(File gitDir) {
+                    return new BranchReachabilityIndex();
+                  }
+                });
+    commitDiffs =
+        CacheBuilder.newBuilder()
+            .concurrencyLevel(8)
+            .maximumWeight(100_000)
+            .<String, List<DiffEntry>>weigher((key, diffs) -> diffs.size() + 1)
+            .expireAfterAccess(10, MINUTES)
+            .build();
+  }
+
+  /** Returns index of branches of the repository. */
+  BranchReachabilityIndex getBranchIndex(Repository repository) {
+    return branchIndexes.getUnchecked(repository.getDirectory());
+  }
+
+  /**
+   * Returns changes made by the commit. Result depends only on the commit id and the path filter,
+   * since commit is immutable, so it is computed once.
+   *
+   * @param commitId id of the commit
+   * @param pattern path filter or {@code null}
+   * @param loader computes changes when they are not cached yet
+   */
+  List<DiffEntry> getCommitDiffs(
+      String commitId, String pattern, Callable<List<DiffEntry>> loader) throws IOException {
+    try {
+      return commitDiffs.get(commitId + ':' + (pattern == null ? "" : pattern), loader);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause().getMessage(), e.getCause());
+    }
+  }
+}
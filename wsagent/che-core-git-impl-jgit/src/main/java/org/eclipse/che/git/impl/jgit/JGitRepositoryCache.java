@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryCache.FileKey;
+import org.eclipse.jgit.util.FS;
+
+/**
+ * Shares opened repositories between connections, so that configuration, refs and pack indexes of a
+ * repository are not re-read for every connection.
+ *
+ * <p>Repositories are reference counted: each {@link #acquire(File)} increments the use count of
+ * the returned repository and the caller releases it with {@link Repository#close()}. The cache
+ * holds one more reference that is released when the entry is evicted, so a repository is closed
+ * only when neither the cache nor any connection uses it.
+ *
+ * <p>Only existing repositories are cached. A repository that is not created yet (e.g. for init or
+ * clone) or that was removed is opened separately, as before.
+ */
+class JGitRepositoryCache {
+  private final Cache<File, Repository> repositories;
+
+  JGitRepositoryCache() {
+    repositories =
+        CacheBuilder.newBuilder()
+            .concurrencyLevel(8)
+            .maximumSize(32)
+            .expireAfterAccess(10, MINUTES)
+            .removalListener(
+                (RemovalListener<File, Repository>) notification -> notification.getValue().close())
+            .build();
+  }
+
+  /**
+   * Returns repository located in given working directory. Returned repository must be released
+   * with {@link Repository#close()}.
+   *
+   * @param workDir working directory of repository
+   * @throws IOException if repository can't be opened
+   */
+  synchronized Repository acquire(File workDir) throws IOException {
+    File gitDir = new File(workDir, Constants.DOT_GIT).getAbsoluteFile();
+    if (!FileKey.isGitRepository(gitDir, FS.DETECTED)) {
+      repositories.invalidate(gitDir);
+      return new FileRepository(gitDir);
+    }
+
+    Repository repository;
+    try {
+      repository = repositories.get(gitDir, () -> new FileRepository(gitDir));
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause().getMessage(), e.getCause());
+    }
+    // the removal listener is invoked by cache operations that all happen under this monitor, so
+    // the repository can't be closed by eviction between the lookup and incrementing its use count
+    repository.incrementOpen();
+    return repository;
+  }
+
+  /** Releases all cached repositories. Repositories still used by connections stay open. */
+  synchronized void invalidateAll() {
+    repositories.invalidateAll();
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.jgit.internal.storage.file.FileSnapshot;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps snapshot of the last computed status of each repository.
+ *
+ * <p>A snapshot is valid until the repository index file or HEAD changes, or until {@link
+ * #invalidate(File)} is called, which is expected to happen when a file in the working tree is
+ * changed. Invalidation schedules recomputation of the status in background after a short delay,
+ * so a burst of file events results in a single status computation.
+ */
+class JGitStatusCache {
+  private static final Logger LOG = LoggerFactory.getLogger(JGitStatusCache.class);
+
+  /** Delay between invalidation of a snapshot and its recomputation in background. */
+  private static final long REFRESH_DELAY_MS = 300;
+
+  /** Computes status of the whole repository located in given working directory. */
+  interface StatusLoader {
+    Status load(File workDir) throws GitException;
+  }
+
+  private final JGitRepositoryCache repositories;
+  private final StatusLoader loader;
+  private final Cache<File, StatusSnapshot> snapshots;
+  private final ScheduledExecutorService executor;
+
+  JGitStatusCache(JGitRepositoryCache repositories, StatusLoader loader) {
+    this.repositories = repositories;
+    this.loader = loader;
+    this.snapshots =
+        CacheBuilder.newBuilder()
+            .concurrencyLevel(8)
+            .maximumSize(32)
+            .expireAfterAccess(10, MINUTES)
+            .build();
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat(JGitStatusCache.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .build());
+  }
+
+  /**
+   * Returns status of the whole repository located in given working directory. Status is computed
+   * only if there is no valid snapshot of it.
+   *
+   * @param workDir working directory of repository
+   * @throws GitException if status can't be computed
+   */
+  Status getStatus(File workDir) throws GitException {
+    File key = workDir.getAbsoluteFile();
+    StatusSnapshot snapshot;
+    try {
+      snapshot = snapshots.get(key, StatusSnapshot::new);
+    } catch (ExecutionException e) {
+      throw new GitException(e.getCause().getMessage(), e.getCause());
+    }
+
+    synchronized (snapshot) {
+      long generation = snapshot.generation.get();
+      File indexFile;
+      String head;
+      try {
+        Repository repository = repositories.acquire(key);
+        try {
+          indexFile = repository.getIndexFile();
+          head = readHead(repository);
+        } finally {
+          repository.close();
+        }
+      } catch (IOException e) {
+        throw new GitException(e.getMessage(), e);
+      }
+
+      if (snapshot.status != null
+          && snapshot.loadedGeneration == generation
+          && !snapshot.index.isModified(indexFile)
+          && Objects.equals(snapshot.head, head)) {
+        return snapshot.status;
+      }
+
+      // take snapshot of the index before computing status, so that changes made to the index while
+      // status is computed are detected by the next query
+      FileSnapshot index = FileSnapshot.save(indexFile);
+      snapshot.status = loader.load(key);
+      snapshot.loadedGeneration = generation;
+      snapshot.index = index;
+      snapshot.head = head;
+      return snapshot.status;
+    }
+  }
+
+  /**
+   * Marks snapshot of the status of repository located in given working directory as outdated and
+   * schedules its recomputation.
+   *
+   * @param workDir working directory of repository
+   */
+  void invalidate(File workDir) {
+    File key = workDir.getAbsoluteFile();
+    StatusSnapshot snapshot = snapshots.getIfPresent(key);
+    if (snapshot == null) {
+      return;
+    }
+    snapshot.generation.incrementAndGet();
+    if (snapshot.refreshScheduled.compareAndSet(false, true)) {
+      executor.schedule(
+          () -> {
+            snapshot.refreshScheduled.set(false);
+            try {
+              getStatus(key);
+            } catch (GitException e) {
+              LOG.debug("Can't refresh status of repository {}: {}", key, e.getMessage());
+            }
+          },
+          REFRESH_DELAY_MS,
+          MILLISECONDS);
+    }
+  }
+
+  /** Stops background recomputation of snapshots. */
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static String readHead(Repository repository) throws IOException {
+    Ref head = repository.exactRef(Constants.HEAD);
+    if (head == null) {
+      return null;
+    }
+    return head.getTarget().getName() + ':' + ObjectId.toString(head.getObjectId());
+  }
+
+  private static class StatusSnapshot {
+    final AtomicLong generation = new AtomicLong();
+    final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    Status status;
+    long loadedGeneration;
+    FileSnapshot index;
+    String head;
+  }
+}
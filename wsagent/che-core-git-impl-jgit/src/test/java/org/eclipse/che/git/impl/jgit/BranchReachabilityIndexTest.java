@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand.ListMode;
+import org.eclipse.jgit.api.ResetCommand.ResetType;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class BranchReachabilityIndexTest {
+  private File directory;
+  private Git git;
+  private BranchReachabilityIndex index;
+  private List<RevCommit> commits;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("reachability").toFile();
+    git = Git.init().setDirectory(directory).call();
+    index = new BranchReachabilityIndex();
+    commits = new ArrayList<>();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    git.close();
+    IoUtil.deleteRecursive(directory);
+  }
+
+  @Test
+  public void findsBranchesContainingCommit() throws Exception {
+    RevCommit first = commit();
+    git.branchCreate().setName("feature").call();
+    RevCommit second = commit();
+
+    update();
+
+    assertEquals(index.getBranches(first), branchesContaining(first));
+    assertEquals(index.getBranches(second), branchesContaining(second));
+    assertEquals(index.getBranches(second).size(), 1);
+  }
+
+  @Test
+  public void followsBranchChanges() throws Exception {
+    Random random = new Random(7);
+    commit();
+    for (int i = 0; i < 40; i++) {
+      switch (random.nextInt(5)) {
+        case 0:
+          git.branchCreate().setName("branch" + i).call();
+          break;
+        case 1:
+          List<Ref> branches = git.branchList().call();
+          Ref branch = branches.get(random.nextInt(branches.size()));
+          if (!branch.getName().equals(git.getRepository().getFullBranch())) {
+            git.branchDelete().setBranchNames(branch.getName()).setForce(true).call();
+          }
+          break;
+        case 2:
+          RevCommit target = commits.get(random.nextInt(commits.size()));
+          git.reset().setMode(ResetType.HARD).setRef(target.getName()).call();
+          break;
+        case 3:
+          branches = git.branchList().call();
+          git.checkout().setName(branches.get(random.nextInt(branches.size())).getName()).call();
+          break;
+        default:
+          commit();
+      }
+      if (random.nextBoolean()) {
+        update();
+        for (RevCommit commit : commits) {
+          assertEquals(index.getBranches(commit), branchesContaining(commit));
+        }
+      }
+    }
+  }
+
+  private RevCommit commit() throws Exception {
+    RevCommit commit = git.commit().setMessage("commit " + commits.size()).call();
+    commits.add(commit);
+    return commit;
+  }
+
+  private void update() throws Exception {
+    index.update(git.getRepository(), git.branchList().setListMode(ListMode.ALL).call());
+  }
+
+  private List<String> branchesContaining(RevCommit commit) throws Exception {
+    return git.branchList()
+        .setListMode(ListMode.ALL)
+        .setContains(commit.getName())
+        .call()
+        .stream()
+        .map(Ref::getName)
+        .collect(toList());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class JGitStatusCacheTest {
+  private File directory;
+  private Git git;
+  private AtomicInteger loads;
+  private JGitRepositoryCache repositories;
+  private JGitStatusCache cache;
+  private long indexModified;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("status").toFile();
+    git = Git.init().setDirectory(directory).call();
+    write("a.txt", "a");
+    git.add().addFilepattern("a.txt").call();
+    git.commit().setMessage("init").call();
+    indexModified = System.currentTimeMillis() - 3_600_000;
+    backdateIndex();
+
+    loads = new AtomicInteger();
+    repositories = new JGitRepositoryCache();
+    cache =
+        new JGitStatusCache(
+            repositories,
+            workDir -> {
+              loads.incrementAndGet();
+              try (Git git = Git.open(workDir)) {
+                return new JGitStatusImpl("master", git.status());
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    cache.shutdown();
+    repositories.invalidateAll();
+    git.close();
+    IoUtil.deleteRecursive(directory);
+  }
+
+  @Test
+  public void reusesStatusUntilIndexChanges() throws Exception {
+    Status status = cache.getStatus(directory);
+
+    assertSame(cache.getStatus(directory), status);
+    assertEquals(loads.get(), 1);
+
+    write("b.txt", "b");
+    git.add().addFilepattern("b.txt").call();
+    backdateIndex();
+
+    assertEquals(cache.getStatus(directory).getAdded(), singletonList("b.txt"));
+    assertEquals(loads.get(), 2);
+  }
+
+  @Test
+  public void recomputesStatusWhenHeadChanges() throws Exception {
+    write("b.txt", "b");
+    git.add().addFilepattern("b.txt").call();
+    backdateIndex();
+    assertEquals(cache.getStatus(directory).getAdded(), singletonList("b.txt"));
+
+    git.commit().setMessage("b").call();
+    backdateIndex();
+
+    assertTrue(cache.getStatus(directory).getAdded().isEmpty());
+    assertEquals(loads.get(), 2);
+  }
+
+  @Test
+  public void recomputesInvalidatedStatus() throws Exception {
+    cache.getStatus(directory);
+    write("a.txt", "changed");
+
+    cache.invalidate(directory);
+
+    assertEquals(cache.getStatus(directory).getModified(), singletonList("a.txt"));
+    assertEquals(loads.get(), 2);
+  }
+
+  @Test
+  public void refreshesInvalidatedStatusInBackgroundOnce() throws Exception {
+    cache.getStatus(directory);
+
+    for (int i = 0; i < 10; i++) {
+      write("a.txt", "changed " + i);
+      cache.invalidate(directory);
+    }
+
+    for (int i = 0; i < 100 && loads.get() < 2; i++) {
+      Thread.sleep(50);
+    }
+    assertEquals(loads.get(), 2);
+    assertEquals(cache.getStatus(directory).getModified(), singletonList("a.txt"));
+    assertEquals(loads.get(), 2);
+  }
+
+  private void write(String name, String content) throws Exception {
+    Files.write(new File(directory, name).toPath(), content.getBytes());
+  }
+
+  /** Moves modification time of the index out of the racy-git interval of file snapshots. */
+  private void backdateIndex() {
+    indexModified -= 10_000;
+    assertTrue(new File(directory, ".git/index").setLastModified(indexModified));
+  }
+}
@@ -16,6 +16,7 @@ import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
@@ -24,6 +25,7 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_B
 
 import com.google.inject.Inject;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +40,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -249,6 +252,56 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which user can read, ordered by workspace identifier.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist), runtimes are not included.
+   *
+   * @param user the id of the user
+   * @param status if not null, only workspaces with this status are returned
+   * @param summary if <code>true</code>, configurations of returned workspaces contain only name,
+   *     description and default environment
+   * @param maxItems the maximum number of workspaces to return
+   * @param skipCount the number of workspaces to skip
+   * @return the page of workspaces which user can read
+   * @throws NullPointerException when {@code user} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount} is
+   *     negative
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getWorkspaces(String, Set, Set, boolean, int, long)}
+   */
+  public Page<WorkspaceImpl> getWorkspaces(
+      String user, @Nullable WorkspaceStatus status, boolean summary, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    Set<String> includedIds = null;
+    Set<String> excludedIds = emptySet();
+    if (status != null) {
+      // statuses are known only to runtimes, so they are turned into filters by workspace id
+      Set<String> withStatus = new HashSet<>();
+      Set<String> running = new HashSet<>();
+      for (String id : runtimes.getRuntimesIds()) {
+        WorkspaceStatus runtimeStatus = runtimes.getStatus(id);
+        if (runtimeStatus == status) {
+          withStatus.add(id);
+        }
+        if (runtimeStatus != WorkspaceStatus.STOPPED) {
+          running.add(id);
+        }
+      }
+      if (status == WorkspaceStatus.STOPPED) {
+        excludedIds = running;
+      } else {
+        includedIds = withStatus;
+      }
+    }
+    final Page<WorkspaceImpl> workspaces =
+        workspaceDao.getWorkspaces(user, includedIds, excludedIds, summary, maxItems, skipCount);
+    injectRuntimeAndAttributes(workspaces.getItems(), true);
+    return workspaces;
+  }
+
   /**
    * Gets list of workspaces which has given namespace. Runtimes are included
    *
@@ -56,6 +56,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
@@ -225,24 +226,55 @@ public class WorkspaceService extends Service {
   )
   @ApiResponses({
     @ApiResponse(code = 200, message = "The workspaces successfully fetched"),
+    @ApiResponse(code = 400, message = "Parameters are not valid"),
     @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")
   })
-  public List<WorkspaceDto> getWorkspaces(
+  public Response getWorkspaces(
       @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
           Integer skipCount,
-      @ApiParam("The limit of the items in the response, default is 30")
-          @DefaultValue("30")
+      @ApiParam("The limit of the items in the response, all workspaces are returned if not set")
           @QueryParam("maxItems")
           Integer maxItems,
-      @ApiParam("Workspace status") @QueryParam("status") String status)
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam(
+            "If true, configurations of workspaces contain only name, description and default "
+                + "environment, without environments, projects and commands"
+          )
+          @DefaultValue("false")
+          @QueryParam("summary")
+          Boolean summary)
       throws ServerException, BadRequestException {
-    // TODO add maxItems & skipCount to manager
-    return workspaceManager
-        .getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
-        .stream()
-        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-        .collect(toList());
+    if (skipCount < 0) {
+      throw new BadRequestException("The number of items to skip can't be negative.");
+    }
+    if (maxItems != null && maxItems <= 0) {
+      throw new BadRequestException("The number of items to return must be positive.");
+    }
+    WorkspaceStatus workspaceStatus = null;
+    if (status != null) {
+      try {
+        workspaceStatus = WorkspaceStatus.valueOf(status.toUpperCase());
+      } catch (IllegalArgumentException x) {
+        throw new BadRequestException(format("Unknown workspace status '%s'", status));
+      }
+    }
+    final Page<WorkspaceImpl> workspacesPage =
+        workspaceManager.getWorkspaces(
+            EnvironmentContext.getCurrent().getSubject().getUserId(),
+            workspaceStatus,
+            summary,
+            maxItems == null ? Integer.MAX_VALUE : maxItems,
+            skipCount);
+    final Response.ResponseBuilder response =
+        Response.ok()
+            .entity(
+                workspacesPage.getItems(
+                    workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext())));
+    if (maxItems != null) {
+      // clients which don't page the listing get all the workspaces at once
+      response.header("Link", createLinkHeader(workspacesPage));
+    }
+    return response.build();
   }
 
   @GET
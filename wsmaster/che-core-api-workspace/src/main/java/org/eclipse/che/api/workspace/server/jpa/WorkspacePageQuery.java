@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Fetches a page of workspaces, filtering and paging them in the database.
+ *
+ * <p>Workspace entities are loaded along with their environments, projects and commands. When only
+ * a summary of workspaces is requested, those are not fetched at all: the page is fetched with a
+ * projection of the workspace and the name, description and default environment of its
+ * configuration, followed by a single query of attributes of the workspaces of the page.
+ */
+public class WorkspacePageQuery {
+
+  private final EntityManager manager;
+  private final String from;
+  private final List<String> conditions = new ArrayList<>();
+  private final Map<String, Object> parameters = new HashMap<>();
+
+  /**
+   * Creates a query.
+   *
+   * @param manager entity manager used to run the query
+   * @param from JPQL from clause, which must declare workspace entity as {@code w}
+   */
+  public WorkspacePageQuery(EntityManager manager, String from) {
+    this.manager = manager;
+    this.from = from;
+  }
+
+  /** Adds JPQL condition that fetched workspaces must satisfy. */
+  public WorkspacePageQuery where(String condition) {
+    conditions.add(condition);
+    return this;
+  }
+
+  /** Binds parameter used by the conditions. */
+  public WorkspacePageQuery setParameter(String name, Object value) {
+    parameters.put(name, value);
+    return this;
+  }
+
+  /**
+   * Fetches a page of workspaces ordered by identifier.
+   *
+   * @param includedIds when not null, only workspaces with these identifiers are fetched
+   * @param excludedIds workspaces with these identifiers are not fetched
+   * @param summary when true, configurations of fetched workspaces have no environments, projects
+   *     and commands
+   * @param maxItems the maximum number of workspaces to fetch
+   * @param skipCount the number of workspaces to skip
+   * @return page of workspaces
+   */
+  public Page<WorkspaceImpl> getPage(
+      @Nullable Set<String> includedIds,
+      Set<String> excludedIds,
+      boolean summary,
+      int maxItems,
+      long skipCount) {
+    if (includedIds != null && includedIds.isEmpty()) {
+      return new Page<>(emptyList(), skipCount, maxItems, 0);
+    }
+    List<String> conditions = new ArrayList<>(this.conditions);
+    Map<String, Object> parameters = new HashMap<>(this.parameters);
+    if (includedIds != null) {
+      conditions.add("w.id IN :includedIds");
+      parameters.put("includedIds", includedIds);
+    }
+    if (!excludedIds.isEmpty()) {
+      conditions.add("w.id NOT IN :excludedIds");
+      parameters.put("excludedIds", excludedIds);
+    }
+    String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+    long count =
+        bind(manager.createQuery("SELECT COUNT(w) FROM " + from + where, Long.class), parameters)
+            .getSingleResult();
+    List<WorkspaceImpl> items;
+    if (summary) {
+      String query =
+          "SELECT w.id, w.isTemporary, w.account, c.name, c.description, c.defaultEnv FROM "
+              + from
+              + " LEFT JOIN w.config c"
+              + where
+              + " ORDER BY w.id";
+      items =
+          toSummaries(
+              bind(manager.createQuery(query, Object[].class), parameters)
+                  .setFirstResult((int) skipCount)
+                  .setMaxResults(maxItems)
+                  .getResultList());
+    } else {
+      String query = "SELECT w FROM " + from + where + " ORDER BY w.id";
+      items =
+          bind(manager.createQuery(query, WorkspaceImpl.class), parameters)
+              .setFirstResult((int) skipCount)
+              .setMaxResults(maxItems)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(toList());
+    }
+    return new Page<>(items, skipCount, maxItems, count);
+  }
+
+  private List<WorkspaceImpl> toSummaries(List<Object[]> rows) {
+    Map<String, WorkspaceImpl> workspaces = new LinkedHashMap<>();
+    for (Object[] row : rows) {
+      WorkspaceImpl workspace =
+          WorkspaceImpl.builder()
+              .setId((String) row[0])
+              .setTemporary((Boolean) row[1])
+              .setAccount((AccountImpl) row[2])
+              .setConfig(
+                  new WorkspaceConfigImpl(
+                      (String) row[3],
+                      (String) row[4],
+                      (String) row[5],
+                      emptyList(),
+                      emptyList(),
+                      new HashMap<>()))
+              .setAttributes(new HashMap<>())
+              .build();
+      workspaces.put(workspace.getId(), workspace);
+    }
+    if (workspaces.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    List<Object[]> attributes =
+        manager
+            .createQuery(
+                "SELECT w.id, KEY(a), VALUE(a) FROM Workspace w JOIN w.attributes a"
+                    + " WHERE w.id IN :ids",
+                Object[].class)
+            .setParameter("ids", workspaces.keySet())
+            .getResultList();
+    for (Object[] attribute : attributes) {
+      Map<String, String> workspaceAttributes = workspaces.get(attribute[0]).getAttributes();
+      workspaceAttributes.put((String) attribute[1], (String) attribute[2]);
+    }
+    return new ArrayList<>(workspaces.values());
+  }
+
+  private static <T> TypedQuery<T> bind(TypedQuery<T> query, Map<String, Object> parameters) {
+    parameters.forEach(query::setParameter);
+    return query;
+  }
+}
@@ -11,10 +11,13 @@
 package org.eclipse.che.api.workspace.server.spi;
 
 import java.util.List;
+import java.util.Set;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -116,6 +119,34 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+  /**
+   * Gets page of workspaces which user can read, ordered by workspace identifier.
+   *
+   * <p>Filtering by identifiers allows to select workspaces by state which is not persisted, e.g.
+   * by status of their runtimes.
+   *
+   * @param userId id of user
+   * @param includedIds when not null, only workspaces with these identifiers are returned
+   * @param excludedIds workspaces with these identifiers are not returned
+   * @param summary when {@code true}, configurations of returned workspaces contain only name,
+   *     description and default environment, without environments, projects and commands
+   * @param maxItems the maximum number of workspaces to return
+   * @param skipCount the number of workspaces to skip
+   * @return page of workspaces which user can read
+   * @throws NullPointerException when {@code excludedIds} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount} is
+   *     negative
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  Page<WorkspaceImpl> getWorkspaces(
+      String userId,
+      @Nullable Set<String> includedIds,
+      Set<String> excludedIds,
+      boolean summary,
+      int maxItems,
+      long skipCount)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
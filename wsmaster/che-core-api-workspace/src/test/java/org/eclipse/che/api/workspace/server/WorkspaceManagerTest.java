@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
@@ -53,6 +54,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -239,6 +241,40 @@ public class WorkspaceManagerTest {
     assertEquals(result, workspace);
   }
 
+  @Test
+  public void shouldExcludeRunningWorkspacesWhenGettingPageOfStoppedWorkspaces() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    when(runtimes.getRuntimesIds()).thenReturn(ImmutableSet.of("ws1", "ws2"));
+    when(runtimes.getStatus("ws1")).thenReturn(RUNNING);
+    when(runtimes.getStatus("ws2")).thenReturn(STARTING);
+    when(runtimes.getStatus(workspace.getId())).thenReturn(STOPPED);
+    when(workspaceDao.getWorkspaces(USER_ID, null, ImmutableSet.of("ws1", "ws2"), true, 30, 0))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 30, 1));
+
+    final Page<WorkspaceImpl> result =
+        workspaceManager.getWorkspaces(USER_ID, STOPPED, true, 30, 0);
+
+    assertEquals(result.getItems(), singletonList(workspace));
+    assertEquals(result.getItems().get(0).getStatus(), STOPPED);
+  }
+
+  @Test
+  public void shouldIncludeOnlyWorkspacesWithStatusWhenGettingPageOfWorkspaces() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    when(runtimes.getRuntimesIds()).thenReturn(ImmutableSet.of("ws1", workspace.getId()));
+    when(runtimes.getStatus("ws1")).thenReturn(RUNNING);
+    when(runtimes.getStatus(workspace.getId())).thenReturn(STARTING);
+    when(workspaceDao.getWorkspaces(
+            USER_ID, ImmutableSet.of(workspace.getId()), emptySet(), false, 30, 0))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 30, 1));
+
+    final Page<WorkspaceImpl> result =
+        workspaceManager.getWorkspaces(USER_ID, STARTING, false, 30, 0);
+
+    assertEquals(result.getItems(), singletonList(workspace));
+    assertEquals(result.getItems().get(0).getStatus(), STARTING);
+  }
+
   @Test
   public void shouldBeAbleToGetWorkspacesAvailableForUser() throws Exception {
     // given
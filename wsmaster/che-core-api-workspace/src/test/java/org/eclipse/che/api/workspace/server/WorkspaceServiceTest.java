@@ -49,6 +49,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
@@ -69,6 +70,7 @@ import java.util.stream.Collectors;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -380,7 +382,8 @@ public class WorkspaceServiceTest {
   public void shouldGetWorkspaces() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
     final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
-    when(wsManager.getWorkspaces(USER_ID, false)).thenReturn(asList(workspace1, workspace2));
+    when(wsManager.getWorkspaces(USER_ID, null, false, Integer.MAX_VALUE, 0))
+        .thenReturn(new Page<>(asList(workspace1, workspace2), 0, Integer.MAX_VALUE, 2));
 
     final Response response =
         given()
@@ -396,6 +399,7 @@ public class WorkspaceServiceTest {
             .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
             .collect(toList()),
         asList(workspace1, workspace2));
+    assertNull(response.getHeader("Link"));
   }
 
   @Test
@@ -424,7 +428,8 @@ public class WorkspaceServiceTest {
   public void shouldGetWorkspacesByStatus() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
     final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
-    when(wsManager.getWorkspaces(USER_ID, false)).thenReturn(asList(workspace1, workspace2));
+    when(wsManager.getWorkspaces(USER_ID, STARTING, false, Integer.MAX_VALUE, 0))
+        .thenReturn(new Page<>(singletonList(workspace2), 0, Integer.MAX_VALUE, 1));
 
     final Response response =
         given()
@@ -442,6 +447,36 @@ public class WorkspaceServiceTest {
         singletonList(workspace2));
   }
 
+  @Test
+  public void shouldGetPageOfWorkspaceSummaries() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getWorkspaces(USER_ID, null, true, 1, 1))
+        .thenReturn(new Page<>(singletonList(workspace), 1, 1, 3));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?skipCount=1&maxItems=1&summary=true");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(unwrapDtoList(response, WorkspaceDto.class).size(), 1);
+    assertNotNull(response.getHeader("Link"));
+  }
+
+  @Test
+  public void shouldRespondBadRequestWhenGettingWorkspacesWithUnknownStatus() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?status=sleeping");
+
+    assertEquals(response.getStatusCode(), 400);
+  }
+
   @Test
   public void shouldUpdateTheWorkspace() throws Exception {
     final WorkspaceImpl workspace = createWorkspace(createConfigDto());
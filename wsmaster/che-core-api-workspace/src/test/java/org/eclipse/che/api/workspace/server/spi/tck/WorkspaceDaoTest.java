@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
@@ -36,6 +37,7 @@ import javax.inject.Inject;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -250,6 +252,79 @@ public class WorkspaceDaoTest {
     workspaceDao.getWorkspaces(true, -2, 0);
   }
 
+  @Test
+  public void shouldGetPageOfWorkspaces() throws Exception {
+    final Page<WorkspaceImpl> page =
+        workspaceDao.getWorkspaces("user", null, emptySet(), false, 2, 1);
+
+    assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+    assertEquals(page.getItems(), asList(workspaces[1], workspaces[2]));
+  }
+
+  @Test
+  public void shouldGetWorkspacesWithIncludedIds() throws Exception {
+    final Page<WorkspaceImpl> page =
+        workspaceDao.getWorkspaces(
+            "user",
+            new HashSet<>(asList(workspaces[3].getId(), workspaces[0].getId())),
+            emptySet(),
+            false,
+            30,
+            0);
+
+    assertEquals(page.getTotalItemsCount(), 2);
+    assertEquals(page.getItems(), asList(workspaces[0], workspaces[3]));
+  }
+
+  @Test
+  public void shouldGetWorkspacesWithoutExcludedIds() throws Exception {
+    final Page<WorkspaceImpl> page =
+        workspaceDao.getWorkspaces(
+            "user",
+            null,
+            new HashSet<>(asList(workspaces[1].getId(), workspaces[2].getId())),
+            false,
+            30,
+            0);
+
+    assertEquals(page.getTotalItemsCount(), 3);
+    assertEquals(page.getItems(), asList(workspaces[0], workspaces[3], workspaces[4]));
+  }
+
+  @Test
+  public void shouldGetEmptyPageWhenNoIdsIncluded() throws Exception {
+    final Page<WorkspaceImpl> page =
+        workspaceDao.getWorkspaces("user", emptySet(), emptySet(), false, 30, 0);
+
+    assertEquals(page.getTotalItemsCount(), 0);
+    assertTrue(page.getItems().isEmpty());
+  }
+
+  @Test
+  public void shouldGetSummariesOfWorkspaces() throws Exception {
+    final Page<WorkspaceImpl> page =
+        workspaceDao.getWorkspaces("user", null, emptySet(), true, 1, 0);
+
+    assertEquals(page.getItems().size(), 1);
+    final WorkspaceImpl summary = page.getItems().get(0);
+    final WorkspaceImpl workspace = workspaces[0];
+    assertEquals(summary.getId(), workspace.getId());
+    assertEquals(summary.getNamespace(), workspace.getNamespace());
+    assertEquals(summary.isTemporary(), workspace.isTemporary());
+    assertEquals(summary.getAttributes(), workspace.getAttributes());
+    assertEquals(summary.getConfig().getName(), workspace.getConfig().getName());
+    assertEquals(summary.getConfig().getDescription(), workspace.getConfig().getDescription());
+    assertEquals(summary.getConfig().getDefaultEnv(), workspace.getConfig().getDefaultEnv());
+    assertTrue(summary.getConfig().getEnvironments().isEmpty());
+    assertTrue(summary.getConfig().getProjects().isEmpty());
+    assertTrue(summary.getConfig().getCommands().isEmpty());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionOnNonPositiveMaxItemsOfPage() throws Exception {
+    workspaceDao.getWorkspaces("user", null, emptySet(), false, 0, 0);
+  }
+
   @Test
   public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
     final boolean[] isNotified = new boolean[] {false};